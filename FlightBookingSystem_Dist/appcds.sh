@@ -0,0 +1,37 @@
+#!/bin/sh
+# Starts the GUI with an application class data sharing (AppCDS) archive, which maps the classes
+# loaded at startup from a prebuilt file instead of loading and verifying them one by one.
+#
+#   ./appcds.sh archive   packs bin into a jar, opens the login window once, waits until the data
+#                         is loaded, exits and writes the classes used to the archive (needs JDK
+#                         13 or later; the JVM only archives classes loaded from jars)
+#   ./appcds.sh           starts the GUI with the archive, building it first if it is missing
+#
+# Run it from a checkout whose classes have been compiled into bin, as Eclipse does. Rebuild the
+# archive whenever the classes or the JDK change; the JVM ignores an archive that no longer
+# matches. Set STARTUP_METRICS=true to print the time to the first frame and to login.
+
+cd "$(dirname "$0")" || exit 1
+ARCHIVE=bookingsystem.jsa
+JAR=bookingsystem.jar
+MAIN=bcu.cmp5332.bookingsystem.gui.MainWindow
+
+archive() {
+    jar cf "$JAR" -C bin . || return 1
+    java -XX:ArchiveClassesAtExit="$ARCHIVE" -Dstartup.exitWhenInteractive=true -cp "$JAR" "$MAIN"
+}
+
+case "$1" in
+    archive)
+        archive
+        ;;
+    "")
+        [ -f "$ARCHIVE" ] || archive || exit 1
+        exec java -XX:SharedArchiveFile="$ARCHIVE" -Dstartup.metrics="${STARTUP_METRICS:-false}" \
+            -cp "$JAR" "$MAIN"
+        ;;
+    *)
+        echo "Usage: $0 [archive]" >&2
+        exit 2
+        ;;
+esac
@@ -0,0 +1,260 @@
+package bcu.cmp5332.bookingsystem.admission;
+
+import bcu.cmp5332.bookingsystem.commands.Command;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code AdmissionController} class limits how fast commands may be executed, so that a single
+ * runaway client cannot monopolise the booking system.
+ * <p>
+ * Every command must take a token from a global {@link TokenBucket}. Commands that book seats must
+ * also take a token from a bucket belonging to each customer they book for; see
+ * {@link Command#getBookingCustomers(FlightBookingSystem)}. A request refused by one limit gives
+ * back the tokens it took from the others. Buckets are updated with
+ * compare-and-set only, so admission never blocks other threads. When a bucket is empty the
+ * configured {@link AdmissionPolicy} either rejects the command or lets it wait, up to a maximum,
+ * for a token to become available. Counts of admitted, queued and throttled requests are kept for
+ * the {@code admissionstats} command. A customer's bucket is dropped once it has refilled, when
+ * that is indistinguishable from a new one, so only recently active customers are tracked.
+ * </p>
+ * The controller used by the CLI and the booking server is configured from system properties; see
+ * {@link #getDefault()}.
+ */
+public class AdmissionController {
+
+    /** Admissions slower than this are counted as having queued for a token. */
+    private static final long QUEUED_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static volatile AdmissionController defaultController;
+
+    /** The bucket shared by all commands, or {@code null} for no global limit. */
+    private final TokenBucket globalBucket;
+
+    /** Sustained booking rate allowed per customer, or {@code 0} for no per-customer limit. */
+    private final double customerRate;
+
+    /** Booking burst allowed per customer. */
+    private final int customerBurst;
+
+    /** How many customer buckets may be kept before full ones are swept out. */
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    /** Lazily created buckets, one per customer that has made a request recently. */
+    private final Map<Integer, TokenBucket> customerBuckets = new ConcurrentHashMap<>();
+
+    /** The number of tracked customers at which full buckets are next swept out. */
+    private volatile int nextSweepAt = SWEEP_THRESHOLD;
+
+    private final AdmissionPolicy policy;
+    private final long maxWaitNanos;
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong throttledGlobal = new AtomicLong();
+    private final AtomicLong throttledCustomer = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    /**
+     * Constructs an admission controller.
+     *
+     * @param globalRate    commands per second allowed across all callers, or {@code 0} for no limit
+     * @param globalBurst   commands allowed in a single burst across all callers
+     * @param customerRate  bookings per second allowed per customer, or {@code 0} for no limit
+     * @param customerBurst bookings allowed in a single burst per customer
+     * @param policy        what to do with a request whose limit is exhausted
+     * @param maxWaitMillis the longest a queued request may wait for a token
+     */
+    public AdmissionController(double globalRate, int globalBurst, double customerRate, int customerBurst,
+                               AdmissionPolicy policy, long maxWaitMillis) {
+        this.globalBucket = globalRate > 0 ? new TokenBucket(globalRate, globalBurst) : null;
+        this.customerRate = customerRate;
+        this.customerBurst = customerBurst;
+        this.policy = policy;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    /**
+     * Returns the shared controller, configured on first use from these system properties:
+     * {@code admission.global.rate} (default 1000), {@code admission.global.burst} (2000),
+     * {@code admission.customer.rate} (10), {@code admission.customer.burst} (20),
+     * {@code admission.policy} ({@code REJECT} or {@code QUEUE}, default {@code REJECT}) and
+     * {@code admission.queue.maxWaitMillis} (1000).
+     *
+     * @return the shared admission controller
+     */
+    public static AdmissionController getDefault() {
+        AdmissionController controller = defaultController;
+        if (controller == null) {
+            synchronized (AdmissionController.class) {
+                controller = defaultController;
+                if (controller == null) {
+                    controller = new AdmissionController(
+                            Double.parseDouble(System.getProperty("admission.global.rate", "1000")),
+                            Integer.getInteger("admission.global.burst", 2000),
+                            Double.parseDouble(System.getProperty("admission.customer.rate", "10")),
+                            Integer.getInteger("admission.customer.burst", 20),
+                            AdmissionPolicy.valueOf(System.getProperty("admission.policy", "REJECT").toUpperCase()),
+                            Long.getLong("admission.queue.maxWaitMillis", 1000L));
+                    defaultController = controller;
+                }
+            }
+        }
+        return controller;
+    }
+
+    /**
+     * Admits and executes a command. Booking commands are also charged to their customer.
+     * The command runs holding the booking system's monitor, as requests from the booking server
+     * do, so it never sees the system part way through another thread's change. Waiting for a
+     * token, and the command's {@link Command#prepare() preparation}, happen before the monitor is
+     * taken.
+     *
+     * @param command the command to execute
+     * @param fbs     the flight booking system to execute it against
+     * @throws FlightBookingSystemException if the command is throttled or fails
+     */
+    public void execute(Command command, FlightBookingSystem fbs) throws FlightBookingSystemException {
+        acquire(command.getBookingCustomers(fbs), policy == AdmissionPolicy.QUEUE);
+        command.prepare();
+        synchronized (fbs) {
+            command.execute(fbs);
+        }
+    }
+
+    /**
+     * Admits one request, applying the configured policy when a limit is exhausted.
+     *
+     * @param customerId the customer to charge, or {@code null} to apply only the global limit
+     * @throws FlightBookingSystemException if the request is throttled
+     */
+    public void admit(Integer customerId) throws FlightBookingSystemException {
+        acquire(customers(customerId), policy == AdmissionPolicy.QUEUE);
+    }
+
+    /**
+     * Admits one request without ever waiting, regardless of the configured policy. This is used by
+     * callers, such as the booking server's selector thread, that must not block.
+     *
+     * @param customerId the customer to charge, or {@code null} to apply only the global limit
+     * @throws FlightBookingSystemException if the request is throttled
+     */
+    public void tryAdmit(Integer customerId) throws FlightBookingSystemException {
+        acquire(customers(customerId), false);
+    }
+
+    private static List<Integer> customers(Integer customerId) {
+        return customerId == null ? Collections.<Integer>emptyList() : Collections.singletonList(customerId);
+    }
+
+    private void acquire(List<Integer> customerIds, boolean mayWait) throws FlightBookingSystemException {
+        long start = System.nanoTime();
+        List<TokenBucket> taken = new ArrayList<>(customerIds.size());
+        for (Integer customerId : customerIds) {
+            TokenBucket customerBucket = customerBucketFor(customerId, start);
+            if (customerBucket != null && !taken.contains(customerBucket)) {
+                if (!take(customerBucket, start, mayWait)) {
+                    giveBack(taken);
+                    throttledCustomer.incrementAndGet();
+                    throw new FlightBookingSystemException("Too many booking requests for customer " + customerId + ". Try again later.");
+                }
+                taken.add(customerBucket);
+            }
+        }
+        if (globalBucket != null && !take(globalBucket, start, mayWait)) {
+            // The request was not served, so it does not count against its customers.
+            giveBack(taken);
+            throttledGlobal.incrementAndGet();
+            throw new FlightBookingSystemException("System is busy. Try again later.");
+        }
+        long waitedNanos = System.nanoTime() - start;
+        if (mayWait && waitedNanos > QUEUED_THRESHOLD_NANOS) {
+            queued.incrementAndGet();
+            totalWaitNanos.addAndGet(waitedNanos);
+        }
+        admitted.incrementAndGet();
+    }
+
+    /**
+     * Takes a token from the bucket, parking until one is available if waiting is allowed and the
+     * wait fits within the configured maximum.
+     */
+    private boolean take(TokenBucket bucket, long start, boolean mayWait) {
+        long now = start;
+        while (!bucket.tryAcquire(now)) {
+            if (!mayWait) {
+                return false;
+            }
+            long wait = Math.max(1, bucket.nanosUntilAvailable(now));
+            if (now + wait - start > maxWaitNanos) {
+                return false;
+            }
+            LockSupport.parkNanos(wait);
+            now = System.nanoTime();
+        }
+        return true;
+    }
+
+    private static void giveBack(List<TokenBucket> taken) {
+        for (TokenBucket bucket : taken) {
+            bucket.release();
+        }
+    }
+
+    private TokenBucket customerBucketFor(Integer customerId, long now) {
+        if (customerId == null || customerRate <= 0) {
+            return null;
+        }
+        if (customerBuckets.size() >= nextSweepAt) {
+            sweep(now);
+        }
+        return customerBuckets.computeIfAbsent(customerId, id -> new TokenBucket(customerRate, customerBurst));
+    }
+
+    /**
+     * Drops the buckets of customers that have been idle long enough for their bucket to refill.
+     * If most customers are still active, the next sweep waits until twice as many are tracked,
+     * so sweeping stays cheap per request.
+     */
+    private synchronized void sweep(long now) {
+        if (customerBuckets.size() < nextSweepAt) {
+            return;  // Another thread has just swept.
+        }
+        customerBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        nextSweepAt = Math.max(SWEEP_THRESHOLD, customerBuckets.size() * 2);
+    }
+
+    /** @return the number of requests admitted */
+    public long getAdmittedCount() { return admitted.get(); }
+
+    /** @return the number of admitted requests that had to wait for a token */
+    public long getQueuedCount() { return queued.get(); }
+
+    /** @return the number of requests refused by the global limit */
+    public long getGlobalThrottledCount() { return throttledGlobal.get(); }
+
+    /** @return the number of requests refused by a per-customer limit */
+    public long getCustomerThrottledCount() { return throttledCustomer.get(); }
+
+    /**
+     * Returns a one-line summary of the admission metrics.
+     *
+     * @return the metrics summary
+     */
+    public String getMetricsSummary() {
+        long queuedCount = queued.get();
+        double avgWaitMillis = queuedCount == 0 ? 0 : totalWaitNanos.get() / 1e6 / queuedCount;
+        return String.format("Admission [%s]: admitted=%d, queued=%d (avg wait %.2f ms), "
+                + "throttled global=%d, throttled per-customer=%d, tracked customers=%d",
+                policy, admitted.get(), queuedCount, avgWaitMillis,
+                throttledGlobal.get(), throttledCustomer.get(), customerBuckets.size());
+    }
+}
@@ -0,0 +1,14 @@
+package bcu.cmp5332.bookingsystem.admission;
+
+/**
+ * The {@code AdmissionPolicy} enum decides what happens to a request that arrives when its rate
+ * limit has been exhausted.
+ */
+public enum AdmissionPolicy {
+
+    /** The request is refused immediately with an error. */
+    REJECT,
+
+    /** The request waits for a token, up to a configured maximum, before being refused. */
+    QUEUE
+}
@@ -0,0 +1,93 @@
+package bcu.cmp5332.bookingsystem.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code TokenBucket} class is a lock-free token bucket rate limiter.
+ * <p>
+ * The bucket is stored in its "virtual scheduling" form: a single {@link AtomicLong} holds the
+ * theoretical time at which the bucket will next be completely full. Taking a token pushes that
+ * time forward by one token interval, and a request is admitted while the time stays within one
+ * burst of now. This is equivalent to a bucket refilled at {@code ratePerSecond} tokens per second
+ * with room for {@code burst} tokens, but it needs only one compare-and-set per request and no
+ * background refill.
+ * </p>
+ */
+public final class TokenBucket {
+
+    /** Nanoseconds needed to earn one token. */
+    private final long nanosPerToken;
+
+    /** How far ahead of now the theoretical arrival time may run: one burst of tokens. */
+    private final long burstNanos;
+
+    /** The theoretical arrival time of the next request, in {@link System#nanoTime()} units. */
+    private final AtomicLong nextFreeAt = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Constructs a token bucket.
+     *
+     * @param ratePerSecond the sustained number of tokens earned per second; must be positive
+     * @param burst         the number of tokens that may be taken at once; at least 1
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstNanos = nanosPerToken * Math.max(1, burst);
+    }
+
+    /**
+     * Takes one token if one is available at the given time.
+     *
+     * @param now the current time from {@link System#nanoTime()}
+     * @return {@code true} if a token was taken
+     */
+    public boolean tryAcquire(long now) {
+        while (true) {
+            long current = nextFreeAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (nextFreeAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire(long)}, for a request that was refused for
+     * another reason after taking it.
+     */
+    public void release() {
+        nextFreeAt.getAndAdd(-nanosPerToken);
+    }
+
+    /**
+     * Tells whether the bucket has refilled completely, in which case it behaves exactly like a
+     * new bucket and need not be kept.
+     *
+     * @param now the current time from {@link System#nanoTime()}
+     * @return {@code true} if every token is available
+     */
+    public boolean isFull(long now) {
+        long current = nextFreeAt.get();
+        return current == Long.MIN_VALUE || current - now <= 0;
+    }
+
+    /**
+     * Returns how long a caller must wait, from the given time, before a token becomes available.
+     *
+     * @param now the current time from {@link System#nanoTime()}
+     * @return the wait in nanoseconds, or {@code 0} if a token is available now
+     */
+    public long nanosUntilAvailable(long now) {
+        long current = nextFreeAt.get();
+        if (current == Long.MIN_VALUE) {
+            return 0;
+        }
+        return Math.max(0, current + nanosPerToken - burstNanos - now);
+    }
+}
@@ -0,0 +1,101 @@
+package bcu.cmp5332.bookingsystem.analytics;
+
+/**
+ * The {@code Aggregate} class holds running booking and revenue totals for a group of flights:
+ * one flight, one route, one departure day or the whole system.
+ * <p>
+ * Revenue is the fees of bookings that are still active plus the cancellation fees kept from
+ * cancelled bookings. The load factor is the share of the group's seats taken by active bookings.
+ * </p>
+ */
+public class Aggregate {
+
+    private long bookingsMade;
+    private long cancellations;
+    private double bookingRevenue;
+    private double cancellationFees;
+    private long seats;
+
+    /** Adds the totals of another aggregate to this one. */
+    void add(Aggregate other) {
+        bookingsMade += other.bookingsMade;
+        cancellations += other.cancellations;
+        bookingRevenue += other.bookingRevenue;
+        cancellationFees += other.cancellationFees;
+        seats += other.seats;
+    }
+
+    /** Subtracts the totals of another aggregate from this one. */
+    void subtract(Aggregate other) {
+        bookingsMade -= other.bookingsMade;
+        cancellations -= other.cancellations;
+        bookingRevenue -= other.bookingRevenue;
+        cancellationFees -= other.cancellationFees;
+        seats -= other.seats;
+    }
+
+    void addSeats(int count) {
+        seats += count;
+    }
+
+    void recordBooking(double fee) {
+        bookingsMade++;
+        bookingRevenue += fee;
+    }
+
+    void removeBooking(double fee) {
+        bookingsMade--;
+        bookingRevenue -= fee;
+    }
+
+    void recordCancellation(double bookingFee, double feeKept) {
+        cancellations++;
+        bookingRevenue -= bookingFee;
+        cancellationFees += feeKept;
+    }
+
+    /**
+     * Returns a copy of this aggregate, safe to read while the original keeps changing.
+     *
+     * @return the copy
+     */
+    public Aggregate copy() {
+        Aggregate copy = new Aggregate();
+        copy.add(this);
+        return copy;
+    }
+
+    /** @return the number of bookings ever made */
+    public long getBookingsMade() { return bookingsMade; }
+
+    /** @return the number of bookings cancelled */
+    public long getCancellations() { return cancellations; }
+
+    /** @return the number of bookings still active */
+    public long getActiveBookings() { return bookingsMade - cancellations; }
+
+    /** @return the fees of active bookings */
+    public double getBookingRevenue() { return bookingRevenue; }
+
+    /** @return the cancellation fees kept from cancelled bookings */
+    public double getCancellationFees() { return cancellationFees; }
+
+    /** @return booking revenue plus cancellation fees */
+    public double getRevenue() { return bookingRevenue + cancellationFees; }
+
+    /** @return the total number of seats on the group's flights */
+    public long getSeats() { return seats; }
+
+    /** @return the share of seats taken by active bookings, from 0 to 1 */
+    public double getLoadFactor() {
+        return seats == 0 ? 0 : (double) getActiveBookings() / seats;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Bookings: %d active (%d made, %d cancelled), Revenue: $%.2f "
+                + "(fees $%.2f + cancellation fees $%.2f), Load Factor: %.1f%%",
+                getActiveBookings(), bookingsMade, cancellations, getRevenue(),
+                bookingRevenue, cancellationFees, getLoadFactor() * 100);
+    }
+}
@@ -0,0 +1,185 @@
+package bcu.cmp5332.bookingsystem.analytics;
+
+import bcu.cmp5332.bookingsystem.model.AirportDictionary;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The {@code BookingAnalytics} class keeps running booking, revenue and load-factor totals per
+ * flight, per route, per departure day and for the whole system.
+ * <p>
+ * The flight booking system reports every flight and booking change here as it happens. Each
+ * event updates four aggregates in constant time: the flight's, its route's, its departure day's
+ * and the overall total. Reports read those aggregates directly and never scan bookings. When a
+ * flight is removed, its aggregate is subtracted from its route, day and the total in one step.
+ * </p>
+ */
+public class BookingAnalytics {
+
+    private final Aggregate total = new Aggregate();
+    private final Map<Integer, Aggregate> byFlight = new HashMap<>();
+    private final Map<Long, Aggregate> byRoute = new HashMap<>();
+    private final TreeMap<LocalDate, Aggregate> byDay = new TreeMap<>();
+
+    private static long routeKey(Flight flight) {
+        return ((long) flight.getOriginCode() << 32) | (flight.getDestinationCode() & 0xffffffffL);
+    }
+
+    private static String routeName(long key) {
+        return AirportDictionary.nameOf((int) (key >>> 32)) + " to " + AirportDictionary.nameOf((int) key);
+    }
+
+    private Aggregate routeOf(Flight flight) {
+        return byRoute.computeIfAbsent(routeKey(flight), k -> new Aggregate());
+    }
+
+    private Aggregate dayOf(Flight flight) {
+        return byDay.computeIfAbsent(flight.getDepartureDate(), k -> new Aggregate());
+    }
+
+    /**
+     * Starts tracking an active flight, adding its seats to the totals.
+     *
+     * @param flight the flight
+     */
+    public synchronized void flightAdded(Flight flight) {
+        if (byFlight.containsKey(flight.getId())) {
+            return;
+        }
+        Aggregate aggregate = new Aggregate();
+        aggregate.addSeats(flight.getCapacity());
+        byFlight.put(flight.getId(), aggregate);
+        routeOf(flight).addSeats(flight.getCapacity());
+        dayOf(flight).addSeats(flight.getCapacity());
+        total.addSeats(flight.getCapacity());
+    }
+
+    /**
+     * Stops tracking a flight, removing its seats, bookings and revenue from the totals.
+     *
+     * @param flight the flight
+     */
+    public synchronized void flightRemoved(Flight flight) {
+        Aggregate aggregate = byFlight.remove(flight.getId());
+        if (aggregate == null) {
+            return;
+        }
+        routeOf(flight).subtract(aggregate);
+        dayOf(flight).subtract(aggregate);
+        total.subtract(aggregate);
+    }
+
+    /**
+     * Records a new booking.
+     *
+     * @param booking the booking
+     */
+    public synchronized void bookingAdded(Booking booking) {
+        Flight flight = booking.getFlight();
+        Aggregate aggregate = byFlight.get(flight.getId());
+        if (aggregate == null || booking.isCancelled()) {
+            return;
+        }
+        double fee = booking.getBookingFee();
+        aggregate.recordBooking(fee);
+        routeOf(flight).recordBooking(fee);
+        dayOf(flight).recordBooking(fee);
+        total.recordBooking(fee);
+    }
+
+    /**
+     * Forgets an active booking that has been dropped along with its customer, as if it had never
+     * been made.
+     *
+     * @param booking the dropped booking
+     */
+    public synchronized void bookingRemoved(Booking booking) {
+        Flight flight = booking.getFlight();
+        Aggregate aggregate = byFlight.get(flight.getId());
+        if (aggregate == null || booking.isCancelled()) {
+            return;
+        }
+        double fee = booking.getBookingFee();
+        aggregate.removeBooking(fee);
+        routeOf(flight).removeBooking(fee);
+        dayOf(flight).removeBooking(fee);
+        total.removeBooking(fee);
+    }
+
+    /**
+     * Records the cancellation of a booking.
+     *
+     * @param booking the cancelled booking
+     * @param feeKept the part of the booking fee kept as a cancellation fee
+     */
+    public synchronized void bookingCancelled(Booking booking, double feeKept) {
+        Flight flight = booking.getFlight();
+        Aggregate aggregate = byFlight.get(flight.getId());
+        if (aggregate == null) {
+            return;
+        }
+        double fee = booking.getBookingFee();
+        aggregate.recordCancellation(fee, feeKept);
+        routeOf(flight).recordCancellation(fee, feeKept);
+        dayOf(flight).recordCancellation(fee, feeKept);
+        total.recordCancellation(fee, feeKept);
+    }
+
+    /**
+     * Returns the totals for the whole system.
+     *
+     * @return a copy of the overall aggregate
+     */
+    public synchronized Aggregate getTotal() {
+        return total.copy();
+    }
+
+    /**
+     * Returns the totals for one flight.
+     *
+     * @param flightId the flight ID
+     * @return a copy of the flight's aggregate, or {@code null} if the flight is not tracked
+     */
+    public synchronized Aggregate getFlight(int flightId) {
+        Aggregate aggregate = byFlight.get(flightId);
+        return aggregate == null ? null : aggregate.copy();
+    }
+
+    /**
+     * Returns the totals of every route, keyed by a description such as {@code "London to Paris"}
+     * and sorted by name.
+     *
+     * @return copies of the route aggregates
+     */
+    public synchronized Map<String, Aggregate> getRoutes() {
+        Map<String, Aggregate> result = new TreeMap<>();
+        for (Map.Entry<Long, Aggregate> entry : byRoute.entrySet()) {
+            if (entry.getValue().getSeats() > 0) {
+                result.put(routeName(entry.getKey()), entry.getValue().copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the totals for each departure day in a range.
+     *
+     * @param from the first day, inclusive
+     * @param to   the last day, inclusive
+     * @return copies of the day aggregates, in date order; days without flights are omitted
+     */
+    public synchronized Map<LocalDate, Aggregate> getDays(LocalDate from, LocalDate to) {
+        Map<LocalDate, Aggregate> result = new LinkedHashMap<>();
+        for (Map.Entry<LocalDate, Aggregate> entry : byDay.subMap(from, true, to, true).entrySet()) {
+            if (entry.getValue().getSeats() > 0) {
+                result.put(entry.getKey(), entry.getValue().copy());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package bcu.cmp5332.bookingsystem.analytics;
+
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The {@code BookingSnapshot} class is a read-only, column-oriented copy of a set of bookings,
+ * used by the {@link ReportEngine}.
+ * <p>
+ * Each booking becomes one row, and each field is stored in its own primitive array: dates as
+ * epoch days and locations as interned codes. A group-by then walks a few flat arrays instead of
+ * following pointers from booking to flight to customer, and the rows can be split into ranges
+ * that are aggregated in parallel. The snapshot does not change when the bookings do; take a new
+ * one to see later changes.
+ * </p>
+ */
+public class BookingSnapshot {
+
+    final int size;
+    final int[] customerIds;
+    final int[] flightIds;
+    final int[] originCodes;
+    final int[] destinationCodes;
+    final int[] bookingDays;
+    final int[] departureDays;
+    final double[] fees;
+    final double[] cancellationFees;
+    final boolean[] cancelled;
+
+    /**
+     * Constructs a snapshot of the given bookings.
+     *
+     * @param bookings the bookings, active and cancelled
+     */
+    public BookingSnapshot(Collection<Booking> bookings) {
+        size = bookings.size();
+        customerIds = new int[size];
+        flightIds = new int[size];
+        originCodes = new int[size];
+        destinationCodes = new int[size];
+        bookingDays = new int[size];
+        departureDays = new int[size];
+        fees = new double[size];
+        cancellationFees = new double[size];
+        cancelled = new boolean[size];
+        int row = 0;
+        for (Booking booking : bookings) {
+            Flight flight = booking.getFlight();
+            customerIds[row] = booking.getCustomer().getId();
+            flightIds[row] = flight.getId();
+            originCodes[row] = flight.getOriginCode();
+            destinationCodes[row] = flight.getDestinationCode();
+            bookingDays[row] = (int) booking.getBookingDate().toEpochDay();
+            departureDays[row] = (int) flight.getDepartureDate().toEpochDay();
+            fees[row] = booking.getBookingFee();
+            cancellationFees[row] = booking.getCancellationFee();
+            cancelled[row] = booking.isCancelled();
+            row++;
+        }
+    }
+
+    /**
+     * Takes a snapshot of the full booking history of a booking system, including cancelled
+     * bookings.
+     *
+     * @param fbs the flight booking system
+     * @return the snapshot
+     */
+    public static BookingSnapshot of(FlightBookingSystem fbs) {
+        List<Booking> all = new ArrayList<>(fbs.getBookings());
+        all.addAll(fbs.getCancelledBookings());
+        return new BookingSnapshot(all);
+    }
+
+    /** @return the number of bookings in the snapshot */
+    public int size() { return size; }
+}
@@ -0,0 +1,111 @@
+package bcu.cmp5332.bookingsystem.analytics;
+
+import bcu.cmp5332.bookingsystem.model.AirportDictionary;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * The {@code GroupBy} enum lists the ways the {@link ReportEngine} can group bookings.
+ * <p>
+ * Every group is identified by a {@code long} key computed from one snapshot row, so grouping
+ * never allocates per row. {@link #label(long)} turns a key back into text for display and CSV.
+ * Keys sort in the natural order of their group: months chronologically, IDs numerically.
+ * </p>
+ */
+public enum GroupBy {
+
+    /** The month the booking was made in. */
+    BOOKING_MONTH {
+        @Override
+        long key(BookingSnapshot s, int row) {
+            return monthKey(s.bookingDays[row]);
+        }
+
+        @Override
+        public String label(long key) {
+            return monthLabel(key);
+        }
+    },
+
+    /** The month the booked flight departs in. */
+    DEPARTURE_MONTH {
+        @Override
+        long key(BookingSnapshot s, int row) {
+            return monthKey(s.departureDays[row]);
+        }
+
+        @Override
+        public String label(long key) {
+            return monthLabel(key);
+        }
+    },
+
+    /** The origin and destination of the booked flight. */
+    ROUTE {
+        @Override
+        long key(BookingSnapshot s, int row) {
+            return ((long) s.originCodes[row] << 32) | (s.destinationCodes[row] & 0xffffffffL);
+        }
+
+        @Override
+        public String label(long key) {
+            return AirportDictionary.nameOf((int) (key >>> 32)) + " to " + AirportDictionary.nameOf((int) key);
+        }
+    },
+
+    /** The booked flight. */
+    FLIGHT {
+        @Override
+        long key(BookingSnapshot s, int row) {
+            return s.flightIds[row];
+        }
+    },
+
+    /** The customer who made the booking. */
+    CUSTOMER {
+        @Override
+        long key(BookingSnapshot s, int row) {
+            return s.customerIds[row];
+        }
+    };
+
+    /**
+     * Computes the group key of a snapshot row.
+     *
+     * @param s   the snapshot
+     * @param row the row index
+     * @return the group key
+     */
+    abstract long key(BookingSnapshot s, int row);
+
+    /**
+     * Returns the display text of a group key. IDs are shown as numbers.
+     *
+     * @param key the group key
+     * @return the label
+     */
+    public String label(long key) {
+        return Long.toString(key);
+    }
+
+    /**
+     * Packs the month of an epoch day as {@code year * 12 + month - 1}. This is the civil-from-days
+     * conversion {@link LocalDate#ofEpochDay(long)} performs, inlined so grouping a row allocates
+     * nothing.
+     */
+    static long monthKey(int epochDay) {
+        long z = epochDay + 719468L;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 12 + month - 1;
+    }
+
+    private static String monthLabel(long key) {
+        return YearMonth.of((int) Math.floorDiv(key, 12), Math.floorMod(key, 12) + 1).toString();
+    }
+}
@@ -0,0 +1,109 @@
+package bcu.cmp5332.bookingsystem.analytics;
+
+/**
+ * The {@code GroupTable} class accumulates the stored {@link Measure} totals of each group key.
+ * <p>
+ * It is an open-addressing hash table with linear probing over primitive arrays: keys in a
+ * {@code long[]} and each group's totals in a slice of one {@code double[]}. Adding a row costs a
+ * hash and a few array writes, with no boxing of keys or values.
+ * </p>
+ */
+class GroupTable {
+
+    private static final int W = Measure.STORED;
+
+    private long[] keys;
+    private boolean[] used;
+    private double[] totals;
+    private int size;
+
+    GroupTable() {
+        this(16);
+    }
+
+    private GroupTable(int capacity) {
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        totals = new double[capacity * W];
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /** Returns the slot of a key, adding the key if it is new. */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (used[i]) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+            return slot(key);
+        }
+        used[i] = true;
+        keys[i] = key;
+        size++;
+        return i;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        double[] oldTotals = totals;
+        keys = new long[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        totals = new double[oldKeys.length * 2 * W];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                System.arraycopy(oldTotals, i * W, totals, slot(oldKeys[i]) * W, W);
+            }
+        }
+    }
+
+    /** Adds one booking to a group. */
+    void addRow(long key, double fee, boolean cancelled, double cancellationFee) {
+        int base = slot(key) * W;
+        totals[base + Measure.BOOKINGS.ordinal()]++;
+        if (cancelled) {
+            totals[base + Measure.CANCELLATIONS.ordinal()]++;
+            totals[base + Measure.CANCELLATION_FEES.ordinal()] += cancellationFee;
+        } else {
+            totals[base + Measure.BOOKING_REVENUE.ordinal()] += fee;
+        }
+    }
+
+    /** Adds every group of another table to this one. */
+    void merge(GroupTable other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.used[i]) {
+                int base = slot(other.keys[i]) * W;
+                for (int m = 0; m < W; m++) {
+                    totals[base + m] += other.totals[i * W + m];
+                }
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Copies the keys into {@code outKeys} and their totals into {@code outTotals}, in slot order. */
+    void export(long[] outKeys, double[] outTotals) {
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                outKeys[n] = keys[i];
+                System.arraycopy(totals, i * W, outTotals, n * W, W);
+                n++;
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package bcu.cmp5332.bookingsystem.analytics;
+
+/**
+ * The {@code Measure} enum lists the totals the {@link ReportEngine} computes for every group.
+ */
+public enum Measure {
+
+    /** The number of bookings made, including those later cancelled. */
+    BOOKINGS,
+
+    /** The number of bookings cancelled. */
+    CANCELLATIONS,
+
+    /** The fees of bookings that are still active. */
+    BOOKING_REVENUE,
+
+    /** The cancellation fees kept from cancelled bookings. */
+    CANCELLATION_FEES,
+
+    /** Booking revenue plus cancellation fees. */
+    REVENUE;
+
+    /** The number of totals accumulated per group; {@link #REVENUE} is derived from two of them. */
+    static final int STORED = 4;
+
+    /**
+     * Returns the value of this measure from a group's stored totals.
+     *
+     * @param totals the stored totals of one or more groups
+     * @param offset the index of the group's first total
+     * @return the value
+     */
+    double of(double[] totals, int offset) {
+        return this == REVENUE
+                ? totals[offset + BOOKING_REVENUE.ordinal()] + totals[offset + CANCELLATION_FEES.ordinal()]
+                : totals[offset + ordinal()];
+    }
+}
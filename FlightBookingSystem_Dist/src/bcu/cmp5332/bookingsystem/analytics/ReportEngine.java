@@ -0,0 +1,95 @@
+package bcu.cmp5332.bookingsystem.analytics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The {@code ReportEngine} class answers ad-hoc group-by questions over a
+ * {@link BookingSnapshot}, such as revenue by month, cancellations by route or top customers.
+ * <p>
+ * A report is a fork-join reduction: the snapshot's rows are split in halves until there are a few
+ * ranges per worker thread, each range is aggregated sequentially into its own {@link GroupTable}, and the
+ * tables are merged on the way back up. No locks are needed because every task writes only to
+ * its own table.
+ * </p>
+ */
+public class ReportEngine {
+
+    /** Ranges at or below this many rows are always aggregated without splitting further. */
+    static final int MIN_LEAF_ROWS = 1 << 16;
+
+    /**
+     * How many leaf ranges to aim for per worker thread. A few per thread lets idle workers steal
+     * work; many more only adds merges, which are costly when there are many groups.
+     */
+    private static final int LEAVES_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a report engine that runs on the common fork-join pool.
+     */
+    public ReportEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a report engine that runs on the given pool.
+     *
+     * @param pool the fork-join pool
+     */
+    public ReportEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Groups the bookings of a snapshot and totals every {@link Measure} per group.
+     *
+     * @param snapshot the bookings
+     * @param groupBy  how to group them
+     * @return the groups, in key order
+     */
+    public ReportResult run(BookingSnapshot snapshot, GroupBy groupBy) {
+        int leafRows = Math.max(MIN_LEAF_ROWS, snapshot.size / (pool.getParallelism() * LEAVES_PER_THREAD) + 1);
+        GroupTable table = pool.invoke(new AggregateTask(snapshot, groupBy, 0, snapshot.size, leafRows));
+        return new ReportResult(groupBy, table);
+    }
+
+    private static final class AggregateTask extends RecursiveTask<GroupTable> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final BookingSnapshot snapshot;
+        private final GroupBy groupBy;
+        private final int from;
+        private final int to;
+        private final int leafRows;
+
+        AggregateTask(BookingSnapshot snapshot, GroupBy groupBy, int from, int to, int leafRows) {
+            this.snapshot = snapshot;
+            this.groupBy = groupBy;
+            this.from = from;
+            this.to = to;
+            this.leafRows = leafRows;
+        }
+
+        @Override
+        protected GroupTable compute() {
+            if (to - from <= leafRows) {
+                GroupTable table = new GroupTable();
+                for (int row = from; row < to; row++) {
+                    table.addRow(groupBy.key(snapshot, row), snapshot.fees[row],
+                            snapshot.cancelled[row], snapshot.cancellationFees[row]);
+                }
+                return table;
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(snapshot, groupBy, from, mid, leafRows);
+            left.fork();
+            GroupTable right = new AggregateTask(snapshot, groupBy, mid, to, leafRows).compute();
+            GroupTable merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+}
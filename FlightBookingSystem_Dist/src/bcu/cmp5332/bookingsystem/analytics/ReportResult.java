@@ -0,0 +1,130 @@
+package bcu.cmp5332.bookingsystem.analytics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The {@code ReportResult} class holds the groups produced by a {@link ReportEngine} run, with
+ * the value of every {@link Measure} for each group, and can sort, trim and export them to CSV.
+ */
+public class ReportResult {
+
+    /**
+     * One group of a report.
+     */
+    public static final class Row {
+
+        private final long key;
+        private final String label;
+        private final double[] totals;
+
+        Row(long key, String label, double[] totals) {
+            this.key = key;
+            this.label = label;
+            this.totals = totals;
+        }
+
+        /** @return the group key, for example a flight or customer ID */
+        public long getKey() { return key; }
+
+        /** @return the display text of the group */
+        public String getLabel() { return label; }
+
+        /**
+         * Returns the value of a measure for this group.
+         *
+         * @param measure the measure
+         * @return the value
+         */
+        public double get(Measure measure) {
+            return measure.of(totals, 0);
+        }
+    }
+
+    private final GroupBy groupBy;
+    private final List<Row> rows;
+
+    ReportResult(GroupBy groupBy, GroupTable table) {
+        this.groupBy = groupBy;
+        int n = table.size();
+        long[] keys = new long[n];
+        double[] totals = new double[n * Measure.STORED];
+        table.export(keys, totals);
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> keys[i]));
+        rows = new ArrayList<>(n);
+        for (int i : order) {
+            rows.add(new Row(keys[i], groupBy.label(keys[i]),
+                    Arrays.copyOfRange(totals, i * Measure.STORED, (i + 1) * Measure.STORED)));
+        }
+    }
+
+    private ReportResult(GroupBy groupBy, List<Row> rows) {
+        this.groupBy = groupBy;
+        this.rows = rows;
+    }
+
+    /** @return how the bookings were grouped */
+    public GroupBy getGroupBy() { return groupBy; }
+
+    /** @return the groups, in their current order */
+    public List<Row> getRows() { return rows; }
+
+    /**
+     * Returns the groups with the highest values of a measure, highest first.
+     *
+     * @param measure the measure to rank by
+     * @param limit   the maximum number of groups
+     * @return a new result holding at most {@code limit} groups
+     */
+    public ReportResult top(Measure measure, int limit) {
+        List<Row> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingDouble((Row r) -> r.get(measure)).reversed());
+        return new ReportResult(groupBy, sorted.subList(0, Math.min(limit, sorted.size())));
+    }
+
+    /**
+     * Writes the groups as CSV: a header line, then one line per group with its key, label and
+     * every measure.
+     *
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    public void writeCsv(Writer out) throws IOException {
+        StringBuilder line = new StringBuilder("key,").append(groupBy.name().toLowerCase());
+        for (Measure measure : Measure.values()) {
+            line.append(',').append(measure.name().toLowerCase());
+        }
+        out.write(line.append('\n').toString());
+        for (Row row : rows) {
+            line.setLength(0);
+            line.append(row.key).append(',').append(csvField(row.label));
+            for (Measure measure : Measure.values()) {
+                double value = row.get(measure);
+                line.append(',');
+                if (measure == Measure.BOOKINGS || measure == Measure.CANCELLATIONS) {
+                    line.append((long) value);
+                } else {
+                    line.append(String.format(Locale.ROOT, "%.2f", value));
+                }
+            }
+            out.write(line.append('\n').toString());
+        }
+        out.flush();
+    }
+
+    private static String csvField(String text) {
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
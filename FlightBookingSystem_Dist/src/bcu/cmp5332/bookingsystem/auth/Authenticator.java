@@ -1,25 +1,70 @@
 package bcu.cmp5332.bookingsystem.auth;
 
-import java.util.ArrayList;
-import java.util.List;
+import bcu.cmp5332.bookingsystem.commands.Command;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 
 /**
  * The {@code Authenticator} class provides functionality for authenticating users based on their username and password.
- * It maintains a list of users, including demo users, and verifies the credentials during the login process.
+ * Users, staff and customers alike, are looked up in a {@link UserDirectory}, and their credentials are verified during the login process.
+ * <p>
+ * Passwords are checked with a {@link PasswordHasher}, which is slow on purpose. A password still
+ * stored in plain text, or hashed at a lower cost, is replaced by a fresh hash as soon as it has
+ * been used to log in, so existing records are migrated without any action from their users.
+ * A login can open a {@link Session}; later requests that present its token are authenticated
+ * by {@link #resume(String)} without hashing the password again, and may be checked against the
+ * command they run with {@link #authorize(Session, Command)}.
+ * </p>
  */
 public class Authenticator {
     
-    /** A list of users stored in the system. */
-    private List<User> users = new ArrayList<>();
+    /** The users who may log in. */
+    private final UserDirectory directory;
+
+    private final PasswordHasher hasher;
+    private final SessionStore sessions;
     
     /**
-     * Constructs an {@code Authenticator} object and pre-populates the list with demo users.
+     * Constructs an {@code Authenticator} object with a directory of demo users, kept in memory.
      * The demo users include an admin and a customer for testing purposes.
+     * It uses the shared {@link PasswordHasher} and a {@link SessionStore} with the default timeout.
      */
     public Authenticator() {
-        // Pre-populate with demo users
-        users.add(new User("admin", "admin123", Role.ADMIN));
-        users.add(new User("customer", "cust123", Role.CUSTOMER));
+        this(demoDirectory(), PasswordHasher.getDefault(), new SessionStore());
+    }
+
+    /**
+     * Constructs an {@code Authenticator} over a user directory, with the shared
+     * {@link PasswordHasher} and a {@link SessionStore} with the default timeout.
+     *
+     * @param directory the users who may log in
+     */
+    public Authenticator(UserDirectory directory) {
+        this(directory, PasswordHasher.getDefault(), new SessionStore());
+    }
+
+    /**
+     * Constructs an {@code Authenticator} with the given user directory, hasher and session store.
+     *
+     * @param directory the users who may log in
+     * @param hasher    checks and hashes passwords
+     * @param sessions  holds the sessions opened after logging in
+     */
+    public Authenticator(UserDirectory directory, PasswordHasher hasher, SessionStore sessions) {
+        this.directory = directory;
+        this.hasher = hasher;
+        this.sessions = sessions;
+    }
+
+    private static UserDirectory demoDirectory() {
+        UserDirectory directory = new UserDirectory(null, null);
+        try {
+            // Pre-populate with demo users
+            directory.addUser(new User("admin", "admin123", Role.ADMIN));
+            directory.addUser(new User("customer", "cust123", Role.CUSTOMER));
+        } catch (FlightBookingSystemException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return directory;
     }
     
     /**
@@ -31,12 +76,62 @@ public class Authenticator {
      * @return The authenticated {@code User} object if credentials match, or {@code null} if authentication fails.
      */
     public User login(String username, String password) {
-        for (User user : users) {
-            // Check if username matches and if the password is correct
-            if (user.getUsername().equalsIgnoreCase(username) && user.checkPassword(password)) {
-                return user;
-            }
+        User user = directory.find(username);
+        if (user == null) {
+            return null; // Return null if no matching user is found
+        }
+        // Hash outside any lock, so other requests are not held up by this one.
+        String stored = user.getPassword();
+        if (!hasher.verify(password, stored)) {
+            return null;
         }
-        return null; // Return null if no matching user is found
+        if (hasher.needsRehash(stored)) {
+            directory.replacePassword(user, stored, hasher.hash(password));
+        }
+        return user;
+    }
+
+    /**
+     * Opens a session for a user who has logged in. Sessions that have expired without being
+     * looked up again are purged first, so abandoned logins do not accumulate.
+     *
+     * @param user the user returned by {@link #login(String, String)}
+     * @return the new session
+     */
+    public Session openSession(User user) {
+        sessions.purgeExpired();
+        return sessions.open(user.getUsername(), user.getRole(), user.getCustomerId());
+    }
+
+    /**
+     * Authenticates a request by its session token, without checking a password.
+     *
+     * @param token the token of a session opened earlier
+     * @return the session, or {@code null} if the token is unknown or the session has expired
+     */
+    public Session resume(String token) {
+        return sessions.get(token);
+    }
+
+    /**
+     * Checks that a session's role may run a command.
+     *
+     * @param session the session the command was sent in
+     * @param command the command to run
+     * @throws FlightBookingSystemException if the role lacks the command's permission
+     */
+    public void authorize(Session session, Command command) throws FlightBookingSystemException {
+        if (!session.getRole().allows(command.getPermission())) {
+            throw new FlightBookingSystemException("Permission denied.");
+        }
+    }
+
+    /**
+     * Ends a session.
+     *
+     * @param token the session token
+     */
+    public void logout(String token) {
+        sessions.close(token);
     }
 }
@@ -0,0 +1,162 @@
+package bcu.cmp5332.bookingsystem.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * The {@code PasswordHasher} class turns passwords into salted PBKDF2 hashes and checks passwords
+ * against them.
+ * <p>
+ * A hash is stored as {@code pbkdf2$iterations$salt$hash}, with the salt and hash in Base64, so
+ * it records the cost it was made with and contains no {@code ::} or commas to upset the data
+ * files. The cost is the number of PBKDF2-HMAC-SHA256 iterations: each one makes hashing, and so
+ * every guess by someone holding the hashes, proportionally slower.
+ * </p>
+ * <p>
+ * Records written before passwords were hashed hold the plain text. {@link #verify(String, String)}
+ * accepts those too, and {@link #needsRehash(String)} tells the caller to replace them, or hashes
+ * made with a lower cost, with a fresh hash once the password has been checked.
+ * </p>
+ */
+public class PasswordHasher {
+
+    /** The prefix that marks a stored password as a hash. */
+    public static final String PREFIX = "pbkdf2$";
+
+    /** The default number of iterations, overridden by the {@code auth.pbkdf2.iterations} property. */
+    public static final int DEFAULT_ITERATIONS = 310_000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private static volatile PasswordHasher defaultHasher;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructs a hasher.
+     *
+     * @param iterations the PBKDF2 iteration count used for new hashes
+     */
+    public PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive.");
+        }
+        this.iterations = iterations;
+    }
+
+    /**
+     * Returns the shared hasher, whose cost is read on first use from the
+     * {@code auth.pbkdf2.iterations} system property (default {@link #DEFAULT_ITERATIONS}).
+     *
+     * @return the shared hasher
+     */
+    public static PasswordHasher getDefault() {
+        PasswordHasher hasher = defaultHasher;
+        if (hasher == null) {
+            synchronized (PasswordHasher.class) {
+                if (defaultHasher == null) {
+                    defaultHasher = new PasswordHasher(Integer.getInteger("auth.pbkdf2.iterations", DEFAULT_ITERATIONS));
+                }
+                hasher = defaultHasher;
+            }
+        }
+        return hasher;
+    }
+
+    /** @return the iteration count used for new hashes */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Hashes a password with a new random salt.
+     *
+     * @param password the password
+     * @return the encoded hash
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(derive(password, salt, iterations));
+    }
+
+    /**
+     * Checks a password against a stored hash, or against a stored plain-text password.
+     *
+     * @param password the password entered
+     * @param stored   the stored hash or plain-text password
+     * @return {@code true} if the password matches
+     */
+    public boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, derive(password, salt, storedIterations));
+        } catch (IllegalArgumentException ex) {
+            return false;  // A damaged record matches nothing.
+        }
+    }
+
+    /**
+     * Tells whether a stored password should be replaced by a new hash once it has been verified:
+     * because it is plain text, or because it was hashed with fewer iterations than this hasher uses.
+     *
+     * @param stored the stored hash or plain-text password
+     * @return {@code true} if the password should be hashed again
+     */
+    public boolean needsRehash(String stored) {
+        if (!isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException ex) {
+            return true;
+        }
+    }
+
+    /**
+     * Tells whether a stored password is a hash rather than plain text.
+     *
+     * @param stored the stored password
+     * @return {@code true} if it is a hash made by this class
+     */
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException ex) {
+            // Every Java runtime is required to provide PBKDF2WithHmacSHA256.
+            throw new IllegalStateException(ALGORITHM + " is not available", ex);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
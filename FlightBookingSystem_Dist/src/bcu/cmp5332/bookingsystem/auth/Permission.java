@@ -0,0 +1,31 @@
+package bcu.cmp5332.bookingsystem.auth;
+
+/**
+ * The {@code Permission} enum lists the kinds of action a {@link Role} may be allowed to take.
+ * Commands name the permission they need with
+ * {@link bcu.cmp5332.bookingsystem.commands.Command#getPermission()}, and GUI actions check theirs
+ * before running.
+ */
+public enum Permission {
+
+    /** See flights, seat maps, fares and routes, and read the help. */
+    BROWSE,
+
+    /** Make, move and cancel bookings, seat holds and waitlist places. */
+    BOOK,
+
+    /** See every customer, their details and bookings, and flight waitlists. */
+    VIEW_CUSTOMERS,
+
+    /** Add and delete flights and change their prices. */
+    MANAGE_FLIGHTS,
+
+    /** Add, update and delete customers. */
+    MANAGE_CUSTOMERS,
+
+    /** See booking, revenue and load factor reports. */
+    VIEW_REPORTS,
+
+    /** Start servers and replication, open the GUI and read the admission statistics. */
+    OPERATE
+}
@@ -1,15 +1,37 @@
 package bcu.cmp5332.bookingsystem.auth;
 
+import java.util.EnumSet;
+
 /**
  * The {@code Role} enum represents the different user roles in the system.
  * It defines two roles: {@code ADMIN} and {@code CUSTOMER}.
  * These roles are used to differentiate the access levels and permissions of users.
+ * <p>
+ * Each role's {@link Permission}s are fixed when the class is loaded and kept in an
+ * {@link EnumSet}, a bit set, so {@link #allows(Permission)} costs a single bit test.
+ * </p>
  */
 public enum Role {
     
     /** Represents an admin user with full access to the system. */
-    ADMIN,
+    ADMIN(EnumSet.allOf(Permission.class)),
     
     /** Represents a customer user with limited access to the system. */
-    CUSTOMER
+    CUSTOMER(EnumSet.of(Permission.BROWSE, Permission.BOOK));
+
+    private final EnumSet<Permission> permissions;
+
+    Role(EnumSet<Permission> permissions) {
+        this.permissions = permissions;
+    }
+
+    /**
+     * Tells whether this role may take actions needing a permission.
+     *
+     * @param permission the permission needed
+     * @return {@code true} if the role has it
+     */
+    public boolean allows(Permission permission) {
+        return permissions.contains(permission);
+    }
 }
@@ -0,0 +1,41 @@
+package bcu.cmp5332.bookingsystem.auth;
+
+/**
+ * The {@code Session} class records a successful login, identified by a random token. Presenting
+ * the token to the {@link SessionStore} proves the login without checking the password again.
+ */
+public class Session {
+
+    private final String token;
+    private final String username;
+    private final Role role;
+    private final int customerId;
+    private volatile long expiresAt;
+
+    Session(String token, String username, Role role, int customerId, long expiresAt) {
+        this.token = token;
+        this.username = username;
+        this.role = role;
+        this.customerId = customerId;
+        this.expiresAt = expiresAt;
+    }
+
+    /** @return the token that identifies this session */
+    public String getToken() { return token; }
+
+    /** @return the name the user logged in with */
+    public String getUsername() { return username; }
+
+    /** @return the user's role */
+    public Role getRole() { return role; }
+
+    /** @return the ID of the customer logged in, or -1 if the user is not a customer */
+    public int getCustomerId() { return customerId; }
+
+    /** @return when the session expires unless used again, in milliseconds of the store's clock */
+    public long getExpiresAt() { return expiresAt; }
+
+    void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
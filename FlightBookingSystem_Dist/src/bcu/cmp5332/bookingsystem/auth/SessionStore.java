@@ -0,0 +1,117 @@
+package bcu.cmp5332.bookingsystem.auth;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code SessionStore} class keeps the sessions of logged-in users, so that requests after the
+ * first can be authenticated by token in constant time instead of by running the slow password
+ * hash again.
+ * <p>
+ * Tokens are 32 random bytes from a {@link SecureRandom}. A session expires when it has not been
+ * used for the store's idle timeout; each successful lookup pushes its expiry back. Expired
+ * sessions are removed when looked up and by {@link #purgeExpired()}, which the
+ * {@link Authenticator} runs each time it opens a session.
+ * </p>
+ */
+public class SessionStore {
+
+    /** The default idle timeout, in milliseconds. */
+    public static final long DEFAULT_IDLE_TIMEOUT = 30 * 60 * 1000L;
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long idleTimeout;
+    private final LongSupplier clock;
+
+    /**
+     * Constructs a store using the default idle timeout and the system clock.
+     */
+    public SessionStore() {
+        this(DEFAULT_IDLE_TIMEOUT, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs a store.
+     *
+     * @param idleTimeout how long an unused session lasts, in milliseconds
+     * @param clock       the current time in milliseconds
+     */
+    public SessionStore(long idleTimeout, LongSupplier clock) {
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+    }
+
+    /**
+     * Opens a session for a user whose credentials have been checked.
+     *
+     * @param username   the name the user logged in with
+     * @param role       the user's role
+     * @param customerId the customer's ID, or -1 if the user is not a customer
+     * @return the new session
+     */
+    public Session open(String username, Role role, int customerId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Session session = new Session(token, username, role, customerId, clock.getAsLong() + idleTimeout);
+        sessions.put(token, session);
+        return session;
+    }
+
+    /**
+     * Returns the live session with a token and extends its expiry.
+     *
+     * @param token the session token
+     * @return the session, or {@code null} if the token is unknown or its session has expired
+     */
+    public Session get(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (now >= session.getExpiresAt()) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.setExpiresAt(now + idleTimeout);
+        return session;
+    }
+
+    /**
+     * Ends a session, for example when the user logs out.
+     *
+     * @param token the session token
+     */
+    public void close(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    /**
+     * Removes every expired session.
+     *
+     * @return the number removed
+     */
+    public int purgeExpired() {
+        long now = clock.getAsLong();
+        int before = sessions.size();
+        sessions.values().removeIf(s -> now >= s.getExpiresAt());
+        return before - sessions.size();
+    }
+
+    /** @return the number of sessions held, including expired ones not yet removed */
+    public int size() {
+        return sessions.size();
+    }
+}
@@ -3,29 +3,53 @@ package bcu.cmp5332.bookingsystem.auth;
 /**
  * The {@code User} class represents a user in the system with a username, password, and associated role.
  * This class provides methods to retrieve user details and check if the provided password matches the stored one.
+ * <p>
+ * Staff accounts are {@code User}s held by the {@link UserDirectory}. When a customer of the
+ * booking system logs in, the directory describes them with a {@code User} too, carrying their
+ * customer ID.
+ * </p>
  */
 public class User {
     
     /** The username of the user. */
     private String username;
     
-    /** The password of the user (in plaintext for simplicity). */
+    /** The user's password hash, or the password itself until it is first used to log in. */
     private String password;
     
     /** The role of the user, which determines the level of access. */
     private Role role;
+
+    /** The ID of the customer this user is, or -1 for a staff account. */
+    private final int customerId;
     
     /**
      * Constructs a {@code User} object with the specified username, password, and role.
      *
      * @param username The username of the user.
-     * @param password The password of the user (in plaintext).
+     * @param password The password of the user, in plain text or as a {@link PasswordHasher} hash.
      * @param role The role of the user (either ADMIN or CUSTOMER).
      */
     public User(String username, String password, Role role) {
+        this(username, password, role, -1);
+    }
+
+    /**
+     * Constructs a {@code User} describing a customer of the booking system.
+     *
+     * @param username   The customer's name.
+     * @param password   The customer's stored password.
+     * @param customerId The customer's ID.
+     */
+    User(String username, String password, int customerId) {
+        this(username, password, Role.CUSTOMER, customerId);
+    }
+
+    private User(String username, String password, Role role, int customerId) {
         this.username = username;
         this.password = password;
         this.role = role;
+        this.customerId = customerId;
     }
     
     /**
@@ -47,12 +71,42 @@ public class User {
     }
     
     /**
-     * Checks if the provided password matches the user's stored password.
+     * Gets the ID of the customer this user is.
+     *
+     * @return The customer ID, or -1 for a staff account.
+     */
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Tells whether this user's role has a permission.
+     *
+     * @param permission The permission needed.
+     * @return {@code true} if the user may take actions needing it.
+     */
+    public boolean can(Permission permission) {
+        return role.allows(permission);
+    }
+
+    /**
+     * Checks if the provided password matches the user's stored password, using the shared
+     * {@link PasswordHasher}.
      *
      * @param input The password input to check against the stored password.
      * @return {@code true} if the provided password matches, {@code false} otherwise.
      */
     public boolean checkPassword(String input) {
-        return this.password.equals(input);
+        return PasswordHasher.getDefault().verify(input, password);
+    }
+
+    /** @return the stored password hash or plain-text password */
+    String getPassword() {
+        return password;
+    }
+
+    /** Replaces the stored password, for example with a hash of it. */
+    void setPassword(String password) {
+        this.password = password;
     }
 }
@@ -0,0 +1,198 @@
+package bcu.cmp5332.bookingsystem.auth;
+
+import bcu.cmp5332.bookingsystem.data.DataManager;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.PrefixIndex;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+/**
+ * The {@code UserDirectory} class is the one place logins are looked up: staff {@link User}s, such
+ * as admins, and the customers of a {@link FlightBookingSystem}.
+ * <p>
+ * Staff accounts are kept in a {@link HashMap} keyed by case-folded username, so a lookup is a
+ * single hash probe however many accounts there are. They are loaded from and saved to a data
+ * file, by default {@link #RESOURCE}, one account per line as
+ * {@code username::password::role::}, where the password is normally a {@link PasswordHasher}
+ * hash. Customers are found through the booking system's case-folded customer name index and
+ * described by a {@code User} with the {@link Role#CUSTOMER} role and their customer ID. A staff
+ * account takes precedence over a customer with the same name.
+ * </p>
+ */
+public class UserDirectory {
+
+    /** The path of the staff account file. */
+    public static final String RESOURCE = "./resources/data/users.txt";
+
+    private final Map<String, User> staff = new HashMap<>();
+    private final FlightBookingSystem fbs;
+    private final String path;
+
+    /**
+     * Constructs an empty directory.
+     *
+     * @param fbs  the booking system whose customers may log in, or {@code null} for staff only
+     * @param path the file staff accounts are saved to when they change, or {@code null} to keep
+     *             them in memory only
+     */
+    public UserDirectory(FlightBookingSystem fbs, String path) {
+        this.fbs = fbs;
+        this.path = path;
+    }
+
+    /**
+     * Loads the staff accounts from {@link #RESOURCE}.
+     *
+     * @param fbs the booking system whose customers may log in
+     * @return the directory
+     * @throws IOException                  if the file cannot be read
+     * @throws FlightBookingSystemException if a line of the file cannot be parsed
+     * @see #load(FlightBookingSystem, String)
+     */
+    public static UserDirectory load(FlightBookingSystem fbs) throws IOException, FlightBookingSystemException {
+        return load(fbs, RESOURCE);
+    }
+
+    /**
+     * Loads the staff accounts from a file. If the file does not exist, the directory starts with
+     * the single admin account the login window has always accepted, {@code admin} with password
+     * {@code admin}; the file is written when that password is first hashed.
+     *
+     * @param fbs  the booking system whose customers may log in
+     * @param path the staff account file
+     * @return the directory
+     * @throws IOException                  if the file cannot be read
+     * @throws FlightBookingSystemException if a line of the file cannot be parsed
+     */
+    public static UserDirectory load(FlightBookingSystem fbs, String path)
+            throws IOException, FlightBookingSystemException {
+        UserDirectory directory = new UserDirectory(fbs, path);
+        File file = new File(path);
+        if (!file.exists()) {
+            directory.put(new User("admin", "admin", Role.ADMIN));
+            return directory;
+        }
+        try (Scanner sc = new Scanner(file)) {
+            int line_idx = 1;
+            while (sc.hasNextLine()) {
+                String line = sc.nextLine().trim();
+                if (!line.isEmpty()) {
+                    String[] properties = line.split(DataManager.SEPARATOR, -1);
+                    try {
+                        directory.put(new User(properties[0], properties[1], Role.valueOf(properties[2])));
+                    } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException ex) {
+                        throw new FlightBookingSystemException("Unable to parse user data on line " + line_idx
+                                + "\nError: " + ex);
+                    }
+                }
+                line_idx++;
+            }
+        }
+        return directory;
+    }
+
+    private void put(User user) {
+        staff.put(PrefixIndex.fold(user.getUsername()), user);
+    }
+
+    /**
+     * Adds a staff account and saves the accounts.
+     *
+     * @param user the account
+     * @throws FlightBookingSystemException if an account with that name, ignoring case, exists
+     */
+    public synchronized void addUser(User user) throws FlightBookingSystemException {
+        if (staff.containsKey(PrefixIndex.fold(user.getUsername()))) {
+            throw new FlightBookingSystemException("User " + user.getUsername() + " already exists.");
+        }
+        put(user);
+        store();
+    }
+
+    /**
+     * Finds the account someone logs in with: a staff account, or else an active customer.
+     *
+     * @param username the name entered, compared case-insensitively
+     * @return the account, or {@code null} if there is none with that name
+     */
+    public User find(String username) {
+        synchronized (this) {
+            User user = staff.get(PrefixIndex.fold(username));
+            if (user != null) {
+                return user;
+            }
+        }
+        if (fbs == null) {
+            return null;
+        }
+        synchronized (fbs) {
+            Customer customer = fbs.getCustomerByName(username);
+            return customer == null ? null : new User(customer.getName(), customer.getPassword(), customer.getId());
+        }
+    }
+
+    /**
+     * Replaces an account's stored password if it is still the one expected, for example with a
+     * hash once it has been used to log in. A staff password is saved at once; a customer's is
+     * saved with the rest of the customer data.
+     *
+     * @param user        the account, as returned by {@link #find(String)}
+     * @param expected    the stored password the replacement was made from
+     * @param replacement the new stored password
+     */
+    public void replacePassword(User user, String expected, String replacement) {
+        if (user.getCustomerId() >= 0) {
+            try {
+                if (fbs.replacePassword(user.getCustomerId(), expected, replacement)) {
+                    user.setPassword(replacement);
+                }
+            } catch (FlightBookingSystemException ex) {
+                // The customer was deleted meanwhile; there is nothing left to migrate.
+            }
+            return;
+        }
+        synchronized (this) {
+            if (user.getPassword().equals(expected)) {
+                user.setPassword(replacement);
+                store();
+            }
+        }
+    }
+
+    /**
+     * Returns the staff accounts.
+     *
+     * @return a copy of the staff accounts, in no particular order
+     */
+    public synchronized List<User> getUsers() {
+        return new ArrayList<>(staff.values());
+    }
+
+    /**
+     * Saves the staff accounts to this directory's file, if it has one.
+     */
+    private void store() {
+        if (path == null) {
+            return;
+        }
+        try (PrintWriter out = new PrintWriter(new FileWriter(path))) {
+            for (User user : staff.values()) {
+                out.print(user.getUsername() + DataManager.SEPARATOR);
+                out.print(user.getPassword() + DataManager.SEPARATOR);
+                out.print(user.getRole() + DataManager.SEPARATOR);
+                out.println();
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing to " + path + ": " + e.getMessage());
+        }
+    }
+}
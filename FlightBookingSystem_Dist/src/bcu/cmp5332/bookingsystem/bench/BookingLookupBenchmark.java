@@ -0,0 +1,115 @@
+package bcu.cmp5332.bookingsystem.bench;
+
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.BookingStatus;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code BookingLookupBenchmark} class compares {@link FlightBookingSystem#findBooking(int)}
+ * with the lookup the GUI used before it: the active bookings by ID, then a scan of the cancelled
+ * bookings, and the status from whether the active bookings contain the booking.
+ * <p>
+ * Usage: {@code BookingLookupBenchmark [bookings] [lookups]}. One booking in ten is cancelled.
+ * The old lookup is timed on a thousandth of the lookups, as each one copies and scans whole lists.
+ * </p>
+ */
+public class BookingLookupBenchmark {
+
+    /**
+     * Runs the benchmark and prints the time per lookup for both approaches.
+     *
+     * @param args optional booking and lookup counts
+     * @throws FlightBookingSystemException if the bookings cannot be set up
+     */
+    public static void main(String[] args) throws FlightBookingSystemException {
+        int bookingCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        FlightBookingSystem fbs = new FlightBookingSystem();
+        LocalDate today = fbs.getSystemDate();
+        int perFlight = 100;
+        int customerCount = 10_000;
+        for (int i = 1; i <= customerCount; i++) {
+            fbs.addCustomer(new Customer(i, "Lookup Customer " + i, "0" + i, "lookup" + i + "@example.com", "pw"));
+        }
+        for (int i = 1; i <= (bookingCount + perFlight - 1) / perFlight; i++) {
+            fbs.addFlight(new Flight(i, "LB" + i, "LKA", "LKB", today.plusDays(30 + i % 300), 100.0, perFlight));
+        }
+        // Cancelling prints each refund, which is not what is being measured.
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+        }));
+        try {
+            for (int i = 0; i < bookingCount; i++) {
+                Booking booking = fbs.addBooking(i % customerCount + 1, i / perFlight + 1, today);
+                if (i % 10 == 0) {
+                    fbs.cancelBooking(booking.getId(), 0.0);
+                }
+            }
+        } finally {
+            System.setOut(out);
+        }
+        System.out.printf("%d bookings, %d cancelled%n", fbs.getBookings().size() + fbs.getCancelledBookings().size(),
+                fbs.getCancelledBookings().size());
+
+        int oldLookups = Math.max(1, lookups / 1000);
+        for (int round = 0; round < 3; round++) {
+            Random random = new Random(42);
+            long cancelled = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                Booking booking = fbs.findBooking(random.nextInt(bookingCount) + 1);
+                if (booking.getStatus() == BookingStatus.CANCELLED) {
+                    cancelled++;
+                }
+            }
+            long unified = System.nanoTime() - start;
+
+            random = new Random(42);
+            long oldCancelled = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < oldLookups; i++) {
+                if (oldLookup(fbs, random.nextInt(bookingCount) + 1)) {
+                    oldCancelled++;
+                }
+            }
+            long old = System.nanoTime() - start;
+
+            System.out.printf("Round %d: findBooking %.0f ns/lookup (%d cancelled), "
+                    + "old lookup %.0f ns/lookup (%d cancelled)%n", round + 1,
+                    unified / (double) lookups, cancelled, old / (double) oldLookups, oldCancelled);
+        }
+    }
+
+    /**
+     * Looks a booking up the way the GUI did before {@code findBooking}.
+     *
+     * @return {@code true} if the booking is cancelled
+     */
+    private static boolean oldLookup(FlightBookingSystem fbs, int id) {
+        Booking booking = null;
+        try {
+            booking = fbs.getBookingByID(id);
+        } catch (FlightBookingSystemException ex) {
+            for (Booking b : fbs.getCancelledBookings()) {
+                if (b.getId() == id) {
+                    booking = b;
+                    break;
+                }
+            }
+        }
+        List<Booking> active = fbs.getBookings();
+        return booking != null && !active.contains(booking);
+    }
+}
@@ -0,0 +1,92 @@
+package bcu.cmp5332.bookingsystem.bench;
+
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.net.BookingClient;
+import bcu.cmp5332.bookingsystem.net.BookingServer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code BookingServerBenchmark} class measures the request throughput of the
+ * {@link BookingServer} using pipelined {@link BookingClient}s on the loopback interface.
+ * <p>
+ * Usage: {@code BookingServerBenchmark [clients] [requestsPerClient] [batchSize]}.
+ * Each client sends one add-booking request for every four availability queries.
+ * </p>
+ */
+public class BookingServerBenchmark {
+
+    /**
+     * Runs the benchmark and prints the measured throughput.
+     *
+     * @param args optional client count, requests per client and pipeline batch size
+     * @throws Exception if the server or a client fails
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int batch = args.length > 2 ? Integer.parseInt(args[2]) : 128;
+
+        FlightBookingSystem fbs = new FlightBookingSystem();
+        int flightCount = 100;
+        for (int i = 1; i <= flightCount; i++) {
+            fbs.addFlight(new Flight(i, "BM" + i, "Origin" + (i % 10), "Destination" + (i % 7),
+                    LocalDate.now().plusDays(30), 100.0, 1_000_000));
+        }
+        int customerCount = 2000;
+        for (int i = 1; i <= customerCount; i++) {
+            fbs.addCustomer(new Customer(i, "Customer " + i, "0700" + i, "c" + i + "@example.com", "pw"));
+        }
+
+        try (BookingServer server = new BookingServer(fbs, 0)) {
+            server.start();
+            int port = server.getPort();
+            AtomicLong failures = new AtomicLong();
+            List<Thread> threads = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int c = 0; c < clients; c++) {
+                final int seed = c;
+                Thread t = new Thread(() -> {
+                    try (BookingClient client = new BookingClient("localhost", port)) {
+                        int sent = 0;
+                        while (sent < requests) {
+                            int n = Math.min(batch, requests - sent);
+                            for (int i = 0; i < n; i++) {
+                                int k = seed * requests + sent + i;
+                                if (k % 5 == 0) {
+                                    // Walk every (customer, flight) pair once so bookings do not collide.
+                                    int pair = k / 5;
+                                    client.sendAddBooking(1 + pair % customerCount, 1 + (pair / customerCount) % flightCount);
+                                } else {
+                                    client.sendAvailability(1 + k % flightCount);
+                                }
+                            }
+                            client.flush();
+                            for (int i = 0; i < n; i++) {
+                                if (!client.receive().isOk()) {
+                                    failures.incrementAndGet();
+                                }
+                            }
+                            sent += n;
+                        }
+                    } catch (Exception ex) {
+                        System.err.println("Client failed: " + ex);
+                    }
+                });
+                threads.add(t);
+                t.start();
+            }
+            for (Thread t : threads) {
+                t.join();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long total = (long) clients * requests;
+            System.out.printf("clients=%d batch=%d requests=%d time=%.2fs throughput=%.0f req/s failures=%d%n",
+                    clients, batch, total, seconds, total / seconds, failures.get());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package bcu.cmp5332.bookingsystem.bench;
+
+import bcu.cmp5332.bookingsystem.auth.Authenticator;
+import bcu.cmp5332.bookingsystem.auth.PasswordHasher;
+import bcu.cmp5332.bookingsystem.auth.Session;
+import bcu.cmp5332.bookingsystem.auth.SessionStore;
+import bcu.cmp5332.bookingsystem.auth.UserDirectory;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+/**
+ * The {@code LoginBenchmark} class measures how many customer logins per second the
+ * {@link Authenticator} handles when every request checks the password hash, and how many
+ * requests per second it handles when they present a session token instead.
+ * <p>
+ * Usage: {@code LoginBenchmark [iterations] [threads] [seconds]}. The iteration count is the
+ * {@link PasswordHasher} cost, by default {@link PasswordHasher#DEFAULT_ITERATIONS}.
+ * </p>
+ */
+public class LoginBenchmark {
+
+    private static final int CUSTOMERS = 100;
+
+    /**
+     * Runs the benchmark and prints the rate of each kind of request.
+     *
+     * @param args optional hash cost, thread count and seconds per measurement
+     * @throws Exception if the customers cannot be set up or a thread is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : PasswordHasher.DEFAULT_ITERATIONS;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        PasswordHasher hasher = new PasswordHasher(iterations);
+        FlightBookingSystem fbs = new FlightBookingSystem();
+        for (int i = 1; i <= CUSTOMERS; i++) {
+            fbs.addCustomer(new Customer(i, "Login Customer " + i, "0" + i, "login" + i + "@example.com",
+                    hasher.hash("password" + i)));
+        }
+        UserDirectory directory = new UserDirectory(fbs, null);
+        Authenticator authenticator = new Authenticator(directory, hasher, new SessionStore());
+        List<String> tokens = new ArrayList<>();
+        for (int i = 1; i <= CUSTOMERS; i++) {
+            tokens.add(authenticator.openSession(directory.find("Login Customer " + i)).getToken());
+        }
+
+        System.out.printf("%d iterations, %d threads%n", iterations, threads);
+        for (int round = 0; round < 2; round++) {
+            double logins = rate(threads, seconds, i -> {
+                int id = i % CUSTOMERS + 1;
+                return authenticator.login("Login Customer " + id, "password" + id) != null;
+            });
+            double resumes = rate(threads, seconds, i -> {
+                Session session = authenticator.resume(tokens.get(i % CUSTOMERS));
+                return session != null;
+            });
+            System.out.printf("Round %d: %.1f password logins/s (%.1f ms each), %.0f session requests/s%n",
+                    round + 1, logins, threads * 1000 / logins, resumes);
+        }
+    }
+
+    /**
+     * Runs a request repeatedly on several threads for a while.
+     *
+     * @return the successful requests per second
+     */
+    private static double rate(int threads, int seconds, IntPredicate request) throws InterruptedException {
+        AtomicLong done = new AtomicLong();
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                for (int i = offset; System.nanoTime() < end; i += threads) {
+                    if (!request.test(i)) {
+                        throw new IllegalStateException("Request " + i + " was not authenticated");
+                    }
+                    done.incrementAndGet();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return done.get() / ((System.nanoTime() - start) / 1e9);
+    }
+}
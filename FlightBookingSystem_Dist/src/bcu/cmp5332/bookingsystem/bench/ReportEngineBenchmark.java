@@ -0,0 +1,123 @@
+package bcu.cmp5332.bookingsystem.bench;
+
+import bcu.cmp5332.bookingsystem.analytics.BookingSnapshot;
+import bcu.cmp5332.bookingsystem.analytics.GroupBy;
+import bcu.cmp5332.bookingsystem.analytics.ReportEngine;
+import bcu.cmp5332.bookingsystem.analytics.ReportResult;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code ReportEngineBenchmark} class compares the {@link ReportEngine} with a plain stream
+ * pipeline over {@link Booking} objects computing the same totals.
+ * <p>
+ * Usage: {@code ReportEngineBenchmark [bookings] [customers] [flights] [rounds]}. The default of
+ * ten million bookings needs a heap of about 2 GB, for example {@code -Xmx3g}.
+ * </p>
+ */
+public class ReportEngineBenchmark {
+
+    /**
+     * Runs the benchmark and prints the time per report for each grouping and both approaches.
+     *
+     * @param args optional booking, customer and flight counts, and the number of timed rounds
+     */
+    public static void main(String[] args) {
+        int bookingCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int customerCount = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int flightCount = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        int days = 730;
+        LocalDate[] dates = new LocalDate[days];
+        for (int d = 0; d < days; d++) {
+            dates[d] = start.plusDays(d);
+        }
+        Customer[] customers = new Customer[customerCount];
+        for (int i = 0; i < customerCount; i++) {
+            customers[i] = new Customer(i + 1, "Customer " + i, "0", "c" + i + "@example.com", "pw");
+        }
+        Flight[] flights = new Flight[flightCount];
+        for (int i = 0; i < flightCount; i++) {
+            flights[i] = new Flight(i + 1, "RB" + i, "RPT" + random.nextInt(200), "RPT" + (200 + random.nextInt(200)),
+                    dates[random.nextInt(days)], 50 + random.nextInt(450), 200);
+        }
+        List<Booking> bookings = new ArrayList<>(bookingCount);
+        for (int i = 0; i < bookingCount; i++) {
+            Flight flight = flights[random.nextInt(flightCount)];
+            Booking booking = new Booking(i + 1, customers[random.nextInt(customerCount)], flight,
+                    dates[random.nextInt(days)], flight.getBasePrice());
+            if (random.nextInt(10) == 0) {
+                booking.setCancellationFee(booking.getBookingFee() / 4);
+                booking.cancel();
+            }
+            bookings.add(booking);
+        }
+
+        long snapshotStart = System.nanoTime();
+        BookingSnapshot snapshot = new BookingSnapshot(bookings);
+        System.out.printf("Snapshot of %d bookings taken in %.1f ms%n", snapshot.size(),
+                (System.nanoTime() - snapshotStart) / 1e6);
+
+        ReportEngine engine = new ReportEngine();
+        runGrouping("BOOKING_MONTH", rounds, () -> engine.run(snapshot, GroupBy.BOOKING_MONTH).getRows().size(),
+                () -> naive(bookings, b -> YearMonth.from(b.getBookingDate())).size());
+        runGrouping("ROUTE", rounds, () -> engine.run(snapshot, GroupBy.ROUTE).getRows().size(),
+                () -> naive(bookings, b -> b.getFlight().getOrigin() + " to " + b.getFlight().getDestination()).size());
+        runGrouping("CUSTOMER", rounds, () -> engine.run(snapshot, GroupBy.CUSTOMER).getRows().size(),
+                () -> naive(bookings, b -> b.getCustomer().getId()).size());
+    }
+
+    private interface Run {
+        int groups();
+    }
+
+    private static void runGrouping(String name, int rounds, Run engine, Run naive) {
+        // Warm up both paths before measuring.
+        engine.groups();
+        naive.groups();
+        double engineMs = time(engine, rounds);
+        double naiveMs = time(naive, rounds);
+        System.out.printf("%s: %d groups, engine %.1f ms, stream %.1f ms, speed-up %.1fx%n",
+                name, engine.groups(), engineMs, naiveMs, naiveMs / engineMs);
+    }
+
+    private static double time(Run run, int rounds) {
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            run.groups();
+        }
+        return (System.nanoTime() - start) / 1e6 / rounds;
+    }
+
+    /** The straightforward approach: group booking objects with a collector of boxed keys. */
+    private static <K> Map<K, double[]> naive(List<Booking> bookings, Function<Booking, K> key) {
+        Collector<Booking, double[], double[]> totals = Collector.of(() -> new double[4], (t, b) -> {
+            t[0]++;
+            if (b.isCancelled()) {
+                t[1]++;
+                t[3] += b.getCancellationFee();
+            } else {
+                t[2] += b.getBookingFee();
+            }
+        }, (a, b) -> {
+            for (int i = 0; i < 4; i++) {
+                a[i] += b[i];
+            }
+            return a;
+        });
+        return bookings.stream().collect(Collectors.groupingBy(key, totals));
+    }
+}
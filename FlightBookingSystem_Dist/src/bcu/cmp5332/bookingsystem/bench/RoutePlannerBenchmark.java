@@ -0,0 +1,89 @@
+package bcu.cmp5332.bookingsystem.bench;
+
+import bcu.cmp5332.bookingsystem.model.AirportDictionary;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.routing.FlightGraph;
+import bcu.cmp5332.bookingsystem.routing.Itinerary;
+import bcu.cmp5332.bookingsystem.routing.RouteCriterion;
+import bcu.cmp5332.bookingsystem.routing.RoutePlanner;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code RoutePlannerBenchmark} class measures graph construction and itinerary search on a
+ * synthetic flight network.
+ * <p>
+ * Usage: {@code RoutePlannerBenchmark [airports] [flights] [days] [queries] [maxConnections]}.
+ * Flights connect random airport pairs on random dates within the given number of days, with
+ * random base prices.
+ * </p>
+ */
+public class RoutePlannerBenchmark {
+
+    /**
+     * Runs the benchmark and prints graph build time and search latency for both criteria.
+     *
+     * @param args optional airport count, flight count, date range, query count and connection limit
+     */
+    public static void main(String[] args) {
+        int airports = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int flightCount = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int days = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int queries = args.length > 3 ? Integer.parseInt(args[3]) : 2_000;
+        int maxConnections = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        String[] names = new String[airports];
+        for (int i = 0; i < airports; i++) {
+            names[i] = "APT" + i;
+            AirportDictionary.intern(names[i]);
+        }
+        List<Flight> flights = new ArrayList<>(flightCount);
+        for (int i = 0; i < flightCount; i++) {
+            int from = random.nextInt(airports);
+            int to = random.nextInt(airports - 1);
+            if (to >= from) {
+                to++;
+            }
+            flights.add(new Flight(i + 1, "SY" + i, names[from], names[to],
+                    today.plusDays(1 + random.nextInt(days)), 50 + random.nextInt(450), 180));
+        }
+
+        long buildStart = System.nanoTime();
+        FlightGraph graph = new FlightGraph(flights, today);
+        long buildNanos = System.nanoTime() - buildStart;
+        System.out.printf("Graph: %d airports, %d flights, built in %.1f ms%n",
+                airports, graph.getFlightCount(), buildNanos / 1e6);
+
+        for (RouteCriterion criterion : RouteCriterion.values()) {
+            // Warm up the JIT before measuring.
+            run(graph, names, days, queries / 4, maxConnections, criterion, new Random(7), today);
+            long start = System.nanoTime();
+            int found = run(graph, names, days, queries, maxConnections, criterion, new Random(11), today);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%s: %d queries, %d itineraries found, %.3f ms/query%n",
+                    criterion, queries, found, elapsed / 1e6 / queries);
+        }
+    }
+
+    private static int run(FlightGraph graph, String[] names, int days, int queries, int maxConnections,
+                           RouteCriterion criterion, Random random, LocalDate today) {
+        int found = 0;
+        for (int q = 0; q < queries; q++) {
+            int from = AirportDictionary.lookup(names[random.nextInt(names.length)]);
+            int to = AirportDictionary.lookup(names[random.nextInt(names.length)]);
+            if (from == to) {
+                continue;
+            }
+            Itinerary itinerary = RoutePlanner.search(graph, from, to, today.plusDays(1 + random.nextInt(days)),
+                    maxConnections, criterion);
+            if (itinerary != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,101 @@
+package bcu.cmp5332.bookingsystem.bench;
+
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.shard.ShardedBookingSystem;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ShardScalingBenchmark} class measures booking throughput of a
+ * {@link ShardedBookingSystem} as the number of shards doubles from 1 up to a maximum.
+ * <p>
+ * Usage: {@code ShardScalingBenchmark [maxShards] [bookings] [flights] [customers] [inFlight]}.
+ * Client threads, one per available processor, issue bookings asynchronously with at most
+ * {@code inFlight} outstanding each. Consecutive bookings go to different flights, and so to
+ * different shards. Throughput can only grow with the shard count while there are free cores
+ * for the shards' threads to run on.
+ * </p>
+ */
+public class ShardScalingBenchmark {
+
+    /**
+     * Runs the benchmark and prints bookings per second for each shard count.
+     *
+     * @param args optional maximum shard count, booking count, flight count, customer count and
+     *             outstanding bookings per client
+     * @throws Exception if the system cannot be set up
+     */
+    public static void main(String[] args) throws Exception {
+        int maxShards = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int bookings = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int flights = args.length > 2 ? Integer.parseInt(args[2]) : 4_096;
+        int customers = args.length > 3 ? Integer.parseInt(args[3]) : 4_096;
+        int inFlight = args.length > 4 ? Integer.parseInt(args[4]) : 1_024;
+        int clients = Runtime.getRuntime().availableProcessors();
+        if ((long) flights * customers < bookings) {
+            throw new IllegalArgumentException("Need flights * customers >= bookings");
+        }
+        System.out.printf("%d processors, %d client threads, %d bookings over %d flights%n",
+                clients, clients, bookings, flights);
+
+        double baseline = 0;
+        for (int shards = 1; shards <= maxShards; shards *= 2) {
+            double opsPerSecond = 0;
+            for (int round = 0; round < 3; round++) {
+                opsPerSecond = run(shards, clients, bookings, flights, customers, inFlight);
+            }
+            if (shards == 1) {
+                baseline = opsPerSecond;
+            }
+            System.out.printf("%2d shards: %,12.0f bookings/s (%.2fx)%n", shards, opsPerSecond, opsPerSecond / baseline);
+        }
+    }
+
+    private static double run(int shardCount, int clients, int bookings, int flights, int customers, int inFlight)
+            throws Exception {
+        LocalDate today = LocalDate.now();
+        int capacity = (int) Math.min(Integer.MAX_VALUE, (bookings + flights - 1L) / flights + 1);
+        try (ShardedBookingSystem system = new ShardedBookingSystem(shardCount)) {
+            for (int c = 0; c < customers; c++) {
+                system.addCustomer(new Customer(c, "Customer " + c, "0" + c, "c" + c + "@example.com", "pw"));
+            }
+            for (int f = 0; f < flights; f++) {
+                system.addFlight(new Flight(f, "SB" + f, "Bench A", "Bench B", today.plusDays(60), 100.0, capacity));
+            }
+
+            AtomicLong failures = new AtomicLong();
+            CountDownLatch done = new CountDownLatch(bookings);
+            Thread[] threads = new Thread[clients];
+            long start = System.nanoTime();
+            for (int t = 0; t < clients; t++) {
+                int first = t;
+                threads[t] = new Thread(() -> {
+                    Semaphore outstanding = new Semaphore(inFlight);
+                    for (int i = first; i < bookings; i += clients) {
+                        // Every customer books each flight at most once; the next booking is on another flight.
+                        int customer = i % customers;
+                        int flight = (i / customers + customer) % flights;
+                        outstanding.acquireUninterruptibly();
+                        system.addBookingAsync(customer, flight, today).whenComplete((booking, error) -> {
+                            if (error != null) {
+                                failures.incrementAndGet();
+                            }
+                            outstanding.release();
+                            done.countDown();
+                        });
+                    }
+                });
+                threads[t].start();
+            }
+            done.await();
+            long elapsed = System.nanoTime() - start;
+            if (failures.get() > 0) {
+                throw new IllegalStateException(failures.get() + " bookings failed");
+            }
+            return bookings / (elapsed / 1e9);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package bcu.cmp5332.bookingsystem.bench;
+
+import bcu.cmp5332.bookingsystem.model.TimingWheel;
+import java.util.Random;
+
+/**
+ * The {@code TimingWheelBenchmark} class measures the cost of scheduling, cancelling and expiring
+ * seat-hold timeouts on a {@link TimingWheel} with many timeouts outstanding.
+ * <p>
+ * Usage: {@code TimingWheelBenchmark [timeouts] [maxHoldSeconds]}. Timeouts are spread uniformly
+ * over the hold period, half are cancelled as if confirmed, and the clock is then advanced one
+ * second at a time until the rest have expired.
+ * </p>
+ */
+public class TimingWheelBenchmark {
+
+    /**
+     * Runs the benchmark and prints the time per operation.
+     *
+     * @param args optional timeout count and longest hold in seconds
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int maxSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 900;
+
+        for (int round = 0; round < 3; round++) {
+            Random random = new Random(42);
+            TimingWheel<Integer> wheel = new TimingWheel<>(1000, 1024, 0);
+            @SuppressWarnings("unchecked")
+            TimingWheel.Timeout<Integer>[] timeouts = (TimingWheel.Timeout<Integer>[]) new TimingWheel.Timeout<?>[count];
+
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                timeouts[i] = wheel.schedule(i, 1000 + random.nextInt(maxSeconds * 1000));
+            }
+            long scheduled = System.nanoTime();
+            for (int i = 0; i < count; i += 2) {
+                wheel.cancel(timeouts[i]);
+            }
+            long cancelled = System.nanoTime();
+            long[] expired = new long[1];
+            long worstTick = 0;
+            for (long now = 1000; wheel.size() > 0; now += 1000) {
+                long tickStart = System.nanoTime();
+                expired[0] += wheel.advance(now, item -> { });
+                worstTick = Math.max(worstTick, System.nanoTime() - tickStart);
+            }
+            long done = System.nanoTime();
+
+            System.out.printf("Round %d: %d timeouts, schedule %.0f ns/op, cancel %.0f ns/op, "
+                    + "expire %.0f ns/op, worst one-second tick %.2f ms%n",
+                    round + 1, count, (scheduled - start) / (double) count,
+                    (cancelled - scheduled) / (count / 2.0), (done - cancelled) / (double) expired[0],
+                    worstTick / 1e6);
+        }
+    }
+}
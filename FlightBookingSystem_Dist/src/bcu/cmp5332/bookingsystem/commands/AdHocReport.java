@@ -0,0 +1,106 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.analytics.BookingSnapshot;
+import bcu.cmp5332.bookingsystem.analytics.GroupBy;
+import bcu.cmp5332.bookingsystem.analytics.Measure;
+import bcu.cmp5332.bookingsystem.analytics.ReportEngine;
+import bcu.cmp5332.bookingsystem.analytics.ReportResult;
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The {@code AdHocReport} class represents a command to group the full booking history, including
+ * cancelled bookings, and print or export the totals of each group.
+ * <p>
+ * Month groupings are listed in date order. Route, flight and customer groupings list the
+ * {@value #TOP_LIMIT} groups with the highest revenue. When a file name is given, every group is
+ * written to it as CSV instead.
+ * </p>
+ */
+public class AdHocReport implements Command {
+
+    /** The number of groups printed for route, flight and customer groupings. */
+    private static final int TOP_LIMIT = 20;
+
+    /** How to group bookings. */
+    private final GroupBy groupBy;
+
+    /** The CSV file to write, or {@code null} to print to the console. */
+    private final String csvFile;
+
+    /**
+     * Constructs an {@code AdHocReport} command.
+     *
+     * @param groupBy How to group bookings.
+     * @param csvFile The CSV file to write, or {@code null} to print to the console.
+     */
+    public AdHocReport(GroupBy groupBy, String csvFile) {
+        this.groupBy = groupBy;
+        this.csvFile = csvFile;
+    }
+
+    /**
+     * Executes the command, taking a snapshot of all bookings and running the report over it.
+     *
+     * @param fbs The flight booking system whose bookings are reported on.
+     * @throws FlightBookingSystemException if the CSV file cannot be written.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
+        BookingSnapshot snapshot = BookingSnapshot.of(fbs);
+        ReportResult result = new ReportEngine().run(snapshot, groupBy);
+        if (csvFile != null) {
+            try (Writer out = new FileWriter(csvFile)) {
+                result.writeCsv(out);
+            } catch (IOException ex) {
+                throw new FlightBookingSystemException("Could not write report: " + ex.getMessage());
+            }
+            System.out.println(result.getRows().size() + " group(s) from " + snapshot.size()
+                    + " booking(s) written to " + csvFile);
+            return;
+        }
+        if (groupBy != GroupBy.BOOKING_MONTH && groupBy != GroupBy.DEPARTURE_MONTH) {
+            result = result.top(Measure.REVENUE, TOP_LIMIT);
+        }
+        for (ReportResult.Row row : result.getRows()) {
+            System.out.printf("%s: %d booking(s), %d cancelled, revenue $%.2f (cancellation fees $%.2f)%n",
+                    describe(fbs, row), (long) row.get(Measure.BOOKINGS), (long) row.get(Measure.CANCELLATIONS),
+                    row.get(Measure.REVENUE), row.get(Measure.CANCELLATION_FEES));
+        }
+        System.out.println(result.getRows().size() + " group(s) from " + snapshot.size() + " booking(s)");
+    }
+
+    private String describe(FlightBookingSystem fbs, ReportResult.Row row) {
+        try {
+            if (groupBy == GroupBy.CUSTOMER) {
+                return "Customer #" + row.getKey() + " " + fbs.getCustomerByID((int) row.getKey()).getName();
+            }
+            if (groupBy == GroupBy.FLIGHT) {
+                return "Flight #" + row.getKey() + " " + fbs.getFlightByID((int) row.getKey()).getFlightNumber();
+            }
+        } catch (FlightBookingSystemException ex) {
+            // Fall back to the bare ID for records that no longer exist.
+        }
+        return row.getLabel();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. Ad hoc reports read the whole booking
+     * history and can write files, so they are not open to customers.
+     *
+     * @return {@link Permission#VIEW_REPORTS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.VIEW_REPORTS;
+    }
+}
@@ -1,9 +1,12 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import bcu.cmp5332.bookingsystem.model.Booking;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * The {@code AddBooking} class represents a command to add a booking to the flight booking system.
@@ -21,6 +24,9 @@ public class AddBooking implements Command {
     /** The date when the booking is created. */
     private final LocalDate bookingDate;
 
+    /** The client-chosen key used to detect retried requests, or {@code null} for none. */
+    private final String idempotencyKey;
+
     /**
      * Constructs an {@code AddBooking} command with the specified customer ID, flight ID, and booking date.
      *
@@ -29,9 +35,32 @@ public class AddBooking implements Command {
      * @param bookingDate the date of the booking
      */
     public AddBooking(int customerId, int flightId, LocalDate bookingDate) {
+        this(customerId, flightId, bookingDate, null);
+    }
+
+    /**
+     * Constructs an {@code AddBooking} command carrying an idempotency key. Executing the command
+     * again with the same key returns the original booking instead of booking another seat.
+     *
+     * @param customerId     the ID of the customer making the booking
+     * @param flightId       the ID of the flight being booked
+     * @param bookingDate    the date of the booking
+     * @param idempotencyKey the key identifying this booking request, or {@code null} for none
+     */
+    public AddBooking(int customerId, int flightId, LocalDate bookingDate, String idempotencyKey) {
         this.customerId = customerId;
         this.flightId = flightId;
         this.bookingDate = bookingDate;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    /**
+     * Returns the ID of the customer making the booking.
+     *
+     * @return the customer ID
+     */
+    public int getCustomerId() {
+        return customerId;
     }
 
     /**
@@ -42,7 +71,22 @@ public class AddBooking implements Command {
      */
     @Override
     public void execute(FlightBookingSystem flightBookingSystem) throws FlightBookingSystemException {
-        Booking booking = flightBookingSystem.addBooking(customerId, flightId, bookingDate);
+        Booking booking = flightBookingSystem.addBooking(customerId, flightId, bookingDate, idempotencyKey);
         System.out.println("Booking added: " + booking);
     }
+
+    /**
+     * Returns the permission needed to run this command. Customers may book for themselves.
+     *
+     * @return {@link Permission#BOOK}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BOOK;
+    }
+
+    @Override
+    public List<Integer> getBookingCustomers(FlightBookingSystem flightBookingSystem) {
+        return Collections.singletonList(customerId);
+    }
 }
@@ -1,5 +1,7 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.PasswordHasher;
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import bcu.cmp5332.bookingsystem.model.Customer;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
@@ -7,6 +9,7 @@ import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
 /**
  * The {@code AddCustomer} class represents a command to add a new customer to the flight booking system.
  * It implements the {@link Command} interface and creates a customer with a unique ID.
+ * The password is stored as a {@link PasswordHasher} hash.
  */
 public class AddCustomer implements Command {
     
@@ -22,6 +25,9 @@ public class AddCustomer implements Command {
     /** The password for the customer's account. */
     private final String password;
 
+    /** The password's hash, once {@link #prepare()} has computed it. */
+    private String hash;
+
     /**
      * Constructs an {@code AddCustomer} command with the specified customer details.
      *
@@ -37,6 +43,17 @@ public class AddCustomer implements Command {
         this.password = password;
     }
 
+    /**
+     * Hashes the customer's password, so that the slow hash is not computed while the booking
+     * system's monitor is held.
+     */
+    @Override
+    public void prepare() {
+        if (hash == null) {
+            hash = PasswordHasher.getDefault().hash(password);
+        }
+    }
+
     /**
      * Executes the command to add a new customer to the flight booking system.
      * A unique ID is generated based on the highest existing customer ID.
@@ -46,13 +63,29 @@ public class AddCustomer implements Command {
      */
     @Override
     public void execute(FlightBookingSystem flightBookingSystem) throws FlightBookingSystemException {
-        int maxId = flightBookingSystem.getAllCustomers().stream()
-                .mapToInt(Customer::getId)
-                .max()
-                .orElse(0);
-        
-        Customer customer = new Customer(maxId + 1, name, phone, email, password);
-        flightBookingSystem.addCustomer(customer);
+        // Hashing is slow on purpose, so it is done before the ID is chosen and the customer added
+        // together under the system's lock.
+        prepare();
+        Customer customer;
+        synchronized (flightBookingSystem) {
+            int maxId = flightBookingSystem.getAllCustomers().stream()
+                    .mapToInt(Customer::getId)
+                    .max()
+                    .orElse(0);
+            customer = new Customer(maxId + 1, name, phone, email, hash);
+            flightBookingSystem.addCustomer(customer);
+        }
         System.out.println("Customer #" + customer.getId() + " added.");
     }
+
+    /**
+     * Returns the permission needed to run this command. Creating customer accounts is not open to
+     * customers themselves.
+     *
+     * @return {@link Permission#MANAGE_CUSTOMERS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.MANAGE_CUSTOMERS;
+    }
 }
@@ -1,5 +1,6 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import bcu.cmp5332.bookingsystem.model.Flight;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
@@ -67,4 +68,14 @@ public class AddFlight implements Command {
         flightBookingSystem.addFlight(flight);
         System.out.println("Flight #" + flight.getId() + " added.");
     }
+
+    /**
+     * Returns the permission needed to run this command. Adding a flight changes the schedule.
+     *
+     * @return {@link Permission#MANAGE_FLIGHTS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.MANAGE_FLIGHTS;
+    }
 }
@@ -0,0 +1,66 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The {@code AddGroupBooking} class represents a command to book several customers on one flight,
+ * seated next to each other where possible.
+ */
+public class AddGroupBooking implements Command {
+
+    /** The ID of the flight being booked. */
+    private final int flightId;
+
+    /** The IDs of the customers travelling together. */
+    private final List<Integer> customerIds;
+
+    /** The date when the bookings are created. */
+    private final LocalDate bookingDate;
+
+    /**
+     * Constructs an {@code AddGroupBooking} command.
+     *
+     * @param flightId    The ID of the flight being booked.
+     * @param customerIds The IDs of the customers travelling together.
+     * @param bookingDate The date of the bookings.
+     */
+    public AddGroupBooking(int flightId, List<Integer> customerIds, LocalDate bookingDate) {
+        this.flightId = flightId;
+        this.customerIds = customerIds;
+        this.bookingDate = bookingDate;
+    }
+
+    /**
+     * Executes the command to add the group's bookings.
+     *
+     * @param fbs The flight booking system where the bookings will be added.
+     * @throws FlightBookingSystemException If the group cannot be booked.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
+        for (Booking booking : fbs.addGroupBooking(customerIds, flightId, bookingDate)) {
+            System.out.println("Booking added: " + booking);
+        }
+    }
+
+    /**
+     * Returns the permission needed to run this command. A group booking is a booking like any
+     * other, so it needs the same permission.
+     *
+     * @return {@link Permission#BOOK}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BOOK;
+    }
+
+    @Override
+    public List<Integer> getBookingCustomers(FlightBookingSystem fbs) {
+        return customerIds;
+    }
+}
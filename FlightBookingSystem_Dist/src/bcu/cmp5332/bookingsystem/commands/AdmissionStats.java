@@ -0,0 +1,26 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.admission.AdmissionController;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+/**
+ * The {@code AdmissionStats} class represents a command to display how many requests the shared
+ * {@link AdmissionController} has admitted, queued and throttled since the application started.
+ */
+public class AdmissionStats implements Command {
+
+    /**
+     * Executes the command to print the admission metrics.
+     *
+     * @param flightBookingSystem The flight booking system (not used in this command, but included for consistency).
+     */
+    @Override
+    public void execute(FlightBookingSystem flightBookingSystem) {
+        System.out.println(AdmissionController.getDefault().getMetricsSummary());
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -1,7 +1,10 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.util.List;
 
 /**
  * The {@code CancelBooking} class represents a command to cancel an existing booking
@@ -15,6 +18,9 @@ public class CancelBooking implements Command {
     /** The fee charged for canceling the booking. */
     private final double cancellationFee;
 
+    /** The version of the booking the cancellation is based on. */
+    private final long expectedVersion;
+
     /**
      * Constructs a {@code CancelBooking} command with the specified booking ID and cancellation fee.
      *
@@ -22,8 +28,21 @@ public class CancelBooking implements Command {
      * @param cancellationFee the fee charged for canceling the booking
      */
     public CancelBooking(int bookingId, double cancellationFee) {
+        this(bookingId, cancellationFee, FlightBookingSystem.ANY_VERSION);
+    }
+
+    /**
+     * Constructs a {@code CancelBooking} command that fails if the booking has changed since the
+     * given version was read.
+     *
+     * @param bookingId       the ID of the booking to be canceled
+     * @param cancellationFee the fee charged for canceling the booking
+     * @param expectedVersion the version of the booking the cancellation is based on
+     */
+    public CancelBooking(int bookingId, double cancellationFee, long expectedVersion) {
         this.bookingId = bookingId;
         this.cancellationFee = cancellationFee;
+        this.expectedVersion = expectedVersion;
     }
 
     /**
@@ -35,7 +54,21 @@ public class CancelBooking implements Command {
      */
     @Override
     public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
-        fbs.cancelBooking(bookingId, cancellationFee);
+        List<Booking> promoted = fbs.cancelBooking(bookingId, expectedVersion, cancellationFee);
         System.out.println("Booking " + bookingId + " cancelled with cancellation fee: $" + cancellationFee);
+        for (Booking booking : promoted) {
+            System.out.println("Promoted from the waitlist: " + booking);
+        }
+    }
+
+    /**
+     * Returns the permission needed to run this command. Cancelling is open to anyone who may book,
+     * so customers can cancel their own bookings.
+     *
+     * @return {@link Permission#BOOK}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BOOK;
     }
 }
@@ -0,0 +1,52 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+/**
+ * The {@code ChangeSeat} class represents a command to move a booking to another free seat on the
+ * same flight.
+ */
+public class ChangeSeat implements Command {
+
+    /** The ID of the booking to move. */
+    private final int bookingId;
+
+    /** The label of the new seat, for example {@code "12C"}. */
+    private final String seatLabel;
+
+    /**
+     * Constructs a {@code ChangeSeat} command.
+     *
+     * @param bookingId The ID of the booking to move.
+     * @param seatLabel The label of the new seat.
+     */
+    public ChangeSeat(int bookingId, String seatLabel) {
+        this.bookingId = bookingId;
+        this.seatLabel = seatLabel;
+    }
+
+    /**
+     * Executes the command to change the booking's seat.
+     *
+     * @param fbs The flight booking system containing the booking.
+     * @throws FlightBookingSystemException If the booking does not exist or the seat is unavailable.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
+        fbs.changeSeat(bookingId, seatLabel);
+        System.out.println("Booking #" + bookingId + " moved to seat " + fbs.getBookingByID(bookingId).getSeatLabel() + ".");
+    }
+
+    /**
+     * Returns the permission needed to run this command. Choosing a seat is part of managing a
+     * booking.
+     *
+     * @return {@link Permission#BOOK}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BOOK;
+    }
+}
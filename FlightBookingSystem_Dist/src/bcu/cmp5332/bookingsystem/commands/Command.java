@@ -1,7 +1,10 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * The {@code Command} interface represents an executable command within the flight booking system.
@@ -19,12 +22,35 @@ public interface Command {
             + "\taddcustomer                               add a new customer\n"
             + "\tshowflight [flight id]                    show flight details\n"
             + "\tshowcustomer [customer id]                show customer details\n"
-            + "\taddbooking [customer id] [flight id]      add a new booking\n"
-            + "\tcancelbooking [customer id] [flight id]   cancel a booking\n"
-            + "\tupdatebooking [booking id] [flight id]    update a booking\n"
+            + "\tfindcustomer [prefix]                     find customers by name or email prefix\n"
+            + "\taddbooking [customer id] [flight id] [key] add a new booking (optional idempotency key)\n"
+            + "\taddgroupbooking [flight id] [id,id,...]   book customers on a flight in adjacent seats\n"
+            + "\tseatmap [flight id]                       show a flight's seat map\n"
+            + "\tchangeseat [booking id] [seat]            move a booking to another seat, e.g. 12C\n"
+            + "\tplacehold [customer id] [flight id] [minutes] hold a seat at today's fee (default 10 minutes)\n"
+            + "\tconfirmhold [hold id]                     book a held seat at the held fee\n"
+            + "\treleasehold [hold id]                     give up a held seat\n"
+            + "\tjoinwaitlist [customer id] [flight id] [tier] wait for a seat on a full flight\n"
+            + "\t                                          (tier: priority, standard or standby)\n"
+            + "\tleavewaitlist [customer id] [flight id]   leave a flight's waitlist\n"
+            + "\twaitlist [flight id]                      show who is waiting for a flight\n"
+            + "\tcancelbooking [booking id] [version]      cancel a booking\n"
+            + "\tupdatebooking [booking id] [flight id] [version] move a booking to another flight\n"
             + "\tdeleteflight [flight id]                  delete a flight\n"
             + "\tdeletecustomer [customer id]              delete a customer\n"
-            + "\tupdatecustomer [customer id] [name] [phone] [email] [password] update a customer\n"
+            + "\tupdatecustomer [customer id] [version]    update a customer\n"
+            + "\tupdateprice [flight id] [price] [version] change a flight's base price\n"
+            + "\t                                          (a version, if given, must match the record's\n"
+            + "\t                                          current one or the change is refused)\n"
+            + "\tfindroute                                 find the cheapest or fastest itinerary with connections\n"
+            + "\tfarecalendar                              show the cheapest fare per day of a month on a route\n"
+            + "\ttopflights [cheapest|soonest|available] [k] list the top k upcoming flights\n"
+            + "\treport                                    show booking, revenue and load factor totals\n"
+            + "\tadhocreport [group by] [csv file]         total all bookings by bookingmonth, departuremonth,\n"
+            + "\t                                          route, flight or customer; optionally export to CSV\n"
+            + "\tstartserver [port]                        start the binary booking server\n"
+            + "\tstartreplication [port]                   stream changes to followers on this host (default port 7071)\n"
+            + "\tadmissionstats                            show request admission and throttling counts\n"
             + "\tloadgui                                   loads the GUI version of the app\n"
             + "\thelp                                      prints this help message\n"
             + "\texit                                      exits the program";
@@ -36,4 +62,48 @@ public interface Command {
      * @throws FlightBookingSystemException if there is an error during execution
      */
     public void execute(FlightBookingSystem flightBookingSystem) throws FlightBookingSystemException;
+
+    /**
+     * Does any slow work the command needs that does not touch the flight booking system, such as
+     * hashing a password. Callers that run the command while holding the system's monitor call
+     * this first, outside the monitor, so that other threads are not kept waiting. Does nothing by
+     * default.
+     *
+     * @throws FlightBookingSystemException if the work fails
+     */
+    public default void prepare() throws FlightBookingSystemException {
+    }
+
+    /**
+     * Tells whether the command only reads the flight booking system. Only read-only commands may
+     * run on a replication follower, whose state must change only through its leader.
+     *
+     * @return {@code true} if the command never changes the system; {@code false} by default
+     */
+    public default boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Returns the permission a user's role needs to run the command. Commands that do not say
+     * otherwise need {@link Permission#OPERATE}, which only administrators have, so a new command
+     * is closed to customers until it is deliberately opened.
+     *
+     * @return the permission needed; {@link Permission#OPERATE} by default
+     */
+    public default Permission getPermission() {
+        return Permission.OPERATE;
+    }
+
+    /**
+     * Returns the customers the command books seats for, each of whom is charged against their
+     * own booking rate limit before the command is admitted.
+     *
+     * @param flightBookingSystem the system the command will run against, for commands that name
+     *                            a record rather than the customer
+     * @return the customer IDs; none by default
+     */
+    public default List<Integer> getBookingCustomers(FlightBookingSystem flightBookingSystem) {
+        return Collections.emptyList();
+    }
 }
@@ -0,0 +1,73 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.SeatHold;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code ConfirmHold} class represents a command to turn a seat hold into a booking at the
+ * fee quoted when the seat was held.
+ */
+public class ConfirmHold implements Command {
+
+    /** The ID of the hold. */
+    private final int holdId;
+
+    /** The booking made, once the command has run. */
+    private Booking booking;
+
+    /**
+     * Constructs a {@code ConfirmHold} command.
+     *
+     * @param holdId The ID of the hold to confirm.
+     */
+    public ConfirmHold(int holdId) {
+        this.holdId = holdId;
+    }
+
+    /**
+     * Executes the command to confirm the hold.
+     *
+     * @param fbs The flight booking system holding the seat.
+     * @throws FlightBookingSystemException If the hold does not exist or has expired.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
+        booking = fbs.confirmHold(holdId, LocalDate.now());
+        System.out.println("Booking created: " + booking);
+    }
+
+    /**
+     * Returns the booking made by the command, for callers that show it rather than print it.
+     *
+     * @return the booking, or {@code null} if the command has not run successfully
+     */
+    public Booking getBooking() {
+        return booking;
+    }
+
+    /**
+     * Returns the permission needed to run this command. Confirming a hold makes a booking.
+     *
+     * @return {@link Permission#BOOK}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BOOK;
+    }
+
+    /**
+     * Returns the customer who placed the hold; none if the hold no longer exists, in which case
+     * confirming it fails anyway.
+     */
+    @Override
+    public List<Integer> getBookingCustomers(FlightBookingSystem fbs) {
+        SeatHold hold = fbs.getHold(holdId);
+        return hold == null ? Collections.<Integer>emptyList() : Collections.singletonList(hold.getCustomer().getId());
+    }
+}
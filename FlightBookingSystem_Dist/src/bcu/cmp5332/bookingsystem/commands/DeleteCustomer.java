@@ -1,5 +1,6 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import bcu.cmp5332.bookingsystem.model.Customer;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
@@ -47,4 +48,15 @@ public class DeleteCustomer implements Command {
         fbs.deleteCustomer(customerId);
         System.out.println("Customer #" + customerId + " deleted.");
     }
+
+    /**
+     * Returns the permission needed to run this command. Deleting erases the customer's record and
+     * bookings.
+     *
+     * @return {@link Permission#MANAGE_CUSTOMERS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.MANAGE_CUSTOMERS;
+    }
 }
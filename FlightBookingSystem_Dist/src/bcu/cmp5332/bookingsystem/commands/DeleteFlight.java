@@ -1,5 +1,6 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import bcu.cmp5332.bookingsystem.model.Flight;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
@@ -47,4 +48,15 @@ public class DeleteFlight implements Command {
         fbs.deleteFlight(flightId);
         System.out.println("Flight #" + flightId + " deleted.");
     }
+
+    /**
+     * Returns the permission needed to run this command. Deleting a flight changes the schedule and
+     * drops its bookings.
+     *
+     * @return {@link Permission#MANAGE_FLIGHTS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.MANAGE_FLIGHTS;
+    }
 }
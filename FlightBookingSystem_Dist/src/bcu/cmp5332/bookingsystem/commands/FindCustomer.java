@@ -0,0 +1,57 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.util.List;
+
+/**
+ * The {@code FindCustomer} class represents a command to search for active customers whose name or
+ * email address starts with a given prefix. Matching ignores case.
+ */
+public class FindCustomer implements Command {
+
+    /** The maximum number of matches printed. */
+    public static final int MAX_RESULTS = 50;
+
+    /** The name or email prefix to search for. */
+    private final String prefix;
+
+    /**
+     * Constructs a {@code FindCustomer} command for the given prefix.
+     *
+     * @param prefix The name or email prefix to search for.
+     */
+    public FindCustomer(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Executes the command, printing the short details of each matching customer.
+     *
+     * @param fbs The flight booking system to search.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) {
+        List<Customer> matches = fbs.findCustomers(prefix, MAX_RESULTS);
+        matches.forEach(customer -> System.out.println(customer.getDetailsShort()));
+        System.out.println(matches.size() + " customer(s) found"
+                + (matches.size() == MAX_RESULTS ? " (showing first " + MAX_RESULTS + ")." : "."));
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. Searching customers exposes their contact
+     * details.
+     *
+     * @return {@link Permission#VIEW_CUSTOMERS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.VIEW_CUSTOMERS;
+    }
+}
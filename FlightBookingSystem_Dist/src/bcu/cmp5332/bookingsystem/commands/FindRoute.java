@@ -0,0 +1,81 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.routing.Itinerary;
+import bcu.cmp5332.bookingsystem.routing.RouteCriterion;
+import java.time.LocalDate;
+
+/**
+ * The {@code FindRoute} class represents a command to find the cheapest or fastest itinerary,
+ * possibly with connections, between two locations on a given date.
+ */
+public class FindRoute implements Command {
+
+    /** The location to depart from. */
+    private final String origin;
+
+    /** The location to arrive at. */
+    private final String destination;
+
+    /** The date the first flight must depart. */
+    private final LocalDate departureDate;
+
+    /** The largest number of connections allowed. */
+    private final int maxConnections;
+
+    /** Whether to look for the cheapest or the fastest itinerary. */
+    private final RouteCriterion criterion;
+
+    /**
+     * Constructs a {@code FindRoute} command.
+     *
+     * @param origin         The location to depart from.
+     * @param destination    The location to arrive at.
+     * @param departureDate  The date the first flight must depart.
+     * @param maxConnections The largest number of connections allowed.
+     * @param criterion      Whether to look for the cheapest or the fastest itinerary.
+     */
+    public FindRoute(String origin, String destination, LocalDate departureDate, int maxConnections,
+                     RouteCriterion criterion) {
+        this.origin = origin;
+        this.destination = destination;
+        this.departureDate = departureDate;
+        this.maxConnections = maxConnections;
+        this.criterion = criterion;
+    }
+
+    /**
+     * Executes the command, printing the best itinerary found.
+     *
+     * @param flightBookingSystem The flight booking system whose flights are searched.
+     * @throws FlightBookingSystemException If a location is unknown or no itinerary exists.
+     */
+    @Override
+    public void execute(FlightBookingSystem flightBookingSystem) throws FlightBookingSystemException {
+        Itinerary itinerary = flightBookingSystem.getRoutePlanner()
+                .findItinerary(origin, destination, departureDate, maxConnections, criterion);
+        if (itinerary == null) {
+            throw new FlightBookingSystemException("No itinerary from " + origin + " to " + destination
+                    + " departing on " + departureDate + " with at most " + maxConnections + " connection(s).");
+        }
+        System.out.println(itinerary.getDetails());
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. Route search only reads the public
+     * timetable.
+     *
+     * @return {@link Permission#BROWSE}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BROWSE;
+    }
+}
@@ -1,5 +1,6 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
 
 /**
@@ -19,4 +20,19 @@ public class Help implements Command {
         // Prints the available commands listed in the HELP_MESSAGE constant
         System.out.println(Command.HELP_MESSAGE);
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. Anyone may list the commands.
+     *
+     * @return {@link Permission#BROWSE}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BROWSE;
+    }
 }
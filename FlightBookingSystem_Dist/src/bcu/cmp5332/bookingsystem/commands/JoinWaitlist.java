@@ -0,0 +1,60 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.WaitlistTier;
+
+/**
+ * The {@code JoinWaitlist} class represents a command to put a customer on the waitlist of a full
+ * flight. The customer is booked automatically when a seat is freed and they reach the head of
+ * the queue.
+ */
+public class JoinWaitlist implements Command {
+
+    /** The ID of the waiting customer. */
+    private final int customerId;
+
+    /** The ID of the full flight. */
+    private final int flightId;
+
+    /** The priority tier to wait in. */
+    private final WaitlistTier tier;
+
+    /**
+     * Constructs a {@code JoinWaitlist} command.
+     *
+     * @param customerId The ID of the waiting customer.
+     * @param flightId   The ID of the full flight.
+     * @param tier       The priority tier to wait in.
+     */
+    public JoinWaitlist(int customerId, int flightId, WaitlistTier tier) {
+        this.customerId = customerId;
+        this.flightId = flightId;
+        this.tier = tier;
+    }
+
+    /**
+     * Executes the command to add the customer to the waitlist.
+     *
+     * @param fbs The flight booking system holding the waitlist.
+     * @throws FlightBookingSystemException If the customer cannot join the waitlist.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
+        fbs.joinWaitlist(customerId, flightId, tier);
+        System.out.println("Customer #" + customerId + " added to the " + tier + " waitlist for flight #"
+                + flightId + " (" + fbs.getWaitlist(flightId).size() + " waiting).");
+    }
+
+    /**
+     * Returns the permission needed to run this command. Waiting for a seat is treated as booking
+     * one.
+     *
+     * @return {@link Permission#BOOK}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BOOK;
+    }
+}
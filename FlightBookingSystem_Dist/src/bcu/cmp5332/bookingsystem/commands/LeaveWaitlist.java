@@ -0,0 +1,54 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+/**
+ * The {@code LeaveWaitlist} class represents a command to take a customer off the waitlist of a
+ * flight.
+ */
+public class LeaveWaitlist implements Command {
+
+    /** The ID of the waiting customer. */
+    private final int customerId;
+
+    /** The ID of the flight. */
+    private final int flightId;
+
+    /**
+     * Constructs a {@code LeaveWaitlist} command.
+     *
+     * @param customerId The ID of the waiting customer.
+     * @param flightId   The ID of the flight.
+     */
+    public LeaveWaitlist(int customerId, int flightId) {
+        this.customerId = customerId;
+        this.flightId = flightId;
+    }
+
+    /**
+     * Executes the command to remove the customer from the waitlist.
+     *
+     * @param fbs The flight booking system holding the waitlist.
+     * @throws FlightBookingSystemException If the customer is not waiting for the flight.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
+        if (!fbs.leaveWaitlist(customerId, flightId)) {
+            throw new FlightBookingSystemException("Customer is not on the waitlist for that flight.");
+        }
+        System.out.println("Customer #" + customerId + " removed from the waitlist for flight #" + flightId + ".");
+    }
+
+    /**
+     * Returns the permission needed to run this command. Leaving a waitlist is open to whoever may
+     * join one.
+     *
+     * @return {@link Permission#BOOK}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BOOK;
+    }
+}
@@ -1,5 +1,6 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
 
 /**
@@ -19,4 +20,20 @@ public class ListCustomers implements Command {
         // Iterates over the list of customers and prints their short details
         fbs.getCustomers().forEach(customer -> System.out.println(customer.getDetailsShort()));
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. The customer list exposes every customer's
+     * contact details.
+     *
+     * @return {@link Permission#VIEW_CUSTOMERS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.VIEW_CUSTOMERS;
+    }
 }
@@ -1,5 +1,6 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
 
 /**
@@ -19,4 +20,19 @@ public class ListFlights implements Command {
         // Iterates over the list of flights and prints their short details
         fbs.getFlights().forEach(flight -> System.out.println(flight.getDetailsShort()));
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. The flight list is public.
+     *
+     * @return {@link Permission#BROWSE}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BROWSE;
+    }
 }
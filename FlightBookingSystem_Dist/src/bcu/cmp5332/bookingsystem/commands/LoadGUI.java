@@ -1,13 +1,15 @@
 package bcu.cmp5332.bookingsystem.commands;
 
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.gui.EdtMonitor;
 import bcu.cmp5332.bookingsystem.gui.LoginWindow;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import javax.swing.SwingUtilities;
 
 /**
  * The {@code LoadGUI} class represents a command to load the graphical user interface (GUI) of the flight booking system.
- * It initializes the login window on the event dispatch thread using {@link SwingUtilities}.
+ * It initializes the login window on the event dispatch thread using {@link SwingUtilities},
+ * and installs an {@link EdtMonitor} that logs any event keeping that thread busy for too long.
  */
 public class LoadGUI implements Command {
 
@@ -21,6 +23,9 @@ public class LoadGUI implements Command {
     @Override
     public void execute(FlightBookingSystem flightBookingSystem) throws FlightBookingSystemException {
         // Ensures the GUI is initialized on the Event Dispatch Thread (EDT)
-        SwingUtilities.invokeLater(() -> new LoginWindow(flightBookingSystem));
+        SwingUtilities.invokeLater(() -> {
+            EdtMonitor.install();
+            new LoginWindow(flightBookingSystem);
+        });
     }
 }
@@ -0,0 +1,84 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.SeatHold;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code PlaceHold} class represents a command to hold a seat on a flight for a customer at
+ * the current fee, to be confirmed with {@link ConfirmHold} before the hold expires.
+ */
+public class PlaceHold implements Command {
+
+    /** The ID of the customer. */
+    private final int customerId;
+
+    /** The ID of the flight. */
+    private final int flightId;
+
+    /** The number of minutes to hold the seat for. */
+    private final int minutes;
+
+    /** The hold placed, once the command has run. */
+    private SeatHold hold;
+
+    /**
+     * Constructs a {@code PlaceHold} command.
+     *
+     * @param customerId The ID of the customer.
+     * @param flightId   The ID of the flight.
+     * @param minutes    The number of minutes to hold the seat for.
+     */
+    public PlaceHold(int customerId, int flightId, int minutes) {
+        this.customerId = customerId;
+        this.flightId = flightId;
+        this.minutes = minutes;
+    }
+
+    /**
+     * Executes the command to place the hold and print its ID, seat, fee and expiry time.
+     *
+     * @param fbs The flight booking system holding the seat.
+     * @throws FlightBookingSystemException If the seat cannot be held.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
+        hold = fbs.placeHold(customerId, flightId, LocalDate.now(), minutes * 60_000L);
+        LocalTime until = LocalTime.ofInstant(Instant.ofEpochMilli(hold.getExpiresAt()), ZoneId.systemDefault())
+                .truncatedTo(ChronoUnit.SECONDS);
+        System.out.println(hold + " held until " + until + ". Confirm with 'confirmhold " + hold.getId() + "'.");
+    }
+
+    /**
+     * Returns the hold placed by the command, for callers that show it rather than print it.
+     *
+     * @return the seat hold, or {@code null} if the command has not run successfully
+     */
+    public SeatHold getHold() {
+        return hold;
+    }
+
+    /**
+     * Returns the permission needed to run this command. Holding a seat is the first step of a
+     * booking.
+     *
+     * @return {@link Permission#BOOK}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BOOK;
+    }
+
+    @Override
+    public List<Integer> getBookingCustomers(FlightBookingSystem fbs) {
+        return Collections.singletonList(customerId);
+    }
+}
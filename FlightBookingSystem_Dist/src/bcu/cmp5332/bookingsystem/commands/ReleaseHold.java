@@ -0,0 +1,48 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+/**
+ * The {@code ReleaseHold} class represents a command to give up a seat hold without booking.
+ */
+public class ReleaseHold implements Command {
+
+    /** The ID of the hold. */
+    private final int holdId;
+
+    /**
+     * Constructs a {@code ReleaseHold} command.
+     *
+     * @param holdId The ID of the hold to release.
+     */
+    public ReleaseHold(int holdId) {
+        this.holdId = holdId;
+    }
+
+    /**
+     * Executes the command to release the hold.
+     *
+     * @param fbs The flight booking system holding the seat.
+     * @throws FlightBookingSystemException If the hold does not exist or has already expired.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
+        if (!fbs.releaseHold(holdId)) {
+            throw new FlightBookingSystemException("No seat hold with that ID; it may have expired.");
+        }
+        System.out.println("Hold #" + holdId + " released.");
+    }
+
+    /**
+     * Returns the permission needed to run this command. Giving up a hold is open to whoever may
+     * place one.
+     *
+     * @return {@link Permission#BOOK}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BOOK;
+    }
+}
@@ -0,0 +1,54 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.analytics.Aggregate;
+import bcu.cmp5332.bookingsystem.analytics.BookingAnalytics;
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * The {@code Report} class represents a command to print booking, revenue and load-factor totals
+ * for the whole system, for each route and for each departure day of the coming fortnight.
+ */
+public class Report implements Command {
+
+    /** The number of days ahead included in the daily breakdown. */
+    private static final int DAYS_AHEAD = 14;
+
+    /**
+     * Executes the command to print the report from the running analytics totals.
+     *
+     * @param fbs The flight booking system whose analytics are reported.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) {
+        BookingAnalytics analytics = fbs.getAnalytics();
+        System.out.println("Overall: " + analytics.getTotal());
+        System.out.println("By route:");
+        for (Map.Entry<String, Aggregate> entry : analytics.getRoutes().entrySet()) {
+            System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+        }
+        LocalDate today = fbs.getSystemDate();
+        System.out.println("By departure day (next " + DAYS_AHEAD + " days):");
+        for (Map.Entry<LocalDate, Aggregate> entry : analytics.getDays(today, today.plusDays(DAYS_AHEAD)).entrySet()) {
+            System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. Revenue and load figures are not open to
+     * customers.
+     *
+     * @return {@link Permission#VIEW_REPORTS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.VIEW_REPORTS;
+    }
+}
@@ -1,5 +1,6 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import bcu.cmp5332.bookingsystem.model.Customer;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
@@ -36,9 +37,25 @@ public class ShowCustomer implements Command {
         
         // If customer is found, print their short details
         if (customer != null) {
-            System.out.println(customer.getDetailsShort());
+            System.out.println(customer.getDetailsShort() + " (version " + customer.getVersion() + ")");
         } else {
             throw new FlightBookingSystemException("Customer not found for ID: " + customerId);
         }
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. It shows another customer's details and
+     * bookings.
+     *
+     * @return {@link Permission#VIEW_CUSTOMERS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.VIEW_CUSTOMERS;
+    }
 }
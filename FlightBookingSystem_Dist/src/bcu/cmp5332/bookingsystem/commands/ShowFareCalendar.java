@@ -0,0 +1,73 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.AirportDictionary;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.time.YearMonth;
+
+/**
+ * The {@code ShowFareCalendar} class represents a command to print the cheapest fare on a route
+ * for each day of a month, as of the system date.
+ */
+public class ShowFareCalendar implements Command {
+
+    /** The location to depart from. */
+    private final String origin;
+
+    /** The location to arrive at. */
+    private final String destination;
+
+    /** The month of departure. */
+    private final YearMonth month;
+
+    /**
+     * Constructs a {@code ShowFareCalendar} command.
+     *
+     * @param origin      The location to depart from.
+     * @param destination The location to arrive at.
+     * @param month       The month of departure.
+     */
+    public ShowFareCalendar(String origin, String destination, YearMonth month) {
+        this.origin = origin;
+        this.destination = destination;
+        this.month = month;
+    }
+
+    /**
+     * Executes the command, printing one line per day of the month.
+     *
+     * @param flightBookingSystem The flight booking system whose fares are shown.
+     * @throws FlightBookingSystemException If no flights use one of the locations.
+     */
+    @Override
+    public void execute(FlightBookingSystem flightBookingSystem) throws FlightBookingSystemException {
+        int originCode = AirportDictionary.lookup(origin);
+        int destinationCode = AirportDictionary.lookup(destination);
+        if (originCode == AirportDictionary.UNKNOWN || destinationCode == AirportDictionary.UNKNOWN) {
+            throw new FlightBookingSystemException("No flights between " + origin + " and " + destination + ".");
+        }
+        double[] fares = flightBookingSystem.getFareCalendar()
+                .getMonth(originCode, destinationCode, month, flightBookingSystem.getSystemDate());
+        System.out.println("Cheapest fares from " + origin + " to " + destination + " in " + month + ":");
+        for (int day = 1; day <= fares.length; day++) {
+            double fare = fares[day - 1];
+            System.out.println("  " + month.atDay(day) + ": " + (Double.isNaN(fare) ? "-" : String.format("$%.2f", fare)));
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. Fares are public.
+     *
+     * @return {@link Permission#BROWSE}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BROWSE;
+    }
+}
@@ -1,5 +1,6 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import bcu.cmp5332.bookingsystem.model.Flight;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
@@ -41,4 +42,19 @@ public class ShowFlight implements Command {
             throw new FlightBookingSystemException("Flight not found for ID: " + flightId);
         }
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. Flight details are public.
+     *
+     * @return {@link Permission#BROWSE}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BROWSE;
+    }
 }
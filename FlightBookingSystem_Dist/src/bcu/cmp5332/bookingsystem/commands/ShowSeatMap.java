@@ -0,0 +1,57 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.SeatMap;
+
+/**
+ * The {@code ShowSeatMap} class represents a command to print the seat map of a flight, showing
+ * which seats are taken.
+ */
+public class ShowSeatMap implements Command {
+
+    /** The ID of the flight whose seat map is shown. */
+    private final int flightId;
+
+    /**
+     * Constructs a {@code ShowSeatMap} command.
+     *
+     * @param flightId The ID of the flight whose seat map will be displayed.
+     */
+    public ShowSeatMap(int flightId) {
+        this.flightId = flightId;
+    }
+
+    /**
+     * Executes the command to print the seat map.
+     *
+     * @param fbs The flight booking system used to retrieve the flight.
+     * @throws FlightBookingSystemException If the flight is not found.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
+        Flight flight = fbs.getFlightByID(flightId);
+        SeatMap seatMap = flight.getSeatMap();
+        System.out.println("Seat map for flight " + flight.getFlightNumber() + " (X = taken, "
+                + seatMap.freeCount() + " of " + seatMap.getSeatCount() + " free):");
+        System.out.print(seatMap.render());
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. Seat maps are public, so that customers
+     * can pick a seat.
+     *
+     * @return {@link Permission#BROWSE}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BROWSE;
+    }
+}
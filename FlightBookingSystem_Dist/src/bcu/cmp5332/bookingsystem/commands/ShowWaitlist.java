@@ -0,0 +1,60 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.WaitlistEntry;
+import java.util.List;
+
+/**
+ * The {@code ShowWaitlist} class represents a command to list the customers waiting for a seat
+ * on a flight, in the order they would be booked.
+ */
+public class ShowWaitlist implements Command {
+
+    /** The ID of the flight. */
+    private final int flightId;
+
+    /**
+     * Constructs a {@code ShowWaitlist} command.
+     *
+     * @param flightId The ID of the flight whose waitlist is shown.
+     */
+    public ShowWaitlist(int flightId) {
+        this.flightId = flightId;
+    }
+
+    /**
+     * Executes the command to print the waitlist.
+     *
+     * @param fbs The flight booking system holding the waitlist.
+     * @throws FlightBookingSystemException If the flight is not found.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
+        Flight flight = fbs.getFlightByID(flightId);
+        List<WaitlistEntry> entries = fbs.getWaitlist(flightId);
+        System.out.println("Waitlist for flight " + flight.getFlightNumber() + ":");
+        int position = 1;
+        for (WaitlistEntry entry : entries) {
+            System.out.println("  " + position++ + ". " + entry);
+        }
+        System.out.println(entries.size() + " customer(s) waiting");
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. A waitlist names the customers on it.
+     *
+     * @return {@link Permission#VIEW_CUSTOMERS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.VIEW_CUSTOMERS;
+    }
+}
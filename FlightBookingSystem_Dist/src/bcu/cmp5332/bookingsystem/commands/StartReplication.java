@@ -0,0 +1,43 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.replication.ReplicationLeader;
+import java.io.IOException;
+
+/**
+ * The {@code StartReplication} class represents a command to make this process a replication
+ * leader, streaming every change to follower processes on this host started with
+ * {@code Main --follow port}.
+ */
+public class StartReplication implements Command {
+
+    /** The TCP port followers will connect to. */
+    private final int port;
+
+    /**
+     * Constructs a {@code StartReplication} command for the given port.
+     *
+     * @param port the TCP port to listen on
+     */
+    public StartReplication(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Executes the command by starting a {@link ReplicationLeader} on the configured port.
+     *
+     * @param flightBookingSystem the flight booking system whose changes will be replicated
+     * @throws FlightBookingSystemException if the leader cannot be started
+     */
+    @Override
+    public void execute(FlightBookingSystem flightBookingSystem) throws FlightBookingSystemException {
+        ReplicationLeader leader = new ReplicationLeader(flightBookingSystem, port);
+        try {
+            leader.start();
+        } catch (IOException ex) {
+            throw new FlightBookingSystemException("Unable to start replication: " + ex.getMessage());
+        }
+        System.out.println("Replication leader listening on port " + leader.getPort() + ".");
+    }
+}
@@ -0,0 +1,44 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.admission.AdmissionController;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.net.BookingServer;
+import java.io.IOException;
+
+/**
+ * The {@code StartServer} class represents a command to start the binary booking server
+ * so that agency clients can book flights over TCP while the CLI keeps running.
+ */
+public class StartServer implements Command {
+
+    /** The TCP port the server will listen on. */
+    private final int port;
+
+    /**
+     * Constructs a {@code StartServer} command for the given port.
+     *
+     * @param port the TCP port to listen on
+     */
+    public StartServer(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Executes the command by starting a {@link BookingServer} on the configured port. Booking
+     * requests received by the server are subject to the shared {@link AdmissionController}.
+     *
+     * @param flightBookingSystem the flight booking system the server will dispatch requests into
+     * @throws FlightBookingSystemException if the server cannot be started
+     */
+    @Override
+    public void execute(FlightBookingSystem flightBookingSystem) throws FlightBookingSystemException {
+        BookingServer server = new BookingServer(flightBookingSystem, port, AdmissionController.getDefault());
+        try {
+            server.start();
+        } catch (IOException ex) {
+            throw new FlightBookingSystemException("Unable to start booking server: " + ex.getMessage());
+        }
+        System.out.println("Booking server listening on port " + server.getPort() + ".");
+    }
+}
@@ -0,0 +1,85 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.FlightRanking;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The {@code TopFlights} class represents a command to list the cheapest, soonest or most
+ * available upcoming flights, optionally restricted to a route and a range of dates.
+ */
+public class TopFlights implements Command {
+
+    /** The order to rank flights in. */
+    private final FlightRanking ranking;
+
+    /** The number of flights to list. */
+    private final int k;
+
+    /** The origin to restrict to, or {@code null} for any. */
+    private final String origin;
+
+    /** The destination to restrict to, or {@code null} for any. */
+    private final String destination;
+
+    /** The earliest departure date, or {@code null} for today. */
+    private final LocalDate from;
+
+    /** The latest departure date, or {@code null} for no limit. */
+    private final LocalDate to;
+
+    /**
+     * Constructs a {@code TopFlights} command.
+     *
+     * @param ranking     The order to rank flights in.
+     * @param k           The number of flights to list.
+     * @param origin      The origin to restrict to, or {@code null} for any.
+     * @param destination The destination to restrict to, or {@code null} for any.
+     * @param from        The earliest departure date, or {@code null} for today.
+     * @param to          The latest departure date, or {@code null} for no limit.
+     */
+    public TopFlights(FlightRanking ranking, int k, String origin, String destination, LocalDate from, LocalDate to) {
+        this.ranking = ranking;
+        this.k = k;
+        this.origin = origin;
+        this.destination = destination;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the command, printing the matching flights best first with their current price
+     * and free seats.
+     *
+     * @param fbs The flight booking system whose flights are ranked.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) {
+        List<Flight> top = fbs.getTopFlights(ranking, k, origin, destination, from, to);
+        for (Flight flight : top) {
+            System.out.println(flight.getDetailsShort()
+                    + String.format(", Price Now: $%.2f", flight.calculatePrice(fbs.getSystemDate()))
+                    + ", Seats Free: " + flight.getAvailableSeats());
+        }
+        System.out.println(top.size() + " flight(s) listed.");
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the permission needed to run this command. Flight rankings only read the public
+     * timetable.
+     *
+     * @return {@link Permission#BROWSE}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BROWSE;
+    }
+}
@@ -1,5 +1,6 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
 
@@ -14,16 +15,22 @@ public class UpdateBooking implements Command {
     
     /** The ID of the new flight to replace the old one in the booking. */
     private final int newFlightId;
+
+    /** The version of the booking the update is based on. */
+    private final long expectedVersion;
     
     /**
      * Constructs an {@code UpdateBooking} command with the specified booking ID and new flight ID.
      *
      * @param bookingId The ID of the booking to be updated.
      * @param newFlightId The ID of the new flight to be booked.
+     * @param expectedVersion The version of the booking the update is based on, or
+     *        {@link FlightBookingSystem#ANY_VERSION} to skip the check.
      */
-    public UpdateBooking(int bookingId, int newFlightId) {
+    public UpdateBooking(int bookingId, int newFlightId, long expectedVersion) {
         this.bookingId = bookingId;
         this.newFlightId = newFlightId;
+        this.expectedVersion = expectedVersion;
     }
     
     /**
@@ -39,19 +46,24 @@ public class UpdateBooking implements Command {
         // Retrieve the old booking using the booking ID
         var oldBooking = fbs.getBookingByID(bookingId);
         
-        // Get the customer ID from the old booking
-        int customerId = oldBooking.getCustomer().getId();
-        
         // Calculate the cancellation fee (15% of the old booking fee)
         double cancellationFee = 0.15 * oldBooking.getBookingFee();
         
-        // Cancel the old booking
-        fbs.cancelBooking(bookingId, cancellationFee);
-        
-        // Add a new booking for the customer with the new flight ID
-        fbs.addBooking(customerId, newFlightId, oldBooking.getBookingDate());
+        // Cancel the old booking and book the new flight in one step, unless the booking has changed
+        fbs.updateBooking(bookingId, expectedVersion, newFlightId, cancellationFee);
         
         // Output the result
         System.out.println("Booking updated: " + bookingId + " updated to new flight: " + newFlightId + " with cancellation fee: $" + cancellationFee);
     }
+
+    /**
+     * Returns the permission needed to run this command. Moving a booking to another flight is open
+     * to whoever may book.
+     *
+     * @return {@link Permission#BOOK}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.BOOK;
+    }
 }
@@ -1,12 +1,14 @@
 package bcu.cmp5332.bookingsystem.commands;
 
+import bcu.cmp5332.bookingsystem.auth.PasswordHasher;
+import bcu.cmp5332.bookingsystem.auth.Permission;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
-import bcu.cmp5332.bookingsystem.model.Customer;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
 
 /**
  * The {@code UpdateCustomer} class represents a command to update the details of an existing customer in the flight booking system.
  * It allows updating the customer's name, phone number, email, and password.
+ * A new password is stored as a {@link PasswordHasher} hash; a blank one keeps the current password.
  */
 public class UpdateCustomer implements Command {
 
@@ -22,8 +24,14 @@ public class UpdateCustomer implements Command {
     /** The new email address of the customer. */
     private final String email;
     
-    /** The new password of the customer. */
+    /** The new password of the customer, or blank to keep the current one. */
     private final String password;
+
+    /** The version of the customer the new details are based on. */
+    private final long expectedVersion;
+
+    /** The new password's hash, once {@link #prepare()} has computed it. */
+    private String hash;
     
     /**
      * Constructs an {@code UpdateCustomer} command with the specified customer details.
@@ -32,37 +40,63 @@ public class UpdateCustomer implements Command {
      * @param name The new name for the customer.
      * @param phone The new phone number for the customer.
      * @param email The new email address for the customer.
-     * @param password The new password for the customer.
+     * @param password The new password for the customer, or blank to keep the current one.
+     * @param expectedVersion The version of the customer the new details are based on, or
+     *        {@link FlightBookingSystem#ANY_VERSION} to overwrite whatever is current.
      */
-    public UpdateCustomer(int customerId, String name, String phone, String email, String password) {
+    public UpdateCustomer(int customerId, String name, String phone, String email, String password,
+                          long expectedVersion) {
         this.customerId = customerId;
+        this.expectedVersion = expectedVersion;
         this.name = name;
         this.phone = phone;
         this.email = email;
         this.password = password;
     }
     
+    /**
+     * Hashes a new password, so that the slow hash is not computed while the booking system's
+     * monitor is held. A blank password, or a stored hash passed back unchanged, needs no hashing.
+     */
+    @Override
+    public void prepare() {
+        if (hash == null && password != null && !password.isEmpty() && !PasswordHasher.isHashed(password)) {
+            hash = PasswordHasher.getDefault().hash(password);
+        }
+    }
+
     /**
      * Executes the command to update the details of the customer with the given ID.
-     * If the customer is found, their details are updated with the new values provided.
+     * If the customer is found and has not been changed by someone else since version
+     * {@code expectedVersion}, their details are updated with the new values provided.
      *
      * @param flightBookingSystem The flight booking system containing the customer data.
      * @throws FlightBookingSystemException If an error occurs while updating the customer or if the customer is not found.
      */
     @Override
     public void execute(FlightBookingSystem flightBookingSystem) throws FlightBookingSystemException {
-        // Retrieve the customer by their ID
-        Customer customer = flightBookingSystem.getCustomerByID(customerId);
-        
-        // If customer is found, update their details
-        if (customer != null) {
-            customer.setName(name);
-            customer.setPhone(phone);
-            customer.setEmail(email);
-            customer.setPassword(password);
-            System.out.println("Customer #" + customerId + " updated.");
+        String stored = flightBookingSystem.getCustomerByID(customerId).getPassword();
+        // A blank password, or the stored one passed back unchanged, keeps the current password.
+        String newPassword;
+        if (password == null || password.isEmpty() || password.equals(stored)) {
+            newPassword = stored;
         } else {
-            throw new FlightBookingSystemException("Customer not found for ID: " + customerId);
+            prepare();
+            newPassword = hash != null ? hash : PasswordHasher.getDefault().hash(password);
         }
+        // Update the customer's details; the system checks the version and that the new name and email are still unique
+        flightBookingSystem.updateCustomer(customerId, expectedVersion, name, phone, email, newPassword);
+        System.out.println("Customer #" + customerId + " updated.");
+    }
+
+    /**
+     * Returns the permission needed to run this command. It can change any customer's details and
+     * password.
+     *
+     * @return {@link Permission#MANAGE_CUSTOMERS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.MANAGE_CUSTOMERS;
     }
 }
@@ -0,0 +1,60 @@
+package bcu.cmp5332.bookingsystem.commands;
+
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+/**
+ * The {@code UpdateFlightPrice} class represents a command to change the base price of a flight.
+ * Bookings already made keep the fee they were booked at.
+ */
+public class UpdateFlightPrice implements Command {
+
+    /** The ID of the flight. */
+    private final int flightId;
+
+    /** The new base price. */
+    private final double basePrice;
+
+    /** The version of the flight the change is based on. */
+    private final long expectedVersion;
+
+    /**
+     * Constructs an {@code UpdateFlightPrice} command.
+     *
+     * @param flightId        The ID of the flight.
+     * @param basePrice       The new base price.
+     * @param expectedVersion The version of the flight the change is based on, or
+     *                        {@link FlightBookingSystem#ANY_VERSION} to skip the check.
+     */
+    public UpdateFlightPrice(int flightId, double basePrice, long expectedVersion) {
+        this.flightId = flightId;
+        this.basePrice = basePrice;
+        this.expectedVersion = expectedVersion;
+    }
+
+    /**
+     * Executes the command to change the price.
+     *
+     * @param fbs The flight booking system containing the flight.
+     * @throws FlightBookingSystemException If the flight is not found, the price is invalid, or the
+     *         flight has changed since the expected version.
+     */
+    @Override
+    public void execute(FlightBookingSystem fbs) throws FlightBookingSystemException {
+        fbs.updateFlightPrice(flightId, expectedVersion, basePrice);
+        System.out.println("Flight #" + flightId + " base price set to $" + basePrice
+                + " (version " + fbs.getFlightByID(flightId).getVersion() + ").");
+    }
+
+    /**
+     * Returns the permission needed to run this command. Changing a fare reprices the flight for
+     * everyone.
+     *
+     * @return {@link Permission#MANAGE_FLIGHTS}
+     */
+    @Override
+    public Permission getPermission() {
+        return Permission.MANAGE_FLIGHTS;
+    }
+}
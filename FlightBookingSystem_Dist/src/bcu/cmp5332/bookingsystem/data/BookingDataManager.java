@@ -1,6 +1,7 @@
 package bcu.cmp5332.bookingsystem.data;
 
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.AirportDictionary;
 import bcu.cmp5332.bookingsystem.model.Booking;
 import bcu.cmp5332.bookingsystem.model.Customer;
 import bcu.cmp5332.bookingsystem.model.Flight;
@@ -70,7 +71,8 @@ public class BookingDataManager implements DataManager {
                     } catch(FlightBookingSystemException ex) {
                         System.err.println("Booking on line " + line_idx + " cancelled: " + ex.getMessage());
                         // Instead of skipping, create a booking and mark it cancelled.
-                        Booking cancelledBooking = new Booking(bookingId, customer, new Flight(flightId, "N/A", "N/A", "N/A", LocalDate.now(), 0, 0), bookingDate, bookingFee);
+                        Booking cancelledBooking = new Booking(bookingId, customer, new Flight(flightId, "N/A",
+                                AirportDictionary.PLACEHOLDER, AirportDictionary.PLACEHOLDER, LocalDate.now(), 0, 0), bookingDate, bookingFee);
                         cancelledBooking.cancel();
                         fbs.addBookingFromData(cancelledBooking);
                         line_idx++;
@@ -78,6 +80,10 @@ public class BookingDataManager implements DataManager {
                     }
                     
                     Booking booking = new Booking(bookingId, customer, flight, bookingDate, bookingFee);
+                    // The seat field was added later; older files have no value here.
+                    if (properties.length > 5 && !properties[5].isEmpty()) {
+                        booking.setSeat(flight.getSeatMap().getLayout().parse(properties[5]));
+                    }
                     fbs.addBookingFromData(booking);
                 } catch (Exception ex) {
                     throw new FlightBookingSystemException("Error loading booking on line " + line_idx + "\nError: " + ex);
@@ -103,6 +109,7 @@ public class BookingDataManager implements DataManager {
                 out.print(booking.getFlight().getId() + SEPARATOR);
                 out.print(booking.getBookingDate() + SEPARATOR);
                 out.print(booking.getBookingFee() + SEPARATOR);
+                out.print(booking.getSeatLabel() + SEPARATOR);
                 out.println();
             }
             // Optionally, store cancelled bookings separately if desired.
@@ -5,6 +5,8 @@ import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntConsumer;
 
 /**
  * The {@code FlightBookingSystemData} class is responsible for loading and storing 
@@ -23,6 +25,10 @@ public class FlightBookingSystemData {
         dataManagers.add(new FlightDataManager());
         dataManagers.add(new CustomerDataManager());
         dataManagers.add(new BookingDataManager());
+        // Idempotency keys refer to bookings, so they are loaded last.
+        dataManagers.add(new IdempotencyDataManager());
+        // Waitlist entries are checked against existing bookings, so they come after them too.
+        dataManagers.add(new WaitlistDataManager());
     }
 
     /**
@@ -48,6 +54,26 @@ public class FlightBookingSystemData {
         return fbs;
     }
 
+    /**
+     * Starts loading the data on a new background thread, so the caller can get on with other
+     * work, such as building a window, while the files are read.
+     *
+     * @return a future completed with the loaded system, or completed exceptionally if loading fails
+     */
+    public static CompletableFuture<FlightBookingSystem> loadInBackground() {
+        CompletableFuture<FlightBookingSystem> result = new CompletableFuture<>();
+        Thread loader = new Thread(() -> {
+            try {
+                result.complete(load());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }, "data-loader");
+        loader.setDaemon(true);
+        loader.start();
+        return result;
+    }
+
     /**
      * Stores all data from the flight booking system to the respective data sources
      * using the registered {@link DataManager} implementations.
@@ -56,14 +82,27 @@ public class FlightBookingSystemData {
      * @throws IOException If an I/O error occurs while saving the data to the source.
      */
     public static void store(FlightBookingSystem fbs) throws IOException {
+        store(fbs, percent -> { });
+    }
+
+    /**
+     * Stores all data from the flight booking system, reporting progress after each
+     * {@link DataManager} has written its data. Used by the GUI to save in the background.
+     *
+     * @param fbs      The {@link FlightBookingSystem} object that holds the data to be stored.
+     * @param progress Receives the share of the managers done so far, from 0 to 100.
+     * @throws IOException If an I/O error occurs while saving the data to the source.
+     */
+    public static void store(FlightBookingSystem fbs, IntConsumer progress) throws IOException {
         // Store data using each manager
-        for (DataManager dm : dataManagers) {
+        for (int i = 0; i < dataManagers.size(); i++) {
             try {
-                dm.storeData(fbs);
+                dataManagers.get(i).storeData(fbs);
             } catch (Exception e) {
                 // Log or handle the error appropriately
                 e.printStackTrace();
             }
+            progress.accept((i + 1) * 100 / dataManagers.size());
         }
     }
 }
@@ -0,0 +1,88 @@
+package bcu.cmp5332.bookingsystem.data;
+
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.IdempotencyCache;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Scanner;
+
+/**
+ * The {@code IdempotencyDataManager} class persists the idempotency keys of recent booking
+ * requests so that duplicate detection keeps working after the system is restarted.
+ * <p>
+ * Each line holds the key, the ID of the booking created for it and the time the key was first
+ * seen. It must be loaded after {@link BookingDataManager}, because keys are resolved to the
+ * bookings already in the system; keys whose booking no longer exists or whose expiry time has
+ * passed are dropped.
+ * </p>
+ */
+public class IdempotencyDataManager implements DataManager {
+
+    /** The path to the idempotency key data file. */
+    private final String RESOURCE = "./resources/data/idempotency.txt";
+
+    /**
+     * Loads remembered idempotency keys into the booking system's cache.
+     *
+     * @param fbs The flight booking system whose cache will be populated.
+     * @throws IOException If an I/O error occurs while reading the file.
+     * @throws FlightBookingSystemException If a line cannot be parsed.
+     */
+    @Override
+    public void loadData(FlightBookingSystem fbs) throws IOException, FlightBookingSystemException {
+        File file = new File(RESOURCE);
+        if (!file.exists()) return;
+
+        IdempotencyCache cache = fbs.getIdempotencyCache();
+        try (Scanner sc = new Scanner(file)) {
+            int line_idx = 1;
+            while (sc.hasNextLine()) {
+                String line = sc.nextLine().trim();
+                if (line.isEmpty()) {
+                    line_idx++;
+                    continue;
+                }
+                String[] properties = line.split(SEPARATOR, -1);
+                try {
+                    String key = properties[0];
+                    int bookingId = Integer.parseInt(properties[1]);
+                    long createdAt = Long.parseLong(properties[2]);
+                    // Cancelled bookings are looked up too, so a retry of a booking that has since
+                    // been cancelled is still recognised rather than booking again.
+                    Booking booking = fbs.findBooking(bookingId);
+                    if (booking == null) {
+                        // The booking is gone, so there is nothing left to deduplicate against.
+                        line_idx++;
+                        continue;
+                    }
+                    cache.restore(key, booking, createdAt);
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+                    throw new FlightBookingSystemException("Unable to parse idempotency key on line " + line_idx + "\nError: " + ex);
+                }
+                line_idx++;
+            }
+        }
+    }
+
+    /**
+     * Stores the unexpired idempotency keys held by the booking system.
+     *
+     * @param fbs The flight booking system whose cache will be stored.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    @Override
+    public void storeData(FlightBookingSystem fbs) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(RESOURCE))) {
+            for (IdempotencyCache.Entry entry : fbs.getIdempotencyCache().getEntries()) {
+                out.print(entry.getKey() + SEPARATOR);
+                out.print(entry.getBooking().getId() + SEPARATOR);
+                out.print(entry.getCreatedAt() + SEPARATOR);
+                out.println();
+            }
+        }
+    }
+}
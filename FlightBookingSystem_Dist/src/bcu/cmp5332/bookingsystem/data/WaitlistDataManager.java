@@ -0,0 +1,84 @@
+package bcu.cmp5332.bookingsystem.data;
+
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.WaitlistEntry;
+import bcu.cmp5332.bookingsystem.model.WaitlistTier;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Scanner;
+
+/**
+ * The {@code WaitlistDataManager} class persists the customers waiting for seats on full flights.
+ * <p>
+ * Each line holds a flight ID, a customer ID and the priority tier. Lines are written in
+ * promotion order, so loading them back in file order restores every queue as it was. It must be
+ * loaded after {@link BookingDataManager}; entries for customers or flights that no longer exist,
+ * or for customers who have since been booked on the flight, are dropped.
+ * </p>
+ */
+public class WaitlistDataManager implements DataManager {
+
+    /** The path to the waitlist data file. */
+    private final String RESOURCE = "./resources/data/waitlists.txt";
+
+    /**
+     * Loads waitlist entries into the booking system.
+     *
+     * @param fbs The flight booking system whose waitlists will be populated.
+     * @throws IOException If an I/O error occurs while reading the file.
+     * @throws FlightBookingSystemException If a line cannot be parsed.
+     */
+    @Override
+    public void loadData(FlightBookingSystem fbs) throws IOException, FlightBookingSystemException {
+        File file = new File(RESOURCE);
+        if (!file.exists()) return;
+
+        try (Scanner sc = new Scanner(file)) {
+            int line_idx = 1;
+            while (sc.hasNextLine()) {
+                String line = sc.nextLine().trim();
+                if (line.isEmpty()) {
+                    line_idx++;
+                    continue;
+                }
+                String[] properties = line.split(SEPARATOR, -1);
+                try {
+                    int flightId = Integer.parseInt(properties[0]);
+                    int customerId = Integer.parseInt(properties[1]);
+                    WaitlistTier tier = WaitlistTier.valueOf(properties[2]);
+                    try {
+                        fbs.addWaitlistEntryFromData(customerId, flightId, tier);
+                    } catch (FlightBookingSystemException ex) {
+                        // The entry no longer applies, so there is nothing to restore.
+                    }
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+                    throw new FlightBookingSystemException("Unable to parse waitlist entry on line " + line_idx + "\nError: " + ex);
+                }
+                line_idx++;
+            }
+        }
+    }
+
+    /**
+     * Stores every waitlist held by the booking system.
+     *
+     * @param fbs The flight booking system whose waitlists will be stored.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    @Override
+    public void storeData(FlightBookingSystem fbs) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(RESOURCE))) {
+            for (int flightId : fbs.getWaitlistedFlightIds()) {
+                for (WaitlistEntry entry : fbs.getWaitlist(flightId)) {
+                    out.print(flightId + SEPARATOR);
+                    out.print(entry.getCustomer().getId() + SEPARATOR);
+                    out.print(entry.getTier() + SEPARATOR);
+                    out.println();
+                }
+            }
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package bcu.cmp5332.bookingsystem.gui;
 
 import bcu.cmp5332.bookingsystem.commands.AddBooking;
+import bcu.cmp5332.bookingsystem.commands.ConfirmHold;
+import bcu.cmp5332.bookingsystem.commands.PlaceHold;
+import bcu.cmp5332.bookingsystem.commands.ReleaseHold;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
-import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.HoldManager;
+import bcu.cmp5332.bookingsystem.model.SeatHold;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 
 /**
  * The AddBookingWindow class provides a GUI for creating a new booking in the Flight Booking System.
  * It allows users to input a Customer ID and Flight ID, compute the booking fee, and confirm the booking.
+ * Computing the fee holds a seat at that fee, so the booking cannot be lost to another user or
+ * repriced before it is confirmed; closing the window releases the hold. Holds are placed,
+ * confirmed and released with commands run through {@link MainWindow#execute}, like bookings.
  */
 public class AddBookingWindow extends JFrame implements ActionListener {
     
@@ -22,6 +34,7 @@ public class AddBookingWindow extends JFrame implements ActionListener {
     private JButton computeFeeButton = new JButton("Compute Fee");
     private JButton bookButton = new JButton("Book Flight");
     private double computedFee = 0.0;
+    private SeatHold hold;
     
     /**
      * Constructs an AddBookingWindow and initializes the GUI components.
@@ -38,7 +51,7 @@ public class AddBookingWindow extends JFrame implements ActionListener {
      */
     private void initialize() {
         setTitle("Create New Booking");
-        setSize(350, 250);
+        setSize(450, 250);
         JPanel panel = new JPanel(new GridLayout(5, 2, 5, 5));
         panel.add(new JLabel("Customer ID:"));
         panel.add(custIdField);
@@ -60,6 +73,14 @@ public class AddBookingWindow extends JFrame implements ActionListener {
         computeFeeButton.addActionListener(this);
         bookButton.addActionListener(this);
         
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                releaseHold();
+            }
+        });
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+
         getContentPane().add(panel);
         setLocationRelativeTo(mw);
         setVisible(true);
@@ -80,14 +101,21 @@ public class AddBookingWindow extends JFrame implements ActionListener {
     }
     
     /**
-     * Computes the booking fee based on the entered Flight ID and displays the fee.
+     * Computes the booking fee based on the entered Flight ID and holds a seat at that fee,
+     * replacing any hold placed earlier from this window.
      */
     private void computeFee() {
         try {
+            int custId = Integer.parseInt(custIdField.getText());
             int flightId = Integer.parseInt(flightIdField.getText());
-            double fee = mw.getFlightBookingSystem().getFlightByID(flightId).calculatePrice(LocalDate.now());
-            computedFee = fee;
-            feeLabel.setText(String.format("Booking Fee: $%.2f", fee));
+            releaseHold();
+            PlaceHold placeCmd = new PlaceHold(custId, flightId, (int) (HoldManager.DEFAULT_HOLD_MILLIS / 60_000));
+            mw.execute(placeCmd);
+            hold = placeCmd.getHold();
+            computedFee = hold.getFee();
+            LocalTime until = LocalTime.ofInstant(Instant.ofEpochMilli(hold.getExpiresAt()), ZoneId.systemDefault())
+                    .truncatedTo(ChronoUnit.MINUTES);
+            feeLabel.setText(String.format("$%.2f (seat %s held until %s)", computedFee, hold.getSeatLabel(), until));
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Invalid Flight ID", "Error", JOptionPane.ERROR_MESSAGE);
         } catch (FlightBookingSystemException ex) {
@@ -96,17 +124,28 @@ public class AddBookingWindow extends JFrame implements ActionListener {
     }
     
     /**
-     * Creates a new booking using the entered Customer ID and Flight ID.
+     * Creates a new booking using the entered Customer ID and Flight ID, confirming the seat hold
+     * at the quoted fee if one matches them, or booking at the current fee otherwise.
      * Displays a success message and updates the main window if successful.
      */
     private void createBooking() {
         try {
             int custId = Integer.parseInt(custIdField.getText());
             int flightId = Integer.parseInt(flightIdField.getText());
-            AddBooking addCmd = new AddBooking(custId, flightId, LocalDate.now());
-            addCmd.execute(mw.getFlightBookingSystem());
+            FlightBookingSystem fbs = mw.getFlightBookingSystem();
+            if (hold != null && hold.getCustomer().getId() == custId && hold.getFlight().getId() == flightId) {
+                ConfirmHold confirmCmd = new ConfirmHold(hold.getId());
+                hold = null;
+                mw.execute(confirmCmd);
+                computedFee = confirmCmd.getBooking().getBookingFee();
+            } else {
+                releaseHold();
+                AddBooking addCmd = new AddBooking(custId, flightId, LocalDate.now());
+                mw.execute(addCmd);
+                computedFee = fbs.getFlightByID(flightId).calculatePrice(LocalDate.now());
+            }
             JOptionPane.showMessageDialog(this, "Booking created successfully.\nFee: $" + String.format("%.2f", computedFee));
-            mw.displayBookings();
+            // Open lists show the new booking through the change bus.
             this.dispose();
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Invalid input. Please check IDs.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -114,4 +153,20 @@ public class AddBookingWindow extends JFrame implements ActionListener {
             JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
+
+    /**
+     * Releases the seat hold placed from this window, if there is one. A hold that cannot be
+     * released, because it has expired or the session has, is left to expire on its own.
+     */
+    private void releaseHold() {
+        if (hold != null) {
+            ReleaseHold releaseCmd = new ReleaseHold(hold.getId());
+            hold = null;
+            try {
+                mw.execute(releaseCmd);
+            } catch (FlightBookingSystemException ex) {
+                // Nothing to undo: the seat is freed when the hold expires.
+            }
+        }
+    }
 }
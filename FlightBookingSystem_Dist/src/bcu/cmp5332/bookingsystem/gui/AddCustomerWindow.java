@@ -1,7 +1,6 @@
 package bcu.cmp5332.bookingsystem.gui;
 
 import bcu.cmp5332.bookingsystem.commands.AddCustomer;
-import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -17,6 +16,7 @@ public class AddCustomerWindow extends JFrame implements ActionListener {
     private JTextField phoneField = new JTextField(15);
     private JTextField emailField = new JTextField(30);
     private JPasswordField passwordField = new JPasswordField(20);
+    private JButton addBtn = new JButton("Add");
 
     /**
      * Constructs an AddCustomerWindow and initializes the GUI components.
@@ -44,7 +44,6 @@ public class AddCustomerWindow extends JFrame implements ActionListener {
         panel.add(new JLabel("Password:"));
         panel.add(passwordField);
         
-        JButton addBtn = new JButton("Add");
         addBtn.addActionListener(this);
         panel.add(new JLabel("")); // Empty label for layout alignment
         panel.add(addBtn);
@@ -56,27 +55,30 @@ public class AddCustomerWindow extends JFrame implements ActionListener {
 
     /**
      * Handles the action event when the "Add" button is clicked.
-     * Captures the input data and attempts to add a new customer.
+     * Captures the input data and adds a new customer in the background, since hashing the
+     * password takes a noticeable time.
      * 
      * @param e The ActionEvent triggered by the button click.
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        try {
-            String name = nameField.getText();
-            String phone = phoneField.getText();
-            String email = emailField.getText();
-            String password = new String(passwordField.getPassword());
-            
-            // Create and execute the AddCustomer command
-            AddCustomer addCmd = new AddCustomer(name, phone, email, password);
-            addCmd.execute(mw.getFlightBookingSystem());
-            
-            // Refresh the customer list and close this window
-            mw.displayAllCustomers();
+        String name = nameField.getText();
+        String phone = phoneField.getText();
+        String email = emailField.getText();
+        String password = new String(passwordField.getPassword());
+
+        // Create the AddCustomer command and execute it off the EDT
+        AddCustomer addCmd = new AddCustomer(name, phone, email, password);
+        addBtn.setEnabled(false);
+        new BackgroundTask<Void>(this, "Adding customer", task -> {
+            mw.execute(addCmd);
+            return null;
+        }, done -> {
+            // Open customer lists show the new customer through the change bus; close this window
             this.dispose();
-        } catch (FlightBookingSystemException ex) {
+        }).onFailure(ex -> {
+            addBtn.setEnabled(true);
             JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }).setCancellable(false).start();
     }
 }
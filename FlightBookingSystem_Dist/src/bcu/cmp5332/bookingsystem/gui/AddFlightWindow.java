@@ -66,6 +66,8 @@ public class AddFlightWindow extends JFrame implements ActionListener {
         topPanel.add(basePriceText);
         topPanel.add(new JLabel("Capacity:"));
         topPanel.add(capacityText);
+        LocationAutoComplete.install(originText);
+        LocationAutoComplete.install(destinationText);
 
         // Create the bottom panel with buttons
         JPanel bottomPanel = new JPanel(new GridLayout(1, 3));
@@ -111,10 +113,9 @@ public class AddFlightWindow extends JFrame implements ActionListener {
             
             // Create and execute the AddFlight command
             AddFlight addFlightCmd = new AddFlight(flightNumber, origin, destination, departureDate, basePrice, capacity);
-            addFlightCmd.execute(mw.getFlightBookingSystem());
+            mw.execute(addFlightCmd);
             
-            // Refresh the flight list and close this window
-            mw.displayUpcomingFlights();
+            // Open flight lists show the new flight through the change bus; close this window
             this.dispose();
         } catch (DateTimeParseException dtpe) {
             JOptionPane.showMessageDialog(this, "Date must be in YYYY-MM-DD format", "Error", JOptionPane.ERROR_MESSAGE);
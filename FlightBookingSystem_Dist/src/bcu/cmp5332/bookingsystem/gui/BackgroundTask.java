@@ -0,0 +1,228 @@
+package bcu.cmp5332.bookingsystem.gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * The {@code BackgroundTask} class runs a slow query or save on a worker thread, away from the
+ * Swing event dispatch thread (EDT), and hands the result back to the EDT when it is ready.
+ * <p>
+ * The work itself must not touch Swing components; it may build a table model that is not yet
+ * shown, since nothing listens to it. It can report how far it has got with {@link #report(int)}
+ * and should check {@link #isCancelled()} in its loops. If a task is still running after
+ * {@link #PROGRESS_DELAY} milliseconds, a small dialog with a progress bar is shown over its owner,
+ * with a Cancel button unless the task was made non-cancellable. Fast tasks never show it.
+ * A window that runs tasks as the user types can instead give the task a progress bar of its
+ * own with {@link #showProgressIn(JProgressBar)}, so no dialog takes the focus.
+ * </p>
+ * <p>
+ * The success and failure callbacks run on the EDT. A cancelled task calls neither. If no failure
+ * callback is set, an error dialog is shown, or the error is printed when running headless.
+ * </p>
+ *
+ * @param <T> the type of the task's result
+ */
+public class BackgroundTask<T> extends SwingWorker<T, Void> {
+
+    /** How long a task may run before its progress dialog is shown, in milliseconds. */
+    public static final int PROGRESS_DELAY = 400;
+
+    /**
+     * The work a task does on its worker thread.
+     *
+     * @param <T> the type of the result
+     */
+    public interface Work<T> {
+
+        /**
+         * Does the work.
+         *
+         * @param task the task running the work, for progress reports and cancellation checks
+         * @return the result, passed to the success callback on the EDT
+         * @throws Exception if the work fails
+         */
+        T run(BackgroundTask<T> task) throws Exception;
+    }
+
+    private final Component owner;
+    private final String description;
+    private final Work<T> work;
+    private final Consumer<T> onSuccess;
+    private Consumer<Exception> onFailure;
+    private boolean cancellable = true;
+    private Timer dialogTimer;
+    private JDialog dialog;
+    private JProgressBar progressBar;
+
+    /**
+     * Constructs a task. It does not run until {@link #start()} is called.
+     *
+     * @param owner       the component the progress dialog is shown over, or {@code null}
+     * @param description a short description, such as {@code "Loading bookings"}
+     * @param work        the work to run on the worker thread
+     * @param onSuccess   called on the EDT with the result
+     */
+    public BackgroundTask(Component owner, String description, Work<T> work, Consumer<T> onSuccess) {
+        this.owner = owner;
+        this.description = description;
+        this.work = work;
+        this.onSuccess = onSuccess;
+    }
+
+    /**
+     * Sets the callback for a failed task, replacing the default error dialog.
+     *
+     * @param onFailure called on the EDT with the exception thrown by the work
+     * @return this task
+     */
+    public BackgroundTask<T> onFailure(Consumer<Exception> onFailure) {
+        this.onFailure = onFailure;
+        return this;
+    }
+
+    /**
+     * Sets whether the progress dialog offers a Cancel button. Saves are not cancellable, since
+     * stopping one part-way would leave the data files out of step with each other.
+     *
+     * @param cancellable {@code true} to allow cancelling
+     * @return this task
+     */
+    public BackgroundTask<T> setCancellable(boolean cancellable) {
+        this.cancellable = cancellable;
+        return this;
+    }
+
+    /**
+     * Shows the task's progress in a bar the caller has placed, instead of in a dialog. The bar is
+     * shown while the task runs and hidden when it is done.
+     *
+     * @param bar the progress bar
+     * @return this task
+     */
+    public BackgroundTask<T> showProgressIn(JProgressBar bar) {
+        this.progressBar = bar;
+        return this;
+    }
+
+    /**
+     * Starts the task on a worker thread.
+     *
+     * @return this task
+     */
+    public BackgroundTask<T> start() {
+        if (progressBar != null) {
+            JProgressBar bar = progressBar;
+            bar.setIndeterminate(true);
+            bar.setVisible(true);
+            addPropertyChangeListener(e -> {
+                if ("progress".equals(e.getPropertyName())) {
+                    bar.setIndeterminate(false);
+                    bar.setValue((Integer) e.getNewValue());
+                }
+            });
+        } else if (!GraphicsEnvironment.isHeadless()) {
+            dialogTimer = new Timer(PROGRESS_DELAY, e -> showProgress());
+            dialogTimer.setRepeats(false);
+            dialogTimer.start();
+        }
+        execute();
+        return this;
+    }
+
+    /**
+     * Reports how far the work has got. May be called from the worker thread.
+     *
+     * @param percent the share of the work done, from 0 to 100
+     */
+    public void report(int percent) {
+        setProgress(Math.max(0, Math.min(100, percent)));
+    }
+
+    @Override
+    protected T doInBackground() throws Exception {
+        return work.run(this);
+    }
+
+    @Override
+    protected void done() {
+        if (dialogTimer != null) {
+            dialogTimer.stop();
+        }
+        if (dialog != null) {
+            dialog.dispose();
+        }
+        if (progressBar != null) {
+            progressBar.setVisible(false);
+        }
+        T result;
+        try {
+            result = get();
+        } catch (CancellationException ex) {
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            fail(cause instanceof Exception ? (Exception) cause : ex);
+            return;
+        }
+        onSuccess.accept(result);
+    }
+
+    private void fail(Exception ex) {
+        if (onFailure != null) {
+            onFailure.accept(ex);
+        } else if (GraphicsEnvironment.isHeadless()) {
+            System.err.println(description + " failed: " + ex.getMessage());
+        } else {
+            JOptionPane.showMessageDialog(owner, description + " failed: " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Shows the progress dialog for a task that is taking a while.
+     */
+    private void showProgress() {
+        if (isDone()) {
+            return;
+        }
+        Window window = owner == null ? null : SwingUtilities.getWindowAncestor(owner);
+        if (window == null && owner instanceof Window) {
+            window = (Window) owner;
+        }
+        dialog = new JDialog(window, description, Dialog.ModalityType.MODELESS);
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+
+        JProgressBar bar = new JProgressBar(0, 100);
+        // Until the work reports progress, all we know is that it is running.
+        bar.setIndeterminate(getProgress() == 0);
+        bar.setValue(getProgress());
+        addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                bar.setIndeterminate(false);
+                bar.setValue((Integer) e.getNewValue());
+            }
+        });
+
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        panel.add(new JLabel(description + "..."), BorderLayout.NORTH);
+        panel.add(bar, BorderLayout.CENTER);
+        if (cancellable) {
+            JButton cancelButton = new JButton("Cancel");
+            cancelButton.addActionListener(e -> cancel(true));
+            JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+            buttons.add(cancelButton);
+            panel.add(buttons, BorderLayout.SOUTH);
+        }
+        dialog.add(panel);
+        dialog.pack();
+        dialog.setLocationRelativeTo(owner);
+        dialog.setVisible(true);
+    }
+}
@@ -0,0 +1,48 @@
+package bcu.cmp5332.bookingsystem.gui;
+
+import bcu.cmp5332.bookingsystem.model.Booking;
+
+/**
+ * The {@code BookingTableModel} class shows bookings in a table: booking ID, customer name, flight
+ * number, booking date, fee and, optionally, whether the booking is active or cancelled.
+ */
+public class BookingTableModel extends RecordTableModel<Booking> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs an empty booking table model.
+     *
+     * @param showStatus {@code true} to add a status column, for tables that mix active and
+     *                   cancelled bookings
+     */
+    public BookingTableModel(boolean showStatus) {
+        super(showStatus
+                ? new String[] {"Booking ID", "Customer", "Flight", "Booking Date", "Fee", "Status"}
+                : new String[] {"Booking ID", "Customer", "Flight", "Booking Date", "Fee"});
+    }
+
+    @Override
+    protected Object getValue(Booking booking, int column) {
+        switch (column) {
+            case 0: return booking.getId();
+            case 1: return booking.getCustomer().getName();
+            case 2: return booking.getFlight().getFlightNumber();
+            case 3: return booking.getBookingDate();
+            case 4: return booking.getBookingFee();
+            default: return booking.getStatus().toString();
+        }
+    }
+
+    @Override
+    protected int compare(Booking a, Booking b, int column) {
+        switch (column) {
+            case 0: return Integer.compare(a.getId(), b.getId());
+            case 1: return a.getCustomer().getName().compareTo(b.getCustomer().getName());
+            case 2: return a.getFlight().getFlightNumber().compareTo(b.getFlight().getFlightNumber());
+            case 3: return a.getBookingDate().compareTo(b.getBookingDate());
+            case 4: return Double.compare(a.getBookingFee(), b.getBookingFee());
+            default: return a.getStatus().compareTo(b.getStatus());
+        }
+    }
+}
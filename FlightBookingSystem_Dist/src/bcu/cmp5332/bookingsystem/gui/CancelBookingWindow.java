@@ -62,6 +62,7 @@ public class CancelBookingWindow extends JFrame implements ActionListener {
         try {
             int bookingId = Integer.parseInt(bookingIdField.getText());
             Booking booking = mw.getFlightBookingSystem().getBookingByID(bookingId);
+            long version = booking.getVersion();
 
             // Calculate the cancellation fee as 15% of the booking fee
             double cancellationFee = 0.15 * booking.getBookingFee();
@@ -73,11 +74,11 @@ public class CancelBookingWindow extends JFrame implements ActionListener {
 
             // If confirmed, execute the cancellation command
             if (confirm == JOptionPane.YES_OPTION) {
-                CancelBooking cancelCmd = new CancelBooking(bookingId, cancellationFee);
-                cancelCmd.execute(mw.getFlightBookingSystem());
+                // Refused if the booking changed while the dialog was open.
+                CancelBooking cancelCmd = new CancelBooking(bookingId, cancellationFee, version);
+                mw.execute(cancelCmd);
 
-                // Refresh the booking list and close this window
-                mw.displayBookings();
+                // Open booking lists update the booking's row through the change bus; close this window
                 this.dispose();
             }
         } catch (NumberFormatException ex) {
@@ -0,0 +1,46 @@
+package bcu.cmp5332.bookingsystem.gui;
+
+import bcu.cmp5332.bookingsystem.model.Customer;
+
+/**
+ * The {@code CustomerTableModel} class shows customers in a table: ID, name, phone, email and,
+ * optionally, whether the customer is still active.
+ */
+public class CustomerTableModel extends RecordTableModel<Customer> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs an empty customer table model.
+     *
+     * @param showActive {@code true} to add an active column, for tables that include deleted
+     *                   customers
+     */
+    public CustomerTableModel(boolean showActive) {
+        super(showActive
+                ? new String[] {"ID", "Name", "Phone", "Email", "Active"}
+                : new String[] {"ID", "Name", "Phone", "Email"});
+    }
+
+    @Override
+    protected Object getValue(Customer customer, int column) {
+        switch (column) {
+            case 0: return customer.getId();
+            case 1: return customer.getName();
+            case 2: return customer.getPhone();
+            case 3: return customer.getEmail();
+            default: return customer.isDeleted() ? "No" : "Yes";
+        }
+    }
+
+    @Override
+    protected int compare(Customer a, Customer b, int column) {
+        switch (column) {
+            case 0: return Integer.compare(a.getId(), b.getId());
+            case 1: return a.getName().compareToIgnoreCase(b.getName());
+            case 2: return a.getPhone().compareTo(b.getPhone());
+            case 3: return a.getEmail().compareToIgnoreCase(b.getEmail());
+            default: return Boolean.compare(a.isDeleted(), b.isDeleted());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package bcu.cmp5332.bookingsystem.gui;
+
+import bcu.cmp5332.bookingsystem.analytics.Aggregate;
+import bcu.cmp5332.bookingsystem.analytics.BookingAnalytics;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import javax.swing.*;
+import java.awt.*;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * The {@code DashboardPanel} class shows headline booking, revenue and load-factor figures and a
+ * per-route and per-day breakdown, read from the running totals kept by {@link BookingAnalytics}.
+ */
+public class DashboardPanel extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The number of days ahead included in the daily breakdown. */
+    private static final int DAYS_AHEAD = 14;
+
+    private static final String[] COLUMNS = {"", "Active Bookings", "Cancelled", "Revenue", "Cancellation Fees", "Load Factor"};
+
+    /**
+     * Constructs a dashboard showing the current totals of the given booking system.
+     *
+     * @param fbs the flight booking system to report on
+     */
+    public DashboardPanel(FlightBookingSystem fbs) {
+        super(new BorderLayout(5, 5));
+        BookingAnalytics analytics = fbs.getAnalytics();
+
+        Aggregate total = analytics.getTotal();
+        JPanel headline = new JPanel(new GridLayout(1, 4, 10, 5));
+        headline.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        headline.add(new JLabel("Active Bookings: " + total.getActiveBookings()));
+        headline.add(new JLabel(String.format("Revenue: $%.2f", total.getRevenue())));
+        headline.add(new JLabel(String.format("Cancellation Fees: $%.2f", total.getCancellationFees())));
+        headline.add(new JLabel(String.format("Load Factor: %.1f%%", total.getLoadFactor() * 100)));
+        add(headline, BorderLayout.NORTH);
+
+        Map<String, Aggregate> routes = analytics.getRoutes();
+        LocalDate today = fbs.getSystemDate();
+        Map<LocalDate, Aggregate> days = analytics.getDays(today, today.plusDays(DAYS_AHEAD));
+
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("By Route", new JScrollPane(table("Route", routes)));
+        tabs.addTab("By Departure Day", new JScrollPane(table("Date", days)));
+        add(tabs, BorderLayout.CENTER);
+    }
+
+    private static JTable table(String keyColumn, Map<?, Aggregate> rows) {
+        String[] columns = COLUMNS.clone();
+        columns[0] = keyColumn;
+        Object[][] data = new Object[rows.size()][columns.length];
+        int i = 0;
+        for (Map.Entry<?, Aggregate> entry : rows.entrySet()) {
+            Aggregate a = entry.getValue();
+            data[i][0] = entry.getKey();
+            data[i][1] = a.getActiveBookings();
+            data[i][2] = a.getCancellations();
+            data[i][3] = String.format("%.2f", a.getRevenue());
+            data[i][4] = String.format("%.2f", a.getCancellationFees());
+            data[i][5] = String.format("%.1f%%", a.getLoadFactor() * 100);
+            i++;
+        }
+        JTable table = new JTable(data, columns) {
+            private static final long serialVersionUID = 1L;
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        return table;
+    }
+}
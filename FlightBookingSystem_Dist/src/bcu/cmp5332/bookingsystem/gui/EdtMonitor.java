@@ -0,0 +1,120 @@
+package bcu.cmp5332.bookingsystem.gui;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InvocationEvent;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The {@code EdtMonitor} class watches the Swing event dispatch thread (EDT) and logs every event
+ * that takes longer than a threshold to handle, by default {@link #DEFAULT_THRESHOLD} milliseconds.
+ * <p>
+ * It is an {@link EventQueue} pushed on top of the system queue, so it times each event as it is
+ * dispatched. An event that opens a modal dialog keeps dispatching other events until the dialog
+ * closes; such an event is not reported, because the time was spent waiting for the user rather
+ * than blocking the EDT. The events dispatched inside it are still timed on their own.
+ * </p>
+ */
+public class EdtMonitor extends EventQueue {
+
+    /** The default threshold above which an event is logged, in milliseconds. */
+    public static final long DEFAULT_THRESHOLD = 50;
+
+    private static EdtMonitor installed;
+
+    private final long thresholdNanos;
+    private final Consumer<String> log;
+    // One entry per event being dispatched: its start time, and 1 once a nested event has run.
+    private final Deque<long[]> dispatching = new ArrayDeque<>();
+    private final AtomicLong slowEvents = new AtomicLong();
+    private volatile long longestMillis;
+
+    /**
+     * Constructs a monitor. It watches nothing until pushed onto the system event queue.
+     *
+     * @param thresholdMillis events taking longer than this are logged
+     * @param log             receives one line per slow event
+     */
+    public EdtMonitor(long thresholdMillis, Consumer<String> log) {
+        this.thresholdNanos = thresholdMillis * 1_000_000L;
+        this.log = log;
+    }
+
+    /**
+     * Installs a monitor logging to standard error with the default threshold, once per process.
+     *
+     * @return the installed monitor
+     */
+    public static synchronized EdtMonitor install() {
+        if (installed == null) {
+            installed = install(DEFAULT_THRESHOLD, System.err::println);
+        }
+        return installed;
+    }
+
+    /**
+     * Pushes a new monitor onto the system event queue.
+     *
+     * @param thresholdMillis events taking longer than this are logged
+     * @param log             receives one line per slow event
+     * @return the new monitor
+     */
+    public static EdtMonitor install(long thresholdMillis, Consumer<String> log) {
+        EdtMonitor monitor = new EdtMonitor(thresholdMillis, log);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(monitor);
+        return monitor;
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        long[] outer = dispatching.peek();
+        if (outer != null) {
+            outer[1] = 1;
+        }
+        long[] current = {System.nanoTime(), 0};
+        dispatching.push(current);
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            dispatching.pop();
+            long elapsed = System.nanoTime() - current[0];
+            if (elapsed > thresholdNanos && current[1] == 0) {
+                report(event, elapsed / 1_000_000L);
+            }
+        }
+    }
+
+    private void report(AWTEvent event, long millis) {
+        slowEvents.incrementAndGet();
+        if (millis > longestMillis) {
+            longestMillis = millis;
+        }
+        String source = event instanceof InvocationEvent
+                ? "invokeLater"
+                : event.getSource().getClass().getSimpleName();
+        log.accept(String.format("EDT blocked for %d ms by %s from %s",
+                millis, event.getClass().getSimpleName(), source));
+    }
+
+    /**
+     * Returns the number of slow events logged so far.
+     *
+     * @return the count
+     */
+    public long getSlowEventCount() {
+        return slowEvents.get();
+    }
+
+    /**
+     * Returns the longest time a logged event took.
+     *
+     * @return the time in milliseconds, or 0 if no event has been logged
+     */
+    public long getLongestEventMillis() {
+        return longestMillis;
+    }
+}
@@ -1,22 +1,43 @@
 package bcu.cmp5332.bookingsystem.gui;
 
+import bcu.cmp5332.bookingsystem.model.AirportDictionary;
+import bcu.cmp5332.bookingsystem.model.ChangeBus;
 import bcu.cmp5332.bookingsystem.model.Flight;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
 /**
  * The {@code FilterFlightsWindow} class provides a graphical user interface (GUI)
  * for filtering available flights based on user-specified criteria such as origin,
  * destination, departure date, and price range.
+ * <p>
+ * The results update as the user types. Each edit restarts a short {@link #DEBOUNCE_DELAY}
+ * timer, and only when typing pauses is a search started. A search that is still running when
+ * the next one starts is cancelled, so stale results never replace newer ones. The search runs
+ * in the background against the system's flight index, which reads only the flights on the
+ * matching routes and dates and prices each departure day once. The finished
+ * {@link FlightTableModel} is then swapped in; it computes prices only for the rows on screen.
+ * </p>
+ * <p>
+ * The results follow the system's {@link ChangeBus} while the window is open: a flight added,
+ * repriced or removed elsewhere is added to, updated in or dropped from the results as the filter
+ * dictates, without running the search again.
+ * </p>
  */
 public class FilterFlightsWindow extends JFrame implements ActionListener {
 
+    /** How long typing must pause before a search starts, in milliseconds. */
+    public static final int DEBOUNCE_DELAY = 250;
+
     private FlightBookingSystem fbs;
     private JTextField originField = new JTextField(10);
     private JTextField destinationField = new JTextField(10);
@@ -24,7 +45,12 @@ public class FilterFlightsWindow extends JFrame implements ActionListener {
     private JTextField minPriceField = new JTextField(10);
     private JTextField maxPriceField = new JTextField(10);
     private JButton filterButton = new JButton("Apply Filter");
+    private JLabel statusLabel = new JLabel(" ");
+    private JProgressBar progressBar = new JProgressBar();
     private JTable resultsTable;
+    private Timer debounceTimer;
+    private BackgroundTask<FlightTableModel> search;
+    private ChangeBus.Subscription<Flight> subscription;
 
     /**
      * Constructs a {@code FilterFlightsWindow} with the given flight booking system.
@@ -41,7 +67,7 @@ public class FilterFlightsWindow extends JFrame implements ActionListener {
      */
     private void initialize() {
         setTitle("Filter Flights");
-        setSize(600, 400);
+        setSize(700, 400);
         setLayout(new BorderLayout(5, 5));
 
         JPanel inputPanel = new JPanel(new GridLayout(3, 4, 5, 5));
@@ -59,14 +85,48 @@ public class FilterFlightsWindow extends JFrame implements ActionListener {
         inputPanel.add(filterButton);
 
         filterButton.addActionListener(this);
+        LocationAutoComplete.install(originField);
+        LocationAutoComplete.install(destinationField);
         add(inputPanel, BorderLayout.NORTH);
 
+        // Every edit restarts the timer; the search runs once typing pauses.
+        debounceTimer = new Timer(DEBOUNCE_DELAY, e -> applyFilter());
+        debounceTimer.setRepeats(false);
+        DocumentListener restart = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { debounceTimer.restart(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { debounceTimer.restart(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { debounceTimer.restart(); }
+        };
+        for (JTextField field : new JTextField[] {originField, destinationField, depDateField, minPriceField, maxPriceField}) {
+            field.getDocument().addDocumentListener(restart);
+        }
+
         resultsTable = new JTable();
         JScrollPane scrollPane = new JScrollPane(resultsTable);
         add(scrollPane, BorderLayout.CENTER);
 
+        JPanel statusPanel = new JPanel(new BorderLayout(5, 0));
+        statusPanel.add(statusLabel, BorderLayout.CENTER);
+        progressBar.setVisible(false);
+        statusPanel.add(progressBar, BorderLayout.EAST);
+        add(statusPanel, BorderLayout.SOUTH);
+
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                debounceTimer.stop();
+                stopSearch();
+            }
+        });
+
         setLocationRelativeTo(null);
         setVisible(true);
+        // Show every upcoming flight to begin with.
+        applyFilter();
     }
 
     /**
@@ -77,12 +137,28 @@ public class FilterFlightsWindow extends JFrame implements ActionListener {
     @Override
     public void actionPerformed(ActionEvent e) {
         if (e.getSource() == filterButton) {
+            debounceTimer.stop();
             applyFilter();
         }
     }
 
     /**
-     * Applies the filter criteria entered by the user to the flight list and updates the results table.
+     * Cancels the running search and stops following changes to the results shown.
+     */
+    private void stopSearch() {
+        if (search != null) {
+            search.cancel(true);
+            search = null;
+        }
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+    }
+
+    /**
+     * Starts a background search for the criteria entered. Input that cannot be read yet, such as
+     * a date still being typed, is reported in the status line and leaves the results as they are.
      */
     private void applyFilter() {
         String origin = originField.getText().trim();
@@ -96,7 +172,7 @@ public class FilterFlightsWindow extends JFrame implements ActionListener {
             try {
                 filterDate = LocalDate.parse(depDateStr);
             } catch (DateTimeParseException ex) {
-                JOptionPane.showMessageDialog(this, "Invalid departure date format", "Error", JOptionPane.ERROR_MESSAGE);
+                statusLabel.setText("Invalid departure date format");
                 return;
             }
         }
@@ -106,7 +182,7 @@ public class FilterFlightsWindow extends JFrame implements ActionListener {
             try {
                 minPrice = Double.parseDouble(minPriceStr);
             } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Invalid minimum price", "Error", JOptionPane.ERROR_MESSAGE);
+                statusLabel.setText("Invalid minimum price");
                 return;
             }
         }
@@ -116,60 +192,65 @@ public class FilterFlightsWindow extends JFrame implements ActionListener {
             try {
                 maxPrice = Double.parseDouble(maxPriceStr);
             } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Invalid maximum price", "Error", JOptionPane.ERROR_MESSAGE);
+                statusLabel.setText("Invalid maximum price");
                 return;
             }
         }
 
-        List<Flight> filtered = new ArrayList<>();
-        for (Flight flight : fbs.getFlights()) {
-            boolean matches = true;
-
-            if (!origin.isEmpty() && !flight.getOrigin().equalsIgnoreCase(origin)) {
-                matches = false;
-            }
-            if (!destination.isEmpty() && !flight.getDestination().equalsIgnoreCase(destination)) {
-                matches = false;
-            }
-            if (filterDate != null && !flight.getDepartureDate().isEqual(filterDate)) {
-                matches = false;
+        LocalDate today = fbs.getSystemDate();
+        LocalDate date = filterDate;
+        Double min = minPrice;
+        Double max = maxPrice;
+        // Locations are compared by interned code, as the search does; a name no flight uses
+        // matches nothing.
+        int originCode = origin.isEmpty() ? AirportDictionary.UNKNOWN : AirportDictionary.lookup(origin);
+        int destinationCode = destination.isEmpty() ? AirportDictionary.UNKNOWN : AirportDictionary.lookup(destination);
+        // Decides whether a flight changed elsewhere belongs in the results.
+        Predicate<Flight> matches = flight -> {
+            if (flight.isDeleted() || flight.getDepartureDate().isBefore(today)) {
+                return false;
             }
-
-            double dynamicPrice = flight.calculatePrice(LocalDate.now());
-            if (minPrice != null && dynamicPrice < minPrice) {
-                matches = false;
+            if (!origin.isEmpty() && flight.getOriginCode() != originCode) {
+                return false;
             }
-            if (maxPrice != null && dynamicPrice > maxPrice) {
-                matches = false;
+            if (!destination.isEmpty() && flight.getDestinationCode() != destinationCode) {
+                return false;
             }
-
-            if (matches) {
-                filtered.add(flight);
+            if (date != null && !flight.getDepartureDate().isEqual(date)) {
+                return false;
             }
-        }
+            double dynamicPrice = flight.calculatePrice(today);
+            return (min == null || dynamicPrice >= min) && (max == null || dynamicPrice <= max);
+        };
 
-        updateTable(filtered);
+        stopSearch();
+        statusLabel.setText("Searching...");
+        // Subscribed before the search reads the index; changes made meanwhile are applied once
+        // the results are shown.
+        AtomicReference<FlightTableModel> shown = new AtomicReference<>();
+        ChangeBus.Subscription<Flight> changes = fbs.getChangeBus().subscribe(Flight.class,
+                SwingUtilities::invokeLater, batch -> {
+                    shown.get().applyChanges(batch);
+                    showCount(shown.get());
+                });
+        subscription = changes;
+        search = new BackgroundTask<FlightTableModel>(this, "Filtering flights", task -> {
+            List<Flight> found = fbs.searchFlights(origin, destination, date, date, min, max, task::isCancelled);
+            FlightTableModel model = new FlightTableModel(today);
+            model.setRecords(found);
+            model.setFilter(matches);
+            return model;
+        }, model -> {
+            shown.set(model);
+            resultsTable.setModel(model);
+            showCount(model);
+            changes.resume();
+        }).onFailure(ex -> statusLabel.setText("Search failed: " + ex.getMessage()))
+                .showProgressIn(progressBar)
+                .start();
     }
 
-    /**
-     * Updates the JTable with the filtered flight data.
-     *
-     * @param filteredFlights the list of flights that match the filter criteria
-     */
-    private void updateTable(List<Flight> filteredFlights) {
-        String[] columns = {"ID", "Flight Number", "Origin", "Destination", "Departure Date", "Dynamic Price"};
-        Object[][] data = new Object[filteredFlights.size()][6];
-
-        for (int i = 0; i < filteredFlights.size(); i++) {
-            Flight f = filteredFlights.get(i);
-            data[i][0] = f.getId();
-            data[i][1] = f.getFlightNumber();
-            data[i][2] = f.getOrigin();
-            data[i][3] = f.getDestination();
-            data[i][4] = f.getDepartureDate();
-            data[i][5] = f.calculatePrice(LocalDate.now());
-        }
-
-        resultsTable.setModel(new javax.swing.table.DefaultTableModel(data, columns));
+    private void showCount(FlightTableModel model) {
+        statusLabel.setText(model.getRowCount() + (model.getRowCount() == 1 ? " flight" : " flights"));
     }
 }
@@ -0,0 +1,64 @@
+package bcu.cmp5332.bookingsystem.gui;
+
+import bcu.cmp5332.bookingsystem.model.Flight;
+import java.time.LocalDate;
+
+/**
+ * The {@code FlightTableModel} class shows flights in a table: ID, flight number, origin,
+ * destination, departure date, base price (or the dynamic price on a given date) and capacity.
+ */
+public class FlightTableModel extends RecordTableModel<Flight> {
+
+    private static final long serialVersionUID = 1L;
+
+    // The date dynamic prices are shown for, or null to show base prices.
+    private final LocalDate priceDate;
+
+    /**
+     * Constructs an empty flight table model showing base prices.
+     */
+    public FlightTableModel() {
+        super("ID", "Flight Number", "Origin", "Destination", "Departure Date", "Base Price", "Capacity");
+        this.priceDate = null;
+    }
+
+    /**
+     * Constructs an empty flight table model showing the price of booking each flight on a date.
+     *
+     * @param priceDate the booking date the dynamic prices are calculated for
+     */
+    public FlightTableModel(LocalDate priceDate) {
+        super("ID", "Flight Number", "Origin", "Destination", "Departure Date", "Dynamic Price", "Capacity");
+        this.priceDate = priceDate;
+    }
+
+    private double price(Flight flight) {
+        return priceDate == null ? flight.getBasePrice() : flight.calculatePrice(priceDate);
+    }
+
+    @Override
+    protected Object getValue(Flight flight, int column) {
+        switch (column) {
+            case 0: return flight.getId();
+            case 1: return flight.getFlightNumber();
+            case 2: return flight.getOrigin();
+            case 3: return flight.getDestination();
+            case 4: return flight.getDepartureDate();
+            case 5: return price(flight);
+            default: return flight.getCapacity();
+        }
+    }
+
+    @Override
+    protected int compare(Flight a, Flight b, int column) {
+        switch (column) {
+            case 0: return Integer.compare(a.getId(), b.getId());
+            case 1: return a.getFlightNumber().compareTo(b.getFlightNumber());
+            case 2: return a.getOrigin().compareTo(b.getOrigin());
+            case 3: return a.getDestination().compareTo(b.getDestination());
+            case 4: return a.getDepartureDate().compareTo(b.getDepartureDate());
+            case 5: return Double.compare(price(a), price(b));
+            default: return Integer.compare(a.getCapacity(), b.getCapacity());
+        }
+    }
+}
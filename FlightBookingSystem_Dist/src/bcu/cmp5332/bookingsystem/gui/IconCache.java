@@ -0,0 +1,208 @@
+package bcu.cmp5332.bookingsystem.gui;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code IconCache} class loads and scales the images used by the GUI once and shares them
+ * between windows.
+ * <p>
+ * Each image file is decoded once, and each (path, width, height) is scaled once; later requests
+ * for either get the cached result. Decoding and scaling run on a background thread, so asking
+ * for an icon never blocks the event dispatch thread. {@link #get(String, int, int)} returns at
+ * once with an icon of the requested size that paints nothing until its image is ready and then
+ * repaints the components it was painted on. Menus and labels can therefore be built before any
+ * image has been read.
+ * </p>
+ * <p>
+ * An image is looked up on the classpath first, so it can be packaged in a jar, and then as a
+ * file relative to the working directory, where the {@code resources} folder normally lives.
+ * Scaling draws the image into a new {@link BufferedImage} with bilinear filtering, halving the
+ * size in steps for large reductions. This gives the same smooth result as
+ * {@link Image#SCALE_SMOOTH} at a fraction of its cost.
+ * </p>
+ */
+public final class IconCache {
+
+    // Decoded images by path, and scaled icons by path and size.
+    private static final Map<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<ImageIcon>> icons = new ConcurrentHashMap<>();
+
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "icon-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private IconCache() {
+    }
+
+    /**
+     * Returns an icon of the given size showing the image at a path. The icon can be used at once;
+     * it is blank until the image has been loaded and scaled in the background.
+     *
+     * @param path   the image's path, such as {@code "resources/icons/add.png"}
+     * @param width  the icon width
+     * @param height the icon height
+     * @return the icon
+     */
+    public static Icon get(String path, int width, int height) {
+        CompletableFuture<ImageIcon> icon = load(path, width, height);
+        ImageIcon ready = icon.getNow(null);
+        return ready != null ? ready : new PendingIcon(icon, width, height);
+    }
+
+    /**
+     * Loads and scales the image at a path, or returns the load already started for the same path
+     * and size.
+     *
+     * @param path   the image's path
+     * @param width  the icon width
+     * @param height the icon height
+     * @return the icon once scaled; it is blank if the image cannot be read
+     */
+    public static CompletableFuture<ImageIcon> load(String path, int width, int height) {
+        return icons.computeIfAbsent(path + "@" + width + "x" + height,
+                key -> decode(path).thenApplyAsync(image -> new ImageIcon(scale(image, width, height)), loader));
+    }
+
+    /**
+     * Tells whether the image at a path can be read, once it has been tried.
+     *
+     * @param path the image's path
+     * @return {@code true} if the image was found and decoded
+     */
+    public static CompletableFuture<Boolean> exists(String path) {
+        return decode(path).thenApply(image -> image != null);
+    }
+
+    /**
+     * Starts loading images before they are needed, for example while a login window is shown.
+     *
+     * @param paths the image paths
+     */
+    public static void prefetch(String... paths) {
+        for (String path : paths) {
+            decode(path);
+        }
+    }
+
+    private static CompletableFuture<BufferedImage> decode(String path) {
+        return images.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> read(p), loader));
+    }
+
+    private static BufferedImage read(String path) {
+        try {
+            URL resource = IconCache.class.getResource("/" + path);
+            if (resource != null) {
+                try (InputStream in = resource.openStream()) {
+                    BufferedImage image = ImageIO.read(in);
+                    if (image != null) {
+                        return image;
+                    }
+                }
+            }
+            File file = new File(path);
+            if (file.exists()) {
+                BufferedImage image = ImageIO.read(file);
+                if (image != null) {
+                    return image;
+                }
+            }
+        } catch (IOException ex) {
+            System.err.println("Error reading icon " + path + ": " + ex.getMessage());
+        }
+        System.err.println("Icon file not found: " + path);
+        return null;
+    }
+
+    /**
+     * Scales an image to a size, halving it first while it is more than twice too big.
+     *
+     * @param image  the image, or {@code null} for a blank result
+     * @param width  the target width
+     * @param height the target height
+     * @return the scaled image
+     */
+    static BufferedImage scale(BufferedImage image, int width, int height) {
+        if (image == null) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = w / 2 >= width ? w / 2 : width;
+            h = h / 2 >= height ? h / 2 : height;
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    /**
+     * An icon whose image is still loading. It keeps the components it has been painted on and
+     * repaints them once the image is ready.
+     */
+    private static final class PendingIcon implements Icon {
+
+        private final CompletableFuture<ImageIcon> icon;
+        private final int width;
+        private final int height;
+        private final List<WeakReference<Component>> paintedOn = new CopyOnWriteArrayList<>();
+
+        PendingIcon(CompletableFuture<ImageIcon> icon, int width, int height) {
+            this.icon = icon;
+            this.width = width;
+            this.height = height;
+            icon.thenRun(() -> SwingUtilities.invokeLater(() -> {
+                for (WeakReference<Component> ref : paintedOn) {
+                    Component c = ref.get();
+                    if (c != null) {
+                        c.repaint();
+                    }
+                }
+                paintedOn.clear();
+            }));
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            ImageIcon ready = icon.getNow(null);
+            if (ready != null) {
+                ready.paintIcon(c, g, x, y);
+            } else if (c != null) {
+                paintedOn.add(new WeakReference<>(c));
+            }
+        }
+
+        @Override
+        public int getIconWidth() {
+            return width;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return height;
+        }
+    }
+}
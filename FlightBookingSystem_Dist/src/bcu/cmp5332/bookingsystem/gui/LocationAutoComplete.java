@@ -0,0 +1,93 @@
+package bcu.cmp5332.bookingsystem.gui;
+
+import bcu.cmp5332.bookingsystem.model.AirportDictionary;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.util.List;
+
+/**
+ * The {@code LocationAutoComplete} class adds airport and city suggestions to a text field.
+ * <p>
+ * As the user types, the known locations starting with the field's text are looked up in the
+ * {@link AirportDictionary} and offered in a popup below the field. Choosing a suggestion copies
+ * it into the field. The popup never takes the keyboard focus, so typing is not interrupted.
+ * </p>
+ */
+public class LocationAutoComplete implements DocumentListener {
+
+    /** The most suggestions shown at once. */
+    private static final int MAX_SUGGESTIONS = 8;
+
+    private final JTextField field;
+    private final JPopupMenu popup = new JPopupMenu();
+
+    /** Set while a chosen suggestion is being copied into the field, so it is not re-suggested. */
+    private boolean adjusting;
+
+    private LocationAutoComplete(JTextField field) {
+        this.field = field;
+        popup.setFocusable(false);
+    }
+
+    /**
+     * Adds location autocomplete to the given text field.
+     *
+     * @param field the origin or destination field
+     */
+    public static void install(JTextField field) {
+        field.getDocument().addDocumentListener(new LocationAutoComplete(field));
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        update();
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        update();
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        update();
+    }
+
+    private void update() {
+        if (adjusting) {
+            return;
+        }
+        // Show the popup after the document event has finished being delivered.
+        SwingUtilities.invokeLater(this::showSuggestions);
+    }
+
+    private void showSuggestions() {
+        String text = field.getText().trim();
+        popup.setVisible(false);
+        popup.removeAll();
+        if (text.isEmpty() || !field.isShowing()) {
+            return;
+        }
+        List<String> suggestions = AirportDictionary.complete(text, MAX_SUGGESTIONS);
+        if (suggestions.isEmpty() || (suggestions.size() == 1 && suggestions.get(0).equalsIgnoreCase(text))) {
+            return;
+        }
+        for (String name : suggestions) {
+            JMenuItem item = new JMenuItem(name);
+            item.addActionListener(e -> choose(name));
+            popup.add(item);
+        }
+        popup.show(field, 0, field.getHeight());
+    }
+
+    private void choose(String name) {
+        adjusting = true;
+        try {
+            field.setText(name);
+        } finally {
+            adjusting = false;
+        }
+        popup.setVisible(false);
+    }
+}
@@ -1,16 +1,23 @@
 package bcu.cmp5332.bookingsystem.gui;
 
-import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.auth.Authenticator;
+import bcu.cmp5332.bookingsystem.auth.User;
+import bcu.cmp5332.bookingsystem.auth.UserDirectory;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
 import javax.swing.*;
 import javax.swing.border.LineBorder;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.File;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The LoginWindow class provides the GUI for users to log into the Everest Airlines system.
- * It supports both admin and customer logins, verifying credentials and redirecting users accordingly.
+ * It supports both admin and customer logins, verifying credentials against the {@link UserDirectory}
+ * and redirecting users according to their role.
+ * <p>
+ * At startup the window is shown before the data has been loaded, so the user sees it at once.
+ * The Login button is enabled when the data is in.
+ * </p>
  */
 public class LoginWindow extends JFrame implements ActionListener {
 
@@ -20,6 +27,9 @@ public class LoginWindow extends JFrame implements ActionListener {
     private JPasswordField passwordField = new JPasswordField(20);
     private JButton loginButton = new JButton("Login");
     private JLabel messageLabel = new JLabel("", JLabel.CENTER);
+    private JProgressBar loadingBar = new JProgressBar();
+    // Created with the user directory on the first login attempt, off the EDT.
+    private Authenticator authenticator;
 
     /**
      * Constructs a LoginWindow and initializes the GUI components.
@@ -31,6 +41,51 @@ public class LoginWindow extends JFrame implements ActionListener {
         initialize();
     }
 
+    /**
+     * Constructs a LoginWindow and shows it while the data is still loading. Logging in is
+     * possible once the data is in.
+     *
+     * @param data completes with the loaded FlightBookingSystem
+     */
+    public LoginWindow(CompletableFuture<FlightBookingSystem> data) {
+        initialize();
+        loginButton.setEnabled(false);
+        messageLabel.setText("Loading data...");
+        loadingBar.setIndeterminate(true);
+        loadingBar.setVisible(true);
+        data.whenComplete((loaded, ex) -> SwingUtilities.invokeLater(() -> dataLoaded(loaded, ex)));
+    }
+
+    /**
+     * Enables logging in once the data has loaded, or reports why it could not be loaded.
+     *
+     * @param loaded the loaded system, or {@code null} if loading failed
+     * @param ex     the reason loading failed, or {@code null}
+     */
+    private void dataLoaded(FlightBookingSystem loaded, Throwable ex) {
+        loadingBar.setVisible(false);
+        if (ex != null) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            messageLabel.setText("Failed to load data: " + cause.getMessage());
+            return;
+        }
+        fbs = loaded;
+        loginButton.setEnabled(true);
+        messageLabel.setText("");
+        StartupMetrics.getDefault().interactive();
+    }
+
+    /**
+     * Paints the window, recording the first time it is painted as the application's first frame.
+     *
+     * @param g the graphics context
+     */
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        StartupMetrics.getDefault().firstFramePainted();
+    }
+
     /**
      * Initializes the GUI components and layout of the LoginWindow.
      * Sets up input fields, labels, buttons, and background styling.
@@ -109,7 +164,12 @@ public class LoginWindow extends JFrame implements ActionListener {
         loginButton.addActionListener(this);
 
         loginPanel.add(inputPanel, BorderLayout.CENTER);
-        loginPanel.add(messageLabel, BorderLayout.SOUTH);
+        JPanel statusPanel = new JPanel(new BorderLayout());
+        statusPanel.setBackground(Color.decode("#fffffe"));
+        statusPanel.add(messageLabel, BorderLayout.CENTER);
+        loadingBar.setVisible(false);
+        statusPanel.add(loadingBar, BorderLayout.SOUTH);
+        loginPanel.add(statusPanel, BorderLayout.SOUTH);
         loginPanel.setPreferredSize(new Dimension(500, 0));
 
         // Create and add the image panel for the right side
@@ -130,16 +190,20 @@ public class LoginWindow extends JFrame implements ActionListener {
             }
         };
 
-        File imageFile = new File("resources/icons/login_bg.png");
-        if (imageFile.exists()) {
-            ImageIcon originalIcon = new ImageIcon(imageFile.getAbsolutePath());
-            Image scaledImage = originalIcon.getImage().getScaledInstance(300, 320, Image.SCALE_SMOOTH);
-            JLabel imageLabel = new JLabel(new ImageIcon(scaledImage));
-            imagePanel.add(imageLabel, BorderLayout.CENTER);
-        } else {
-            JLabel errorLabel = new JLabel("Image not found", SwingConstants.CENTER);
-            imagePanel.add(errorLabel, BorderLayout.CENTER);
-        }
+        // The image is read and scaled in the background and appears when ready.
+        String imagePath = "resources/icons/login_bg.png";
+        JLabel imageLabel = new JLabel(IconCache.get(imagePath, 300, 320), SwingConstants.CENTER);
+        imagePanel.add(imageLabel, BorderLayout.CENTER);
+        IconCache.exists(imagePath).thenAccept(found -> {
+            if (!found) {
+                SwingUtilities.invokeLater(() -> {
+                    imageLabel.setIcon(null);
+                    imageLabel.setText("Image not found");
+                });
+            }
+        });
+        // Read the main window's icons while the user logs in.
+        MainWindow.prefetchIcons();
 
         add(loginPanel, BorderLayout.WEST);
         add(imagePanel, BorderLayout.CENTER);
@@ -157,45 +221,48 @@ public class LoginWindow extends JFrame implements ActionListener {
      */
     @Override
     public void actionPerformed(ActionEvent e) {
+        if (fbs == null) {
+            return;  // Still loading; the button is enabled when the data is in.
+        }
         String username = usernameField.getText().trim();
         String password = new String(passwordField.getPassword()).trim();
 
-        // Admin login check (hard-coded credentials)
-        if (username.equals("admin") && password.equals("admin")) {
-            this.setVisible(false);
-            SwingUtilities.invokeLater(() -> {
-                MainWindow mainWindow = new MainWindow(fbs);
-                mainWindow.setAdminMode(true);
-            });
-        } else {
-            Customer customer = authenticateCustomer(username, password);
-            if (customer != null) {
+        // Checking a password hash takes a noticeable time, so it is done off the EDT.
+        loginButton.setEnabled(false);
+        messageLabel.setText("Checking...");
+        new BackgroundTask<>(this, "Logging in", task -> authenticate(username, password), (User user) -> {
+            loginButton.setEnabled(true);
+            if (user != null) {
+                messageLabel.setText("");
                 this.setVisible(false);
-                SwingUtilities.invokeLater(() -> {
-                    MainWindow mainWindow = new MainWindow(fbs);
-                    mainWindow.setAdminMode(false);
-                    mainWindow.setLoggedInCustomerId(customer.getId());
-                    mainWindow.displayCustomerDetails(customer.getId());
-                });
+                MainWindow mainWindow = new MainWindow(fbs);
+                // Later commands from the main window are authenticated by this session.
+                mainWindow.setSession(authenticator, authenticator.openSession(user));
+                if (user.getCustomerId() >= 0) {
+                    mainWindow.displayCustomerDetails(user.getCustomerId());
+                }
             } else {
                 messageLabel.setText("Invalid credentials. Try again.");
             }
-        }
+        }).onFailure(ex -> {
+            loginButton.setEnabled(true);
+            messageLabel.setText("Login failed: " + ex.getMessage());
+        }).setCancellable(false).showProgressIn(loadingBar).start();
     }
 
     /**
-     * Authenticates a customer by checking the username and password.
+     * Authenticates a user, admin or customer, by checking the username and password against the
+     * stored hash. A password still stored in plain text is replaced by its hash and saved.
      * 
      * @param username The entered username.
      * @param password The entered password.
-     * @return The authenticated Customer object if valid, otherwise null.
+     * @return The authenticated User if valid, otherwise null.
+     * @throws Exception if the user directory cannot be loaded
      */
-    private Customer authenticateCustomer(String username, String password) {
-        for (Customer customer : fbs.getCustomers()) {
-            if (customer.getName().equalsIgnoreCase(username) && customer.getPassword().equals(password)) {
-                return customer;
-            }
+    private User authenticate(String username, String password) throws Exception {
+        if (authenticator == null) {
+            authenticator = new Authenticator(UserDirectory.load(fbs));
         }
-        return null;
+        return authenticator.login(username, password);
     }
 }
@@ -1,38 +1,88 @@
 package bcu.cmp5332.bookingsystem.gui;
 
+import bcu.cmp5332.bookingsystem.admission.AdmissionController;
+import bcu.cmp5332.bookingsystem.auth.Authenticator;
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.auth.Role;
+import bcu.cmp5332.bookingsystem.auth.Session;
+import bcu.cmp5332.bookingsystem.commands.Command;
 import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.ChangeBus;
 import bcu.cmp5332.bookingsystem.model.Customer;
 import bcu.cmp5332.bookingsystem.model.Flight;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.PrefixIndex;
 import bcu.cmp5332.bookingsystem.data.FlightBookingSystemData;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.MenuEvent;
+import javax.swing.event.MenuListener;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.File;
-import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
  * Main window for the Flight Booking System application.
  * Provides a graphical user interface for managing flights, bookings, and customers.
+ * <p>
+ * List views are queried and their table models built by {@link BackgroundTask}s, so the event
+ * dispatch thread only swaps the finished model in. Saves run in the background as well.
+ * </p>
+ * <p>
+ * While a list is shown, the window follows the system's {@link ChangeBus} and applies each
+ * batch of changes to the shown rows. Records added, updated, cancelled or deleted by this or
+ * any other window, or by a network client, appear without reloading the list.
+ * </p>
  */
 
 public class MainWindow extends JFrame implements ActionListener {
 
     private static final long serialVersionUID = 1L;
     private final FlightBookingSystem fbs;
+    // The one table every list view is shown in, with its models swapped in and out.
+    private final JTable table = new JTable();
+    private final JScrollPane tableScrollPane = new JScrollPane(table);
     private JTable currentTable;
-    private boolean isAdmin = true;
+    private IntConsumer openRow;
+    // The logged-in user's role, which decides the menus and actions offered.
+    private Role role = Role.ADMIN;
+    // The session the user logged in with, resumed by token for each command run from a window.
+    private volatile Authenticator authenticator;
+    private volatile String sessionToken;
     private Integer loggedInCustomerId = null;
+    // The list query still running, cancelled when another view is opened before it finishes.
+    private BackgroundTask<?> currentQuery;
+    // Delivers changes to the records of the list shown, or of the list being loaded.
+    private ChangeBus.Subscription<?> viewSubscription;
+    private boolean exiting;
+
+    /** How many records a query filters between progress reports and cancellation checks. */
+    private static final int PROGRESS_STEP = 10_000;
+
+    /** The icons used in the menus. */
+    private static final String[] MENU_ICONS = {
+        "resources/icons/exit.png", "resources/icons/view.png", "resources/icons/view_all.png",
+        "resources/icons/add.png", "resources/icons/delete.png", "resources/icons/filter.png",
+        "resources/icons/update.png", "resources/icons/cancel.png", "resources/icons/details.png"
+    };
+
+    /** The most customers shown for a type-ahead search. */
+    private static final int CUSTOMER_SEARCH_LIMIT = 200;
 
     private JMenuBar menuBar;
     private JMenu adminMenu, flightsMenu, bookingsMenu, customersMenu;
-    private JMenuItem adminExit;
-    private JMenuItem flightsViewUpcoming, flightsViewAll, flightsAdd, flightsDel;
-    private JMenuItem bookingsView, bookingsIssue, bookingsUpdate, bookingsCancel, bookingsViewAllCombined;
+    // Built with the Flights menu, and enabled for roles that manage flights.
+    private JMenuItem flightsAdd, flightsDel;
     
     /**
      * Constructs a new MainWindow.
@@ -46,13 +96,7 @@ public class MainWindow extends JFrame implements ActionListener {
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
-                try {
-                    FlightBookingSystemData.store(fbs);
-                } catch (IOException ex) {
-                    System.err.println("Error saving data on exit: " + ex.getMessage());
-                } finally {
-                    System.exit(0);
-                }
+                exitApplication();
             }
         });
     }
@@ -71,20 +115,24 @@ public class MainWindow extends JFrame implements ActionListener {
 
     /**
      * Helper method to load and scale icons from file paths.
+     * Icons come from the shared {@link IconCache}, which reads and scales each one once, in the
+     * background; the returned icon fills in when it is ready.
      * 
      * @param path the file path of the icon
      * @param width the desired width of the icon
      * @param height the desired height of the icon
-     * @return the scaled ImageIcon
+     * @return the scaled icon
      */
-    private ImageIcon loadScaledIcon(String path, int width, int height) {
-        File f = new File(path);
-        if (!f.exists()) {
-            System.err.println("Icon file not found: " + path);
-        }
-        ImageIcon icon = new ImageIcon(path);
-        Image scaledImage = icon.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        return new ImageIcon(scaledImage);
+    private Icon loadScaledIcon(String path, int width, int height) {
+        return IconCache.get(path, width, height);
+    }
+
+    /**
+     * Starts reading the menu icons in the background, so they are ready by the time a main
+     * window is opened.
+     */
+    public static void prefetchIcons() {
+        IconCache.prefetch(MENU_ICONS);
     }
     
     /**
@@ -94,33 +142,87 @@ public class MainWindow extends JFrame implements ActionListener {
         setTitle("Everest Airlines");
         setSize(1000, 600);
         initMenuBar();
+        initTable();
         // Use DO_NOTHING_ON_CLOSE to ensure our windowClosing listener handles the save
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         setVisible(true);
     }
 
     /**
-     * Initializes the menu bar and its items.
+     * Initializes the menu bar. Only the menu titles are created here; each menu's items, with
+     * their icons, are built the first time the menu is opened.
      */
     private void initMenuBar() {
         menuBar = new JMenuBar();
+        adminMenu = lazyMenu("Admin", this::buildAdminMenu);
+        flightsMenu = lazyMenu("Flights", this::buildFlightsMenu);
+        bookingsMenu = lazyMenu("Bookings", this::buildBookingsMenu);
+        customersMenu = lazyMenu("Customers", this::buildCustomersMenu);
+        menuBar.add(adminMenu);
+        menuBar.add(flightsMenu);
+        menuBar.add(bookingsMenu);
+        menuBar.add(customersMenu);
+        setJMenuBar(menuBar);
+    }
+
+    /**
+     * Creates a menu that is filled by a builder when it is opened while empty. Removing a menu's
+     * items therefore makes it build them afresh the next time it is opened.
+     *
+     * @param title the menu title
+     * @param build adds the menu's items
+     * @return the empty menu
+     */
+    private static JMenu lazyMenu(String title, Consumer<JMenu> build) {
+        JMenu menu = new JMenu(title);
+        menu.addMenuListener(new MenuListener() {
+            @Override
+            public void menuSelected(MenuEvent e) {
+                if (menu.getMenuComponentCount() == 0) {
+                    build.accept(menu);
+                }
+            }
+
+            @Override
+            public void menuDeselected(MenuEvent e) {
+            }
+
+            @Override
+            public void menuCanceled(MenuEvent e) {
+            }
+        });
+        return menu;
+    }
 
-        // Admin Menu
-        adminMenu = new JMenu("Admin");
-        adminExit = new JMenuItem("Exit");
+    /**
+     * Adds the Admin menu's items.
+     *
+     * @param menu the Admin menu
+     */
+    private void buildAdminMenu(JMenu menu) {
+        JMenuItem adminExit = new JMenuItem("Exit");
         adminExit.setToolTipText("Exit the application");
         adminExit.setIcon(loadScaledIcon("resources/icons/exit.png", 24, 24));
         adminExit.addActionListener(e -> exitApplication());
-        adminMenu.add(adminExit);
-        menuBar.add(adminMenu);
+        JMenuItem adminDashboard = new JMenuItem("Dashboard");
+        adminDashboard.setToolTipText("Show booking, revenue and load factor totals");
+        adminDashboard.setIcon(loadScaledIcon("resources/icons/view.png", 24, 24));
+        adminDashboard.addActionListener(e -> displayDashboard());
+        menu.add(adminDashboard);
+        menu.add(adminExit);
+    }
 
-        // Flights Menu
-        flightsMenu = new JMenu("Flights");
-        flightsViewUpcoming = new JMenuItem("View Upcoming Flights");
+    /**
+     * Adds the Flights menu's items. Adding and deleting flights is enabled for admins only.
+     *
+     * @param menu the Flights menu
+     */
+    private void buildFlightsMenu(JMenu menu) {
+        JMenuItem flightsViewUpcoming = new JMenuItem("View Upcoming Flights");
         flightsViewUpcoming.setToolTipText("View flights that have not departed");
         flightsViewUpcoming.setIcon(loadScaledIcon("resources/icons/view.png", 24, 24));
         flightsViewUpcoming.addActionListener(e -> displayUpcomingFlights());
-        flightsViewAll = new JMenuItem("View All Flights");
+        JMenuItem flightsViewAll = new JMenuItem("View All Flights");
         flightsViewAll.setToolTipText("View all flights including past flights");
         flightsViewAll.setIcon(loadScaledIcon("resources/icons/view_all.png", 24, 24));
         flightsViewAll.addActionListener(e -> displayAllFlights());
@@ -128,53 +230,69 @@ public class MainWindow extends JFrame implements ActionListener {
         flightsAdd.setToolTipText("Add a new flight (Admin only)");
         flightsAdd.setIcon(loadScaledIcon("resources/icons/add.png", 24, 24));
         flightsAdd.addActionListener(e -> new AddFlightWindow(this));
+        flightsAdd.setEnabled(allowed(Permission.MANAGE_FLIGHTS));
         flightsDel = new JMenuItem("Delete Flight");
         flightsDel.setToolTipText("Delete a flight (Admin only)");
         flightsDel.setIcon(loadScaledIcon("resources/icons/delete.png", 24, 24));
         flightsDel.addActionListener(e -> deleteSelectedFlight());
+        flightsDel.setEnabled(allowed(Permission.MANAGE_FLIGHTS));
         JMenuItem flightsFilter = new JMenuItem("Filter Flights");
         flightsFilter.setToolTipText("Filter flights by criteria");
         flightsFilter.setIcon(loadScaledIcon("resources/icons/filter.png", 24, 24));
         flightsFilter.addActionListener(e -> new FilterFlightsWindow(fbs));
-        flightsMenu.add(flightsViewUpcoming);
-        flightsMenu.add(flightsViewAll);
-        flightsMenu.add(flightsAdd);
-        flightsMenu.add(flightsDel);
-        flightsMenu.add(flightsFilter);
-        menuBar.add(flightsMenu);
+        JMenuItem flightsTop = new JMenuItem("Top Flights");
+        flightsTop.setToolTipText("Show the cheapest, soonest or most available flights");
+        flightsTop.setIcon(loadScaledIcon("resources/icons/filter.png", 24, 24));
+        flightsTop.addActionListener(e -> new TopFlightsWindow(fbs));
+        menu.add(flightsViewUpcoming);
+        menu.add(flightsViewAll);
+        menu.add(flightsAdd);
+        menu.add(flightsDel);
+        menu.add(flightsFilter);
+        menu.add(flightsTop);
+    }
 
-        // Bookings Menu
-        bookingsMenu = new JMenu("Bookings");
-        bookingsView = new JMenuItem("View Bookings");
+    /**
+     * Adds the Bookings menu's items.
+     *
+     * @param menu the Bookings menu
+     */
+    private void buildBookingsMenu(JMenu menu) {
+        JMenuItem bookingsView = new JMenuItem("View Bookings");
         bookingsView.setToolTipText("View current bookings");
         bookingsView.setIcon(loadScaledIcon("resources/icons/view.png", 24, 24));
         bookingsView.addActionListener(e -> displayBookings());
-        bookingsIssue = new JMenuItem("New Booking");
+        JMenuItem bookingsIssue = new JMenuItem("New Booking");
         bookingsIssue.setToolTipText("Create a new booking");
         bookingsIssue.setIcon(loadScaledIcon("resources/icons/add.png", 24, 24));
         bookingsIssue.addActionListener(e -> new AddBookingWindow(this));
-        bookingsUpdate = new JMenuItem("Update Booking");
+        JMenuItem bookingsUpdate = new JMenuItem("Update Booking");
         bookingsUpdate.setToolTipText("Update an existing booking");
         bookingsUpdate.setIcon(loadScaledIcon("resources/icons/update.png", 24, 24));
         bookingsUpdate.addActionListener(e -> new UpdateBookingWindow(this));
-        bookingsCancel = new JMenuItem("Cancel Booking");
+        JMenuItem bookingsCancel = new JMenuItem("Cancel Booking");
         bookingsCancel.setToolTipText("Cancel an existing booking");
         bookingsCancel.setIcon(loadScaledIcon("resources/icons/cancel.png", 24, 24));
         bookingsCancel.addActionListener(e -> new CancelBookingWindow(this, loggedInCustomerId));
-        bookingsViewAllCombined = new JMenuItem("View All Bookings");
+        JMenuItem bookingsViewAllCombined = new JMenuItem("View All Bookings");
         bookingsViewAllCombined.setToolTipText("View all bookings (active & cancelled)");
         bookingsViewAllCombined.setIcon(loadScaledIcon("resources/icons/view_all.png", 24, 24));
         bookingsViewAllCombined.addActionListener(e -> displayAllBookings());
-        bookingsMenu.add(bookingsView);
-        bookingsMenu.add(bookingsIssue);
-        bookingsMenu.add(bookingsUpdate);
-        bookingsMenu.add(bookingsCancel);
-        bookingsMenu.add(bookingsViewAllCombined);
-        menuBar.add(bookingsMenu);
+        menu.add(bookingsView);
+        menu.add(bookingsIssue);
+        menu.add(bookingsUpdate);
+        menu.add(bookingsCancel);
+        menu.add(bookingsViewAllCombined);
+    }
 
-        // Customers Menu
-        customersMenu = new JMenu("Customers");
-        if (isAdmin) {
+    /**
+     * Adds the Customers menu's items: customer management for admins, or the customer's own
+     * details otherwise.
+     *
+     * @param menu the Customers menu
+     */
+    private void buildCustomersMenu(JMenu menu) {
+        if (allowed(Permission.MANAGE_CUSTOMERS)) {
             JMenuItem viewActive = new JMenuItem("View Active Customers");
             viewActive.setToolTipText("Show only active (non-deleted) customers");
             viewActive.setIcon(loadScaledIcon("resources/icons/view.png", 18, 18));
@@ -195,34 +313,85 @@ public class MainWindow extends JFrame implements ActionListener {
             deleteCustomer.setToolTipText("Delete (soft-delete) a customer");
             deleteCustomer.setIcon(loadScaledIcon("resources/icons/delete.png", 18, 18));
             deleteCustomer.addActionListener(e -> deleteSelectedCustomer());
-            customersMenu.add(viewActive);
-            customersMenu.add(viewAll);
-            customersMenu.add(addCustomer);
-            customersMenu.add(updateCustomer);
-            customersMenu.add(deleteCustomer);
+            menu.add(viewActive);
+            menu.add(viewAll);
+            menu.add(addCustomer);
+            menu.add(updateCustomer);
+            menu.add(deleteCustomer);
         } else {
             JMenuItem myDetails = new JMenuItem("My Details");
             myDetails.setToolTipText("View your account details");
             myDetails.setIcon(loadScaledIcon("resources/icons/details.png", 24, 24));
             myDetails.addActionListener(e -> displayCustomerDetails(loggedInCustomerId));
-            customersMenu.add(myDetails);
+            menu.add(myDetails);
         }
-        menuBar.add(customersMenu);
+    }
 
-        setJMenuBar(menuBar);
+    /**
+     * Creates the single table used by every list view. Clicking a column header sorts by that
+     * column, and double-clicking a row opens the current view's details for the row's ID.
+     */
+    private void initTable() {
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.convertColumnIndexToModel(table.columnAtPoint(e.getPoint()));
+                if (column >= 0 && table.getModel() instanceof RecordTableModel) {
+                    RecordTableModel<?> model = (RecordTableModel<?>) table.getModel();
+                    model.sortBy(column);
+                    showSortOrder(model);
+                }
+            }
+        });
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() >= 2 && openRow != null) {  // Double-click detected
+                    int row = table.getSelectedRow();
+                    if (row != -1) {
+                        openRow.accept((int) table.getValueAt(row, 0));
+                    } else {
+                        System.out.println("No row selected on double-click.");
+                    }
+                }
+            }
+        });
     }
 
     /**
-     * Refreshes the table with the given data and title.
-     * 
-     * @param table the JTable to refresh
-     * @param title the title of the table
+     * Marks the sorted column's header with an arrow showing the sort direction.
+     *
+     * @param model the table's model
+     */
+    private void showSortOrder(RecordTableModel<?> model) {
+        for (int i = 0; i < table.getColumnCount(); i++) {
+            TableColumn column = table.getColumnModel().getColumn(i);
+            String name = model.getColumnName(column.getModelIndex());
+            if (column.getModelIndex() == model.getSortColumn()) {
+                name += model.isAscending() ? " \u25B2" : " \u25BC";
+            }
+            column.setHeaderValue(name);
+        }
+        table.getTableHeader().repaint();
+    }
+
+    /**
+     * Shows a model in the window's table, replacing whatever was shown before.
+     *
+     * @param model   the model to show
+     * @param title   the title of the view
+     * @param onOpen  called with the ID in the first column of a double-clicked row, or
+     *                {@code null} if rows cannot be opened
      */
-    private void refreshTable(JTable table, String title) {
-        System.out.println("Refreshing table: " + title);
+    private void showTable(TableModel model, String title, IntConsumer onOpen) {
         getContentPane().removeAll();
-        JScrollPane scrollPane = new JScrollPane(table);
-        getContentPane().add(scrollPane, BorderLayout.CENTER);
+        table.setModel(model);
+        if (model instanceof RecordTableModel) {
+            showSortOrder((RecordTableModel<?>) model);
+        }
+        openRow = onOpen;
+        getContentPane().add(tableScrollPane, BorderLayout.CENTER);
         setTitle("Flight Booking System - " + title);
         revalidate();
         repaint();
@@ -230,73 +399,167 @@ public class MainWindow extends JFrame implements ActionListener {
     }
 
     /**
-     * Displays the upcoming flights in a table.
+     * Runs a list query in the background and shows its model when it is ready. A query still
+     * running from an earlier view is cancelled, so its result cannot replace the newer one.
+     *
+     * @param description a description for the progress dialog
+     * @param work        builds the model on a worker thread
+     * @param show        shows the model, called on the event dispatch thread
+     * @param <M>         the type of the model
      */
-    public void displayUpcomingFlights() {
-        List<Flight> flights = fbs.getFlights();
-        String[] columns = {"ID", "Flight Number", "Origin", "Destination", "Departure Date", "Base Price", "Capacity"};
-        Object[][] data = new Object[flights.size()][7];
-        for (int i = 0; i < flights.size(); i++) {
-            Flight flight = flights.get(i);
-            data[i][0] = flight.getId();
-            data[i][1] = flight.getFlightNumber();
-            data[i][2] = flight.getOrigin();
-            data[i][3] = flight.getDestination();
-            data[i][4] = flight.getDepartureDate();
-            data[i][5] = flight.getBasePrice();
-            data[i][6] = flight.getCapacity();
+    private <M> void query(String description, BackgroundTask.Work<M> work, Consumer<M> show) {
+        if (currentQuery != null) {
+            currentQuery.cancel(true);
         }
-        JTable table = new JTable(data, columns);
-        refreshTable(table, "Upcoming Flights");
-        table.addMouseListener(new MouseAdapter() {
-            public void mouseClicked(MouseEvent e) {
-                if (e.getClickCount() >= 2) {
-                    int row = table.getSelectedRow();
-                    if (row != -1) {
-                        int flightId = (int) table.getValueAt(row, 0);
-                        System.out.println("Double-clicked flight ID: " + flightId);
-                        displayFlightDetails(flightId);
-                    } else {
-                        System.out.println("No row selected on double-click.");
-                    }
+        currentQuery = new BackgroundTask<>(this, description, work, show).start();
+    }
+
+    /**
+     * Loads a list view in the background and keeps it up to date once it is shown. The view
+     * subscribes to changes to its record type before the query reads the records. Changes made
+     * while the query runs are held back and applied once the model is shown.
+     *
+     * @param description a description for the progress dialog
+     * @param type        the record type shown
+     * @param work        builds the model on a worker thread, including its filter
+     * @param show        shows the model, called on the event dispatch thread
+     * @param <T>         the record type
+     * @param <M>         the type of the model
+     */
+    private <T, M extends RecordTableModel<T>> void queryRecords(String description, Class<T> type,
+            BackgroundTask.Work<M> work, Consumer<M> show) {
+        stopFollowingChanges();
+        AtomicReference<M> shown = new AtomicReference<>();
+        ChangeBus.Subscription<T> subscription = fbs.getChangeBus().subscribe(type, SwingUtilities::invokeLater,
+                changes -> shown.get().applyChanges(changes));
+        viewSubscription = subscription;
+        query(description, work, model -> {
+            shown.set(model);
+            show.accept(model);
+            subscription.resume();
+        });
+    }
+
+    /**
+     * Stops applying changes to the list shown, before something else replaces it.
+     */
+    private void stopFollowingChanges() {
+        if (viewSubscription != null) {
+            viewSubscription.close();
+            viewSubscription = null;
+        }
+    }
+
+    /**
+     * Creates a task that saves the flight booking system in the background, then runs the given
+     * action. The task is not started.
+     *
+     * @param then called on the event dispatch thread once the data is saved
+     * @return the save task
+     */
+    private BackgroundTask<Void> saveTask(Runnable then) {
+        return new BackgroundTask<Void>(this, "Saving data", task -> {
+            synchronized (fbs) {
+                FlightBookingSystemData.store(fbs, task::report);
+            }
+            return null;
+        }, result -> then.run()).setCancellable(false);
+    }
+
+    /**
+     * Keeps the bookings of the logged-in customer, or all of them for an admin.
+     *
+     * @param bookings   the bookings to filter
+     * @param customerId the logged-in customer's ID, or {@code null} for an admin
+     * @param task       the task doing the filtering
+     * @return the bookings to show, or {@code null} if the task was cancelled
+     */
+    private static List<Booking> visibleBookings(List<Booking> bookings, Integer customerId,
+            BackgroundTask<?> task) {
+        if (customerId == null) {
+            return bookings;
+        }
+        List<Booking> visible = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            if (i % PROGRESS_STEP == 0) {
+                if (task.isCancelled()) {
+                    return null;
                 }
+                task.report(i * 100 / bookings.size());
             }
-        });
+            Booking booking = bookings.get(i);
+            if (booking.getCustomer().getId() == customerId) {
+                visible.add(booking);
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Returns the logged-in customer's ID if the user may not see other customers' bookings.
+     *
+     * @return the ID, or {@code null} for an admin
+     */
+    private Integer bookingFilter() {
+        return allowed(Permission.VIEW_CUSTOMERS) ? null : loggedInCustomerId;
+    }
+
+    /**
+     * Tells whether the logged-in user's role has a permission. The role's permissions are an
+     * {@code EnumSet}, so this costs a bit test and can be asked on every action.
+     *
+     * @param permission the permission an action needs
+     * @return {@code true} if the action may be taken
+     */
+    private boolean allowed(Permission permission) {
+        return role.allows(permission);
+    }
+
+    /**
+     * Displays the analytics dashboard in place of the current table.
+     */
+    public void displayDashboard() {
+        if (!allowed(Permission.VIEW_REPORTS)) {
+            return;
+        }
+        stopFollowingChanges();
+        getContentPane().removeAll();
+        getContentPane().add(new DashboardPanel(fbs), BorderLayout.CENTER);
+        setTitle("Flight Booking System - Dashboard");
+        revalidate();
+        repaint();
+        currentTable = null;
+    }
+
+    /**
+     * Displays the upcoming flights in a table.
+     */
+    public void displayUpcomingFlights() {
+        queryRecords("Loading flights", Flight.class, task -> {
+            List<Flight> flights;
+            synchronized (fbs) {
+                flights = fbs.getFlights();
+            }
+            FlightTableModel model = new FlightTableModel();
+            model.setRecords(flights);
+            model.setFilter(f -> !f.isDeleted() && !f.getDepartureDate().isBefore(fbs.getSystemDate()));
+            return model;
+        }, (FlightTableModel model) -> showTable(model, "Upcoming Flights", this::displayFlightDetails));
     }
     
     /**
      * Displays all flights in a table.
      */
     public void displayAllFlights() {
-        List<Flight> allFlights = new ArrayList<>(fbs.getAllFlights());
-        String[] columns = {"ID", "Flight Number", "Origin", "Destination", "Departure Date", "Base Price", "Capacity"};
-        Object[][] data = new Object[allFlights.size()][7];
-        for (int i = 0; i < allFlights.size(); i++) {
-            Flight flight = allFlights.get(i);
-            data[i][0] = flight.getId();
-            data[i][1] = flight.getFlightNumber();
-            data[i][2] = flight.getOrigin();
-            data[i][3] = flight.getDestination();
-            data[i][4] = flight.getDepartureDate();
-            data[i][5] = flight.getBasePrice();
-            data[i][6] = flight.getCapacity();
-        }
-        JTable table = new JTable(data, columns);
-        refreshTable(table, "All Flights");
-        table.addMouseListener(new MouseAdapter() {
-            public void mouseClicked(MouseEvent e) {
-                if (e.getClickCount() >= 2) {
-                    int row = table.getSelectedRow();
-                    if (row != -1) {
-                        int flightId = (int) table.getValueAt(row, 0);
-                        System.out.println("Double-clicked flight ID: " + flightId);
-                        displayFlightDetails(flightId);
-                    } else {
-                        System.out.println("No row selected on double-click.");
-                    }
-                }
+        queryRecords("Loading flights", Flight.class, task -> {
+            List<Flight> flights;
+            synchronized (fbs) {
+                flights = fbs.getAllFlights();
             }
-        });
+            FlightTableModel model = new FlightTableModel();
+            model.setRecords(flights);
+            return model;
+        }, (FlightTableModel model) -> showTable(model, "All Flights", this::displayFlightDetails));
     }
 
     /**
@@ -335,49 +598,26 @@ public class MainWindow extends JFrame implements ActionListener {
      * Displays the current bookings in a table.
      */
     public void displayBookings() {
-        // Retrieve all active bookings
-        List<Booking> bookingsList = fbs.getBookings();
-        // If the logged-in user is not an admin, filter to show only their bookings.
-        if (!isAdmin && loggedInCustomerId != null) {
-            bookingsList = bookingsList.stream()
-                    .filter(b -> b.getCustomer().getId() == loggedInCustomerId)
-                    .collect(Collectors.toList());
-        }
-        String[] columns = {"Booking ID", "Customer", "Flight", "Booking Date", "Fee"};
-        Object[][] data = new Object[bookingsList.size()][5];
-        for (int i = 0; i < bookingsList.size(); i++) {
-            Booking booking = bookingsList.get(i);
-            data[i][0] = booking.getId();
-            data[i][1] = booking.getCustomer().getName();
-            data[i][2] = booking.getFlight().getFlightNumber();
-            data[i][3] = booking.getBookingDate();
-            data[i][4] = booking.getBookingFee();
-        }
-        JTable table = new JTable(data, columns) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        Integer customerId = bookingFilter();
+        String title = customerId == null ? "All Bookings" : "My Bookings";
+        queryRecords("Loading bookings", Booking.class, task -> {
+            // Retrieve all active bookings
+            List<Booking> bookingsList;
+            synchronized (fbs) {
+                bookingsList = fbs.getBookings();
             }
-        };
-     // *** Add a MouseListener to detect double-clicks ***
-        table.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                if (e.getClickCount() >= 2) {  // Double-click detected
-                    int row = table.getSelectedRow();
-                    if (row != -1) {
-                        int bookingId = (int) table.getValueAt(row, 0);
-                        displayBookingDetails(bookingId);
-                    } else {
-                        System.out.println("No row selected on double-click.");
-                    }
-                }
+            // If the logged-in user is not an admin, filter to show only their bookings.
+            bookingsList = visibleBookings(bookingsList, customerId, task);
+            if (bookingsList == null) {
+                return null;
             }
-        });
-        refreshTable(table, isAdmin ? "All Bookings" : "My Bookings");
+            BookingTableModel model = new BookingTableModel(false);
+            model.setRecords(bookingsList);
+            model.setFilter(b -> !b.isCancelled() && (customerId == null || b.getCustomer().getId() == customerId));
+            return model;
+        }, (BookingTableModel model) -> showTable(model, title, this::displayBookingDetails));
     }
     
-    // New: Display all bookings (active and cancelled) with double-click functionality.
     /**
      * Displays a table of all bookings.
      * For admin users, this shows all active and cancelled bookings.
@@ -385,94 +625,35 @@ public class MainWindow extends JFrame implements ActionListener {
      * to the logged–in customer.
      */
     public void displayAllBookings() {
-        List<Booking> active = fbs.getBookings();
-        List<Booking> cancelled = fbs.getCancelledBookings();
-        
-        // If not an admin, filter bookings to only the logged–in customer's bookings.
-        if (!isAdmin && loggedInCustomerId != null) {
-            active = active.stream()
-                           .filter(b -> b.getCustomer().getId() == loggedInCustomerId)
-                           .collect(Collectors.toList());
-            cancelled = cancelled.stream()
-                                 .filter(b -> b.getCustomer().getId() == loggedInCustomerId)
-                                 .collect(Collectors.toList());
-        }
-        
-        List<Booking> all = new ArrayList<>();
-        all.addAll(active);
-        all.addAll(cancelled);
-        
-        String[] columns = {"Booking ID", "Customer", "Flight", "Booking Date", "Fee", "Status"};
-        Object[][] data = new Object[all.size()][6];
-        
-        for (int i = 0; i < all.size(); i++) {
-            Booking booking = all.get(i);
-            data[i][0] = booking.getId();
-            data[i][1] = booking.getCustomer().getName();
-            data[i][2] = booking.getFlight().getFlightNumber();
-            data[i][3] = booking.getBookingDate();
-            data[i][4] = booking.getBookingFee();
-            data[i][5] = active.contains(booking) ? "Active" : "Cancelled";
-        }
-        
-        JTable table = new JTable(data, columns) {
-            /**
-			 * 
-			 */
-			private static final long serialVersionUID = 1L;
-
-			@Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        Integer customerId = bookingFilter();
+        queryRecords("Loading bookings", Booking.class, task -> {
+            List<Booking> all;
+            synchronized (fbs) {
+                all = fbs.getBookings();
+                all.addAll(fbs.getCancelledBookings());
             }
-        };
-        
-     // *** Add a MouseListener to detect double-clicks ***
-        table.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                if (e.getClickCount() >= 2) {  // Double-click detected
-                    int row = table.getSelectedRow();
-                    if (row != -1) {
-                        int bookingId = (int) table.getValueAt(row, 0);
-                        displayBookingDetails(bookingId);
-                    } else {
-                        System.out.println("No row selected on double-click.");
-                    }
-                }
+            // If not an admin, filter bookings to only the logged–in customer's bookings.
+            all = visibleBookings(all, customerId, task);
+            if (all == null) {
+                return null;
             }
-        });
-        
-        refreshTable(table, "All Bookings (Active & Cancelled)");
+            BookingTableModel model = new BookingTableModel(true);
+            model.setRecords(all);
+            model.setFilter(b -> customerId == null || b.getCustomer().getId() == customerId);
+            return model;
+        }, (BookingTableModel model) -> showTable(model, "All Bookings (Active & Cancelled)", this::displayBookingDetails));
     }
 
-
     /**
      * Displays detailed booking information in a pop-up when a booking is double-clicked.
-     * Searches for the booking first in active bookings, then in cancelled bookings.
+     * The booking is looked up by ID among both active and cancelled bookings.
      * If the booking is found, it displays its details including ID, customer name,
      * flight number, booking date, fee, and status.
      *
      * @param bookingId the ID of the booking to display
      */
     public void displayBookingDetails(int bookingId) {
-        Booking booking = null;
-        // Search in active bookings first.
-        for (Booking b : fbs.getBookings()) {
-            if (b.getId() == bookingId) {
-                booking = b;
-                break;
-            }
-        }
-        // If not found, search in cancelled bookings.
-        if (booking == null) {
-            for (Booking b : fbs.getCancelledBookings()) {
-                if (b.getId() == bookingId) {
-                    booking = b;
-                    break;
-                }
-            }
-        }
+        Booking booking = fbs.findBooking(bookingId);
         if (booking != null) {
             StringBuilder details = new StringBuilder();
             details.append("Booking ID: ").append(booking.getId()).append("\n")
@@ -480,7 +661,7 @@ public class MainWindow extends JFrame implements ActionListener {
                    .append("Flight: ").append(booking.getFlight().getFlightNumber()).append("\n")
                    .append("Booking Date: ").append(booking.getBookingDate()).append("\n")
                    .append("Fee: $").append(booking.getBookingFee()).append("\n")
-                   .append("Status: ").append(fbs.getBookings().contains(booking) ? "Active" : "Cancelled");
+                   .append("Status: ").append(booking.getStatus());
             JOptionPane.showMessageDialog(this, details.toString(), "Booking Details", JOptionPane.INFORMATION_MESSAGE);
         } else {
             JOptionPane.showMessageDialog(this, "Booking not found", "Error", JOptionPane.ERROR_MESSAGE);
@@ -490,43 +671,63 @@ public class MainWindow extends JFrame implements ActionListener {
     // --- Customers ---
     /**
      * Displays a table of active customers.
-     * Active customers are those who are not marked as deleted.
+     * Active customers are those who are not marked as deleted. Typing in the search field above
+     * the table narrows it, as you type, to customers whose name or email starts with the text.
      */
     public void displayActiveCustomers() {
-        List<Customer> active = fbs.getCustomers();
-        String[] columns = {"ID", "Name", "Phone", "Email"};
-        Object[][] data = new Object[active.size()][4];
-        for (int i = 0; i < active.size(); i++) {
-            Customer c = active.get(i);
-            data[i][0] = c.getId();
-            data[i][1] = c.getName();
-            data[i][2] = c.getPhone();
-            data[i][3] = c.getEmail();
+        if (!allowed(Permission.VIEW_CUSTOMERS)) {
+            return;
         }
-        JTable table = new JTable(data, columns) {
-            private static final long serialVersionUID = 1L;
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        queryRecords("Loading customers", Customer.class, task -> {
+            List<Customer> customers;
+            synchronized (fbs) {
+                customers = fbs.getCustomers();
             }
-        };
-        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        table.addMouseListener(new MouseAdapter() {
+            CustomerTableModel model = new CustomerTableModel(false);
+            model.setRecords(customers);
+            model.setFilter(c -> !c.isDeleted());
+            return model;
+        }, this::showActiveCustomers);
+    }
+
+    /**
+     * Shows the active customers' model with a search field above it.
+     *
+     * @param model the model of active customers
+     */
+    private void showActiveCustomers(CustomerTableModel model) {
+        showTable(model, "Active Customers", this::showCustomerBookingDetails);
+
+        JTextField searchField = new JTextField();
+        searchField.setToolTipText("Type the start of a customer name or email");
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
-            public void mouseClicked(MouseEvent e) {
-                if (e.getClickCount() >= 2) {
-                    int row = table.getSelectedRow();
-                    if (row != -1) {
-                        int customerId = (int) table.getValueAt(row, 0);
-                        System.out.println("Double-clicked active customer ID: " + customerId);
-                        showCustomerBookingDetails(customerId);
-                    } else {
-                        System.out.println("No row selected on double-click.");
+            public void insertUpdate(DocumentEvent e) { search(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { search(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { search(); }
+
+            private void search() {
+                String prefix = searchField.getText().trim();
+                // Customers added or renamed while the search is shown appear only if they match.
+                String folded = PrefixIndex.fold(prefix);
+                model.setFilter(c -> !c.isDeleted() && (PrefixIndex.fold(c.getName()).startsWith(folded)
+                        || PrefixIndex.fold(c.getEmail()).startsWith(folded)));
+                query("Searching customers", task -> {
+                    synchronized (fbs) {
+                        return prefix.isEmpty()
+                                ? fbs.getCustomers()
+                                : fbs.findCustomers(prefix, CUSTOMER_SEARCH_LIMIT);
                     }
-                }
+                }, model::setRecords);
             }
         });
-        refreshTable(table, "Active Customers");
+        JPanel searchPanel = new JPanel(new BorderLayout(5, 0));
+        searchPanel.add(new JLabel("Search:"), BorderLayout.WEST);
+        searchPanel.add(searchField, BorderLayout.CENTER);
+        getContentPane().add(searchPanel, BorderLayout.NORTH);
+        revalidate();
     }
 
     /**
@@ -534,41 +735,18 @@ public class MainWindow extends JFrame implements ActionListener {
      * This includes both active and deleted customers.
      */
     public void displayAllCustomers() {
-        List<Customer> all = fbs.getAllCustomers();
-        String[] columns = {"ID", "Name", "Phone", "Email", "Active"};
-        Object[][] data = new Object[all.size()][5];
-        for (int i = 0; i < all.size(); i++) {
-            Customer c = all.get(i);
-            data[i][0] = c.getId();
-            data[i][1] = c.getName();
-            data[i][2] = c.getPhone();
-            data[i][3] = c.getEmail();
-            data[i][4] = c.isDeleted() ? "No" : "Yes";
+        if (!allowed(Permission.VIEW_CUSTOMERS)) {
+            return;
         }
-        JTable table = new JTable(data, columns) {
-            private static final long serialVersionUID = 1L;
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);    
-        table.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                if (e.getClickCount() >= 2) {
-                    int row = table.getSelectedRow();
-                    if (row != -1) {
-                        int customerId = (int) table.getValueAt(row, 0);
-                        System.out.println("Double-clicked all customer ID: " + customerId);
-                        showCustomerBookingDetails(customerId);
-                    } else {
-                        System.out.println("No row selected on double-click.");
-                    }
-                }
+        queryRecords("Loading customers", Customer.class, task -> {
+            List<Customer> customers;
+            synchronized (fbs) {
+                customers = fbs.getAllCustomers();
             }
-        });
-        refreshTable(table, "All Customers");
+            CustomerTableModel model = new CustomerTableModel(true);
+            model.setRecords(customers);
+            return model;
+        }, (CustomerTableModel model) -> showTable(model, "All Customers", this::showCustomerBookingDetails));
     }
 
     /**
@@ -618,7 +796,14 @@ public class MainWindow extends JFrame implements ActionListener {
             data[0][2] = customer.getPhone();
             data[0][3] = customer.getEmail();
             data[0][4] = customer.getBookings().size();
-            refreshTable(new JTable(data, columns), "My Details");
+            stopFollowingChanges();
+            showTable(new DefaultTableModel(data, columns) {
+                private static final long serialVersionUID = 1L;
+                @Override
+                public boolean isCellEditable(int row, int column) {
+                    return false;
+                }
+            }, "My Details", null);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -630,7 +815,7 @@ public class MainWindow extends JFrame implements ActionListener {
      * Prompts the user for confirmation before deletion.
      */
     private void deleteSelectedFlight() {
-        if (currentTable != null) {
+        if (currentTable != null && allowed(Permission.MANAGE_FLIGHTS)) {
             int selectedRow = currentTable.getSelectedRow();
             if (selectedRow >= 0) {
                 int flightId = (int) currentTable.getValueAt(selectedRow, 0);
@@ -639,9 +824,9 @@ public class MainWindow extends JFrame implements ActionListener {
                     int confirm = JOptionPane.showConfirmDialog(this,
                             "Delete flight " + flight.getFlightNumber() + "?", "Confirm Deletion", JOptionPane.YES_NO_OPTION);
                     if (confirm == JOptionPane.YES_OPTION) {
+                        // The list shown drops or updates the flight's row by itself.
                         fbs.removeFlight(flightId);
-                        FlightBookingSystemData.store(fbs);
-                        displayUpcomingFlights();
+                        saveTask(() -> { }).start();
                     }
                 } catch (Exception ex) {
                     JOptionPane.showMessageDialog(this, "Error deleting flight: " + ex.getMessage(),
@@ -656,14 +841,13 @@ public class MainWindow extends JFrame implements ActionListener {
      * Prompts the user for confirmation before deletion.
      */
     private void deleteSelectedCustomer() {
-        if (currentTable != null) {
+        if (currentTable != null && allowed(Permission.MANAGE_CUSTOMERS)) {
             int selectedRow = currentTable.getSelectedRow();
             if (selectedRow >= 0) {
                 int custId = (int) currentTable.getValueAt(selectedRow, 0);
                 try {
                     fbs.removeCustomer(custId);
-                    FlightBookingSystemData.store(fbs);
-                    displayAllCustomers();
+                    saveTask(() -> { }).start();
                 } catch (Exception ex) {
                     JOptionPane.showMessageDialog(this, "Error deleting customer: " + ex.getMessage(),
                             "Error", JOptionPane.ERROR_MESSAGE);
@@ -674,17 +858,19 @@ public class MainWindow extends JFrame implements ActionListener {
 
     /**
      * Exits the application.
-     * Saves the current state of the flight booking system before exiting.
+     * Saves the current state of the flight booking system in the background before exiting,
+     * showing the save's progress if it takes a while. The application exits even if the save fails.
      */
     private void exitApplication() {
-        try {
-            FlightBookingSystemData.store(fbs);
-        } catch (IOException ex) {
+        if (exiting) {
+            return;
+        }
+        exiting = true;
+        saveTask(() -> System.exit(0)).onFailure(ex -> {
             JOptionPane.showMessageDialog(this, "Error saving data: " + ex.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
-        } finally {
             System.exit(0);
-        }
+        }).start();
     }
 
     /**
@@ -701,38 +887,81 @@ public class MainWindow extends JFrame implements ActionListener {
      * Adjusts the visibility and accessibility of menu items based on the admin status.
      * 
      * @param isAdmin true if the user is an admin, false otherwise
+     * @see #setRole(Role)
      */
     public void setAdminMode(boolean isAdmin) {
-        this.isAdmin = isAdmin;
-        if (!isAdmin) {
-            adminMenu.setVisible(false);
-            flightsAdd.setEnabled(false);
-            flightsDel.setEnabled(false);
-            customersMenu.removeAll();
-            JMenuItem myDetails = new JMenuItem("My Details");
-            myDetails.addActionListener(e -> displayCustomerDetails(loggedInCustomerId));
-            customersMenu.add(myDetails);
-        } else {
-            adminMenu.setVisible(true);
-            flightsAdd.setEnabled(true);
-            flightsDel.setEnabled(true);
-            customersMenu.removeAll();
-            JMenuItem viewActive = new JMenuItem("View Active Customers");
-            viewActive.addActionListener(e -> displayActiveCustomers());
-            JMenuItem viewAll = new JMenuItem("View All Customers");
-            viewAll.addActionListener(e -> displayAllCustomers());
-            JMenuItem addCustomer = new JMenuItem("Add New Customer");
-            addCustomer.addActionListener(e -> new AddCustomerWindow(this));
-            JMenuItem updateCustomer = new JMenuItem("Update Customer");
-            updateCustomer.addActionListener(e -> new UpdateCustomerWindow(this));
-            JMenuItem deleteCustomer = new JMenuItem("Delete Customer");
-            deleteCustomer.addActionListener(e -> deleteSelectedCustomer());
-            customersMenu.add(viewActive);
-            customersMenu.add(viewAll);
-            customersMenu.add(addCustomer);
-            customersMenu.add(updateCustomer);
-            customersMenu.add(deleteCustomer);
+        setRole(isAdmin ? Role.ADMIN : Role.CUSTOMER);
+    }
+
+    /**
+     * Sets the logged-in user's role.
+     * Shows, hides, enables and disables menu items according to the role's permissions.
+     *
+     * @param role the role of the user who logged in
+     */
+    public void setRole(Role role) {
+        this.role = role;
+        adminMenu.setVisible(allowed(Permission.VIEW_REPORTS));
+        if (flightsAdd != null) {
+            flightsAdd.setEnabled(allowed(Permission.MANAGE_FLIGHTS));
+            flightsDel.setEnabled(allowed(Permission.MANAGE_FLIGHTS));
+        }
+        // The Customers menu differs between roles, so it is built again when next opened.
+        customersMenu.removeAll();
+    }
+
+    /**
+     * Sets the session the user logged in with, and with it their role and, for a customer, their
+     * customer ID. Commands run through {@link #execute(Command)} are then authenticated by the
+     * session instead of the password.
+     *
+     * @param authenticator the authenticator that opened the session
+     * @param session       the user's session
+     */
+    public void setSession(Authenticator authenticator, Session session) {
+        this.authenticator = authenticator;
+        this.sessionToken = session.getToken();
+        setRole(session.getRole());
+        if (session.getCustomerId() >= 0) {
+            setLoggedInCustomerId(session.getCustomerId());
+        }
+    }
+
+    /**
+     * Runs a command for the logged-in user. Their session is resumed from its token, which costs
+     * a map lookup rather than a password hash, and its role must allow the command. The command is
+     * then admitted and run by the {@link AdmissionController#getDefault() shared admission
+     * controller}, holding the booking system's monitor, exactly as commands from the CLI and the
+     * booking server are. A session that has expired sends the user back to the login window. May
+     * be called from a worker thread.
+     *
+     * @param command the command to run
+     * @throws FlightBookingSystemException if the session has expired, its role may not run the
+     *                                      command, the command is throttled, or it fails
+     */
+    public void execute(Command command) throws FlightBookingSystemException {
+        Authenticator auth = authenticator;
+        if (auth != null) {
+            Session session = auth.resume(sessionToken);
+            if (session == null) {
+                SwingUtilities.invokeLater(this::sessionExpired);
+                throw new FlightBookingSystemException("Your session has expired. Please log in again.");
+            }
+            auth.authorize(session, command);
+        }
+        AdmissionController.getDefault().execute(command, fbs);
+    }
+
+    /**
+     * Closes this window and shows the login window again, once the user's session has expired.
+     */
+    private void sessionExpired() {
+        if (!isDisplayable()) {
+            return;
         }
+        stopFollowingChanges();
+        dispose();
+        new LoginWindow(fbs);
     }
     
     /**
@@ -764,14 +993,13 @@ public class MainWindow extends JFrame implements ActionListener {
      * @param args command-line arguments
      */
     public static void main(String[] args) {
+        StartupMetrics.getDefault().mainStarted();
+        // Start reading the data files before Swing is even initialised, and show the login
+        // window while they load.
+        CompletableFuture<FlightBookingSystem> data = FlightBookingSystemData.loadInBackground();
         SwingUtilities.invokeLater(() -> {
-            try {
-
-            	FlightBookingSystem fbs = bcu.cmp5332.bookingsystem.data.FlightBookingSystemData.load();
-                new LoginWindow(fbs);
-            } catch (Exception ex) {
-                System.err.println("Failed to initialize system: " + ex.getMessage());
-            }
+            EdtMonitor.install();
+            new LoginWindow(data);
         });
     }
 }
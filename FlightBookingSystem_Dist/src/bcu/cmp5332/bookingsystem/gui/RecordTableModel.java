@@ -0,0 +1,335 @@
+package bcu.cmp5332.bookingsystem.gui;
+
+import bcu.cmp5332.bookingsystem.model.ChangeBus;
+import bcu.cmp5332.bookingsystem.model.RecordChange;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * The {@code RecordTableModel} class is a read-only table model over a list of flights,
+ * customers or bookings that builds cell values only when the table asks for them.
+ * <p>
+ * The model keeps the list of records and an {@code int[]} that maps each table row to a record
+ * index; no per-row arrays are built, so a table over a million bookings costs the list and the
+ * index array, and only the rows on screen are ever turned into cell values. Cells read the
+ * record's current state, so a booking cancelled after the table was opened shows as cancelled.
+ * Sorting by a column reorders the index array with a stable merge sort that compares records
+ * directly, without boxing a row per comparison.
+ * </p>
+ * <p>
+ * Changes delivered by a {@link ChangeBus} are applied row by row with
+ * {@link #applyChanges(List)}. An added record gets a new row at its sorted position, an updated
+ * one is repainted, or moved if its sort key changed, and a deleted one loses its row. Each change
+ * fires only the matching row event, so the table keeps its selection and scroll position. The
+ * first change builds a map from record to index and an array from index to row; views that
+ * never change do not pay for them. Records removed from the table leave an empty slot in the
+ * list rather than shifting every later index.
+ * </p>
+ *
+ * @param <T> the record type
+ */
+public abstract class RecordTableModel<T> extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] columns;
+    private List<T> records = Collections.emptyList();
+    // Table row -> index into records; only the first rowCount entries are used.
+    private int[] order = new int[0];
+    private int rowCount;
+    private int sortColumn = -1;
+    private boolean ascending = true;
+    private Predicate<? super T> filter = record -> true;
+    // Record -> index into records, and index into records -> table row; built by the first change.
+    private Map<T, Integer> indexOf;
+    private int[] rowOf;
+
+    /**
+     * Constructs an empty model with the given column names.
+     *
+     * @param columns the column names
+     */
+    protected RecordTableModel(String... columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Returns the value of one cell.
+     *
+     * @param record the row's record
+     * @param column the column index
+     * @return the cell value
+     */
+    protected abstract Object getValue(T record, int column);
+
+    /**
+     * Compares two records by one column.
+     *
+     * @param a      the first record
+     * @param b      the second record
+     * @param column the column index
+     * @return a negative number, zero or a positive number as {@code a} sorts before, with or after {@code b}
+     */
+    protected abstract int compare(T a, T b, int column);
+
+    /**
+     * Replaces the records shown, keeping the current sort order.
+     *
+     * @param records the records, which the model keeps and does not copy
+     */
+    public void setRecords(List<T> records) {
+        this.records = records;
+        order = new int[records.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        rowCount = order.length;
+        indexOf = null;
+        rowOf = null;
+        if (sortColumn >= 0) {
+            sort();
+        }
+        fireTableDataChanged();
+    }
+
+    /**
+     * Sets which records belong in the table. Changes are checked against it: an added record is
+     * only shown if it passes, and a shown record that no longer passes after an update, such as
+     * a booking cancelled in a view of active bookings, is removed. Records passed to
+     * {@link #setRecords(List)} are expected to pass already.
+     *
+     * @param filter the test a record must pass to be shown
+     */
+    public void setFilter(Predicate<? super T> filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Applies changes to the records shown, firing a row event for each row added, updated or
+     * removed. Changes are idempotent: adding a record already shown updates it, and deleting one
+     * not shown does nothing.
+     *
+     * @param changes the changes, as delivered by a {@link ChangeBus} subscription
+     */
+    public void applyChanges(List<RecordChange<T>> changes) {
+        buildIndex();
+        for (RecordChange<T> change : changes) {
+            T record = change.getRecord();
+            Integer index = indexOf.get(record);
+            boolean show = change.getKind() != RecordChange.Kind.DELETED && filter.test(record);
+            if (index == null) {
+                if (show) {
+                    insert(record);
+                }
+            } else if (!show) {
+                remove(index);
+            } else {
+                update(index);
+            }
+        }
+    }
+
+    private void buildIndex() {
+        if (indexOf != null) {
+            return;
+        }
+        // Copied so the caller's list is never changed.
+        records = new ArrayList<>(records);
+        indexOf = new HashMap<>(records.size() * 2);
+        for (int i = 0; i < records.size(); i++) {
+            indexOf.put(records.get(i), i);
+        }
+        rowOf = new int[Math.max(16, records.size())];
+        for (int row = 0; row < rowCount; row++) {
+            rowOf[order[row]] = row;
+        }
+    }
+
+    private void insert(T record) {
+        int index = records.size();
+        records.add(record);
+        indexOf.put(record, index);
+        if (index >= rowOf.length) {
+            rowOf = Arrays.copyOf(rowOf, rowOf.length * 2);
+        }
+        int row = insertRow(index);
+        fireTableRowsInserted(row, row);
+    }
+
+    private void remove(int index) {
+        int row = removeRow(index);
+        indexOf.remove(records.get(index));
+        records.set(index, null);
+        fireTableRowsDeleted(row, row);
+    }
+
+    private void update(int index) {
+        int row = rowOf[index];
+        boolean inPlace = sortColumn < 0
+                || ((row == 0 || compareIndexes(order[row - 1], index) < 0)
+                    && (row == rowCount - 1 || compareIndexes(index, order[row + 1]) < 0));
+        if (inPlace) {
+            fireTableRowsUpdated(row, row);
+            return;
+        }
+        // Its sort key changed: move it to its new position.
+        removeRow(index);
+        fireTableRowsDeleted(row, row);
+        int newRow = insertRow(index);
+        fireTableRowsInserted(newRow, newRow);
+    }
+
+    /**
+     * Puts a record index into the rows at its sorted position, or at the end if unsorted, and
+     * returns its row.
+     */
+    private int insertRow(int index) {
+        int row = rowCount;
+        if (sortColumn >= 0) {
+            int lo = 0;
+            int hi = rowCount;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compareIndexes(order[mid], index) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            row = lo;
+        }
+        if (rowCount == order.length) {
+            order = Arrays.copyOf(order, Math.max(16, order.length * 2));
+        }
+        System.arraycopy(order, row, order, row + 1, rowCount - row);
+        order[row] = index;
+        rowCount++;
+        for (int r = row; r < rowCount; r++) {
+            rowOf[order[r]] = r;
+        }
+        return row;
+    }
+
+    /** Takes a record index out of the rows and returns the row it had. */
+    private int removeRow(int index) {
+        int row = rowOf[index];
+        System.arraycopy(order, row + 1, order, row, rowCount - row - 1);
+        rowCount--;
+        for (int r = row; r < rowCount; r++) {
+            rowOf[order[r]] = r;
+        }
+        return row;
+    }
+
+    /** Orders two record indexes as the sorted rows do: by the sort column, then by index. */
+    private int compareIndexes(int a, int b) {
+        int result = compare(records.get(a), records.get(b), sortColumn);
+        if (result != 0) {
+            return ascending ? result : -result;
+        }
+        return Integer.compare(a, b);
+    }
+
+    /**
+     * Returns the record shown in a row.
+     *
+     * @param row the row index
+     * @return the record
+     */
+    public T getRecord(int row) {
+        return records.get(order[row]);
+    }
+
+    /**
+     * Sorts by a column: ascending the first time, and reversing the order on each later call for
+     * the same column.
+     *
+     * @param column the column index
+     */
+    public void sortBy(int column) {
+        ascending = column != sortColumn || !ascending;
+        sortColumn = column;
+        sort();
+        fireTableDataChanged();
+    }
+
+    /** @return the column sorted by, or {@code -1} if the rows are in their original order */
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    /** @return {@code true} if the sort column is in ascending order */
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    private void sort() {
+        int column = sortColumn;
+        int sign = ascending ? 1 : -1;
+        // The shown record indexes in ascending order, so that ties keep their original order.
+        int[] from = new int[rowCount];
+        for (int i = 0, row = 0; row < rowCount; i++) {
+            if (records.get(i) != null) {
+                from[row++] = i;
+            }
+        }
+        int[] to = new int[from.length];
+        // Bottom-up merge sort of record indexes; ties keep their original order.
+        for (int width = 1; width < from.length; width <<= 1) {
+            for (int lo = 0; lo < from.length; lo += width << 1) {
+                int mid = Math.min(lo + width, from.length);
+                int hi = Math.min(lo + (width << 1), from.length);
+                int i = lo;
+                int j = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (j >= hi || (i < mid
+                            && sign * compare(records.get(from[i]), records.get(from[j]), column) <= 0)) {
+                        to[k] = from[i++];
+                    } else {
+                        to[k] = from[j++];
+                    }
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        order = from;
+        if (rowOf != null) {
+            for (int row = 0; row < rowCount; row++) {
+                rowOf[order[row]] = row;
+            }
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return getValue(getRecord(row), column);
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+}
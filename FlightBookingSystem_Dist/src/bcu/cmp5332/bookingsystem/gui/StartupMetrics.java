@@ -0,0 +1,122 @@
+package bcu.cmp5332.bookingsystem.gui;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+
+/**
+ * The {@code StartupMetrics} class records how long the GUI takes to start: the time from the JVM
+ * starting to the first frame being painted, and to the application becoming interactive, which
+ * is when the data has been loaded and the user can log in.
+ * <p>
+ * Each milestone is recorded once; later calls are ignored. When the application becomes
+ * interactive the timings are reported if the {@code startup.metrics} system property is
+ * {@code true}. If {@code startup.exitWhenInteractive} is {@code true} the application then
+ * exits, so a scripted run can time startup or record the classes it loads, for example to build
+ * a class data sharing archive with {@code -XX:ArchiveClassesAtExit}.
+ * </p>
+ */
+public class StartupMetrics {
+
+    private static volatile StartupMetrics defaultMetrics;
+
+    private volatile long jvmStartMillis;
+    private final Consumer<String> log;
+    private final boolean exitWhenInteractive;
+    private volatile long mainMillis = -1;
+    private volatile long firstFrameMillis = -1;
+    private volatile long interactiveMillis = -1;
+
+    /**
+     * Constructs a recorder.
+     *
+     * @param jvmStartMillis      when the JVM started, as a {@link System#currentTimeMillis()} time,
+     *                            or -1 to ask the JVM when the timings are first read
+     * @param log                 receives the report when the application becomes interactive, or
+     *                            {@code null} for no report
+     * @param exitWhenInteractive {@code true} to exit once the application is interactive
+     */
+    public StartupMetrics(long jvmStartMillis, Consumer<String> log, boolean exitWhenInteractive) {
+        this.jvmStartMillis = jvmStartMillis;
+        this.log = log;
+        this.exitWhenInteractive = exitWhenInteractive;
+    }
+
+    /**
+     * Returns the recorder used by the GUI, configured on first use from the
+     * {@code startup.metrics} and {@code startup.exitWhenInteractive} system properties.
+     *
+     * @return the shared recorder
+     */
+    public static StartupMetrics getDefault() {
+        StartupMetrics metrics = defaultMetrics;
+        if (metrics == null) {
+            synchronized (StartupMetrics.class) {
+                if (defaultMetrics == null) {
+                    boolean exit = Boolean.getBoolean("startup.exitWhenInteractive");
+                    boolean report = exit || Boolean.getBoolean("startup.metrics");
+                    defaultMetrics = new StartupMetrics(-1, report ? System.err::println : null, exit);
+                }
+                metrics = defaultMetrics;
+            }
+        }
+        return metrics;
+    }
+
+    /** Records that the application's {@code main} method has been entered. */
+    public void mainStarted() {
+        if (mainMillis < 0) {
+            mainMillis = System.currentTimeMillis();
+        }
+    }
+
+    /** Records that the first frame has been painted. */
+    public void firstFramePainted() {
+        if (firstFrameMillis < 0) {
+            firstFrameMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Records that the application is interactive, then reports the timings and exits if this
+     * recorder was configured to.
+     */
+    public void interactive() {
+        if (interactiveMillis >= 0) {
+            return;
+        }
+        interactiveMillis = System.currentTimeMillis();
+        if (log != null) {
+            log.accept(toString());
+        }
+        if (exitWhenInteractive) {
+            System.exit(0);
+        }
+    }
+
+    private long sinceStart(long millis) {
+        if (millis < 0) {
+            return -1;
+        }
+        if (jvmStartMillis < 0) {
+            // Loading the management classes takes tens of milliseconds, so it is left until the
+            // timings are read rather than done on the way to the first frame.
+            jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+        }
+        return millis - jvmStartMillis;
+    }
+
+    /** @return milliseconds from JVM start to {@code main}, or -1 if not yet reached */
+    public long getTimeToMain() { return sinceStart(mainMillis); }
+
+    /** @return milliseconds from JVM start to the first painted frame, or -1 if not yet reached */
+    public long getTimeToFirstFrame() { return sinceStart(firstFrameMillis); }
+
+    /** @return milliseconds from JVM start to being interactive, or -1 if not yet reached */
+    public long getTimeToInteractive() { return sinceStart(interactiveMillis); }
+
+    @Override
+    public String toString() {
+        return String.format("Startup: main after %d ms, first frame after %d ms, interactive after %d ms",
+                getTimeToMain(), getTimeToFirstFrame(), getTimeToInteractive());
+    }
+}
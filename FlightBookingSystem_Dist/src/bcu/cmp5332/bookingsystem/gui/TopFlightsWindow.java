@@ -0,0 +1,131 @@
+package bcu.cmp5332.bookingsystem.gui;
+
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.FlightRanking;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * The {@code TopFlightsWindow} class provides a graphical user interface (GUI) for listing the
+ * cheapest, soonest or most available upcoming flights, optionally on a single route and within
+ * a range of departure dates.
+ */
+public class TopFlightsWindow extends JFrame implements ActionListener {
+
+    private static final long serialVersionUID = 1L;
+    private static final String[] RANKING_NAMES = {"Cheapest", "Soonest", "Most Available"};
+    private static final FlightRanking[] RANKINGS = {
+        FlightRanking.CHEAPEST, FlightRanking.SOONEST, FlightRanking.MOST_AVAILABLE
+    };
+
+    private FlightBookingSystem fbs;
+    private JComboBox<String> rankingBox = new JComboBox<>(RANKING_NAMES);
+    private JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(10, 1, 1000, 1));
+    private JTextField originField = new JTextField(10);
+    private JTextField destinationField = new JTextField(10);
+    private JTextField fromDateField = new JTextField(10);
+    private JTextField toDateField = new JTextField(10);
+    private JButton showButton = new JButton("Show");
+    private JTable resultsTable;
+
+    /**
+     * Constructs a {@code TopFlightsWindow} with the given flight booking system.
+     *
+     * @param fbs the flight booking system used to retrieve flight data
+     */
+    public TopFlightsWindow(FlightBookingSystem fbs) {
+        this.fbs = fbs;
+        initialize();
+    }
+
+    /**
+     * Initializes the GUI components and layout.
+     */
+    private void initialize() {
+        setTitle("Top Flights");
+        setSize(700, 400);
+        setLayout(new BorderLayout(5, 5));
+
+        JPanel inputPanel = new JPanel(new GridLayout(4, 4, 5, 5));
+        inputPanel.add(new JLabel("Rank By:"));
+        inputPanel.add(rankingBox);
+        inputPanel.add(new JLabel("How Many:"));
+        inputPanel.add(countSpinner);
+        inputPanel.add(new JLabel("Origin:"));
+        inputPanel.add(originField);
+        inputPanel.add(new JLabel("Destination:"));
+        inputPanel.add(destinationField);
+        inputPanel.add(new JLabel("From Date (YYYY-MM-DD):"));
+        inputPanel.add(fromDateField);
+        inputPanel.add(new JLabel("To Date (YYYY-MM-DD):"));
+        inputPanel.add(toDateField);
+        inputPanel.add(new JLabel(""));
+        inputPanel.add(new JLabel(""));
+        inputPanel.add(new JLabel(""));
+        inputPanel.add(showButton);
+
+        showButton.addActionListener(this);
+        LocationAutoComplete.install(originField);
+        LocationAutoComplete.install(destinationField);
+        add(inputPanel, BorderLayout.NORTH);
+
+        resultsTable = new JTable();
+        add(new JScrollPane(resultsTable), BorderLayout.CENTER);
+
+        setLocationRelativeTo(null);
+        setVisible(true);
+    }
+
+    /**
+     * Handles action events triggered by user interaction.
+     *
+     * @param e the action event that was triggered
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == showButton) {
+            showTopFlights();
+        }
+    }
+
+    /**
+     * Runs the top-K query for the entered criteria and shows the result.
+     */
+    private void showTopFlights() {
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = parseOptionalDate(fromDateField.getText());
+            to = parseOptionalDate(toDateField.getText());
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid date format", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        FlightRanking ranking = RANKINGS[rankingBox.getSelectedIndex()];
+        int k = (Integer) countSpinner.getValue();
+        List<Flight> top = fbs.getTopFlights(ranking, k, originField.getText(), destinationField.getText(), from, to);
+
+        String[] columns = {"ID", "Flight Number", "Origin", "Destination", "Departure Date", "Price Now", "Seats Free"};
+        Object[][] data = new Object[top.size()][7];
+        for (int i = 0; i < top.size(); i++) {
+            Flight f = top.get(i);
+            data[i][0] = f.getId();
+            data[i][1] = f.getFlightNumber();
+            data[i][2] = f.getOrigin();
+            data[i][3] = f.getDestination();
+            data[i][4] = f.getDepartureDate();
+            data[i][5] = String.format("%.2f", f.calculatePrice(fbs.getSystemDate()));
+            data[i][6] = f.getAvailableSeats();
+        }
+        resultsTable.setModel(new javax.swing.table.DefaultTableModel(data, columns));
+    }
+
+    private static LocalDate parseOptionalDate(String text) {
+        return text.trim().isEmpty() ? null : LocalDate.parse(text.trim());
+    }
+}
@@ -1,13 +1,16 @@
 package bcu.cmp5332.bookingsystem.gui;
 
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.main.StaleVersionException;
+import bcu.cmp5332.bookingsystem.model.Booking;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 
 /**
  * The {@code UpdateBookingWindow} class provides a GUI for updating an existing flight booking.
- * Users can input a booking ID and a new flight ID to update their booking.
+ * Users can input a booking ID and a new flight ID to update their booking. The move is refused
+ * if the booking was changed by someone else while the user was confirming it.
  */
 public class UpdateBookingWindow extends JFrame implements ActionListener {
 
@@ -60,18 +63,31 @@ public class UpdateBookingWindow extends JFrame implements ActionListener {
         try {
             int bookingId = Integer.parseInt(bookingIdField.getText());
             int newFlightId = Integer.parseInt(newFlightIdField.getText());
+            Booking booking = mw.getFlightBookingSystem().getBookingByID(bookingId);
+            long version = booking.getVersion();
 
-            // Create and execute the update booking command
+            int confirm = JOptionPane.showConfirmDialog(this,
+                "Move booking #" + bookingId + " from flight " + booking.getFlight().getFlightNumber()
+                    + " to flight #" + newFlightId + "? A cancellation fee of $"
+                    + String.format("%.2f", 0.15 * booking.getBookingFee()) + " will be applied.",
+                "Confirm Update", JOptionPane.YES_NO_OPTION);
+            if (confirm != JOptionPane.YES_OPTION) {
+                return;
+            }
+
+            // Create and execute the update booking command against the version that was confirmed
             bcu.cmp5332.bookingsystem.commands.UpdateBooking updateCmd = 
-                new bcu.cmp5332.bookingsystem.commands.UpdateBooking(bookingId, newFlightId);
-            updateCmd.execute(mw.getFlightBookingSystem());
+                new bcu.cmp5332.bookingsystem.commands.UpdateBooking(bookingId, newFlightId, version);
+            mw.execute(updateCmd);
 
             JOptionPane.showMessageDialog(this, "Booking updated successfully.");
-            mw.displayBookings();
+            // Open lists show the moved booking through the change bus.
             this.dispose();
 
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Invalid input. Please check IDs.", "Error", JOptionPane.ERROR_MESSAGE);
+        } catch (StaleVersionException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Update Conflict", JOptionPane.WARNING_MESSAGE);
         } catch (FlightBookingSystemException ex) {
             JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
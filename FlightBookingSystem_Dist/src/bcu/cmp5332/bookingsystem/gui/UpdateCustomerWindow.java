@@ -2,13 +2,17 @@ package bcu.cmp5332.bookingsystem.gui;
 
 import bcu.cmp5332.bookingsystem.commands.UpdateCustomer;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.main.StaleVersionException;
+import bcu.cmp5332.bookingsystem.model.Customer;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 
 /**
  * The {@code UpdateCustomerWindow} class provides a GUI for updating customer details.
- * Users can enter a customer ID and update their name, phone, email, and password.
+ * Users can enter a customer ID, load the customer's current details, and update their name,
+ * phone, email, and password. The update is refused if someone else changed the customer after
+ * it was loaded, so concurrent edits are not silently lost.
  */
 public class UpdateCustomerWindow extends JFrame implements ActionListener {
 
@@ -18,7 +22,10 @@ public class UpdateCustomerWindow extends JFrame implements ActionListener {
     private JTextField phoneField = new JTextField(15);
     private JTextField emailField = new JTextField(30);
     private JPasswordField passwordField = new JPasswordField(20);
+    private JButton loadButton = new JButton("Load");
     private JButton updateButton = new JButton("Update Customer");
+    private int loadedId;
+    private long loadedVersion;
 
     /**
      * Constructs an {@code UpdateCustomerWindow} associated with the given {@code MainWindow}.
@@ -35,24 +42,31 @@ public class UpdateCustomerWindow extends JFrame implements ActionListener {
      */
     private void initialize() {
         setTitle("Update Customer");
-        setSize(400, 250);
+        setSize(400, 280);
 
-        JPanel panel = new JPanel(new GridLayout(6, 2, 5, 5));
+        JPanel panel = new JPanel(new GridLayout(7, 2, 5, 5));
         panel.add(new JLabel("Customer ID:"));
         panel.add(custIdField);
+        panel.add(new JLabel(""));
+        panel.add(loadButton);
         panel.add(new JLabel("Name:"));
         panel.add(nameField);
         panel.add(new JLabel("Phone:"));
         panel.add(phoneField);
         panel.add(new JLabel("Email:"));
         panel.add(emailField);
-        panel.add(new JLabel("Password:"));
+        panel.add(new JLabel("New Password:"));
+        passwordField.setToolTipText("Leave blank to keep the current password");
         panel.add(passwordField);
 
         panel.add(new JLabel("")); // Empty label for spacing
         panel.add(updateButton);
 
+        loadButton.addActionListener(this);
         updateButton.addActionListener(this);
+        updateButton.setEnabled(false);
+        // Pressing Enter in the ID field loads the customer.
+        custIdField.addActionListener(this);
         getContentPane().add(panel);
 
         setLocationRelativeTo(mw);
@@ -60,32 +74,77 @@ public class UpdateCustomerWindow extends JFrame implements ActionListener {
     }
 
     /**
-     * Handles the action event triggered by clicking the "Update Customer" button.
-     * Attempts to update the customer details based on user input.
+     * Handles the action events triggered by the "Load" and "Update Customer" buttons.
      *
      * @param e the action event triggered by the button click
      */
     @Override
     public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == updateButton) {
+            updateCustomer();
+        } else {
+            loadCustomer();
+        }
+    }
+
+    /**
+     * Loads the entered customer's current details and remembers the version they were read at.
+     */
+    private void loadCustomer() {
         try {
-            int custId = Integer.parseInt(custIdField.getText());
+            Customer customer = mw.getFlightBookingSystem().getCustomerByID(Integer.parseInt(custIdField.getText().trim()));
+            loadedId = customer.getId();
+            loadedVersion = customer.getVersion();
+            nameField.setText(customer.getName());
+            phoneField.setText(customer.getPhone());
+            emailField.setText(customer.getEmail());
+            // Passwords are stored hashed, so the field starts blank; left blank, the password is kept.
+            passwordField.setText("");
+            updateButton.setEnabled(true);
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid Customer ID", "Error", JOptionPane.ERROR_MESSAGE);
+        } catch (FlightBookingSystemException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Updates the loaded customer with the entered details in the background, provided nobody has
+     * changed the customer since it was loaded.
+     */
+    private void updateCustomer() {
+        try {
+            int custId = Integer.parseInt(custIdField.getText().trim());
+            if (custId != loadedId) {
+                loadCustomer();
+                return;
+            }
             String name = nameField.getText().trim();
             String phone = phoneField.getText().trim();
             String email = emailField.getText().trim();
             String password = new String(passwordField.getPassword()).trim();
 
-            // Execute update command
-            UpdateCustomer updateCmd = new UpdateCustomer(custId, name, phone, email, password);
-            updateCmd.execute(mw.getFlightBookingSystem());
-
-            JOptionPane.showMessageDialog(this, "Customer updated successfully.");
-            mw.displayAllCustomers();
-            this.dispose();
-
+            // Execute the update command off the EDT, since a new password takes a noticeable time to hash
+            UpdateCustomer updateCmd = new UpdateCustomer(custId, name, phone, email, password, loadedVersion);
+            updateButton.setEnabled(false);
+            new BackgroundTask<Void>(this, "Updating customer", task -> {
+                mw.execute(updateCmd);
+                return null;
+            }, done -> {
+                JOptionPane.showMessageDialog(this, "Customer updated successfully.");
+                // Open lists show the new details through the change bus.
+                this.dispose();
+            }).onFailure(ex -> {
+                updateButton.setEnabled(true);
+                if (ex instanceof StaleVersionException) {
+                    JOptionPane.showMessageDialog(this, ex.getMessage(), "Update Conflict", JOptionPane.WARNING_MESSAGE);
+                    loadCustomer();
+                } else {
+                    JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }).setCancellable(false).start();
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Invalid Customer ID", "Error", JOptionPane.ERROR_MESSAGE);
-        } catch (FlightBookingSystemException ex) {
-            JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 }
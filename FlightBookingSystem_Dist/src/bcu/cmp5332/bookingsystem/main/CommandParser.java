@@ -1,11 +1,22 @@
 package bcu.cmp5332.bookingsystem.main;
 
+import bcu.cmp5332.bookingsystem.analytics.GroupBy;
 import bcu.cmp5332.bookingsystem.commands.*;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.FlightRanking;
+import bcu.cmp5332.bookingsystem.model.HoldManager;
+import bcu.cmp5332.bookingsystem.model.WaitlistTier;
+import bcu.cmp5332.bookingsystem.net.BookingProtocol;
+import bcu.cmp5332.bookingsystem.replication.ReplicationLeader;
+import bcu.cmp5332.bookingsystem.routing.RouteCriterion;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The {@code CommandParser} class is responsible for parsing user input commands
@@ -72,24 +83,164 @@ public class CommandParser {
                 return new ShowCustomer(id);
             } else if (cmd.equals("addbooking") && parts.length == 3) {
                 int customerId = Integer.parseInt(parts[1]);
-                int flightId = Integer.parseInt(parts[2]);
-                return new AddBooking(customerId, flightId, LocalDate.now());
+                // The last argument may carry an optional idempotency key after the flight ID.
+                String[] rest = parts[2].trim().split("\\s+");
+                if (rest.length > 2) {
+                    throw new FlightBookingSystemException("Invalid command.");
+                }
+                int flightId = Integer.parseInt(rest[0]);
+                String idempotencyKey = rest.length == 2 ? rest[1] : null;
+                return new AddBooking(customerId, flightId, LocalDate.now(), idempotencyKey);
             } else if (cmd.equals("updatebooking") && parts.length == 3) {
                 int bookingId = Integer.parseInt(parts[1]);
-                int newFlightId = Integer.parseInt(parts[2]);
-                return new UpdateBooking(bookingId, newFlightId);
-            } else if (cmd.equals("cancelbooking") && parts.length == 2) {
+                String[] rest = parts[2].trim().split(" ");
+                int newFlightId = Integer.parseInt(rest[0]);
+                return new UpdateBooking(bookingId, newFlightId, parseVersion(rest, 1));
+            } else if (cmd.equals("cancelbooking") && (parts.length == 2 || parts.length == 3)) {
                 int bookingId = Integer.parseInt(parts[1]);
+                long version = parseVersion(parts, 2);
                 BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
                 System.out.print("Cancellation Fee: ");
                 double cancellationFee = Double.parseDouble(reader.readLine());
-                return new CancelBooking(bookingId, cancellationFee);
+                return new CancelBooking(bookingId, cancellationFee, version);
+            } else if (cmd.equals("updatecustomer") && (parts.length == 2 || parts.length == 3)) {
+                int customerId = Integer.parseInt(parts[1]);
+                long version = parseVersion(parts, 2);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+                System.out.print("Name: ");
+                String name = reader.readLine();
+                System.out.print("Phone: ");
+                String phone = reader.readLine();
+                System.out.print("Email: ");
+                String email = reader.readLine();
+                System.out.print("Password (blank to keep): ");
+                String password = reader.readLine();
+                return new UpdateCustomer(customerId, name, phone, email, password, version);
+            } else if (cmd.equals("updateprice") && parts.length == 3) {
+                String[] rest = parts[2].trim().split(" ");
+                return new UpdateFlightPrice(Integer.parseInt(parts[1]), Double.parseDouble(rest[0]),
+                        parseVersion(rest, 1));
             } else if (cmd.equals("deleteflight") && parts.length == 2) {
                 int flightId = Integer.parseInt(parts[1]);
                 return new DeleteFlight(flightId);
             } else if (cmd.equals("deletecustomer") && parts.length == 2) {
                 int customerId = Integer.parseInt(parts[1]);
                 return new DeleteCustomer(customerId);
+            } else if (cmd.equals("findcustomer") && parts.length >= 2) {
+                // The prefix may contain spaces, so take everything after the command name
+                return new FindCustomer(line.substring(cmd.length() + 1));
+            } else if (cmd.equals("findroute")) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+                System.out.print("Origin: ");
+                String origin = reader.readLine();
+                System.out.print("Destination: ");
+                String destination = reader.readLine();
+                LocalDate departureDate = parseDateWithAttempts(reader);
+                System.out.print("Max Connections: ");
+                int maxConnections = Integer.parseInt(reader.readLine().trim());
+                System.out.print("Cheapest or fastest (c/f): ");
+                RouteCriterion criterion = reader.readLine().trim().toLowerCase().startsWith("f")
+                        ? RouteCriterion.FASTEST : RouteCriterion.CHEAPEST;
+                return new FindRoute(origin, destination, departureDate, maxConnections, criterion);
+            } else if (cmd.equals("farecalendar")) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+                System.out.print("Origin: ");
+                String origin = reader.readLine();
+                System.out.print("Destination: ");
+                String destination = reader.readLine();
+                System.out.print("Month (YYYY-MM): ");
+                try {
+                    YearMonth month = YearMonth.parse(reader.readLine().trim());
+                    return new ShowFareCalendar(origin, destination, month);
+                } catch (DateTimeParseException ex) {
+                    throw new FlightBookingSystemException("Month must be in YYYY-MM format.");
+                }
+            } else if (cmd.equals("topflights")) {
+                FlightRanking ranking = FlightRanking.CHEAPEST;
+                if (parts.length >= 2) {
+                    if (parts[1].equals("soonest")) {
+                        ranking = FlightRanking.SOONEST;
+                    } else if (parts[1].equals("available")) {
+                        ranking = FlightRanking.MOST_AVAILABLE;
+                    } else if (!parts[1].equals("cheapest")) {
+                        throw new FlightBookingSystemException("Ranking must be cheapest, soonest or available.");
+                    }
+                }
+                int k = parts.length == 3 ? Integer.parseInt(parts[2].trim()) : 10;
+                BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+                System.out.print("Origin (blank for any): ");
+                String origin = reader.readLine();
+                System.out.print("Destination (blank for any): ");
+                String destination = reader.readLine();
+                LocalDate from = parseOptionalDate(reader, "From Date (YYYY-MM-DD, blank for today): ");
+                LocalDate to = parseOptionalDate(reader, "To Date (YYYY-MM-DD, blank for any): ");
+                return new TopFlights(ranking, k, origin, destination, from, to);
+            } else if (cmd.equals("placehold") && parts.length == 3) {
+                String[] rest = parts[2].trim().split(" ");
+                int minutes = rest.length == 2 ? Integer.parseInt(rest[1])
+                        : (int) (HoldManager.DEFAULT_HOLD_MILLIS / 60_000);
+                if (minutes < 1) {
+                    throw new FlightBookingSystemException("Hold time must be at least one minute.");
+                }
+                return new PlaceHold(Integer.parseInt(parts[1]), Integer.parseInt(rest[0]), minutes);
+            } else if (cmd.equals("confirmhold") && parts.length == 2) {
+                return new ConfirmHold(Integer.parseInt(parts[1]));
+            } else if (cmd.equals("releasehold") && parts.length == 2) {
+                return new ReleaseHold(Integer.parseInt(parts[1]));
+            } else if (cmd.equals("joinwaitlist") && parts.length == 3) {
+                String[] rest = parts[2].trim().split(" ");
+                WaitlistTier tier = WaitlistTier.STANDARD;
+                if (rest.length == 2) {
+                    try {
+                        tier = WaitlistTier.valueOf(rest[1].toUpperCase());
+                    } catch (IllegalArgumentException ex) {
+                        throw new FlightBookingSystemException("Tier must be priority, standard or standby.");
+                    }
+                }
+                return new JoinWaitlist(Integer.parseInt(parts[1]), Integer.parseInt(rest[0]), tier);
+            } else if (cmd.equals("leavewaitlist") && parts.length == 3) {
+                return new LeaveWaitlist(Integer.parseInt(parts[1]), Integer.parseInt(parts[2].trim()));
+            } else if (cmd.equals("waitlist") && parts.length == 2) {
+                return new ShowWaitlist(Integer.parseInt(parts[1]));
+            } else if (cmd.equals("seatmap") && parts.length == 2) {
+                return new ShowSeatMap(Integer.parseInt(parts[1]));
+            } else if (cmd.equals("changeseat") && parts.length == 3) {
+                return new ChangeSeat(Integer.parseInt(parts[1]), parts[2].trim());
+            } else if (cmd.equals("addgroupbooking") && parts.length == 3) {
+                int flightId = Integer.parseInt(parts[1]);
+                List<Integer> customerIds = new ArrayList<>();
+                for (String id : parts[2].split(",")) {
+                    customerIds.add(Integer.parseInt(id.trim()));
+                }
+                return new AddGroupBooking(flightId, customerIds, LocalDate.now());
+            } else if (cmd.equals("report")) {
+                return new Report();
+            } else if (cmd.equals("adhocreport")) {
+                String group = parts.length >= 2 ? parts[1] : "";
+                GroupBy groupBy;
+                if (group.equals("bookingmonth")) {
+                    groupBy = GroupBy.BOOKING_MONTH;
+                } else if (group.equals("departuremonth")) {
+                    groupBy = GroupBy.DEPARTURE_MONTH;
+                } else if (group.equals("route")) {
+                    groupBy = GroupBy.ROUTE;
+                } else if (group.equals("flight")) {
+                    groupBy = GroupBy.FLIGHT;
+                } else if (group.equals("customer")) {
+                    groupBy = GroupBy.CUSTOMER;
+                } else {
+                    throw new FlightBookingSystemException(
+                            "Group by must be bookingmonth, departuremonth, route, flight or customer.");
+                }
+                return new AdHocReport(groupBy, parts.length == 3 ? parts[2].trim() : null);
+            } else if (cmd.equals("startserver")) {
+                int port = parts.length >= 2 ? Integer.parseInt(parts[1]) : BookingProtocol.DEFAULT_PORT;
+                return new StartServer(port);
+            } else if (cmd.equals("startreplication")) {
+                int port = parts.length >= 2 ? Integer.parseInt(parts[1]) : ReplicationLeader.DEFAULT_PORT;
+                return new StartReplication(port);
+            } else if (cmd.equals("admissionstats")) {
+                return new AdmissionStats();
             } else if (cmd.equals("loadgui")) {
                 return new LoadGUI();
             } else if (cmd.equals("help")) {
@@ -101,6 +252,39 @@ public class CommandParser {
         throw new FlightBookingSystemException("Invalid command.");
     }
     
+    /**
+     * Reads an optional expected version from a command argument.
+     *
+     * @param args The command arguments.
+     * @param index The position of the version argument.
+     * @return The version, or {@link FlightBookingSystem#ANY_VERSION} if it was not given.
+     */
+    private static long parseVersion(String[] args, int index) {
+        return args.length > index ? Long.parseLong(args[index].trim()) : FlightBookingSystem.ANY_VERSION;
+    }
+
+    /**
+     * Prompts for a date that may be left blank.
+     *
+     * @param br The buffered reader to read user input.
+     * @param prompt The prompt to print.
+     * @return The parsed date, or {@code null} if the input was blank.
+     * @throws IOException If an error occurs while reading the input.
+     * @throws FlightBookingSystemException If the input is not a valid date.
+     */
+    private static LocalDate parseOptionalDate(BufferedReader br, String prompt) throws IOException, FlightBookingSystemException {
+        System.out.print(prompt);
+        String input = br.readLine();
+        if (input == null || input.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(input.trim());
+        } catch (DateTimeParseException ex) {
+            throw new FlightBookingSystemException("Date must be in YYYY-MM-DD format.");
+        }
+    }
+
     /**
      * Parses a date input from the user with multiple attempts, ensuring the correct
      * date format (YYYY-MM-DD). The method gives the user a specified number of attempts
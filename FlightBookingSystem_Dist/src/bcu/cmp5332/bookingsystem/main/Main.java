@@ -1,7 +1,10 @@
 package bcu.cmp5332.bookingsystem.main;
 
+import bcu.cmp5332.bookingsystem.admission.AdmissionController;
 import bcu.cmp5332.bookingsystem.data.FlightBookingSystemData;
+import bcu.cmp5332.bookingsystem.commands.Command;
 import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.replication.ReplicationFollower;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 
@@ -21,6 +24,12 @@ import java.io.InputStreamReader;
  * <p>
  * The application continues to run until the user types 'exit' or 'quit'.
  * </p>
+ * <p>
+ * Started as {@code Main --follow port}, the application is instead a read-only replica of the
+ * primary on this host replicating on that port, which must have run {@code startreplication}.
+ * A {@code host:port} address may be given instead, for a primary reached through a tunnel. It loads and saves no
+ * data files, takes its state from the primary and accepts only read-only commands.
+ * </p>
  */
 public class Main {
 
@@ -28,13 +37,18 @@ public class Main {
      * The main method is the entry point for the flight booking system application. 
      * It initializes the system, listens for user input, processes commands, and handles system exit.
      * Author [Samyak Lal Maharjan / Ayush Tamang]
-     * @param args Command-line arguments (not used in this implementation).
+     * @param args Command-line arguments: none, or {@code --follow [host:]port} to run as a follower.
      */
     public static void main(String[] args) {
+        if (args.length == 2 && args[0].equals("--follow")) {
+            follow(args[1]);
+            return;
+        }
         try {
             // Load the flight booking system data from storage
             FlightBookingSystem fbs = FlightBookingSystemData.load();
             BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+            AdmissionController admission = AdmissionController.getDefault();
 
             // Welcome message and instructions
             System.out.println("Welcome to Everest Airlines");
@@ -52,9 +66,9 @@ public class Main {
                 }
                 
                 try {
-                    // Parse and execute the command
-                    bcu.cmp5332.bookingsystem.commands.Command command = CommandParser.parse(line);
-                    command.execute(fbs);
+                    // Parse the command and execute it once it has been admitted
+                    Command command = CommandParser.parse(line);
+                    admission.execute(command, fbs);
                 } catch (Exception ex) {
                     // Print error if command fails
                     System.err.println("Error: " + ex.getMessage());
@@ -68,4 +82,46 @@ public class Main {
             System.err.println("Failed to initialize system: " + e.getMessage());
         }
     }
+
+    /**
+     * Runs a read-only command line over a booking system replicated from a primary.
+     *
+     * @param address the primary's replication port, or its address as {@code host:port}
+     */
+    private static void follow(String address) {
+        int colon = address.lastIndexOf(':');
+        FlightBookingSystem fbs = new FlightBookingSystem();
+        try (ReplicationFollower follower = colon < 0
+                ? new ReplicationFollower(fbs, Integer.parseInt(address))
+                : new ReplicationFollower(fbs, address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)))) {
+            follower.start();
+            BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+            System.out.println("Following the primary at " + address + "; only read-only commands are accepted.");
+            while (true) {
+                System.out.print("> ");
+                String line = br.readLine();
+                if (line == null || line.trim().equalsIgnoreCase("exit") || line.trim().equalsIgnoreCase("quit")) {
+                    System.out.println("Exiting...");
+                    break;
+                }
+                try {
+                    Command command = CommandParser.parse(line);
+                    if (!command.isReadOnly()) {
+                        throw new FlightBookingSystemException("This is a read-only follower; make changes on the primary.");
+                    }
+                    if (!follower.isConnected()) {
+                        System.out.println("Warning: not connected to the primary, data may be out of date.");
+                    }
+                    // Hold the monitor so a change is never seen half applied.
+                    synchronized (fbs) {
+                        command.execute(fbs);
+                    }
+                } catch (Exception ex) {
+                    System.err.println("Error: " + ex.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to follow " + address + ": " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package bcu.cmp5332.bookingsystem.main;
+
+/**
+ * The {@code StaleVersionException} class is thrown when an update is made against a version of
+ * a flight, customer or booking that is no longer current, because someone else changed the
+ * record after it was read. The caller should reload the record and retry.
+ */
+public class StaleVersionException extends FlightBookingSystemException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new {@code StaleVersionException} describing the conflicting record.
+     *
+     * @param record   a description of the record, for example {@code "Customer #3"}
+     * @param expected the version the caller read
+     * @param actual   the current version
+     */
+    public StaleVersionException(String record, long expected, long actual) {
+        super(record + " was changed by someone else (version " + expected + " is now " + actual
+                + "). Reload it and try again.");
+    }
+}
@@ -0,0 +1,115 @@
+package bcu.cmp5332.bookingsystem.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code AirportDictionary} class interns airport and city names to compact {@code int} codes.
+ * <p>
+ * Every distinct location, compared case-insensitively and ignoring surrounding spaces, is stored
+ * once and given the next free code. {@link Flight}s keep only the codes of their origin and
+ * destination, so thousands of flights on the same route share a single copy of each name, and
+ * route comparisons become integer equality. The spelling seen first is the one displayed. Names are
+ * also kept in a {@link PrefixIndex} so that location fields can offer autocomplete.
+ * </p>
+ * <p>
+ * The {@link #PLACEHOLDER} name, used for flights that are no longer known, gets a code of its own
+ * but is not a location: it is never offered for autocomplete and {@link #lookup(String)} does not
+ * find it, so no route can start or end there.
+ * </p>
+ * The dictionary is shared by the whole application and is safe to use from several threads.
+ * Codes are only meaningful within the running process; data files keep storing the names.
+ */
+public final class AirportDictionary {
+
+    /** Returned by {@link #lookup(String)} for a name that has never been interned. */
+    public static final int UNKNOWN = -1;
+
+    /** The name shown in place of the origin and destination of a flight that no longer exists. */
+    public static final String PLACEHOLDER = "N/A";
+
+    private static final Map<String, Integer> codesByKey = new HashMap<>();
+    private static final PrefixIndex<String> namesByPrefix = new PrefixIndex<>();
+    private static volatile String[] names = new String[64];
+    private static int size;
+    private static int placeholderCode = UNKNOWN;
+
+    private AirportDictionary() {
+    }
+
+    /**
+     * Returns the code of a location, assigning a new code if the location has not been seen before.
+     *
+     * @param name the airport or city name
+     * @return the location's code
+     */
+    public static synchronized int intern(String name) {
+        String display = name.trim();
+        if (display.equals(PLACEHOLDER)) {
+            if (placeholderCode == UNKNOWN) {
+                placeholderCode = add(display);
+            }
+            return placeholderCode;
+        }
+        String key = PrefixIndex.fold(display);
+        Integer code = codesByKey.get(key);
+        if (code != null) {
+            return code;
+        }
+        int newCode = add(display);
+        codesByKey.put(key, newCode);
+        namesByPrefix.put(key, display);
+        return newCode;
+    }
+
+    private static int add(String display) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        names[size] = display;
+        return size++;
+    }
+
+    /**
+     * Returns the code of a location without interning it.
+     *
+     * @param name the airport or city name
+     * @return the location's code, or {@link #UNKNOWN} if no flight uses it
+     */
+    public static synchronized int lookup(String name) {
+        Integer code = codesByKey.get(PrefixIndex.fold(name.trim()));
+        return code == null ? UNKNOWN : code;
+    }
+
+    /**
+     * Returns the display name of a location code.
+     *
+     * @param code a code returned by {@link #intern(String)}
+     * @return the location name
+     */
+    public static String nameOf(int code) {
+        return names[code];
+    }
+
+    /**
+     * Returns location names starting with the given prefix, in alphabetical order, for autocomplete.
+     *
+     * @param prefix the text typed so far, compared case-insensitively
+     * @param limit  the maximum number of names to return
+     * @return up to {@code limit} matching names
+     */
+    public static synchronized List<String> complete(String prefix, int limit) {
+        return namesByPrefix.search(prefix.trim(), limit);
+    }
+
+    /**
+     * Returns the number of distinct locations interned, counting the placeholder once if used.
+     *
+     * @return the number of locations
+     */
+    public static synchronized int size() {
+        return size;
+    }
+}
@@ -1,6 +1,7 @@
 package bcu.cmp5332.bookingsystem.model;
 
 import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The {@code Booking} class represents a booking made by a customer for a specific flight.
@@ -18,6 +19,13 @@ public class Booking {
     private final LocalDate bookingDate;
     private boolean isCancelled = false;
     private double bookingFee;
+    private int seat = NO_SEAT;
+    private double cancellationFee;
+    // Optimistic concurrency stamp; see getVersion().
+    private final AtomicLong version = new AtomicLong();
+
+    /** The seat index of a booking that has no seat assigned. */
+    public static final int NO_SEAT = -1;
 
     /**
      * Constructs a new {@code Booking} object with the specified details.
@@ -81,6 +89,15 @@ public class Booking {
         return isCancelled;
     }
 
+    /**
+     * Returns whether this booking is active or cancelled.
+     *
+     * @return the booking's status
+     */
+    public BookingStatus getStatus() {
+        return isCancelled ? BookingStatus.CANCELLED : BookingStatus.ACTIVE;
+    }
+
     /**
      * Gets the fee associated with this booking.
      * 
@@ -90,6 +107,52 @@ public class Booking {
         return bookingFee;
     }
 
+    /**
+     * Gets the part of the booking fee kept when this booking was cancelled.
+     * 
+     * @return The cancellation fee kept, or {@code 0} if the booking has not been cancelled.
+     */
+    public double getCancellationFee() {
+        return cancellationFee;
+    }
+
+    /**
+     * Sets the part of the booking fee kept when this booking is cancelled.
+     * 
+     * @param cancellationFee The cancellation fee kept.
+     */
+    public void setCancellationFee(double cancellationFee) {
+        this.cancellationFee = cancellationFee;
+    }
+
+    /**
+     * Gets the index of the seat assigned to this booking.
+     * 
+     * @return The seat index, or {@link #NO_SEAT} if no seat is assigned.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Sets the index of the seat assigned to this booking. The flight's {@link SeatMap} is not
+     * changed; use {@link FlightBookingSystem#changeSeat(int, String)} to move a passenger.
+     * 
+     * @param seat The seat index, or {@link #NO_SEAT}.
+     */
+    public void setSeat(int seat) {
+        this.seat = seat;
+    }
+
+    /**
+     * Gets the label of the seat assigned to this booking.
+     * 
+     * @return The seat label, such as {@code "12C"}, or an empty string if no seat is assigned.
+     */
+    public String getSeatLabel() {
+        return seat == NO_SEAT ? "" : flight.getSeatMap().getLayout().label(seat);
+    }
+
     /**
      * Cancels this booking. This will remove the customer from the flight’s list of passengers 
      * and mark the booking as cancelled.
@@ -100,6 +163,26 @@ public class Booking {
         customer.cancelBooking(this);
     }
 
+    /**
+     * Returns the version of this booking, which goes up by one on every change to its flight, seat or cancellation state.
+     * Updates can pass the version they read to fail if the booking has changed since.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /** Moves the version on by one if it still equals {@code expected}. */
+    boolean compareAndIncrementVersion(long expected) {
+        return version.compareAndSet(expected, expected + 1);
+    }
+
+    /** Moves the version on by one unconditionally. */
+    void incrementVersion() {
+        version.incrementAndGet();
+    }
+
     /**
      * Returns a string representation of the booking.
      * 
@@ -109,6 +192,7 @@ public class Booking {
     @Override
     public String toString() {
         return "Booking #" + id + " for " + customer.getName() + " on flight " + flight.getFlightNumber() +
-               " (" + bookingDate + "), Fee: $" + bookingFee;
+               " (" + bookingDate + "), Fee: $" + bookingFee +
+               (seat == NO_SEAT ? "" : ", Seat: " + getSeatLabel());
     }
 }
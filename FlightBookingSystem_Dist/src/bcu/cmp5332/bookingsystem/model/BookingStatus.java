@@ -0,0 +1,30 @@
+package bcu.cmp5332.bookingsystem.model;
+
+/**
+ * The {@code BookingStatus} enum lists the states a booking found with
+ * {@link FlightBookingSystem#findBooking(int)} can be in.
+ */
+public enum BookingStatus {
+
+    /** The booking holds a seat on its flight. */
+    ACTIVE("Active"),
+
+    /** The booking has been cancelled and no longer holds a seat. */
+    CANCELLED("Cancelled");
+
+    private final String label;
+
+    BookingStatus(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the status as shown to users, such as {@code "Active"}.
+     *
+     * @return the label
+     */
+    @Override
+    public String toString() {
+        return label;
+    }
+}
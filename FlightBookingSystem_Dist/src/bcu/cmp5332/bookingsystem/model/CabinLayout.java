@@ -0,0 +1,80 @@
+package bcu.cmp5332.bookingsystem.model;
+
+/**
+ * The {@code CabinLayout} class describes how the seats of a flight are arranged in rows, and
+ * converts between seat indexes and seat labels such as {@code "12C"}.
+ * <p>
+ * Seats are numbered from {@code 0} row by row, so seat {@code i} is in row
+ * {@code i / seatsPerRow + 1} and takes the letter at position {@code i % seatsPerRow}.
+ * </p>
+ */
+public final class CabinLayout {
+
+    private static final String LETTERS = "ABCDEFGHJK";
+
+    /** Layout used for small aircraft: four seats per row. */
+    public static final CabinLayout NARROW = new CabinLayout(4);
+
+    /** Layout used for larger aircraft: six seats per row. */
+    public static final CabinLayout STANDARD = new CabinLayout(6);
+
+    private final int seatsPerRow;
+
+    /**
+     * Constructs a layout with the given number of seats per row.
+     *
+     * @param seatsPerRow the number of seats in each row, between 1 and 10
+     */
+    public CabinLayout(int seatsPerRow) {
+        if (seatsPerRow < 1 || seatsPerRow > LETTERS.length()) {
+            throw new IllegalArgumentException("Seats per row must be between 1 and " + LETTERS.length());
+        }
+        this.seatsPerRow = seatsPerRow;
+    }
+
+    /**
+     * Chooses the layout for a flight of the given capacity.
+     *
+     * @param capacity the number of seats on the flight
+     * @return {@link #NARROW} for fewer than 50 seats, otherwise {@link #STANDARD}
+     */
+    public static CabinLayout forCapacity(int capacity) {
+        return capacity < 50 ? NARROW : STANDARD;
+    }
+
+    /** @return the number of seats in each row */
+    public int getSeatsPerRow() { return seatsPerRow; }
+
+    /**
+     * Returns the label of a seat.
+     *
+     * @param seat the seat index
+     * @return the label, for example {@code "12C"}
+     */
+    public String label(int seat) {
+        return (seat / seatsPerRow + 1) + String.valueOf(LETTERS.charAt(seat % seatsPerRow));
+    }
+
+    /**
+     * Parses a seat label.
+     *
+     * @param label the label, for example {@code "12C"}; the letter may be lower case
+     * @return the seat index, or {@code -1} if the label is not valid for this layout
+     */
+    public int parse(String label) {
+        String trimmed = label.trim().toUpperCase();
+        if (trimmed.length() < 2) {
+            return -1;
+        }
+        int letter = LETTERS.indexOf(trimmed.charAt(trimmed.length() - 1));
+        if (letter < 0 || letter >= seatsPerRow) {
+            return -1;
+        }
+        try {
+            int row = Integer.parseInt(trimmed.substring(0, trimmed.length() - 1));
+            return row < 1 ? -1 : (row - 1) * seatsPerRow + letter;
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package bcu.cmp5332.bookingsystem.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * The {@code ChangeBus} class tells views which flights, customers and bookings have been added,
+ * updated, cancelled or deleted, so they can update the affected rows instead of reloading.
+ * <p>
+ * The {@link FlightBookingSystem} posts a change for every record a mutation touches, while its
+ * monitor is held. Posting only records the change with each interested subscription. Changes
+ * then wait there until the subscription's executor runs a delivery, such as a Swing
+ * {@code invokeLater}. Changes made before that delivery are coalesced: a record changed many times
+ * is delivered once, with the combined kind of change (see {@link RecordChange#coalesce}), in the
+ * order records were first changed. A burst of changes therefore costs one delivery per
+ * subscriber and one change per record.
+ * </p>
+ * <p>
+ * A subscription starts paused. It collects changes but delivers none until
+ * {@link Subscription#resume()} is called. This lets a view subscribe before it reads the records
+ * it shows. The changes made while it was reading are delivered once it is showing them, and
+ * applying a change the snapshot already contains has no further effect.
+ * </p>
+ */
+public class ChangeBus {
+
+    /**
+     * Receives batches of coalesced changes to one type of record.
+     *
+     * @param <T> the record type
+     */
+    public interface Listener<T> {
+
+        /**
+         * Called by the subscription's executor with the changes made since the last delivery.
+         *
+         * @param changes the changes, at most one per record
+         */
+        void recordsChanged(List<RecordChange<T>> changes);
+    }
+
+    /**
+     * One subscriber's interest in one type of record.
+     *
+     * @param <T> the record type
+     */
+    public final class Subscription<T> implements AutoCloseable {
+
+        private final Class<T> type;
+        private final Executor executor;
+        private final Listener<T> listener;
+        private Map<T, RecordChange.Kind> pending = new LinkedHashMap<>();
+        private boolean paused = true;
+        private boolean scheduled;
+        private volatile boolean closed;
+
+        private Subscription(Class<T> type, Executor executor, Listener<T> listener) {
+            this.type = type;
+            this.executor = executor;
+            this.listener = listener;
+        }
+
+        private synchronized void offer(T record, RecordChange.Kind kind) {
+            RecordChange.Kind earlier = pending.get(record);
+            RecordChange.Kind combined = earlier == null ? kind : RecordChange.coalesce(earlier, kind);
+            if (combined == null) {
+                pending.remove(record);
+            } else {
+                pending.put(record, combined);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!paused && !scheduled && !closed && !pending.isEmpty()) {
+                scheduled = true;
+                executor.execute(this::deliver);
+            }
+        }
+
+        private void deliver() {
+            Map<T, RecordChange.Kind> batch;
+            synchronized (this) {
+                scheduled = false;
+                if (closed || pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+            }
+            List<RecordChange<T>> changes = new ArrayList<>(batch.size());
+            for (Map.Entry<T, RecordChange.Kind> entry : batch.entrySet()) {
+                changes.add(new RecordChange<>(entry.getValue(), entry.getKey()));
+            }
+            listener.recordsChanged(changes);
+        }
+
+        /**
+         * Starts delivering changes, beginning with those collected while paused.
+         */
+        public synchronized void resume() {
+            paused = false;
+            schedule();
+        }
+
+        /**
+         * Stops delivering changes and unsubscribes. Changes not yet delivered are dropped.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+            synchronized (this) {
+                pending.clear();
+            }
+        }
+    }
+
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Subscribes to changes to one type of record. The subscription starts paused.
+     *
+     * @param type     the record type: {@code Flight.class}, {@code Customer.class} or {@code Booking.class}
+     * @param executor runs each delivery, for example {@code SwingUtilities::invokeLater}
+     * @param listener receives the changes
+     * @param <T>      the record type
+     * @return the subscription, to be resumed once the subscriber is ready and closed when it is done
+     */
+    public <T> Subscription<T> subscribe(Class<T> type, Executor executor, Listener<T> listener) {
+        Subscription<T> subscription = new Subscription<>(type, executor, listener);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Returns the number of open subscriptions.
+     *
+     * @return the count
+     */
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Posts a change to every subscription for the record's type.
+     *
+     * @param kind   the kind of change
+     * @param record the changed record
+     */
+    void post(RecordChange.Kind kind, Object record) {
+        for (Subscription<?> subscription : subscriptions) {
+            offer(subscription, kind, record);
+        }
+    }
+
+    private static <T> void offer(Subscription<T> subscription, RecordChange.Kind kind, Object record) {
+        if (subscription.type.isInstance(record)) {
+            subscription.offer(subscription.type.cast(record), kind);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package bcu.cmp5332.bookingsystem.model;
+
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import java.util.Arrays;
+
+/**
+ * The {@code ChangeEvent} class describes one change to a {@link FlightBookingSystem}: a flight,
+ * customer or booking being added, changed, cancelled, removed or deleted.
+ * <p>
+ * Every change carries a sequence number that goes up by one per change, so the events of a
+ * system form an ordered log. Replaying the log against an empty system with
+ * {@link FlightBookingSystem#applyChange(ChangeEvent)} rebuilds the same flights, customers and
+ * bookings. An event is encoded as one line of {@code "::"}-separated fields, like the data files:
+ * the sequence number, the type and the type's fields.
+ * </p>
+ */
+public final class ChangeEvent {
+
+    private static final String SEPARATOR = "::";
+
+    /**
+     * The kinds of change, with the fields each one carries.
+     */
+    public enum Type {
+        /** Fields: id, flight number, origin, destination, departure date, base price, capacity, deleted. */
+        FLIGHT_ADDED(8),
+        /** Fields: flight id, base price. */
+        FLIGHT_PRICE_CHANGED(2),
+        /** Fields: flight id. The flight is marked as deleted but kept. */
+        FLIGHT_REMOVED(1),
+        /** Fields: flight id. The flight and its active bookings are dropped. */
+        FLIGHT_DELETED(1),
+        /** Fields: id, name, phone, email, password, deleted. */
+        CUSTOMER_ADDED(6),
+        /** Fields: customer id, name, phone, email, password. */
+        CUSTOMER_UPDATED(5),
+        /** Fields: customer id. The customer is marked as deleted but kept. */
+        CUSTOMER_REMOVED(1),
+        /** Fields: customer id. The customer and their active bookings are dropped. */
+        CUSTOMER_DELETED(1),
+        /** Fields: id, customer id, flight id, booking date, fee, seat. */
+        BOOKING_ADDED(6),
+        /** Fields: booking id, cancellation fee kept. */
+        BOOKING_CANCELLED(2),
+        /** Fields: booking id, seat. */
+        SEAT_CHANGED(2);
+
+        private final int fieldCount;
+
+        Type(int fieldCount) {
+            this.fieldCount = fieldCount;
+        }
+
+        /** @return the number of fields an event of this type carries */
+        public int getFieldCount() {
+            return fieldCount;
+        }
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final String[] fields;
+
+    /**
+     * Constructs a change event.
+     *
+     * @param sequence the position of the change in the system's log
+     * @param type     the kind of change
+     * @param fields   the type's fields, converted to strings
+     */
+    public ChangeEvent(long sequence, Type type, Object... fields) {
+        if (fields.length != type.getFieldCount()) {
+            throw new IllegalArgumentException(type + " takes " + type.getFieldCount() + " fields");
+        }
+        this.sequence = sequence;
+        this.type = type;
+        this.fields = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            this.fields[i] = String.valueOf(fields[i]);
+        }
+    }
+
+    /** @return the position of the change in the system's log */
+    public long getSequence() { return sequence; }
+
+    /** @return the kind of change */
+    public Type getType() { return type; }
+
+    /**
+     * Returns a field as a string.
+     *
+     * @param index the field index
+     * @return the field
+     */
+    public String get(int index) {
+        return fields[index];
+    }
+
+    /**
+     * Returns a field as an integer.
+     *
+     * @param index the field index
+     * @return the field
+     * @throws NumberFormatException if the field is not an integer
+     */
+    public int getInt(int index) {
+        return Integer.parseInt(fields[index]);
+    }
+
+    /**
+     * Returns a field as a double.
+     *
+     * @param index the field index
+     * @return the field
+     * @throws NumberFormatException if the field is not a number
+     */
+    public double getDouble(int index) {
+        return Double.parseDouble(fields[index]);
+    }
+
+    /**
+     * Encodes this event as one line, without the line terminator.
+     *
+     * @return the encoded event
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(sequence).append(SEPARATOR).append(type);
+        for (String field : fields) {
+            sb.append(SEPARATOR).append(field);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes a line written by {@link #encode()}.
+     *
+     * @param line the encoded event
+     * @return the event
+     * @throws FlightBookingSystemException if the line is not a valid event
+     */
+    public static ChangeEvent decode(String line) throws FlightBookingSystemException {
+        String[] parts = line.split(SEPARATOR, -1);
+        try {
+            Type type = Type.valueOf(parts[1]);
+            if (parts.length != type.getFieldCount() + 2) {
+                throw new FlightBookingSystemException("Wrong number of fields in change: " + line);
+            }
+            return new ChangeEvent(Long.parseLong(parts[0]), type, (Object[]) Arrays.copyOfRange(parts, 2, parts.length));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            throw new FlightBookingSystemException("Invalid change: " + line);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
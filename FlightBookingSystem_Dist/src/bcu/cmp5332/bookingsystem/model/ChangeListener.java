@@ -0,0 +1,17 @@
+package bcu.cmp5332.bookingsystem.model;
+
+/**
+ * The {@code ChangeListener} interface is implemented by anything that wants to follow the
+ * changes made to a {@link FlightBookingSystem}, in order, for example to replicate them.
+ */
+public interface ChangeListener {
+
+    /**
+     * Called after a change has been made. The call is made while the booking system's monitor is
+     * held, so implementations must return quickly and must not call back into the system from
+     * another thread and wait for it.
+     *
+     * @param event the change
+     */
+    void changed(ChangeEvent event);
+}
@@ -2,6 +2,7 @@ package bcu.cmp5332.bookingsystem.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The {@code Customer} class represents a customer in the booking system.
@@ -13,9 +14,11 @@ public class Customer {
     private String name;
     private String phone;
     private String email;
-    private String password; // New field for password
+    private String password; // A PasswordHasher hash, or plain text in records not yet migrated
     private final List<Booking> bookings;
     private boolean isDeleted = false;
+    // Optimistic concurrency stamp; see getVersion().
+    private final AtomicLong version = new AtomicLong();
 
     /**
      * Constructs a new {@code Customer} object with the specified details.
@@ -24,7 +27,8 @@ public class Customer {
      * @param name     the name of the customer
      * @param phone    the phone number of the customer
      * @param email    the email address of the customer
-     * @param password the password of the customer
+     * @param password the customer's stored password: a {@code PasswordHasher} hash, or the
+     *                 plain-text password of a record written before passwords were hashed
      */
     public Customer(int id, String name, String phone, String email, String password) {
         this.id = id;
@@ -72,9 +76,9 @@ public class Customer {
     }
 
     /**
-     * Gets the customer's password.
+     * Gets the customer's stored password, normally a hash; see the {@code auth.PasswordHasher} class.
      *
-     * @return the customer's password
+     * @return the customer's stored password
      */
     public String getPassword() {
         return password;
@@ -91,11 +95,12 @@ public class Customer {
 
     /**
      * Gets the list of bookings made by the customer.
-     * A copy of the list is returned to maintain encapsulation.
+     * A copy of the list is returned to maintain encapsulation. The list is guarded by this
+     * customer's monitor, so bookings on different flights may be added from different threads.
      *
      * @return a list of the customer's bookings
      */
-    public List<Booking> getBookings() {
+    public synchronized List<Booking> getBookings() {
         return new ArrayList<>(bookings);
     }
 
@@ -127,9 +132,9 @@ public class Customer {
     }
 
     /**
-     * Sets the customer's password.
+     * Sets the customer's stored password.
      *
-     * @param password the new password of the customer
+     * @param password the new stored password, normally a hash
      */
     public void setPassword(String password) {
         this.password = password;
@@ -149,7 +154,7 @@ public class Customer {
      *
      * @param booking the booking to add
      */
-    public void addBooking(Booking booking) {
+    public synchronized void addBooking(Booking booking) {
         bookings.add(booking);
     }
 
@@ -158,10 +163,30 @@ public class Customer {
      *
      * @param booking the booking to remove
      */
-    public void cancelBooking(Booking booking) {
+    public synchronized void cancelBooking(Booking booking) {
         bookings.remove(booking);
     }
 
+    /**
+     * Returns the version of this customer, which goes up by one on every change to its details or deleted flag.
+     * Updates can pass the version they read to fail if the customer has changed since.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /** Moves the version on by one if it still equals {@code expected}. */
+    boolean compareAndIncrementVersion(long expected) {
+        return version.compareAndSet(expected, expected + 1);
+    }
+
+    /** Moves the version on by one unconditionally. */
+    void incrementVersion() {
+        version.incrementAndGet();
+    }
+
     /**
      * Returns a short summary of the customer's details.
      *
@@ -0,0 +1,188 @@
+package bcu.cmp5332.bookingsystem.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code FareCalendar} class is a materialised view of the cheapest fare on each route for
+ * each departure day.
+ * <p>
+ * For every (origin, destination) pair the calendar keeps two arrays indexed by departure day:
+ * the lowest base price of the active flights departing that day, and that price with the
+ * dynamic-pricing multiplier for the current booking date applied. All flights departing on the
+ * same day share one multiplier, so the cheapest fare is always the cheapest base price scaled.
+ * </p>
+ * <p>
+ * Adding or removing a flight updates one day of one route. When the booking date moves, only the
+ * days that cross the 7- or 14-day price tier boundaries are re-priced. A month view is then a
+ * single slice of the price array. Days without a flight hold {@link Double#NaN}.
+ * </p>
+ */
+public class FareCalendar {
+
+    /** The fares of one route. */
+    private static final class RouteFares {
+        /** The departure day, as an epoch day, stored at index 0 of the arrays. */
+        long firstDay;
+        double[] minBase = new double[0];
+        double[] price = new double[0];
+        /** The active flights on the route, by departure epoch day, used to recompute a day's minimum. */
+        final Map<Long, List<Flight>> flightsByDay = new HashMap<>();
+
+        /** Grows the arrays so that they cover the given day, returning the day's index. */
+        int indexFor(long day) {
+            if (minBase.length == 0) {
+                firstDay = day;
+                minBase = new double[] {Double.NaN};
+                price = new double[] {Double.NaN};
+                return 0;
+            }
+            if (day < firstDay) {
+                int shift = (int) (firstDay - day);
+                minBase = prepend(minBase, shift);
+                price = prepend(price, shift);
+                firstDay = day;
+            } else if (day - firstDay >= minBase.length) {
+                int newLength = Math.max((int) (day - firstDay) + 1, minBase.length * 2);
+                minBase = extend(minBase, newLength);
+                price = extend(price, newLength);
+            }
+            return (int) (day - firstDay);
+        }
+
+        private static double[] prepend(double[] array, int shift) {
+            double[] grown = new double[array.length + shift];
+            Arrays.fill(grown, 0, shift, Double.NaN);
+            System.arraycopy(array, 0, grown, shift, array.length);
+            return grown;
+        }
+
+        private static double[] extend(double[] array, int newLength) {
+            double[] grown = Arrays.copyOf(array, newLength);
+            Arrays.fill(grown, array.length, newLength, Double.NaN);
+            return grown;
+        }
+    }
+
+    /** Fares by route; the key packs the origin code into the high 32 bits. */
+    private final Map<Long, RouteFares> routes = new HashMap<>();
+
+    /** The booking date prices are currently materialised for, as an epoch day. */
+    private long asOfDay;
+
+    /**
+     * Constructs an empty fare calendar priced for the given booking date.
+     *
+     * @param asOf the booking date
+     */
+    public FareCalendar(LocalDate asOf) {
+        this.asOfDay = asOf.toEpochDay();
+    }
+
+    private static long routeKey(int originCode, int destinationCode) {
+        return ((long) originCode << 32) | (destinationCode & 0xffffffffL);
+    }
+
+    /**
+     * Adds an active flight to the calendar.
+     *
+     * @param flight the flight
+     */
+    public synchronized void addFlight(Flight flight) {
+        RouteFares route = routes.computeIfAbsent(
+                routeKey(flight.getOriginCode(), flight.getDestinationCode()), k -> new RouteFares());
+        long day = flight.getDepartureDate().toEpochDay();
+        route.flightsByDay.computeIfAbsent(day, k -> new ArrayList<>(2)).add(flight);
+        int index = route.indexFor(day);
+        if (Double.isNaN(route.minBase[index]) || flight.getBasePrice() < route.minBase[index]) {
+            route.minBase[index] = flight.getBasePrice();
+            route.price[index] = flight.getBasePrice() * Flight.priceMultiplier(day - asOfDay);
+        }
+    }
+
+    /**
+     * Removes a flight from the calendar, recomputing the cheapest fare of its day.
+     *
+     * @param flight the flight
+     */
+    public synchronized void removeFlight(Flight flight) {
+        RouteFares route = routes.get(routeKey(flight.getOriginCode(), flight.getDestinationCode()));
+        long day = flight.getDepartureDate().toEpochDay();
+        List<Flight> sameDay = route == null ? null : route.flightsByDay.get(day);
+        if (sameDay == null || !sameDay.remove(flight)) {
+            return;
+        }
+        double min = Double.NaN;
+        for (Flight other : sameDay) {
+            if (Double.isNaN(min) || other.getBasePrice() < min) {
+                min = other.getBasePrice();
+            }
+        }
+        if (sameDay.isEmpty()) {
+            route.flightsByDay.remove(day);
+        }
+        int index = (int) (day - route.firstDay);
+        route.minBase[index] = min;
+        route.price[index] = min * Flight.priceMultiplier(day - asOfDay);
+    }
+
+    /**
+     * Re-prices the calendar for a new booking date. Only departure days whose price tier changes
+     * between the old and new date are touched.
+     *
+     * @param asOf the new booking date
+     */
+    public synchronized void advanceTo(LocalDate asOf) {
+        long newDay = asOf.toEpochDay();
+        if (newDay == asOfDay) {
+            return;
+        }
+        long low = Math.min(asOfDay, newDay);
+        long high = Math.max(asOfDay, newDay);
+        asOfDay = newDay;
+        for (RouteFares route : routes.values()) {
+            // A day's tier changes only when its distance from the booking date crosses 7 or 14.
+            reprice(route, low + 8, high + 7);
+            reprice(route, low + 15, high + 14);
+        }
+    }
+
+    private void reprice(RouteFares route, long fromDay, long toDay) {
+        int from = (int) Math.max(0, fromDay - route.firstDay);
+        int to = (int) Math.min(route.minBase.length - 1, toDay - route.firstDay);
+        for (int i = from; i <= to; i++) {
+            route.price[i] = route.minBase[i] * Flight.priceMultiplier(route.firstDay + i - asOfDay);
+        }
+    }
+
+    /**
+     * Returns the cheapest fare for each day of a month on a route, priced for the given booking date.
+     *
+     * @param originCode      the origin's location code
+     * @param destinationCode the destination's location code
+     * @param month           the month of departure
+     * @param asOf            the booking date
+     * @return one fare per day of the month, {@link Double#NaN} where no flight departs
+     */
+    public synchronized double[] getMonth(int originCode, int destinationCode, YearMonth month, LocalDate asOf) {
+        advanceTo(asOf);
+        double[] result = new double[month.lengthOfMonth()];
+        Arrays.fill(result, Double.NaN);
+        RouteFares route = routes.get(routeKey(originCode, destinationCode));
+        if (route == null) {
+            return result;
+        }
+        long firstWanted = month.atDay(1).toEpochDay();
+        int from = (int) Math.max(0, firstWanted - route.firstDay);
+        int to = (int) Math.min(route.price.length, firstWanted + result.length - route.firstDay);
+        if (from < to) {
+            System.arraycopy(route.price, from, result, (int) (route.firstDay + from - firstWanted), to - from);
+        }
+        return result;
+    }
+}
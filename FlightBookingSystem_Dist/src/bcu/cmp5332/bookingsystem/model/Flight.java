@@ -7,60 +7,105 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Flight {
     private int id;
     private String flightNumber;
-    private String origin;
-    private String destination;
+    // Origin and destination are stored as interned location codes; see AirportDictionary.
+    private final int originCode;
+    private final int destinationCode;
     private LocalDate departureDate;
     private double basePrice;
     private int capacity;
     private boolean isDeleted = false;
     private final Set<Customer> passengers;
+    // Seats reserved by outstanding seat holds; they count against capacity until confirmed or expired.
+    private int heldSeats;
+    private final SeatMap seatMap;
+    // Optimistic concurrency stamp; see getVersion().
+    private final AtomicLong version = new AtomicLong();
 
     public Flight(int id, String flightNumber, String origin, String destination,
                   LocalDate departureDate, double basePrice, int capacity) {
         this.id = id;
         this.flightNumber = flightNumber;
-        this.origin = origin;
-        this.destination = destination;
+        this.originCode = AirportDictionary.intern(origin);
+        this.destinationCode = AirportDictionary.intern(destination);
         this.departureDate = departureDate;
         this.basePrice = basePrice;
         this.capacity = capacity;
         this.passengers = new HashSet<>();
+        this.seatMap = new SeatMap(CabinLayout.forCapacity(capacity), capacity);
     }
 
     // Getters and setters
     public int getId() { return id; }
     public String getFlightNumber() { return flightNumber; }
-    public String getOrigin() { return origin; }
-    public String getDestination() { return destination; }
+    public String getOrigin() { return AirportDictionary.nameOf(originCode); }
+    public String getDestination() { return AirportDictionary.nameOf(destinationCode); }
+    public int getOriginCode() { return originCode; }
+    public int getDestinationCode() { return destinationCode; }
     public LocalDate getDepartureDate() { return departureDate; }
     public double getBasePrice() { return basePrice; }
     public int getCapacity() { return capacity; }
     public boolean isDeleted() { return isDeleted; }
     public void setDeleted(boolean deleted) { this.isDeleted = deleted; }
+    void setBasePrice(double basePrice) { this.basePrice = basePrice; }
+    public SeatMap getSeatMap() { return seatMap; }
 
     // Dynamic pricing: if booking is made within 7 days: 50% increase; within 14 days: 25% increase.
     public double calculatePrice(LocalDate bookingDate) {
         long daysLeft = ChronoUnit.DAYS.between(bookingDate, departureDate);
-        double price = basePrice;
+        return basePrice * priceMultiplier(daysLeft);
+    }
+
+    /**
+     * Returns the factor applied to the base price when booking the given number of days
+     * before departure.
+     *
+     * @param daysLeft days from the booking date to the departure date
+     * @return the price multiplier
+     */
+    public static double priceMultiplier(long daysLeft) {
         if (daysLeft <= 7) {
-            price *= 1.50;
+            return 1.50;
         } else if (daysLeft <= 14) {
-            price *= 1.25;
+            return 1.25;
         }
-        return price;
+        return 1.0;
     }
 
     public boolean addPassenger(Customer passenger) {
-        if (passengers.size() < capacity) {
+        if (passengers.size() + heldSeats < capacity) {
             return passengers.add(passenger);
         }
         return false;
     }
 
+    /**
+     * Returns the number of seats that can still be booked or held: the capacity less the
+     * passengers and the seats held for customers who have not confirmed yet.
+     *
+     * @return the available seat count
+     */
+    public int getAvailableSeats() {
+        return capacity - passengers.size() - heldSeats;
+    }
+
+    /** @return the number of seats currently held by unconfirmed seat holds */
+    public int getHeldSeats() {
+        return heldSeats;
+    }
+
+    void addHeldSeat() {
+        heldSeats++;
+    }
+
+    void removeHeldSeat() {
+        heldSeats--;
+    }
+
     /**
      * Removes the specified passenger from this flight.
      *
@@ -71,13 +116,52 @@ public class Flight {
         return passengers.remove(passenger);
     }
 
+    /**
+     * Checks whether the given customer is booked on this flight.
+     *
+     * @param passenger the customer to look for
+     * @return true if the customer is a passenger
+     */
+    public boolean hasPassenger(Customer passenger) {
+        return passengers.contains(passenger);
+    }
+
     public List<Customer> getPassengers() {
         return new ArrayList<>(passengers);
     }
 
+    /**
+     * Returns the number of passengers booked on this flight without copying the passenger list.
+     *
+     * @return the current passenger count
+     */
+    public int getPassengerCount() {
+        return passengers.size();
+    }
+
+    /**
+     * Returns the version of this flight, which goes up by one on every change to its price or deleted flag.
+     * Updates can pass the version they read to fail if the flight has changed since.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /** Moves the version on by one if it still equals {@code expected}. */
+    boolean compareAndIncrementVersion(long expected) {
+        return version.compareAndSet(expected, expected + 1);
+    }
+
+    /** Moves the version on by one unconditionally. */
+    void incrementVersion() {
+        version.incrementAndGet();
+    }
+
     public String getDetailsShort() {
         DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        return "Flight #" + id + " - " + flightNumber + " - " + origin + " to " + destination +
+        return "Flight #" + id + " - " + flightNumber + " - " + getOrigin() + " to " + getDestination() +
                " on " + departureDate.format(dtf) + ", Base Price: $" + basePrice + ", Capacity: " + capacity;
     }
 
@@ -85,11 +169,12 @@ public class Flight {
         StringBuilder sb = new StringBuilder();
         sb.append("Flight ID: ").append(id)
           .append("\nFlight Number: ").append(flightNumber)
-          .append("\nOrigin: ").append(origin)
-          .append("\nDestination: ").append(destination)
+          .append("\nOrigin: ").append(getOrigin())
+          .append("\nDestination: ").append(getDestination())
           .append("\nDeparture Date: ").append(departureDate)
           .append("\nBase Price: $").append(basePrice)
           .append("\nCapacity: ").append(capacity)
+          .append("\nVersion: ").append(getVersion())
           .append("\nPassengers: ");
         if (passengers.isEmpty()) {
             sb.append("None");
@@ -1,20 +1,79 @@
 package bcu.cmp5332.bookingsystem.model;
 
+import bcu.cmp5332.bookingsystem.analytics.BookingAnalytics;
 import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.main.StaleVersionException;
+import bcu.cmp5332.bookingsystem.routing.RoutePlanner;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class FlightBookingSystem {
+    /**
+     * Passed as the expected version to skip the optimistic concurrency check, for callers that
+     * did not read the record first.
+     */
+    public static final long ANY_VERSION = -1;
+
     private final LocalDate systemDate = LocalDate.now();
     private final Map<Integer, Customer> customers = new TreeMap<>();
     private final Map<Integer, Flight> flights = new TreeMap<>();
     private final Map<Integer, Booking> bookings = new TreeMap<>();
     // Map for cancelled bookings (kept separately)
     private final Map<Integer, Booking> cancelledBookings = new TreeMap<>();
+    // Every booking in either map by ID, so one can be found in constant time whatever its status.
+    private final Map<Integer, Booking> bookingsById = new HashMap<>();
+    // Next booking ID; kept as a counter so allocation is O(1) and IDs are never reused.
+    private int nextBookingId = 1;
+    // Bookings remembered by client idempotency key, so retried requests are not booked twice.
+    private final IdempotencyCache idempotencyCache = new IdempotencyCache();
+    // Active customers indexed by case-folded name and email, for uniqueness checks and prefix search.
+    private final PrefixIndex<Customer> customersByName = new PrefixIndex<>();
+    private final PrefixIndex<Customer> customersByEmail = new PrefixIndex<>();
+    // Bumped whenever a flight is added, removed or deleted, so derived structures know to rebuild.
+    private long flightsVersion;
+    private RoutePlanner routePlanner;
+    // Cheapest fare per route and departure day, maintained as flights come and go.
+    private final FareCalendar fareCalendar = new FareCalendar(systemDate);
+    // Active flights by departure date and by route, for duplicate checks and top-K queries.
+    private final FlightIndex flightIndex = new FlightIndex();
+    // Running booking and revenue totals, updated on every flight and booking change.
+    private final BookingAnalytics analytics = new BookingAnalytics();
+    // Customers waiting for a seat, by flight ID; a flight has an entry only while someone waits.
+    private final Map<Integer, Waitlist> waitlists = new HashMap<>();
+    // Seats held at a quoted fee while a customer confirms, expired by a timing wheel.
+    private final HoldManager holdManager;
+    // Told of every change in order, for example to replicate it; see publish() and applyChange().
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private long changeSequence;
+    // Set while a replicated change is applied, so the steps it takes are not published again.
+    private boolean applyingChange;
+    // Tells views which records each change touched, including changes applied from a leader.
+    private final ChangeBus changeBus = new ChangeBus();
+
+    /**
+     * Constructs an empty flight booking system whose seat holds use the system clock.
+     */
+    public FlightBookingSystem() {
+        this(new HoldManager());
+    }
+
+    /**
+     * Constructs an empty flight booking system with the given hold manager, for example one
+     * driven by a test clock.
+     *
+     * @param holdManager the manager of seat holds
+     */
+    public FlightBookingSystem(HoldManager holdManager) {
+        this.holdManager = holdManager;
+    }
 
     public LocalDate getSystemDate() { return systemDate; }
 
@@ -54,36 +113,331 @@ public class FlightBookingSystem {
         return c;
     }
     
-    public void addFlight(Flight flight) throws FlightBookingSystemException {
+    public synchronized void addFlight(Flight flight) throws FlightBookingSystemException {
         if (flights.containsKey(flight.getId())) {
             throw new FlightBookingSystemException("Duplicate flight ID.");
         }
-        for (Flight existing : flights.values()) {
-            if (existing.getFlightNumber().equals(flight.getFlightNumber()) &&
-                existing.getDepartureDate().isEqual(flight.getDepartureDate()) &&
-                !existing.isDeleted()) {
+        for (Flight existing : flightIndex.departingOn(flight.getDepartureDate())) {
+            if (existing.getFlightNumber().equals(flight.getFlightNumber())) {
                 throw new FlightBookingSystemException("A flight with the same number and date exists.");
             }
         }
         flights.put(flight.getId(), flight);
+        flightsVersion++;
+        if (!flight.isDeleted()) {
+            fareCalendar.addFlight(flight);
+            flightIndex.add(flight);
+            analytics.flightAdded(flight);
+        }
+        changeBus.post(RecordChange.Kind.ADDED, flight);
+        publish(ChangeEvent.Type.FLIGHT_ADDED, flight.getId(), flight.getFlightNumber(), flight.getOrigin(),
+                flight.getDestination(), flight.getDepartureDate(), flight.getBasePrice(), flight.getCapacity(),
+                flight.isDeleted());
+    }
+
+    /**
+     * Returns the best {@code k} upcoming flights under a ranking, optionally restricted to a route
+     * and a range of departure dates. Only the best {@code k} candidates are ever sorted.
+     *
+     * @param ranking     the order to rank flights in
+     * @param k           the maximum number of flights to return
+     * @param origin      the origin to restrict to, or {@code null} for any
+     * @param destination the destination to restrict to, or {@code null} for any
+     * @param from        the earliest departure date, or {@code null} for the system date
+     * @param to          the latest departure date, or {@code null} for no limit
+     * @return up to {@code k} flights, best first
+     */
+    public List<Flight> getTopFlights(FlightRanking ranking, int k, String origin, String destination,
+                                      LocalDate from, LocalDate to) {
+        int originCode = AirportDictionary.UNKNOWN;
+        int destinationCode = AirportDictionary.UNKNOWN;
+        if (origin != null && !origin.trim().isEmpty()) {
+            originCode = AirportDictionary.lookup(origin);
+            if (originCode == AirportDictionary.UNKNOWN) {
+                return new ArrayList<>();
+            }
+        }
+        if (destination != null && !destination.trim().isEmpty()) {
+            destinationCode = AirportDictionary.lookup(destination);
+            if (destinationCode == AirportDictionary.UNKNOWN) {
+                return new ArrayList<>();
+            }
+        }
+        LocalDate earliest = from == null || from.isBefore(systemDate) ? systemDate : from;
+        return flightIndex.top(ranking, k, originCode, destinationCode, earliest, to, systemDate);
+    }
+
+    /**
+     * Returns the upcoming flights on a route, within a range of departure dates and a range of
+     * dynamic prices, in departure order. The search reads only the indexed flights that can
+     * match, and prices each departure day once.
+     *
+     * @param origin      the origin to restrict to, or {@code null} or empty for any
+     * @param destination the destination to restrict to, or {@code null} or empty for any
+     * @param from        the earliest departure date, or {@code null} for the system date
+     * @param to          the latest departure date, or {@code null} for no limit
+     * @param minPrice    the lowest price on the system date, or {@code null} for no limit
+     * @param maxPrice    the highest price on the system date, or {@code null} for no limit
+     * @param stop        checked as the search goes; once it returns {@code true}, the search
+     *                    returns the flights found so far
+     * @return the matching flights
+     */
+    public List<Flight> searchFlights(String origin, String destination, LocalDate from, LocalDate to,
+                                      Double minPrice, Double maxPrice, BooleanSupplier stop) {
+        int originCode = AirportDictionary.UNKNOWN;
+        int destinationCode = AirportDictionary.UNKNOWN;
+        if (origin != null && !origin.trim().isEmpty()) {
+            originCode = AirportDictionary.lookup(origin);
+            if (originCode == AirportDictionary.UNKNOWN) {
+                return new ArrayList<>();
+            }
+        }
+        if (destination != null && !destination.trim().isEmpty()) {
+            destinationCode = AirportDictionary.lookup(destination);
+            if (destinationCode == AirportDictionary.UNKNOWN) {
+                return new ArrayList<>();
+            }
+        }
+        LocalDate earliest = from == null || from.isBefore(systemDate) ? systemDate : from;
+        if (to != null && to.isBefore(earliest)) {
+            return new ArrayList<>();
+        }
+        return flightIndex.search(originCode, destinationCode, earliest, to,
+                minPrice == null ? Double.NEGATIVE_INFINITY : minPrice,
+                maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice, systemDate, stop);
+    }
+
+    /**
+     * Returns a counter that changes whenever a flight is added, removed or deleted.
+     *
+     * @return the current flights version
+     */
+    public long getFlightsVersion() {
+        return flightsVersion;
+    }
+
+    /**
+     * Returns the running booking and revenue totals.
+     *
+     * @return the booking analytics
+     */
+    public BookingAnalytics getAnalytics() {
+        return analytics;
+    }
+
+    /**
+     * Returns the calendar of cheapest fares per route and departure day.
+     *
+     * @return the fare calendar
+     */
+    public FareCalendar getFareCalendar() {
+        return fareCalendar;
+    }
+
+    /**
+     * Returns the route planner for this system's flights, creating it on first use.
+     *
+     * @return the route planner
+     */
+    public synchronized RoutePlanner getRoutePlanner() {
+        if (routePlanner == null) {
+            routePlanner = new RoutePlanner(this);
+        }
+        return routePlanner;
     }
     
     // Uniqueness check: no active customer may share the same name or email.
-    public void addCustomer(Customer customer) throws FlightBookingSystemException {
-        for (Customer c : customers.values()) {
-            if (!c.isDeleted()) {
-                if (c.getName().equalsIgnoreCase(customer.getName())) {
-                    throw new FlightBookingSystemException("Customer name already exists.");
-                }
-                if (c.getEmail().equalsIgnoreCase(customer.getEmail())) {
-                    throw new FlightBookingSystemException("Customer email already exists.");
-                }
-            }
+    public synchronized void addCustomer(Customer customer) throws FlightBookingSystemException {
+        if (customersByName.get(customer.getName()) != null) {
+            throw new FlightBookingSystemException("Customer name already exists.");
+        }
+        if (customersByEmail.get(customer.getEmail()) != null) {
+            throw new FlightBookingSystemException("Customer email already exists.");
         }
         if (customers.containsKey(customer.getId())) {
             throw new FlightBookingSystemException("Duplicate customer ID.");
         }
         customers.put(customer.getId(), customer);
+        if (!customer.isDeleted()) {
+            indexCustomer(customer);
+        }
+        changeBus.post(RecordChange.Kind.ADDED, customer);
+        publish(ChangeEvent.Type.CUSTOMER_ADDED, customer.getId(), customer.getName(), customer.getPhone(),
+                customer.getEmail(), customer.getPassword(), customer.isDeleted());
+    }
+
+    /**
+     * Updates the details of an active customer, keeping names and emails unique among active
+     * customers and the customer indexes up to date.
+     *
+     * @param customerId the ID of the customer to update
+     * @param name       the new name
+     * @param phone      the new phone number
+     * @param email      the new email address
+     * @param password   the new password
+     * @throws FlightBookingSystemException if the customer does not exist or the new name or email
+     *                                      belongs to another customer
+     */
+    public void updateCustomer(int customerId, String name, String phone, String email, String password)
+            throws FlightBookingSystemException {
+        updateCustomer(customerId, ANY_VERSION, name, phone, email, password);
+    }
+
+    /**
+     * Updates the details of an active customer if it has not changed since the caller read
+     * version {@code expectedVersion}, keeping names and emails unique among active customers and
+     * the customer indexes up to date.
+     *
+     * @param customerId      the ID of the customer to update
+     * @param expectedVersion the version the caller read, or {@link #ANY_VERSION}
+     * @param name            the new name
+     * @param phone           the new phone number
+     * @param email           the new email address
+     * @param password        the new password
+     * @throws StaleVersionException        if the customer has changed since it was read
+     * @throws FlightBookingSystemException if the customer does not exist or the new name or email
+     *                                      belongs to another customer
+     */
+    public synchronized void updateCustomer(int customerId, long expectedVersion, String name, String phone,
+                                            String email, String password) throws FlightBookingSystemException {
+        Customer customer = getCustomerByID(customerId);
+        checkVersion("Customer #" + customerId, customer.getVersion(), expectedVersion);
+        Customer sameName = customersByName.get(name);
+        if (sameName != null && sameName != customer) {
+            throw new FlightBookingSystemException("Customer name already exists.");
+        }
+        Customer sameEmail = customersByEmail.get(email);
+        if (sameEmail != null && sameEmail != customer) {
+            throw new FlightBookingSystemException("Customer email already exists.");
+        }
+        long current = customer.getVersion();
+        if (!customer.compareAndIncrementVersion(current)) {
+            throw new StaleVersionException("Customer #" + customerId, current, customer.getVersion());
+        }
+        unindexCustomer(customer);
+        customer.setName(name);
+        customer.setPhone(phone);
+        customer.setEmail(email);
+        customer.setPassword(password);
+        indexCustomer(customer);
+        changeBus.post(RecordChange.Kind.UPDATED, customer);
+        // Booking rows show the customer's name.
+        for (Booking booking : customer.getBookings()) {
+            changeBus.post(RecordChange.Kind.UPDATED, booking);
+        }
+        publish(ChangeEvent.Type.CUSTOMER_UPDATED, customerId, name, phone, email, password);
+    }
+
+    /**
+     * Replaces a customer's stored password if it is still the one expected, for example to swap
+     * a plain-text password for a hash once the customer has logged in with it. Nothing shown in
+     * a view changes, so neither the customer's version nor the change bus is touched; followers
+     * are still sent the new password.
+     *
+     * @param customerId  the ID of the customer
+     * @param expected    the stored password the replacement was made from
+     * @param replacement the new stored password
+     * @return {@code true} if the password was replaced, {@code false} if it had changed meanwhile
+     * @throws FlightBookingSystemException if the customer does not exist
+     */
+    public synchronized boolean replacePassword(int customerId, String expected, String replacement)
+            throws FlightBookingSystemException {
+        Customer customer = getCustomerByID(customerId);
+        if (!customer.getPassword().equals(expected)) {
+            return false;
+        }
+        customer.setPassword(replacement);
+        publish(ChangeEvent.Type.CUSTOMER_UPDATED, customerId, customer.getName(), customer.getPhone(),
+                customer.getEmail(), replacement);
+        return true;
+    }
+
+    /**
+     * Changes the base price of a flight if it has not changed since the caller read version
+     * {@code expectedVersion}. Existing bookings keep the fee they were booked at.
+     *
+     * @param flightId        the ID of the flight
+     * @param expectedVersion the version the caller read, or {@link #ANY_VERSION}
+     * @param basePrice       the new base price
+     * @throws StaleVersionException        if the flight has changed since it was read
+     * @throws FlightBookingSystemException if the flight does not exist or the price is negative
+     */
+    public synchronized void updateFlightPrice(int flightId, long expectedVersion, double basePrice)
+            throws FlightBookingSystemException {
+        Flight flight = getFlightByID(flightId);
+        checkVersion("Flight #" + flightId, flight.getVersion(), expectedVersion);
+        if (basePrice < 0) {
+            throw new FlightBookingSystemException("Base price cannot be negative.");
+        }
+        flight.incrementVersion();
+        boolean listed = !flight.isDeleted();
+        if (listed) {
+            fareCalendar.removeFlight(flight);
+        }
+        flight.setBasePrice(basePrice);
+        if (listed) {
+            fareCalendar.addFlight(flight);
+        }
+        flightsVersion++;
+        changeBus.post(RecordChange.Kind.UPDATED, flight);
+        publish(ChangeEvent.Type.FLIGHT_PRICE_CHANGED, flightId, basePrice);
+    }
+
+    /**
+     * Fails fast when a record's version is not the one the caller read.
+     *
+     * @param record   a description of the record for the error message
+     * @param actual   the record's current version
+     * @param expected the version the caller read, or {@link #ANY_VERSION} to skip the check
+     * @throws StaleVersionException if the versions differ
+     */
+    private static void checkVersion(String record, long actual, long expected) throws StaleVersionException {
+        if (expected != ANY_VERSION && actual != expected) {
+            throw new StaleVersionException(record, expected, actual);
+        }
+    }
+
+    /**
+     * Returns the active customer with the given name, ignoring case.
+     *
+     * @param name the customer name
+     * @return the customer, or {@code null} if no active customer has that name
+     */
+    public Customer getCustomerByName(String name) {
+        return customersByName.get(name);
+    }
+
+    /**
+     * Finds active customers whose name or email starts with the given prefix, ignoring case.
+     * Name matches come first, in name order, followed by email matches in email order.
+     *
+     * @param prefix the prefix to search for
+     * @param limit  the maximum number of customers to return
+     * @return up to {@code limit} matching customers, without duplicates
+     */
+    public List<Customer> findCustomers(String prefix, int limit) {
+        List<Customer> byName = customersByName.search(prefix, limit);
+        if (byName.size() >= limit) {
+            return byName;
+        }
+        Set<Customer> result = new LinkedHashSet<>(byName);
+        for (Customer customer : customersByEmail.search(prefix, limit)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(customer);
+        }
+        return new ArrayList<>(result);
+    }
+
+    private void indexCustomer(Customer customer) {
+        customersByName.put(customer.getName(), customer);
+        customersByEmail.put(customer.getEmail(), customer);
+    }
+
+    private void unindexCustomer(Customer customer) {
+        customersByName.remove(customer.getName(), customer);
+        customersByEmail.remove(customer.getEmail(), customer);
     }
     
     public List<Booking> getBookings() {
@@ -93,30 +447,326 @@ public class FlightBookingSystem {
     public List<Booking> getCancelledBookings() {
         return new ArrayList<>(cancelledBookings.values());
     }
+
+    /**
+     * Finds a booking by ID, whether it is active or cancelled, in constant time. The booking's
+     * {@link Booking#getStatus() status} tells which it is.
+     *
+     * @param id the booking ID
+     * @return the booking, or {@code null} if there is no booking with that ID
+     */
+    public synchronized Booking findBooking(int id) {
+        return bookingsById.get(id);
+    }
     
-    public Booking addBooking(int customerId, int flightId, LocalDate bookingDate) throws FlightBookingSystemException {
+    public synchronized Booking addBooking(int customerId, int flightId, LocalDate bookingDate) throws FlightBookingSystemException {
+        expireHolds();
         Customer customer = getCustomerByID(customerId);
         Flight flight = getFlightByID(flightId);
-        if (flight.getPassengers().size() >= flight.getCapacity()) {
+        if (flight.getAvailableSeats() <= 0) {
             throw new FlightBookingSystemException("Flight is at full capacity.");
         }
-        int bookingMaxId = bookings.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
-        int newId = bookingMaxId + 1;
-        double fee = flight.calculatePrice(bookingDate);
-        Booking booking = new Booking(newId, customer, flight, bookingDate, fee);
-        bookings.put(newId, booking);
-        customer.addBooking(booking);
+        return book(customer, flight, bookingDate, flight.getSeatMap().firstFree(), flight.calculatePrice(bookingDate));
+    }
+
+    /**
+     * Books seats next to each other in one row for a group of customers on the same flight. If no
+     * row has enough adjacent free seats, the lowest-numbered free seats are used instead.
+     *
+     * @param customerIds the IDs of the customers travelling together
+     * @param flightId    the ID of the flight
+     * @param bookingDate the date of the bookings
+     * @return the new bookings, in the order of {@code customerIds}
+     * @throws FlightBookingSystemException if a customer or the flight does not exist, a customer is
+     *                                      already on the flight, or there are not enough free seats
+     */
+    public synchronized List<Booking> addGroupBooking(List<Integer> customerIds, int flightId, LocalDate bookingDate)
+            throws FlightBookingSystemException {
+        expireHolds();
+        Flight flight = getFlightByID(flightId);
+        List<Customer> group = new ArrayList<>();
+        for (int customerId : customerIds) {
+            Customer customer = getCustomerByID(customerId);
+            if (flight.hasPassenger(customer) || group.contains(customer)) {
+                throw new FlightBookingSystemException(customer.getName() + " is already booked on this flight.");
+            }
+            group.add(customer);
+        }
+        if (flight.getAvailableSeats() < group.size()) {
+            throw new FlightBookingSystemException("Not enough free seats for the group.");
+        }
+        SeatMap seatMap = flight.getSeatMap();
+        int firstSeat = seatMap.findAdjacent(group.size());
+        List<Booking> result = new ArrayList<>();
+        for (int i = 0; i < group.size(); i++) {
+            int seat = firstSeat >= 0 ? firstSeat + i : seatMap.firstFree();
+            result.add(book(group.get(i), flight, bookingDate, seat, flight.calculatePrice(bookingDate)));
+        }
+        return result;
+    }
+
+    /** Creates a booking at the given fee in the given seat, which the caller has checked is free. */
+    private Booking book(Customer customer, Flight flight, LocalDate bookingDate, int seat, double fee)
+            throws FlightBookingSystemException {
         if (!flight.addPassenger(customer)) {
             throw new FlightBookingSystemException("Failed to add passenger due to capacity issues.");
         }
+        int newId = nextBookingId++;
+        Booking booking = new Booking(newId, customer, flight, bookingDate, fee);
+        if (flight.getSeatMap().occupy(seat)) {
+            booking.setSeat(seat);
+        }
+        bookings.put(newId, booking);
+        bookingsById.put(newId, booking);
+        customer.addBooking(booking);
+        analytics.bookingAdded(booking);
+        publishBookingAdded(booking);
         return booking;
     }
+
+    private void publishBookingAdded(Booking booking) {
+        changeBus.post(RecordChange.Kind.ADDED, booking);
+        // The flight has one seat fewer free.
+        changeBus.post(RecordChange.Kind.UPDATED, booking.getFlight());
+        publish(ChangeEvent.Type.BOOKING_ADDED, booking.getId(), booking.getCustomer().getId(),
+                booking.getFlight().getId(), booking.getBookingDate(), booking.getBookingFee(), booking.getSeat());
+    }
+
+    /**
+     * Holds a seat on a flight for a customer at today's fee, so the customer can confirm the
+     * booking later at that fee. The held seat counts against the flight's capacity until the hold
+     * is confirmed, released or expires.
+     *
+     * @param customerId     the ID of the customer
+     * @param flightId       the ID of the flight
+     * @param bookingDate    the date the fee is quoted for
+     * @param durationMillis how long to hold the seat, in milliseconds
+     * @return the new hold
+     * @throws FlightBookingSystemException if the customer or flight does not exist, the customer
+     *                                      is already booked on the flight, or the flight is full
+     */
+    public synchronized SeatHold placeHold(int customerId, int flightId, LocalDate bookingDate, long durationMillis)
+            throws FlightBookingSystemException {
+        expireHolds();
+        Customer customer = getCustomerByID(customerId);
+        Flight flight = getFlightByID(flightId);
+        if (flight.hasPassenger(customer)) {
+            throw new FlightBookingSystemException(customer.getName() + " is already booked on this flight.");
+        }
+        if (flight.getAvailableSeats() <= 0) {
+            throw new FlightBookingSystemException("Flight is at full capacity.");
+        }
+        int seat = flight.getSeatMap().firstFree();
+        flight.getSeatMap().occupy(seat);
+        flight.addHeldSeat();
+        return holdManager.add(customer, flight, seat, flight.calculatePrice(bookingDate), durationMillis);
+    }
+
+    /**
+     * Turns a seat hold into a booking in the held seat at the held fee.
+     *
+     * @param holdId      the ID of the hold
+     * @param bookingDate the date of the booking
+     * @return the new booking
+     * @throws FlightBookingSystemException if the hold does not exist or has expired, or its flight
+     *                                      or customer has been removed
+     */
+    public synchronized Booking confirmHold(int holdId, LocalDate bookingDate) throws FlightBookingSystemException {
+        expireHolds();
+        SeatHold hold = holdManager.remove(holdId);
+        if (hold == null) {
+            throw new FlightBookingSystemException("No seat hold with that ID; it may have expired.");
+        }
+        Flight flight = hold.getFlight();
+        Customer customer = hold.getCustomer();
+        freeHeldSeat(hold);
+        if (flight.isDeleted() || flights.get(flight.getId()) != flight) {
+            throw new FlightBookingSystemException("The flight is no longer available.");
+        }
+        if (customer.isDeleted() || customers.get(customer.getId()) != customer) {
+            throw new FlightBookingSystemException("The customer no longer exists.");
+        }
+        return book(customer, flight, bookingDate, hold.getSeat(), hold.getFee());
+    }
+
+    /**
+     * Releases a seat hold without booking, freeing the seat for others.
+     *
+     * @param holdId the ID of the hold
+     * @return {@code true} if the hold was outstanding
+     */
+    public synchronized boolean releaseHold(int holdId) {
+        SeatHold hold = holdManager.remove(holdId);
+        if (hold == null) {
+            return false;
+        }
+        freeHeldSeat(hold);
+        promoteFromWaitlist(hold.getFlight());
+        return true;
+    }
+
+    /**
+     * Returns an outstanding seat hold.
+     *
+     * @param holdId the ID of the hold
+     * @return the hold, or {@code null} if it does not exist or has expired
+     */
+    public synchronized SeatHold getHold(int holdId) {
+        expireHolds();
+        return holdManager.get(holdId);
+    }
+
+    /**
+     * Returns the manager of seat holds.
+     *
+     * @return the hold manager
+     */
+    public HoldManager getHoldManager() {
+        return holdManager;
+    }
+
+    private void freeHeldSeat(SeatHold hold) {
+        hold.getFlight().removeHeldSeat();
+        hold.getFlight().getSeatMap().release(hold.getSeat());
+    }
+
+    /**
+     * Releases the seats of every outstanding hold that matches a condition, because its flight or
+     * customer is being removed.
+     *
+     * @param filter   selects the holds to release
+     * @param promote  whether to pass the freed seats on to waiting customers
+     */
+    private void releaseHolds(Predicate<SeatHold> filter, boolean promote) {
+        for (SeatHold hold : holdManager.removeIf(filter)) {
+            freeHeldSeat(hold);
+            if (promote) {
+                promoteFromWaitlist(hold.getFlight());
+            }
+        }
+    }
+
+    /** Releases the seats of every hold that has expired and passes them on to waiting customers. */
+    private void expireHolds() {
+        holdManager.expire(hold -> {
+            freeHeldSeat(hold);
+            promoteFromWaitlist(hold.getFlight());
+        });
+    }
+
+    /**
+     * Moves an active booking to another seat on the same flight.
+     *
+     * @param bookingId the ID of the booking
+     * @param seatLabel the label of the new seat, for example {@code "12C"}
+     * @throws FlightBookingSystemException if the booking does not exist, or the seat does not exist
+     *                                      or is taken
+     */
+    public synchronized void changeSeat(int bookingId, String seatLabel) throws FlightBookingSystemException {
+        Booking booking = getBookingByID(bookingId);
+        SeatMap seatMap = booking.getFlight().getSeatMap();
+        int seat = seatMap.getLayout().parse(seatLabel);
+        if (!seatMap.isValid(seat)) {
+            throw new FlightBookingSystemException("No seat " + seatLabel + " on this flight.");
+        }
+        if (seat == booking.getSeat()) {
+            return;
+        }
+        if (seatMap.isOccupied(seat)) {
+            throw new FlightBookingSystemException("Seat " + seatLabel + " is already taken.");
+        }
+        moveSeat(booking, seat);
+    }
+
+    private void moveSeat(Booking booking, int seat) {
+        SeatMap seatMap = booking.getFlight().getSeatMap();
+        seatMap.release(booking.getSeat());
+        seatMap.occupy(seat);
+        booking.setSeat(seat);
+        booking.incrementVersion();
+        changeBus.post(RecordChange.Kind.UPDATED, booking);
+        publish(ChangeEvent.Type.SEAT_CHANGED, booking.getId(), seat);
+    }
     
+    /**
+     * Adds a booking unless one has already been created for the same idempotency key, in which
+     * case the original booking is returned and no seat is consumed. A {@code null} key behaves
+     * like {@link #addBooking(int, int, LocalDate)}. The lookup, booking and recording of the key
+     * happen under one lock, so concurrent retries of a request book it once between them.
+     *
+     * @param customerId     the ID of the customer making the booking
+     * @param flightId       the ID of the flight being booked
+     * @param bookingDate    the date of the booking
+     * @param idempotencyKey a client-chosen key identifying this booking request, or {@code null}
+     * @return the new booking, or the booking originally created for the key
+     * @throws FlightBookingSystemException if the key is malformed, was used for a booking by
+     *                                      another customer or on another flight, or the booking fails
+     */
+    public synchronized Booking addBooking(int customerId, int flightId, LocalDate bookingDate, String idempotencyKey)
+            throws FlightBookingSystemException {
+        if (idempotencyKey == null) {
+            return addBooking(customerId, flightId, bookingDate);
+        }
+        if (!isValidIdempotencyKey(idempotencyKey)) {
+            throw new FlightBookingSystemException("Invalid idempotency key.");
+        }
+        Booking original = idempotencyCache.get(idempotencyKey);
+        if (original != null) {
+            if (original.getCustomer().getId() != customerId || original.getFlight().getId() != flightId) {
+                throw new FlightBookingSystemException("Idempotency key " + idempotencyKey
+                        + " was already used for a different booking.");
+            }
+            return original;
+        }
+        Booking booking = addBooking(customerId, flightId, bookingDate);
+        idempotencyCache.put(idempotencyKey, booking);
+        return booking;
+    }
+
+    /**
+     * Checks whether a string can be used as an idempotency key: 1 to 64 letters, digits,
+     * dots, dashes or underscores.
+     *
+     * @param key the candidate key
+     * @return {@code true} if the key is well formed
+     */
+    public static boolean isValidIdempotencyKey(String key) {
+        return key != null && key.matches("[A-Za-z0-9._-]{1,64}");
+    }
+
+    /**
+     * Returns the cache of bookings remembered by idempotency key.
+     *
+     * @return the idempotency cache
+     */
+    public IdempotencyCache getIdempotencyCache() {
+        return idempotencyCache;
+    }
+
     /**
      * Cancels a booking by moving it from active to cancelledBookings,
      * printing the refund, and removing the customer from the flight’s passenger list.
+     * The freed seat is then given to the head of the flight's waitlist, if anyone is waiting.
+     *
+     * @return the bookings made for waiting customers with the freed seat, usually none
      */
-    public void cancelBooking(int bookingId, double cancellationFee) throws FlightBookingSystemException {
+    public synchronized List<Booking> cancelBooking(int bookingId, double cancellationFee) throws FlightBookingSystemException {
+        return cancelBooking(bookingId, ANY_VERSION, cancellationFee);
+    }
+
+    /**
+     * Cancels a booking as {@link #cancelBooking(int, double)} does, provided it has not changed
+     * since the caller read version {@code expectedVersion}.
+     *
+     * @param bookingId       the ID of the booking
+     * @param expectedVersion the version the caller read, or {@link #ANY_VERSION}
+     * @param cancellationFee the fee kept from the booking fee
+     * @return the bookings made for waiting customers with the freed seat, usually none
+     * @throws StaleVersionException        if the booking has changed since it was read
+     * @throws FlightBookingSystemException if there is no active booking with that ID
+     */
+    public synchronized List<Booking> cancelBooking(int bookingId, long expectedVersion, double cancellationFee)
+            throws FlightBookingSystemException {
         if (!bookings.containsKey(bookingId)) {
             throw new FlightBookingSystemException("No booking with that ID.");
         }
@@ -124,46 +774,242 @@ public class FlightBookingSystem {
         // Check if already cancelled.
         if (booking.isCancelled()) {
             System.out.println("Booking already cancelled.");
-            return;
+            return Collections.emptyList();
         }
+        checkVersion("Booking #" + bookingId, booking.getVersion(), expectedVersion);
+        booking.incrementVersion();
         double refund = booking.getBookingFee() - cancellationFee;
         if (refund < 0) {
             refund = 0;
         }
         System.out.println("Refund amount: $" + refund);
+        booking.setCancellationFee(booking.getBookingFee() - refund);
+        markCancelled(booking);
+        return promoteFromWaitlist(booking.getFlight());
+    }
+
+    /** Moves a booking whose cancellation fee has been set from active to cancelled. */
+    private void markCancelled(Booking booking) {
+        analytics.bookingCancelled(booking, booking.getCancellationFee());
         booking.cancel();
-        bookings.remove(bookingId);
-        cancelledBookings.put(bookingId, booking);
-        // Remove the customer from the flight's passenger list.
+        bookings.remove(booking.getId());
+        cancelledBookings.put(booking.getId(), booking);
+        // Remove the customer from the flight's passenger list and free their seat.
         booking.getFlight().removePassenger(booking.getCustomer());
+        booking.getFlight().getSeatMap().release(booking.getSeat());
+        changeBus.post(RecordChange.Kind.CANCELLED, booking);
+        changeBus.post(RecordChange.Kind.UPDATED, booking.getFlight());
+        publish(ChangeEvent.Type.BOOKING_CANCELLED, booking.getId(), booking.getCancellationFee());
+    }
+
+    /**
+     * Moves a booking to another flight by cancelling it with the given fee and booking the same
+     * customer on the new flight at today's price for the original booking date, provided the
+     * booking has not changed since the caller read version {@code expectedVersion}. The new
+     * flight is checked before anything changes, so a failed move leaves the booking as it was.
+     *
+     * @param bookingId       the ID of the booking to move
+     * @param expectedVersion the version the caller read, or {@link #ANY_VERSION}
+     * @param newFlightId     the ID of the flight to move to
+     * @param cancellationFee the fee kept from the old booking
+     * @return the new booking
+     * @throws StaleVersionException        if the booking has changed since it was read
+     * @throws FlightBookingSystemException if the booking or flight does not exist, the customer is
+     *                                      already on the new flight, or it is full
+     */
+    public synchronized Booking updateBooking(int bookingId, long expectedVersion, int newFlightId,
+                                              double cancellationFee) throws FlightBookingSystemException {
+        expireHolds();
+        Booking booking = getBookingByID(bookingId);
+        checkVersion("Booking #" + bookingId, booking.getVersion(), expectedVersion);
+        Flight newFlight = getFlightByID(newFlightId);
+        Customer customer = booking.getCustomer();
+        if (newFlight.hasPassenger(customer)) {
+            throw new FlightBookingSystemException(customer.getName() + " is already booked on this flight.");
+        }
+        if (newFlight.getAvailableSeats() <= 0) {
+            throw new FlightBookingSystemException("Flight is at full capacity.");
+        }
+        cancelBooking(bookingId, booking.getVersion(), cancellationFee);
+        return addBooking(customer.getId(), newFlightId, booking.getBookingDate());
+    }
+
+    /**
+     * Adds a customer to the waitlist of a full flight.
+     *
+     * @param customerId the ID of the customer
+     * @param flightId   the ID of the flight
+     * @param tier       the priority tier to wait in
+     * @return the new waitlist entry
+     * @throws FlightBookingSystemException if the customer or flight does not exist, the flight
+     *                                      still has free seats, or the customer is already booked
+     *                                      on or waiting for the flight
+     */
+    public synchronized WaitlistEntry joinWaitlist(int customerId, int flightId, WaitlistTier tier)
+            throws FlightBookingSystemException {
+        expireHolds();
+        Flight flight = getFlightByID(flightId);
+        if (flight.getAvailableSeats() > 0) {
+            throw new FlightBookingSystemException("Flight still has free seats; book it directly.");
+        }
+        return addWaitlistEntryFromData(customerId, flightId, tier);
+    }
+
+    /**
+     * Restores a waitlist entry from stored data. Unlike {@link #joinWaitlist}, the flight does
+     * not have to be full; entries are restored in the order they are added.
+     *
+     * @param customerId the ID of the customer
+     * @param flightId   the ID of the flight
+     * @param tier       the priority tier
+     * @return the new waitlist entry
+     * @throws FlightBookingSystemException if the customer or flight does not exist, or the customer
+     *                                      is already booked on or waiting for the flight
+     */
+    public synchronized WaitlistEntry addWaitlistEntryFromData(int customerId, int flightId, WaitlistTier tier)
+            throws FlightBookingSystemException {
+        Customer customer = getCustomerByID(customerId);
+        Flight flight = getFlightByID(flightId);
+        if (flight.hasPassenger(customer)) {
+            throw new FlightBookingSystemException(customer.getName() + " is already booked on this flight.");
+        }
+        WaitlistEntry entry = waitlists.computeIfAbsent(flightId, id -> new Waitlist()).add(customer, tier);
+        if (entry == null) {
+            throw new FlightBookingSystemException(customer.getName() + " is already on the waitlist.");
+        }
+        return entry;
+    }
+
+    /**
+     * Removes a customer from the waitlist of a flight.
+     *
+     * @param customerId the ID of the customer
+     * @param flightId   the ID of the flight
+     * @return {@code true} if the customer was waiting
+     */
+    public synchronized boolean leaveWaitlist(int customerId, int flightId) {
+        Waitlist waitlist = waitlists.get(flightId);
+        if (waitlist == null || !waitlist.remove(customerId)) {
+            return false;
+        }
+        if (waitlist.size() == 0) {
+            waitlists.remove(flightId);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the customers waiting for a flight, in the order they would be promoted.
+     *
+     * @param flightId the ID of the flight
+     * @return the waitlist entries; empty if nobody is waiting
+     */
+    public synchronized List<WaitlistEntry> getWaitlist(int flightId) {
+        Waitlist waitlist = waitlists.get(flightId);
+        return waitlist == null ? new ArrayList<>() : waitlist.getEntries();
+    }
+
+    /**
+     * Returns the IDs of the flights that currently have customers waiting.
+     *
+     * @return the flight IDs, in ascending order
+     */
+    public synchronized List<Integer> getWaitlistedFlightIds() {
+        List<Integer> ids = new ArrayList<>(waitlists.keySet());
+        Collections.sort(ids);
+        return ids;
     }
 
     /**
-     * Removes a customer by cancelling all of their bookings (with 0 cancellation fee)
-     * so that the flight's capacity is restored, then marking the customer as deleted.
+     * Books waiting customers onto a flight while it has free seats. Customers who have since been
+     * removed or booked on the flight another way are skipped. Flights that have departed are left
+     * alone. Each new booking is posted on the change bus like any other.
+     *
+     * @return the bookings made, for the caller to report
      */
-    public void removeCustomer(int customerId) throws FlightBookingSystemException {
+    private List<Booking> promoteFromWaitlist(Flight flight) {
+        Waitlist waitlist = waitlists.get(flight.getId());
+        if (waitlist == null || flight.isDeleted() || flight.getDepartureDate().isBefore(systemDate)) {
+            return Collections.emptyList();
+        }
+        List<Booking> promoted = new ArrayList<>();
+        while (flight.getAvailableSeats() > 0) {
+            WaitlistEntry entry = waitlist.poll();
+            if (entry == null) {
+                break;
+            }
+            Customer customer = entry.getCustomer();
+            if (customer.isDeleted() || flight.hasPassenger(customer)) {
+                continue;
+            }
+            try {
+                promoted.add(book(customer, flight, systemDate, flight.getSeatMap().firstFree(),
+                        flight.calculatePrice(systemDate)));
+            } catch (FlightBookingSystemException ex) {
+                break;
+            }
+        }
+        if (waitlist.size() == 0) {
+            waitlists.remove(flight.getId());
+        }
+        return promoted;
+    }
+
+    /**
+     * Removes a customer by withdrawing them from every waitlist and cancelling all of their
+     * bookings (with 0 cancellation fee) so that the flight's capacity is restored and passed on
+     * to waiting customers, then marking the customer as deleted.
+     */
+    public synchronized void removeCustomer(int customerId) throws FlightBookingSystemException {
         Customer customer = getCustomerByID(customerId);
+        for (Integer flightId : getWaitlistedFlightIds()) {
+            leaveWaitlist(customerId, flightId);
+        }
+        releaseHolds(hold -> hold.getCustomer() == customer, true);
         // Copy the bookings to avoid concurrent modification issues.
         List<Booking> customerBookings = new ArrayList<>(customer.getBookings());
         for (Booking booking : customerBookings) {
             cancelBooking(booking.getId(), 0.0);
         }
         customer.setDeleted(true);
+        customer.incrementVersion();
+        unindexCustomer(customer);
+        changeBus.post(RecordChange.Kind.UPDATED, customer);
+        publish(ChangeEvent.Type.CUSTOMER_REMOVED, customerId);
     }
     
-    public void removeFlight(int flightId) throws FlightBookingSystemException {
+    public synchronized void removeFlight(int flightId) throws FlightBookingSystemException {
         Flight flight = getFlightByID(flightId);
         flight.setDeleted(true);
+        flight.incrementVersion();
+        waitlists.remove(flightId);
+        releaseHolds(hold -> hold.getFlight() == flight, false);
+        flightsVersion++;
+        fareCalendar.removeFlight(flight);
+        flightIndex.remove(flight);
+        analytics.flightRemoved(flight);
+        changeBus.post(RecordChange.Kind.UPDATED, flight);
+        publish(ChangeEvent.Type.FLIGHT_REMOVED, flightId);
     }
     
-    public void addBookingFromData(Booking booking) throws FlightBookingSystemException {
+    public synchronized void addBookingFromData(Booking booking) throws FlightBookingSystemException {
         if (bookings.containsKey(booking.getId())) {
             throw new FlightBookingSystemException("Duplicate booking ID in data.");
         }
         bookings.put(booking.getId(), booking);
+        bookingsById.put(booking.getId(), booking);
+        nextBookingId = Math.max(nextBookingId, booking.getId() + 1);
         booking.getCustomer().addBooking(booking);
-        booking.getFlight().addPassenger(booking.getCustomer());
+        Flight flight = booking.getFlight();
+        flight.addPassenger(booking.getCustomer());
+        // Keep the stored seat if it is still free; otherwise give the passenger the first free seat.
+        SeatMap seatMap = flight.getSeatMap();
+        if (booking.getSeat() == Booking.NO_SEAT || !seatMap.occupy(booking.getSeat())) {
+            int seat = seatMap.firstFree();
+            booking.setSeat(seatMap.occupy(seat) ? seat : Booking.NO_SEAT);
+        }
+        analytics.bookingAdded(booking);
+        publishBookingAdded(booking);
     }
     
     public Booking getBookingByID(int id) throws FlightBookingSystemException {
@@ -178,11 +1024,18 @@ public class FlightBookingSystem {
      * @param flightId The ID of the flight to be deleted.
      * @throws FlightBookingSystemException If the flight is not found.
      */
-    public void deleteFlight(int flightId) throws FlightBookingSystemException {
+    public synchronized void deleteFlight(int flightId) throws FlightBookingSystemException {
         Flight flight = getFlightByID(flightId);
         if (flight == null) {
             throw new FlightBookingSystemException("Flight not found.");
         }
+        dropFlight(flight);
+        writeFlightsToFile();
+    }
+
+    /** Drops a flight and its active bookings without touching the data files. */
+    private void dropFlight(Flight flight) {
+        int flightId = flight.getId();
         List<Booking> flightBookings = new ArrayList<>();
         for (Booking booking : bookings.values()) {
             if (booking.getFlight().equals(flight)) {
@@ -191,9 +1044,18 @@ public class FlightBookingSystem {
         }
         for (Booking booking : flightBookings) {
             bookings.remove(booking.getId());
+            bookingsById.remove(booking.getId());
+            changeBus.post(RecordChange.Kind.DELETED, booking);
         }
         flights.remove(flightId);
-        writeFlightsToFile();
+        waitlists.remove(flightId);
+        releaseHolds(hold -> hold.getFlight() == flight, false);
+        flightsVersion++;
+        fareCalendar.removeFlight(flight);
+        flightIndex.remove(flight);
+        analytics.flightRemoved(flight);
+        changeBus.post(RecordChange.Kind.DELETED, flight);
+        publish(ChangeEvent.Type.FLIGHT_DELETED, flightId);
     }
     /**
      * Deletes a customer from the system.
@@ -202,23 +1064,238 @@ public class FlightBookingSystem {
      */
 
     
-    public void deleteCustomer(int customerId) throws FlightBookingSystemException {
+    public synchronized void deleteCustomer(int customerId) throws FlightBookingSystemException {
         Customer customer = getCustomerByID(customerId);
         if (customer == null) {
             throw new FlightBookingSystemException("Customer not found.");
         }
+        dropCustomer(customer);
+        writeCustomersToFile();
+    }
+
+    /**
+     * Drops a customer and their active bookings without touching the data files. Their seats are
+     * given back as a cancellation would, and offered to each flight's waitlist.
+     */
+    private void dropCustomer(Customer customer) {
+        int customerId = customer.getId();
         List<Booking> customerBookings = new ArrayList<>();
         for (Booking booking : bookings.values()) {
             if (booking.getCustomer().equals(customer)) {
                 customerBookings.add(booking);
             }
         }
+        Set<Flight> freedFlights = new LinkedHashSet<>();
         for (Booking booking : customerBookings) {
             bookings.remove(booking.getId());
+            bookingsById.remove(booking.getId());
+            analytics.bookingRemoved(booking);
+            Flight flight = booking.getFlight();
+            flight.removePassenger(customer);
+            flight.getSeatMap().release(booking.getSeat());
+            freedFlights.add(flight);
+            changeBus.post(RecordChange.Kind.DELETED, booking);
+            changeBus.post(RecordChange.Kind.UPDATED, flight);
         }
         customers.remove(customerId);
-        writeCustomersToFile();
+        for (Integer flightId : getWaitlistedFlightIds()) {
+            leaveWaitlist(customerId, flightId);
+        }
+        releaseHolds(hold -> hold.getCustomer() == customer, true);
+        if (!applyingChange) {
+            // A follower is sent the leader's promotions as bookings of their own.
+            for (Flight flight : freedFlights) {
+                promoteFromWaitlist(flight);
+            }
+        }
+        unindexCustomer(customer);
+        changeBus.post(RecordChange.Kind.DELETED, customer);
+        publish(ChangeEvent.Type.CUSTOMER_DELETED, customerId);
+    }
+
+    /**
+     * Returns the bus that tells views which flights, customers and bookings each change touched.
+     * Changes applied from a leader are posted too, so a follower's views stay current.
+     *
+     * @return the change bus
+     */
+    public ChangeBus getChangeBus() {
+        return changeBus;
+    }
+
+    /**
+     * Registers a listener to be told of every later change, in order.
+     *
+     * @param listener the listener
+     */
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
     }
+
+    /**
+     * Stops telling a listener of changes.
+     *
+     * @param listener the listener
+     */
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Returns the sequence number of the latest change made or applied.
+     *
+     * @return the sequence number, or {@code 0} before any change
+     */
+    public synchronized long getChangeSequence() {
+        return changeSequence;
+    }
+
+    /** Numbers a change and tells the listeners about it, unless it is part of an applied change. */
+    private void publish(ChangeEvent.Type type, Object... fields) {
+        if (applyingChange) {
+            return;
+        }
+        changeSequence++;
+        if (changeListeners.isEmpty()) {
+            return;
+        }
+        ChangeEvent event = new ChangeEvent(changeSequence, type, fields);
+        for (ChangeListener listener : changeListeners) {
+            listener.changed(event);
+        }
+    }
+
+    /**
+     * Returns changes that rebuild the current flights, customers and bookings when applied to an
+     * empty system: every flight and customer, then each cancelled booking added and cancelled
+     * again, then the active bookings. All of them carry the current sequence number, so changes
+     * published later follow on from them. Seat holds and waitlists are not included.
+     *
+     * @return the changes, in the order they must be applied
+     */
+    public synchronized List<ChangeEvent> snapshotChanges() {
+        List<ChangeEvent> events = new ArrayList<>();
+        for (Flight flight : flights.values()) {
+            events.add(new ChangeEvent(changeSequence, ChangeEvent.Type.FLIGHT_ADDED, flight.getId(),
+                    flight.getFlightNumber(), flight.getOrigin(), flight.getDestination(), flight.getDepartureDate(),
+                    flight.getBasePrice(), flight.getCapacity(), flight.isDeleted()));
+        }
+        for (Customer customer : customers.values()) {
+            events.add(new ChangeEvent(changeSequence, ChangeEvent.Type.CUSTOMER_ADDED, customer.getId(),
+                    customer.getName(), customer.getPhone(), customer.getEmail(), customer.getPassword(),
+                    customer.isDeleted()));
+        }
+        List<Booking> all = new ArrayList<>(cancelledBookings.values());
+        all.addAll(bookings.values());
+        for (Booking booking : all) {
+            if (!flights.containsKey(booking.getFlight().getId()) || !customers.containsKey(booking.getCustomer().getId())) {
+                // Left behind by a deleted flight or customer.
+                continue;
+            }
+            events.add(new ChangeEvent(changeSequence, ChangeEvent.Type.BOOKING_ADDED, booking.getId(),
+                    booking.getCustomer().getId(), booking.getFlight().getId(), booking.getBookingDate(),
+                    booking.getBookingFee(), booking.getSeat()));
+            if (booking.isCancelled()) {
+                events.add(new ChangeEvent(changeSequence, ChangeEvent.Type.BOOKING_CANCELLED, booking.getId(),
+                        booking.getCancellationFee()));
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Applies a change published by another system, as a follower does with its leader's changes.
+     * The change is applied as recorded: fees, seats and IDs are taken from the event, and waiting
+     * customers are not promoted, since the leader publishes its promotions as changes of their
+     * own. Listeners of this system are then told of the event, and its sequence number becomes
+     * this system's.
+     *
+     * @param event the change
+     * @throws FlightBookingSystemException if the change does not fit this system's state, which
+     *                                      means it has diverged from the leader's
+     */
+    public synchronized void applyChange(ChangeEvent event) throws FlightBookingSystemException {
+        applyingChange = true;
+        try {
+            switch (event.getType()) {
+                case FLIGHT_ADDED: {
+                    Flight flight = new Flight(event.getInt(0), event.get(1), event.get(2), event.get(3),
+                            LocalDate.parse(event.get(4)), event.getDouble(5), event.getInt(6));
+                    flight.setDeleted(Boolean.parseBoolean(event.get(7)));
+                    addFlight(flight);
+                    break;
+                }
+                case FLIGHT_PRICE_CHANGED:
+                    updateFlightPrice(event.getInt(0), ANY_VERSION, event.getDouble(1));
+                    break;
+                case FLIGHT_REMOVED:
+                    removeFlight(event.getInt(0));
+                    break;
+                case FLIGHT_DELETED:
+                    dropFlight(getFlightByID(event.getInt(0)));
+                    break;
+                case CUSTOMER_ADDED: {
+                    Customer customer = new Customer(event.getInt(0), event.get(1), event.get(2), event.get(3),
+                            event.get(4));
+                    customer.setDeleted(Boolean.parseBoolean(event.get(5)));
+                    addCustomer(customer);
+                    break;
+                }
+                case CUSTOMER_UPDATED:
+                    updateCustomer(event.getInt(0), ANY_VERSION, event.get(1), event.get(2), event.get(3), event.get(4));
+                    break;
+                case CUSTOMER_REMOVED:
+                    removeCustomer(event.getInt(0));
+                    break;
+                case CUSTOMER_DELETED:
+                    dropCustomer(getCustomerByID(event.getInt(0)));
+                    break;
+                case BOOKING_ADDED: {
+                    Customer customer = customers.get(event.getInt(1));
+                    Flight flight = flights.get(event.getInt(2));
+                    if (customer == null || flight == null) {
+                        throw new FlightBookingSystemException("Unknown customer or flight in change: " + event);
+                    }
+                    Booking booking = new Booking(event.getInt(0), customer, flight, LocalDate.parse(event.get(3)),
+                            event.getDouble(4));
+                    booking.setSeat(event.getInt(5));
+                    addBookingFromData(booking);
+                    break;
+                }
+                case BOOKING_CANCELLED: {
+                    Booking booking = getBookingByID(event.getInt(0));
+                    booking.incrementVersion();
+                    booking.setCancellationFee(event.getDouble(1));
+                    markCancelled(booking);
+                    break;
+                }
+                case SEAT_CHANGED: {
+                    Booking booking = getBookingByID(event.getInt(0));
+                    SeatMap seatMap = booking.getFlight().getSeatMap();
+                    int seat = event.getInt(1);
+                    if (!seatMap.isValid(seat)) {
+                        throw new FlightBookingSystemException("Invalid seat in change: " + event);
+                    }
+                    if (seatMap.isOccupied(seat)) {
+                        throw new FlightBookingSystemException("Seat already taken in change: " + event);
+                    }
+                    moveSeat(booking, seat);
+                    break;
+                }
+                default:
+                    throw new FlightBookingSystemException("Unknown change: " + event);
+            }
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new FlightBookingSystemException("Invalid change: " + event);
+        } finally {
+            applyingChange = false;
+        }
+        changeSequence = event.getSequence();
+        for (ChangeListener listener : changeListeners) {
+            listener.changed(event);
+        }
+    }
+
     private void writeCustomersToFile() {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter("resources/data/customers.txt"))) {
             for (Customer customer : customers.values()) {
@@ -0,0 +1,266 @@
+package bcu.cmp5332.bookingsystem.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The {@code FlightIndex} class indexes active flights by departure date and by route, and answers
+ * top-K queries over them.
+ * <p>
+ * Flights are grouped by departure epoch day in a sorted map, both overall and per
+ * (origin, destination) route, so the candidates for a route and date range are one sub-map.
+ * Soonest-K queries walk the candidates in date order and stop after {@code k} matches. Cheapest-K
+ * and most-available-K queries keep a heap of at most {@code k} flights whose root is the worst
+ * flight kept, so a candidate costs one comparison with the root unless it belongs in the result.
+ * Only the {@code k} survivors are sorted.
+ * </p>
+ * <p>
+ * Searches by route, date and price read the same sub-maps and price each departure day once:
+ * a flight's dynamic price is its base price times a multiplier that depends only on the days
+ * left, so the price range becomes a base price range per day.
+ * </p>
+ */
+public class FlightIndex {
+
+    /** Active flights by departure epoch day. */
+    private final TreeMap<Long, List<Flight>> byDate = new TreeMap<>();
+
+    /** Active flights by route, then by departure epoch day; the key packs the origin code high. */
+    private final Map<Long, TreeMap<Long, List<Flight>>> byRoute = new HashMap<>();
+
+    /** A flight with its ranking key, held in the bounded heap. */
+    private static final class Ranked {
+        final double key;
+        final Flight flight;
+
+        Ranked(double key, Flight flight) {
+            this.key = key;
+            this.flight = flight;
+        }
+    }
+
+    /** Best first: lowest key, then lowest flight ID for a stable order. */
+    private static final Comparator<Ranked> BEST_FIRST = Comparator.<Ranked>comparingDouble(r -> r.key)
+            .thenComparingInt(r -> r.flight.getId());
+
+    private static long routeKey(int originCode, int destinationCode) {
+        return ((long) originCode << 32) | (destinationCode & 0xffffffffL);
+    }
+
+    /**
+     * Adds an active flight to the index.
+     *
+     * @param flight the flight
+     */
+    public synchronized void add(Flight flight) {
+        long day = flight.getDepartureDate().toEpochDay();
+        byDate.computeIfAbsent(day, k -> new ArrayList<>(2)).add(flight);
+        byRoute.computeIfAbsent(routeKey(flight.getOriginCode(), flight.getDestinationCode()), k -> new TreeMap<>())
+                .computeIfAbsent(day, k -> new ArrayList<>(2)).add(flight);
+    }
+
+    /**
+     * Removes a flight from the index.
+     *
+     * @param flight the flight
+     */
+    public synchronized void remove(Flight flight) {
+        long day = flight.getDepartureDate().toEpochDay();
+        removeFrom(byDate, day, flight);
+        long route = routeKey(flight.getOriginCode(), flight.getDestinationCode());
+        TreeMap<Long, List<Flight>> routeDays = byRoute.get(route);
+        if (routeDays != null) {
+            removeFrom(routeDays, day, flight);
+            if (routeDays.isEmpty()) {
+                byRoute.remove(route);
+            }
+        }
+    }
+
+    private static void removeFrom(Map<Long, List<Flight>> days, long day, Flight flight) {
+        List<Flight> sameDay = days.get(day);
+        if (sameDay != null && sameDay.remove(flight) && sameDay.isEmpty()) {
+            days.remove(day);
+        }
+    }
+
+    /**
+     * Returns the best {@code k} active flights under a ranking, optionally restricted to a route
+     * and a range of departure dates.
+     *
+     * @param ranking         the order to rank flights in
+     * @param k               the maximum number of flights to return
+     * @param originCode      the origin's location code, or {@link AirportDictionary#UNKNOWN} for any
+     * @param destinationCode the destination's location code, or {@link AirportDictionary#UNKNOWN} for any
+     * @param from            the earliest departure date, inclusive
+     * @param to              the latest departure date, inclusive, or {@code null} for no limit
+     * @param bookingDate     the date dynamic prices are calculated for
+     * @return up to {@code k} flights, best first
+     */
+    public synchronized List<Flight> top(FlightRanking ranking, int k, int originCode, int destinationCode,
+                                         LocalDate from, LocalDate to, LocalDate bookingDate) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        NavigableMap<Long, List<Flight>> days;
+        boolean routeIndexed = originCode != AirportDictionary.UNKNOWN && destinationCode != AirportDictionary.UNKNOWN;
+        if (routeIndexed) {
+            days = byRoute.get(routeKey(originCode, destinationCode));
+            if (days == null) {
+                return new ArrayList<>();
+            }
+        } else {
+            days = byDate;
+        }
+        long fromDay = from.toEpochDay();
+        days = to == null ? days.tailMap(fromDay, true) : days.subMap(fromDay, true, to.toEpochDay(), true);
+
+        if (ranking == FlightRanking.SOONEST) {
+            List<Flight> result = new ArrayList<>(k);
+            for (List<Flight> sameDay : days.values()) {
+                List<Flight> matches = new ArrayList<>(sameDay.size());
+                for (Flight flight : sameDay) {
+                    if (routeIndexed || matchesRoute(flight, originCode, destinationCode)) {
+                        matches.add(flight);
+                    }
+                }
+                matches.sort(Comparator.comparingInt(Flight::getId));
+                for (Flight flight : matches) {
+                    result.add(flight);
+                    if (result.size() == k) {
+                        return result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(k + 1, BEST_FIRST.reversed());
+        for (List<Flight> sameDay : days.values()) {
+            for (Flight flight : sameDay) {
+                if (!routeIndexed && !matchesRoute(flight, originCode, destinationCode)) {
+                    continue;
+                }
+                double key = ranking == FlightRanking.CHEAPEST
+                        ? flight.calculatePrice(bookingDate)
+                        : -flight.getAvailableSeats();
+                if (heap.size() == k) {
+                    Ranked worst = heap.peek();
+                    if (key > worst.key || (key == worst.key && flight.getId() > worst.flight.getId())) {
+                        continue;
+                    }
+                    heap.poll();
+                }
+                heap.add(new Ranked(key, flight));
+            }
+        }
+        List<Ranked> ranked = new ArrayList<>(heap);
+        ranked.sort(BEST_FIRST);
+        List<Flight> result = new ArrayList<>(ranked.size());
+        for (Ranked r : ranked) {
+            result.add(r.flight);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the active flights on a route, within a range of departure dates and a range of
+     * dynamic prices, in departure order and then by ID. With both ends of the route given, only
+     * that route's flights are read. With one end, only the routes starting or ending there are
+     * read. Otherwise the flights departing in the date range are.
+     *
+     * @param originCode      the origin's location code, or {@link AirportDictionary#UNKNOWN} for any
+     * @param destinationCode the destination's location code, or {@link AirportDictionary#UNKNOWN} for any
+     * @param from            the earliest departure date, inclusive
+     * @param to              the latest departure date, inclusive, or {@code null} for no limit
+     * @param minPrice        the lowest dynamic price, inclusive
+     * @param maxPrice        the highest dynamic price, inclusive
+     * @param bookingDate     the date dynamic prices are calculated for
+     * @param stop            checked between departure days; once it returns {@code true} the
+     *                        search returns the flights found so far
+     * @return the matching flights
+     */
+    public synchronized List<Flight> search(int originCode, int destinationCode, LocalDate from, LocalDate to,
+                                            double minPrice, double maxPrice, LocalDate bookingDate,
+                                            BooleanSupplier stop) {
+        List<NavigableMap<Long, List<Flight>>> sources = new ArrayList<>();
+        if (originCode != AirportDictionary.UNKNOWN && destinationCode != AirportDictionary.UNKNOWN) {
+            TreeMap<Long, List<Flight>> routeDays = byRoute.get(routeKey(originCode, destinationCode));
+            if (routeDays != null) {
+                sources.add(routeDays);
+            }
+        } else if (originCode != AirportDictionary.UNKNOWN || destinationCode != AirportDictionary.UNKNOWN) {
+            for (Map.Entry<Long, TreeMap<Long, List<Flight>>> route : byRoute.entrySet()) {
+                long key = route.getKey();
+                if ((originCode == AirportDictionary.UNKNOWN || (int) (key >>> 32) == originCode)
+                        && (destinationCode == AirportDictionary.UNKNOWN || (int) key == destinationCode)) {
+                    sources.add(route.getValue());
+                }
+            }
+        } else {
+            sources.add(byDate);
+        }
+
+        long fromDay = from.toEpochDay();
+        NavigableMap<Long, List<Flight>> days;
+        if (sources.size() == 1) {
+            days = sources.get(0);
+        } else {
+            // Several routes: merge their days so flights still come out in departure order.
+            days = new TreeMap<>();
+            for (NavigableMap<Long, List<Flight>> source : sources) {
+                NavigableMap<Long, List<Flight>> range = to == null
+                        ? source.tailMap(fromDay, true) : source.subMap(fromDay, true, to.toEpochDay(), true);
+                for (Map.Entry<Long, List<Flight>> day : range.entrySet()) {
+                    days.computeIfAbsent(day.getKey(), k -> new ArrayList<>()).addAll(day.getValue());
+                }
+            }
+        }
+        days = to == null ? days.tailMap(fromDay, true) : days.subMap(fromDay, true, to.toEpochDay(), true);
+
+        long bookingDay = bookingDate.toEpochDay();
+        List<Flight> result = new ArrayList<>();
+        for (Map.Entry<Long, List<Flight>> day : days.entrySet()) {
+            if (stop.getAsBoolean()) {
+                break;
+            }
+            double multiplier = Flight.priceMultiplier(day.getKey() - bookingDay);
+            List<Flight> matches = new ArrayList<>(day.getValue().size());
+            for (Flight flight : day.getValue()) {
+                double price = flight.getBasePrice() * multiplier;
+                if (price >= minPrice && price <= maxPrice) {
+                    matches.add(flight);
+                }
+            }
+            matches.sort(Comparator.comparingInt(Flight::getId));
+            result.addAll(matches);
+        }
+        return result;
+    }
+
+    private static boolean matchesRoute(Flight flight, int originCode, int destinationCode) {
+        return (originCode == AirportDictionary.UNKNOWN || flight.getOriginCode() == originCode)
+                && (destinationCode == AirportDictionary.UNKNOWN || flight.getDestinationCode() == destinationCode);
+    }
+
+    /**
+     * Returns every indexed flight departing on a given date.
+     *
+     * @param date the departure date
+     * @return the flights departing that day
+     */
+    public synchronized Collection<Flight> departingOn(LocalDate date) {
+        List<Flight> sameDay = byDate.get(date.toEpochDay());
+        return sameDay == null ? Collections.emptyList() : new ArrayList<>(sameDay);
+    }
+}
@@ -0,0 +1,16 @@
+package bcu.cmp5332.bookingsystem.model;
+
+/**
+ * The {@code FlightRanking} enum names the orders in which top-K flight queries can rank flights.
+ */
+public enum FlightRanking {
+
+    /** Lowest dynamic price on the system date first. */
+    CHEAPEST,
+
+    /** Earliest departure date first. */
+    SOONEST,
+
+    /** Most unbooked seats first. */
+    MOST_AVAILABLE
+}
@@ -0,0 +1,139 @@
+package bcu.cmp5332.bookingsystem.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * The {@code HoldManager} class keeps track of outstanding {@link SeatHold}s and expires them on
+ * time.
+ * <p>
+ * Holds are indexed by ID and scheduled on a {@link TimingWheel} with one-second ticks, so
+ * placing, confirming and releasing a hold cost constant time, and expiry only touches holds that
+ * are actually due. Expiry is driven by the booking system calling {@link #expire(Consumer)}
+ * before any operation that depends on free seats; no timer thread is needed.
+ * </p>
+ */
+public class HoldManager {
+
+    /** The default time a seat is held: 10 minutes. */
+    public static final long DEFAULT_HOLD_MILLIS = 10L * 60 * 1000;
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 1024;
+
+    private final Map<Integer, SeatHold> holds = new HashMap<>();
+    private final TimingWheel<SeatHold> wheel;
+    private final LongSupplier clock;
+    private int nextHoldId = 1;
+    private long expiredCount;
+
+    /**
+     * Constructs a hold manager using the system clock.
+     */
+    public HoldManager() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs a hold manager using the given clock.
+     *
+     * @param clock supplies the current time in epoch milliseconds
+     */
+    public HoldManager(LongSupplier clock) {
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(TICK_MILLIS, WHEEL_SIZE, clock.getAsLong());
+    }
+
+    /**
+     * Records a new hold and schedules its expiry.
+     *
+     * @param customer     the customer the seat is held for
+     * @param flight       the flight
+     * @param seat         the seat index held
+     * @param fee          the booking fee locked in
+     * @param durationMillis how long the hold lasts
+     * @return the new hold
+     */
+    public synchronized SeatHold add(Customer customer, Flight flight, int seat, double fee, long durationMillis) {
+        SeatHold hold = new SeatHold(nextHoldId++, customer, flight, seat, fee, clock.getAsLong() + durationMillis);
+        hold.timeout = wheel.schedule(hold, hold.getExpiresAt());
+        holds.put(hold.getId(), hold);
+        return hold;
+    }
+
+    /**
+     * Returns an outstanding hold.
+     *
+     * @param holdId the hold ID
+     * @return the hold, or {@code null} if it does not exist, has expired or has been removed
+     */
+    public synchronized SeatHold get(int holdId) {
+        return holds.get(holdId);
+    }
+
+    /**
+     * Removes an outstanding hold and cancels its expiry, because it was confirmed or released.
+     *
+     * @param holdId the hold ID
+     * @return the hold, or {@code null} if it was not outstanding
+     */
+    public synchronized SeatHold remove(int holdId) {
+        SeatHold hold = holds.remove(holdId);
+        if (hold != null) {
+            wheel.cancel(hold.timeout);
+        }
+        return hold;
+    }
+
+    /**
+     * Removes every outstanding hold that matches a condition and cancels its expiry, because its
+     * flight or customer has gone.
+     *
+     * @param filter selects the holds to remove
+     * @return the holds removed
+     */
+    public synchronized List<SeatHold> removeIf(Predicate<SeatHold> filter) {
+        List<SeatHold> removed = new ArrayList<>();
+        for (Iterator<SeatHold> it = holds.values().iterator(); it.hasNext(); ) {
+            SeatHold hold = it.next();
+            if (filter.test(hold)) {
+                it.remove();
+                wheel.cancel(hold.timeout);
+                removed.add(hold);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every hold that has expired and hands each to {@code onExpire}, so that its seat can
+     * be released.
+     *
+     * @param onExpire receives each expired hold
+     * @return the number of holds expired
+     */
+    public synchronized int expire(Consumer<SeatHold> onExpire) {
+        int count = wheel.advance(clock.getAsLong(), hold -> {
+            holds.remove(hold.getId());
+            onExpire.accept(hold);
+        });
+        expiredCount += count;
+        return count;
+    }
+
+    /** @return the number of outstanding holds */
+    public synchronized int size() {
+        return holds.size();
+    }
+
+    /** @return the number of holds that have expired since the system started */
+    public synchronized long getExpiredCount() {
+        return expiredCount;
+    }
+}
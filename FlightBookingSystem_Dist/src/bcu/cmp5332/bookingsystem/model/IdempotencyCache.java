@@ -0,0 +1,170 @@
+package bcu.cmp5332.bookingsystem.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code IdempotencyCache} class remembers which {@link Booking} was created for each
+ * client-supplied idempotency key, so that a retried request returns the original booking
+ * instead of creating a duplicate.
+ * <p>
+ * The cache is bounded in size and every entry expires a fixed time after it was recorded.
+ * Entries are kept in a concurrent hash map for O(1) lookups, and a FIFO queue of keys in
+ * insertion order is used to evict the oldest entries, so every operation costs amortised O(1)
+ * regardless of how many keys are held.
+ * </p>
+ */
+public class IdempotencyCache {
+
+    /** The default number of keys retained. */
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+    /** The default time a key is remembered: 24 hours. */
+    public static final long DEFAULT_TTL_MILLIS = 24L * 60 * 60 * 1000;
+
+    /**
+     * A remembered booking together with the time its key was first seen.
+     */
+    public static final class Entry {
+        private final String key;
+        private final Booking booking;
+        private final long createdAt;
+
+        Entry(String key, Booking booking, long createdAt) {
+            this.key = key;
+            this.booking = booking;
+            this.createdAt = createdAt;
+        }
+
+        /** @return the idempotency key */
+        public String getKey() { return key; }
+
+        /** @return the booking created for the key */
+        public Booking getBooking() { return booking; }
+
+        /** @return the time, in epoch milliseconds, the key was recorded */
+        public long getCreatedAt() { return createdAt; }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    /**
+     * Constructs a cache with the default size and expiry.
+     */
+    public IdempotencyCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs a cache with the given limits.
+     *
+     * @param maxEntries the maximum number of keys retained
+     * @param ttlMillis  how long a key is remembered, in milliseconds
+     * @param clock      the source of the current time in epoch milliseconds
+     */
+    public IdempotencyCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the booking recorded for a key, if the key is known and has not expired.
+     *
+     * @param key the idempotency key
+     * @return the original booking, or {@code null} if there is none
+     */
+    public Booking get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, clock.getAsLong())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.booking;
+    }
+
+    /**
+     * Records the booking created for a key.
+     *
+     * @param key     the idempotency key
+     * @param booking the booking created for it
+     */
+    public void put(String key, Booking booking) {
+        restore(key, booking, clock.getAsLong());
+    }
+
+    /**
+     * Records a key with an explicit creation time, as read back from persistent storage.
+     * Keys that have already expired are ignored.
+     *
+     * @param key       the idempotency key
+     * @param booking   the booking created for it
+     * @param createdAt the time the key was first recorded, in epoch milliseconds
+     */
+    public void restore(String key, Booking booking, long createdAt) {
+        long now = clock.getAsLong();
+        Entry entry = new Entry(key, booking, createdAt);
+        if (isExpired(entry, now)) {
+            return;
+        }
+        if (entries.putIfAbsent(key, entry) == null) {
+            insertionOrder.add(entry);
+        }
+        evict(now);
+    }
+
+    /**
+     * Returns the number of keys currently held, including any that have expired but have not yet
+     * been evicted.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns a snapshot of the live entries in insertion order, for persistence.
+     *
+     * @return the unexpired entries
+     */
+    public List<Entry> getEntries() {
+        long now = clock.getAsLong();
+        List<Entry> live = new ArrayList<>();
+        for (Entry entry : insertionOrder) {
+            if (entries.get(entry.key) == entry && !isExpired(entry, now)) {
+                live.add(entry);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Drops entries from the head of the insertion queue while the cache is over capacity or the
+     * oldest entry has expired. Each entry is queued once, so the work is amortised O(1) per put.
+     */
+    private void evict(long now) {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (entries.size() > maxEntries || isExpired(head, now))) {
+            if (insertionOrder.remove(head)) {
+                entries.remove(head.key, head);
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.createdAt >= ttlMillis;
+    }
+}
@@ -0,0 +1,93 @@
+package bcu.cmp5332.bookingsystem.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The {@code PrefixIndex} class maps case-insensitive string keys to values and answers
+ * "starts with" queries.
+ * <p>
+ * Keys are case-folded and kept in a sorted {@link TreeMap}, so every key sharing a prefix lies in
+ * one contiguous range beginning at the prefix itself. An exact lookup is a single
+ * {@code O(log n)} probe, and a prefix query costs one probe plus one step per result returned,
+ * no matter how many keys the index holds. Each key maps to at most one value.
+ * </p>
+ *
+ * @param <V> the type of the indexed values
+ */
+public class PrefixIndex<V> {
+
+    /** Indexed values, keyed by case-folded key. */
+    private final TreeMap<String, V> entries = new TreeMap<>();
+
+    /**
+     * Case-folds a key the same way the index does.
+     *
+     * @param key the key to fold
+     * @return the folded key
+     */
+    public static String fold(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Associates a value with a key, replacing any value already stored under it.
+     *
+     * @param key   the key, compared case-insensitively
+     * @param value the value to store
+     */
+    public void put(String key, V value) {
+        entries.put(fold(key), value);
+    }
+
+    /**
+     * Removes the mapping for a key, but only if it still points to the given value.
+     *
+     * @param key   the key, compared case-insensitively
+     * @param value the value expected under the key
+     */
+    public void remove(String key, V value) {
+        entries.remove(fold(key), value);
+    }
+
+    /**
+     * Returns the value stored under a key.
+     *
+     * @param key the key, compared case-insensitively
+     * @return the value, or {@code null} if the key is not indexed
+     */
+    public V get(String key) {
+        return entries.get(fold(key));
+    }
+
+    /**
+     * Returns the values whose keys start with the given prefix, in key order.
+     *
+     * @param prefix the prefix, compared case-insensitively
+     * @param limit  the maximum number of values to return
+     * @return up to {@code limit} matching values
+     */
+    public List<V> search(String prefix, int limit) {
+        String folded = fold(prefix);
+        List<V> result = new ArrayList<>(Math.min(limit, 16));
+        for (Map.Entry<String, V> entry : entries.tailMap(folded, true).entrySet()) {
+            if (result.size() >= limit || !entry.getKey().startsWith(folded)) {
+                break;
+            }
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return entries.size();
+    }
+}
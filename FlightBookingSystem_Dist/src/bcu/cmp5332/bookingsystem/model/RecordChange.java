@@ -0,0 +1,73 @@
+package bcu.cmp5332.bookingsystem.model;
+
+/**
+ * The {@code RecordChange} class describes a change to one flight, customer or booking, as
+ * delivered by a {@link ChangeBus}. It carries the record itself, so a view can show the record's
+ * current state without looking it up again.
+ *
+ * @param <T> the record type: {@link Flight}, {@link Customer} or {@link Booking}
+ */
+public final class RecordChange<T> {
+
+    /**
+     * The kinds of change.
+     */
+    public enum Kind {
+        /** The record was added to the system. */
+        ADDED,
+        /** Some of the record's fields changed, including being marked as deleted. */
+        UPDATED,
+        /** The booking was cancelled. */
+        CANCELLED,
+        /** The record was dropped from the system. */
+        DELETED
+    }
+
+    private final Kind kind;
+    private final T record;
+
+    /**
+     * Constructs a record change.
+     *
+     * @param kind   the kind of change
+     * @param record the changed record
+     */
+    public RecordChange(Kind kind, T record) {
+        this.kind = kind;
+        this.record = record;
+    }
+
+    /** @return the kind of change */
+    public Kind getKind() { return kind; }
+
+    /** @return the changed record */
+    public T getRecord() { return record; }
+
+    /**
+     * Combines two changes to the same record into the one change a view needs to apply, for
+     * example an addition followed by updates into a single addition.
+     *
+     * @param earlier the earlier change
+     * @param later   the later change
+     * @return the combined change, or {@code null} if the two cancel out, as an addition followed
+     *         by a deletion does
+     */
+    static Kind coalesce(Kind earlier, Kind later) {
+        switch (earlier) {
+            case ADDED:
+                return later == Kind.DELETED ? null : Kind.ADDED;
+            case DELETED:
+                // Added back: the view may still show it, so it is told to refresh the record.
+                return later == Kind.ADDED ? Kind.UPDATED : Kind.DELETED;
+            case CANCELLED:
+                return later == Kind.DELETED ? Kind.DELETED : Kind.CANCELLED;
+            default:
+                return later == Kind.ADDED ? Kind.UPDATED : later;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + record;
+    }
+}
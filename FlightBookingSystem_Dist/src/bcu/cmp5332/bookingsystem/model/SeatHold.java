@@ -0,0 +1,69 @@
+package bcu.cmp5332.bookingsystem.model;
+
+/**
+ * The {@code SeatHold} class reserves one seat on a flight for a customer for a limited time, at
+ * a fee fixed when the hold was placed.
+ * <p>
+ * While a hold is outstanding its seat counts against the flight's capacity, so nobody else can
+ * book it. Confirming the hold turns it into a booking at the held fee; if it is not confirmed
+ * before it expires, the seat is released.
+ * </p>
+ */
+public class SeatHold {
+
+    private final int id;
+    private final Customer customer;
+    private final Flight flight;
+    private final int seat;
+    private final double fee;
+    private final long expiresAt;
+    TimingWheel.Timeout<SeatHold> timeout;
+
+    /**
+     * Constructs a seat hold.
+     *
+     * @param id        the hold ID
+     * @param customer  the customer the seat is held for
+     * @param flight    the flight
+     * @param seat      the seat index held
+     * @param fee       the booking fee locked in
+     * @param expiresAt the time, in epoch milliseconds, the hold expires
+     */
+    SeatHold(int id, Customer customer, Flight flight, int seat, double fee, long expiresAt) {
+        this.id = id;
+        this.customer = customer;
+        this.flight = flight;
+        this.seat = seat;
+        this.fee = fee;
+        this.expiresAt = expiresAt;
+    }
+
+    /** @return the hold ID */
+    public int getId() { return id; }
+
+    /** @return the customer the seat is held for */
+    public Customer getCustomer() { return customer; }
+
+    /** @return the flight */
+    public Flight getFlight() { return flight; }
+
+    /** @return the seat index held */
+    public int getSeat() { return seat; }
+
+    /** @return the label of the seat held, for example {@code "12C"} */
+    public String getSeatLabel() {
+        return flight.getSeatMap().getLayout().label(seat);
+    }
+
+    /** @return the booking fee locked in */
+    public double getFee() { return fee; }
+
+    /** @return the time, in epoch milliseconds, the hold expires */
+    public long getExpiresAt() { return expiresAt; }
+
+    @Override
+    public String toString() {
+        return "Hold #" + id + " for " + customer.getName() + " on flight " + flight.getFlightNumber()
+                + ", Seat: " + getSeatLabel() + String.format(", Fee: $%.2f", fee);
+    }
+}
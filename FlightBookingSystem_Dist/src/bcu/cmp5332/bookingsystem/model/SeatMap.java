@@ -0,0 +1,177 @@
+package bcu.cmp5332.bookingsystem.model;
+
+/**
+ * The {@code SeatMap} class tracks which seats of a flight are occupied.
+ * <p>
+ * Occupancy is a bitmap packed into a {@code long[]}, one bit per seat, so a 300-seat flight
+ * needs five words. Free seats are found a word at a time: inverting a word gives its free seats,
+ * and {@link Long#numberOfTrailingZeros(long)} jumps straight to the first one. Runs of adjacent
+ * free seats are found by AND-ing the free mask with shifted copies of itself, which leaves a bit
+ * set only where a whole run starts.
+ * </p>
+ */
+public class SeatMap {
+
+    private final CabinLayout layout;
+    private final int seatCount;
+    private final long[] occupied;
+
+    /**
+     * Constructs an empty seat map.
+     *
+     * @param layout    the cabin layout
+     * @param seatCount the number of seats
+     */
+    public SeatMap(CabinLayout layout, int seatCount) {
+        this.layout = layout;
+        this.seatCount = Math.max(0, seatCount);
+        this.occupied = new long[(this.seatCount + 63) >>> 6];
+    }
+
+    /** @return the cabin layout */
+    public CabinLayout getLayout() { return layout; }
+
+    /** @return the number of seats */
+    public int getSeatCount() { return seatCount; }
+
+    /**
+     * Checks whether a seat index exists on this flight.
+     *
+     * @param seat the seat index
+     * @return {@code true} if the seat exists
+     */
+    public boolean isValid(int seat) {
+        return seat >= 0 && seat < seatCount;
+    }
+
+    /**
+     * Checks whether a seat is occupied.
+     *
+     * @param seat the seat index
+     * @return {@code true} if the seat is taken
+     */
+    public boolean isOccupied(int seat) {
+        return (occupied[seat >>> 6] & (1L << seat)) != 0;
+    }
+
+    /**
+     * Marks a seat as occupied.
+     *
+     * @param seat the seat index
+     * @return {@code true} if the seat was free and is now taken
+     */
+    public boolean occupy(int seat) {
+        if (!isValid(seat) || isOccupied(seat)) {
+            return false;
+        }
+        occupied[seat >>> 6] |= 1L << seat;
+        return true;
+    }
+
+    /**
+     * Marks a seat as free.
+     *
+     * @param seat the seat index
+     */
+    public void release(int seat) {
+        if (isValid(seat)) {
+            occupied[seat >>> 6] &= ~(1L << seat);
+        }
+    }
+
+    /**
+     * Returns the bitmap word of free seats at the given word index, with bits past the last seat
+     * cleared.
+     */
+    private long freeWord(int word) {
+        if (word >= occupied.length) {
+            return 0L;
+        }
+        long free = ~occupied[word];
+        int seatsInWord = seatCount - (word << 6);
+        return seatsInWord >= 64 ? free : free & ((1L << seatsInWord) - 1);
+    }
+
+    /**
+     * Returns the lowest-numbered free seat.
+     *
+     * @return the seat index, or {@code -1} if the flight is full
+     */
+    public int firstFree() {
+        for (int w = 0; w < occupied.length; w++) {
+            long free = freeWord(w);
+            if (free != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(free);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the lowest-numbered block of {@code n} free seats next to each other in one row.
+     *
+     * @param n the number of seats wanted
+     * @return the index of the first seat of the block, or {@code -1} if there is none
+     */
+    public int findAdjacent(int n) {
+        int perRow = layout.getSeatsPerRow();
+        if (n < 1 || n > perRow) {
+            return -1;
+        }
+        for (int w = 0; w < occupied.length; w++) {
+            long free = freeWord(w);
+            long next = freeWord(w + 1);
+            // Bit i of runs is set when seats i .. i+n-1 (counting from this word) are all free.
+            long runs = free;
+            for (int k = 1; k < n && runs != 0; k++) {
+                runs &= (free >>> k) | (next << (64 - k));
+            }
+            while (runs != 0) {
+                int bit = Long.numberOfTrailingZeros(runs);
+                int seat = (w << 6) + bit;
+                if (seat % perRow + n <= perRow) {
+                    return seat;
+                }
+                runs &= runs - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of free seats.
+     *
+     * @return the free seat count
+     */
+    public int freeCount() {
+        int taken = 0;
+        for (long word : occupied) {
+            taken += Long.bitCount(word);
+        }
+        return seatCount - taken;
+    }
+
+    /**
+     * Returns a text picture of the cabin, one line per row, with {@code X} for a taken seat and
+     * the seat letter for a free one.
+     *
+     * @return the seat map picture
+     */
+    public String render() {
+        StringBuilder sb = new StringBuilder();
+        int perRow = layout.getSeatsPerRow();
+        for (int start = 0; start < seatCount; start += perRow) {
+            sb.append(String.format("%3d ", start / perRow + 1));
+            for (int seat = start; seat < Math.min(start + perRow, seatCount); seat++) {
+                String label = layout.label(seat);
+                sb.append(isOccupied(seat) ? 'X' : label.charAt(label.length() - 1));
+                if (seat - start == perRow / 2 - 1) {
+                    // Aisle
+                    sb.append(' ');
+                }
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
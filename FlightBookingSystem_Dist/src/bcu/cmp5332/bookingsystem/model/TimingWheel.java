@@ -0,0 +1,161 @@
+package bcu.cmp5332.bookingsystem.model;
+
+import java.util.function.Consumer;
+
+/**
+ * The {@code TimingWheel} class is a hashed timing wheel: a circular array of buckets, each a
+ * doubly-linked list of timeouts, where a timeout due at tick {@code t} lives in bucket
+ * {@code t mod wheelSize}.
+ * <p>
+ * Scheduling and cancelling a timeout are constant-time list operations, whatever the number of
+ * outstanding timeouts. Advancing the clock visits only the buckets for the ticks that have
+ * passed, and within them expires the timeouts that are due; timeouts that hash to the same
+ * bucket but are due on a later turn of the wheel are left in place. There is no thread and no
+ * per-timeout timer: the owner calls {@link #advance(long, Consumer)} whenever it wants expired
+ * timeouts handled.
+ * </p>
+ * <p>
+ * This class is not thread-safe; callers synchronize access.
+ * </p>
+ *
+ * @param <T> the type of item that times out
+ */
+public class TimingWheel<T> {
+
+    /**
+     * A scheduled timeout, linked into one bucket of the wheel.
+     *
+     * @param <T> the type of item that times out
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private boolean linked;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /** @return the item that times out */
+        public T getItem() { return item; }
+
+        /** @return {@code true} until the timeout expires or is cancelled */
+        public boolean isPending() { return linked; }
+    }
+
+    private final long tickMillis;
+    private final Timeout<T>[] heads;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Constructs a timing wheel.
+     *
+     * @param tickMillis the length of one tick in milliseconds; timeouts fire at most one tick late
+     * @param wheelSize  the number of buckets, rounded up to a power of two
+     * @param nowMillis  the current time in epoch milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick length and wheel size must be positive");
+        }
+        int buckets = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.heads = (Timeout<T>[]) new Timeout<?>[buckets];
+        this.mask = buckets - 1;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules an item to time out at the given time.
+     *
+     * @param item           the item
+     * @param deadlineMillis the time, in epoch milliseconds, the item expires
+     * @return a handle for cancelling the timeout
+     */
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        // Round up so a timeout never fires early, and never schedule into a tick already handled.
+        long tick = Math.max(currentTick + 1, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        Timeout<T> timeout = new Timeout<>(item, tick);
+        int bucket = (int) (tick & mask);
+        timeout.next = heads[bucket];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        heads[bucket] = timeout;
+        timeout.linked = true;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a pending timeout. Cancelling a timeout that has already expired or been cancelled
+     * does nothing.
+     *
+     * @param timeout the timeout
+     */
+    public void cancel(Timeout<T> timeout) {
+        if (timeout.linked) {
+            unlink(timeout);
+        }
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        int bucket = (int) (timeout.deadlineTick & mask);
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            heads[bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.linked = false;
+        size--;
+    }
+
+    /**
+     * Advances the wheel to the given time and hands every timeout that is now due to
+     * {@code onExpire}. The callback must not cancel other timeouts of this wheel.
+     *
+     * @param nowMillis the current time in epoch milliseconds
+     * @param onExpire  receives the item of each expired timeout
+     * @return the number of timeouts expired
+     */
+    public int advance(long nowMillis, Consumer<T> onExpire) {
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick <= currentTick) {
+            return 0;
+        }
+        // After a full turn every bucket has been visited, so a longer gap needs no more steps.
+        long steps = Math.min(targetTick - currentTick, heads.length);
+        int expired = 0;
+        for (long step = 1; step <= steps; step++) {
+            int bucket = (int) ((currentTick + step) & mask);
+            Timeout<T> timeout = heads[bucket];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadlineTick <= targetTick) {
+                    unlink(timeout);
+                    onExpire.accept(timeout.item);
+                    expired++;
+                }
+                timeout = next;
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    /** @return the number of pending timeouts */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,134 @@
+package bcu.cmp5332.bookingsystem.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code Waitlist} class is the queue of customers waiting for a seat on one full flight.
+ * <p>
+ * Each {@link WaitlistTier} has its own FIFO {@link ArrayDeque}, and customers are also indexed
+ * by ID. Joining appends to a tier's tail and promotion polls the head of the first non-empty
+ * tier, both in constant time whatever the queue length. Leaving only marks the entry inactive;
+ * inactive entries are discarded when they reach the head, or all at once when they outnumber the
+ * live ones, so their cost is amortised over the operations that created them.
+ * </p>
+ * <p>
+ * All methods are synchronized, so a waitlist can be read from another thread while the
+ * booking system updates it.
+ * </p>
+ */
+public class Waitlist {
+
+    private final List<ArrayDeque<WaitlistEntry>> tiers = new ArrayList<>();
+    private final Map<Integer, WaitlistEntry> byCustomer = new HashMap<>();
+    private long nextSequence;
+    private int inactive;
+
+    /**
+     * Constructs an empty waitlist.
+     */
+    public Waitlist() {
+        for (int i = 0; i < WaitlistTier.values().length; i++) {
+            tiers.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Adds a customer to the tail of a tier.
+     *
+     * @param customer the customer
+     * @param tier     the priority tier
+     * @return the new entry, or {@code null} if the customer is already waiting
+     */
+    public synchronized WaitlistEntry add(Customer customer, WaitlistTier tier) {
+        if (byCustomer.containsKey(customer.getId())) {
+            return null;
+        }
+        WaitlistEntry entry = new WaitlistEntry(customer, tier, nextSequence++);
+        tiers.get(tier.ordinal()).addLast(entry);
+        byCustomer.put(customer.getId(), entry);
+        return entry;
+    }
+
+    /**
+     * Withdraws a customer from the waitlist.
+     *
+     * @param customerId the customer ID
+     * @return {@code true} if the customer was waiting
+     */
+    public synchronized boolean remove(int customerId) {
+        WaitlistEntry entry = byCustomer.remove(customerId);
+        if (entry == null) {
+            return false;
+        }
+        entry.deactivate();
+        if (++inactive > byCustomer.size() + 16) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Removes and returns the customer to be offered the next free seat.
+     *
+     * @return the entry of the longest-waiting customer of the highest waiting tier, or
+     *         {@code null} if nobody is waiting
+     */
+    public synchronized WaitlistEntry poll() {
+        for (ArrayDeque<WaitlistEntry> queue : tiers) {
+            WaitlistEntry entry;
+            while ((entry = queue.pollFirst()) != null) {
+                if (entry.isActive()) {
+                    byCustomer.remove(entry.getCustomer().getId());
+                    entry.deactivate();
+                    return entry;
+                }
+                inactive--;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a customer is waiting.
+     *
+     * @param customerId the customer ID
+     * @return {@code true} if the customer is on the waitlist
+     */
+    public synchronized boolean contains(int customerId) {
+        return byCustomer.containsKey(customerId);
+    }
+
+    /** @return the number of customers waiting */
+    public synchronized int size() {
+        return byCustomer.size();
+    }
+
+    /**
+     * Returns the waiting customers in the order they would be promoted.
+     *
+     * @return the active entries, highest tier first and then by joining order
+     */
+    public synchronized List<WaitlistEntry> getEntries() {
+        List<WaitlistEntry> result = new ArrayList<>(byCustomer.size());
+        for (ArrayDeque<WaitlistEntry> queue : tiers) {
+            for (WaitlistEntry entry : queue) {
+                if (entry.isActive()) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Drops every inactive entry from the queues. */
+    private void compact() {
+        for (ArrayDeque<WaitlistEntry> queue : tiers) {
+            queue.removeIf(entry -> !entry.isActive());
+        }
+        inactive = 0;
+    }
+}
@@ -0,0 +1,50 @@
+package bcu.cmp5332.bookingsystem.model;
+
+/**
+ * The {@code WaitlistEntry} class records one customer waiting for a seat on a flight.
+ * <p>
+ * An entry that is withdrawn stays in its queue marked inactive and is skipped when it reaches
+ * the head, so leaving a waitlist never has to search the queue.
+ * </p>
+ */
+public class WaitlistEntry {
+
+    private final Customer customer;
+    private final WaitlistTier tier;
+    private final long sequence;
+    private boolean active = true;
+
+    /**
+     * Constructs a waitlist entry.
+     *
+     * @param customer the waiting customer
+     * @param tier     the priority tier
+     * @param sequence the order the customer joined in; lower joined earlier
+     */
+    WaitlistEntry(Customer customer, WaitlistTier tier, long sequence) {
+        this.customer = customer;
+        this.tier = tier;
+        this.sequence = sequence;
+    }
+
+    /** @return the waiting customer */
+    public Customer getCustomer() { return customer; }
+
+    /** @return the priority tier */
+    public WaitlistTier getTier() { return tier; }
+
+    /** @return the order the customer joined in; lower joined earlier */
+    public long getSequence() { return sequence; }
+
+    /** @return {@code true} until the entry is promoted or withdrawn */
+    public boolean isActive() { return active; }
+
+    void deactivate() {
+        active = false;
+    }
+
+    @Override
+    public String toString() {
+        return customer.getName() + " (#" + customer.getId() + ", " + tier + ")";
+    }
+}
@@ -0,0 +1,17 @@
+package bcu.cmp5332.bookingsystem.model;
+
+/**
+ * The {@code WaitlistTier} enum lists the priority tiers of a flight's {@link Waitlist}. A freed
+ * seat goes to the longest-waiting customer of the highest tier that has anyone waiting.
+ */
+public enum WaitlistTier {
+
+    /** Served first, for example staff travel or disrupted passengers. */
+    PRIORITY,
+
+    /** The default tier. */
+    STANDARD,
+
+    /** Served only when nobody in a higher tier is waiting. */
+    STANDBY
+}
@@ -0,0 +1,368 @@
+package bcu.cmp5332.bookingsystem.net;
+
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+
+/**
+ * The {@code BookingClient} class is a blocking Java client for the {@link BookingServer}.
+ * <p>
+ * The simple methods such as {@link #addBooking(int, int)} send one request and wait for its
+ * response. High-rate callers can instead queue requests with the {@code send*} methods, push
+ * them to the server with {@link #flush()} and collect the responses, in order, with
+ * {@link #receive()}. Pipelined batches should be bounded (a few hundred requests) and drained
+ * before the next batch is sent, because the server stops reading from a client whose responses
+ * are not being consumed. The client reuses one pair of direct buffers for its whole lifetime and
+ * is not thread-safe; use one client per thread.
+ * </p>
+ */
+public class BookingClient implements Closeable {
+
+    /** Capacity of the client's send and receive buffers. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /** Opcodes of requests that have been sent but not yet answered, in send order. */
+    private final ArrayDeque<Byte> pending = new ArrayDeque<>();
+
+    private int nextCorrelationId = 1;
+
+    /**
+     * The decoded response to a single request. Only the fields relevant to the request's opcode
+     * are populated.
+     */
+    public static final class Response {
+        private final int correlationId;
+        private final byte opcode;
+        private final boolean ok;
+        private String error;
+        private int bookingId;
+        private double amount;
+        private String details;
+        private int capacity;
+        private int booked;
+
+        Response(int correlationId, byte opcode, boolean ok) {
+            this.correlationId = correlationId;
+            this.opcode = opcode;
+            this.ok = ok;
+        }
+
+        /** @return the correlation ID of the request this response answers */
+        public int getCorrelationId() { return correlationId; }
+
+        /** @return the opcode of the request this response answers */
+        public byte getOpcode() { return opcode; }
+
+        /** @return {@code true} if the request succeeded */
+        public boolean isOk() { return ok; }
+
+        /** @return the error message of a failed request, or {@code null} */
+        public String getError() { return error; }
+
+        /** @return the ID of the booking created by an add-booking request */
+        public int getBookingId() { return bookingId; }
+
+        /** @return the fee of an add-booking request, the refund of a cancel request or the price of an availability query */
+        public double getAmount() { return amount; }
+
+        /** @return the flight details returned by a show-flight request */
+        public String getDetails() { return details; }
+
+        /** @return the flight capacity returned by an availability query */
+        public int getCapacity() { return capacity; }
+
+        /** @return the number of booked seats returned by an availability query */
+        public int getBooked() { return booked; }
+
+        /**
+         * Throws the server-side error of a failed request.
+         *
+         * @return this response, for chaining
+         * @throws FlightBookingSystemException if the request failed
+         */
+        public Response orThrow() throws FlightBookingSystemException {
+            if (!ok) {
+                throw new FlightBookingSystemException(error);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Opens a connection to a booking server.
+     *
+     * @param host the server host name
+     * @param port the server port
+     * @throws IOException if the connection cannot be established
+     */
+    public BookingClient(String host, int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.socket().setTcpNoDelay(true);
+        in.limit(0);
+    }
+
+    /**
+     * Books a flight and waits for the result.
+     *
+     * @param customerId the customer making the booking
+     * @param flightId   the flight to book
+     * @return the response carrying the new booking ID and fee
+     * @throws IOException if the connection fails
+     * @throws FlightBookingSystemException if the server rejects the booking
+     */
+    public Response addBooking(int customerId, int flightId) throws IOException, FlightBookingSystemException {
+        return addBooking(customerId, flightId, null);
+    }
+
+    /**
+     * Books a flight with an idempotency key and waits for the result. Retrying with the same key
+     * after a timeout returns the original booking rather than booking a second seat.
+     *
+     * @param customerId     the customer making the booking
+     * @param flightId       the flight to book
+     * @param idempotencyKey the key identifying this booking request, or {@code null} for none
+     * @return the response carrying the booking ID and fee
+     * @throws IOException if the connection fails
+     * @throws FlightBookingSystemException if the server rejects the booking
+     */
+    public Response addBooking(int customerId, int flightId, String idempotencyKey)
+            throws IOException, FlightBookingSystemException {
+        sendAddBooking(customerId, flightId, idempotencyKey);
+        return call();
+    }
+
+    /**
+     * Cancels a booking and waits for the result.
+     *
+     * @param bookingId       the booking to cancel
+     * @param cancellationFee the fee retained on cancellation
+     * @return the response carrying the refund amount
+     * @throws IOException if the connection fails
+     * @throws FlightBookingSystemException if the server rejects the cancellation
+     */
+    public Response cancelBooking(int bookingId, double cancellationFee) throws IOException, FlightBookingSystemException {
+        sendCancelBooking(bookingId, cancellationFee);
+        return call();
+    }
+
+    /**
+     * Fetches the long description of a flight.
+     *
+     * @param flightId the flight to describe
+     * @return the flight details
+     * @throws IOException if the connection fails
+     * @throws FlightBookingSystemException if the flight does not exist
+     */
+    public String showFlight(int flightId) throws IOException, FlightBookingSystemException {
+        sendShowFlight(flightId);
+        return call().getDetails();
+    }
+
+    /**
+     * Queries the capacity, booked seats and current price of a flight.
+     *
+     * @param flightId the flight to query
+     * @return the availability response
+     * @throws IOException if the connection fails
+     * @throws FlightBookingSystemException if the flight does not exist
+     */
+    public Response availability(int flightId) throws IOException, FlightBookingSystemException {
+        sendAvailability(flightId);
+        return call();
+    }
+
+    /**
+     * Queues an add-booking request without waiting for the response.
+     *
+     * @param customerId the customer making the booking
+     * @param flightId   the flight to book
+     * @return the correlation ID of the queued request
+     * @throws IOException if the send buffer had to be flushed and the write failed
+     */
+    public int sendAddBooking(int customerId, int flightId) throws IOException {
+        return sendAddBooking(customerId, flightId, null);
+    }
+
+    /**
+     * Queues an add-booking request carrying an idempotency key without waiting for the response.
+     *
+     * @param customerId     the customer making the booking
+     * @param flightId       the flight to book
+     * @param idempotencyKey the key identifying this booking request, or {@code null} for none
+     * @return the correlation ID of the queued request
+     * @throws IOException if the send buffer had to be flushed and the write failed
+     */
+    public int sendAddBooking(int customerId, int flightId, String idempotencyKey) throws IOException {
+        int id = beginRequest(BookingProtocol.OP_ADD_BOOKING, 8 + BookingProtocol.stringSize(idempotencyKey));
+        out.putInt(customerId);
+        out.putInt(flightId);
+        BookingProtocol.putString(out, idempotencyKey);
+        return id;
+    }
+
+    /**
+     * Queues a cancel-booking request without waiting for the response.
+     *
+     * @param bookingId       the booking to cancel
+     * @param cancellationFee the fee retained on cancellation
+     * @return the correlation ID of the queued request
+     * @throws IOException if the send buffer had to be flushed and the write failed
+     */
+    public int sendCancelBooking(int bookingId, double cancellationFee) throws IOException {
+        int id = beginRequest(BookingProtocol.OP_CANCEL_BOOKING, 12);
+        out.putInt(bookingId);
+        out.putDouble(cancellationFee);
+        return id;
+    }
+
+    /**
+     * Queues a show-flight request without waiting for the response.
+     *
+     * @param flightId the flight to describe
+     * @return the correlation ID of the queued request
+     * @throws IOException if the send buffer had to be flushed and the write failed
+     */
+    public int sendShowFlight(int flightId) throws IOException {
+        int id = beginRequest(BookingProtocol.OP_SHOW_FLIGHT, 4);
+        out.putInt(flightId);
+        return id;
+    }
+
+    /**
+     * Queues an availability query without waiting for the response.
+     *
+     * @param flightId the flight to query
+     * @return the correlation ID of the queued request
+     * @throws IOException if the send buffer had to be flushed and the write failed
+     */
+    public int sendAvailability(int flightId) throws IOException {
+        int id = beginRequest(BookingProtocol.OP_AVAILABILITY, 4);
+        out.putInt(flightId);
+        return id;
+    }
+
+    /**
+     * Writes every queued request to the server.
+     *
+     * @throws IOException if the write fails
+     */
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Returns the number of requests sent or queued whose responses have not been received.
+     *
+     * @return the number of outstanding requests
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Reads the next response from the server, flushing queued requests first if necessary.
+     *
+     * @return the next response in request order
+     * @throws IOException if the connection fails or no request is outstanding
+     */
+    public Response receive() throws IOException {
+        if (pending.isEmpty()) {
+            throw new IOException("No outstanding requests.");
+        }
+        if (out.position() > 0) {
+            flush();
+        }
+        fill(BookingProtocol.LENGTH_PREFIX);
+        int len = in.getInt(in.position());
+        if (len < BookingProtocol.HEADER_SIZE || len > BookingProtocol.MAX_FRAME_SIZE) {
+            throw new IOException("Invalid frame length: " + len);
+        }
+        fill(BookingProtocol.LENGTH_PREFIX + len);
+        in.getInt();
+        int correlationId = in.getInt();
+        byte status = in.get();
+        byte opcode = pending.poll();
+        Response response = new Response(correlationId, opcode, status == BookingProtocol.STATUS_OK);
+        if (!response.ok) {
+            response.error = BookingProtocol.getString(in);
+            return response;
+        }
+        switch (opcode) {
+            case BookingProtocol.OP_ADD_BOOKING:
+                response.bookingId = in.getInt();
+                response.amount = in.getDouble();
+                break;
+            case BookingProtocol.OP_CANCEL_BOOKING:
+                response.amount = in.getDouble();
+                break;
+            case BookingProtocol.OP_SHOW_FLIGHT:
+                response.details = BookingProtocol.getString(in);
+                break;
+            case BookingProtocol.OP_AVAILABILITY:
+                response.capacity = in.getInt();
+                response.booked = in.getInt();
+                response.amount = in.getDouble();
+                break;
+            default:
+                break;
+        }
+        return response;
+    }
+
+    /**
+     * Closes the connection to the server.
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Response call() throws IOException, FlightBookingSystemException {
+        flush();
+        return receive().orThrow();
+    }
+
+    private int beginRequest(byte opcode, int payloadSize) throws IOException {
+        int frameSize = BookingProtocol.LENGTH_PREFIX + BookingProtocol.HEADER_SIZE + payloadSize;
+        if (out.remaining() < frameSize) {
+            flush();
+        }
+        int id = nextCorrelationId++;
+        out.putInt(BookingProtocol.HEADER_SIZE + payloadSize);
+        out.putInt(id);
+        out.put(opcode);
+        pending.add(opcode);
+        return id;
+    }
+
+    /**
+     * Ensures that at least {@code needed} unread bytes are available in the receive buffer.
+     */
+    private void fill(int needed) throws IOException {
+        if (in.remaining() >= needed) {
+            return;
+        }
+        in.compact();
+        while (in.position() < needed) {
+            if (channel.read(in) < 0) {
+                throw new EOFException("Connection closed by server.");
+            }
+        }
+        in.flip();
+    }
+}
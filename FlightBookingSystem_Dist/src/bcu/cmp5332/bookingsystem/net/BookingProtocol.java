@@ -0,0 +1,101 @@
+package bcu.cmp5332.bookingsystem.net;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code BookingProtocol} class defines the length-prefixed binary protocol spoken between
+ * the {@link BookingServer} and the {@link BookingClient}.
+ * <p>
+ * Every frame starts with a 4-byte big-endian length that counts the bytes following it.
+ * A request frame then carries a 4-byte correlation ID chosen by the client, a 1-byte opcode
+ * and the opcode-specific payload. A response frame carries the same correlation ID, a 1-byte
+ * status and the payload. Clients may pipeline any number of requests on one connection;
+ * responses are always returned in request order.
+ * </p>
+ * <pre>
+ * request  : [int length][int correlationId][byte opcode][payload...]
+ * response : [int length][int correlationId][byte status][payload...]
+ * </pre>
+ * Strings are encoded as a 2-byte unsigned length followed by UTF-8 bytes.
+ */
+public final class BookingProtocol {
+
+    /**
+     * Books a flight. Payload: {@code int customerId, int flightId, string idempotencyKey}, where an
+     * empty key means none. Reply: {@code int bookingId, double fee}. Retrying with the same key
+     * returns the original booking.
+     */
+    public static final byte OP_ADD_BOOKING = 1;
+
+    /** Cancels a booking. Payload: {@code int bookingId, double cancellationFee}. Reply: {@code double refund}. */
+    public static final byte OP_CANCEL_BOOKING = 2;
+
+    /** Describes a flight. Payload: {@code int flightId}. Reply: {@code string details}. */
+    public static final byte OP_SHOW_FLIGHT = 3;
+
+    /** Queries seat availability. Payload: {@code int flightId}. Reply: {@code int capacity, int booked, double price}. */
+    public static final byte OP_AVAILABILITY = 4;
+
+    /** Response status for a request that completed successfully. */
+    public static final byte STATUS_OK = 0;
+
+    /** Response status for a request that failed; the payload is an error message string. */
+    public static final byte STATUS_ERROR = 1;
+
+    /** Size of the length prefix in bytes. */
+    public static final int LENGTH_PREFIX = 4;
+
+    /** Size of the fixed request/response header (correlation ID plus opcode or status). */
+    public static final int HEADER_SIZE = 5;
+
+    /** The largest frame body accepted by either side; larger frames close the connection. */
+    public static final int MAX_FRAME_SIZE = 16 * 1024;
+
+    /** The largest encoded string payload; longer strings are truncated to fit in one frame. */
+    public static final int MAX_STRING_BYTES = MAX_FRAME_SIZE - HEADER_SIZE - 2;
+
+    /** The default TCP port used by the booking server. */
+    public static final int DEFAULT_PORT = 7070;
+
+    private BookingProtocol() {
+    }
+
+    /**
+     * Writes a string as a 2-byte length followed by its UTF-8 bytes.
+     * Strings longer than {@link #MAX_STRING_BYTES} are truncated.
+     *
+     * @param buf   the buffer to write into
+     * @param value the string to write; {@code null} is written as an empty string
+     */
+    public static void putString(ByteBuffer buf, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        int len = Math.min(bytes.length, MAX_STRING_BYTES);
+        buf.putShort((short) len);
+        buf.put(bytes, 0, len);
+    }
+
+    /**
+     * Reads a string previously written with {@link #putString(ByteBuffer, String)}.
+     *
+     * @param buf the buffer to read from
+     * @return the decoded string
+     */
+    public static String getString(ByteBuffer buf) {
+        int len = buf.getShort() & 0xFFFF;
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the number of bytes {@link #putString(ByteBuffer, String)} will use for a value.
+     *
+     * @param value the string to measure
+     * @return the encoded size in bytes
+     */
+    public static int stringSize(String value) {
+        int len = value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+        return 2 + Math.min(len, MAX_STRING_BYTES);
+    }
+}
@@ -0,0 +1,384 @@
+package bcu.cmp5332.bookingsystem.net;
+
+import bcu.cmp5332.bookingsystem.admission.AdmissionController;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * The {@code BookingServer} class is a non-blocking TCP server that exposes booking operations
+ * of a {@link FlightBookingSystem} over the {@link BookingProtocol}.
+ * <p>
+ * A single selector thread accepts connections, reads pipelined request frames, dispatches them
+ * into the booking system and writes the responses back. Each connection borrows a pair of
+ * direct {@link ByteBuffer}s from a pool that is owned by the selector thread, so steady-state
+ * request handling allocates no I/O buffers. When a client stops reading its responses the
+ * server stops decoding that client's requests until the pending output has been flushed.
+ * </p>
+ * Calls into the booking system are made while holding the system's monitor, so other threads
+ * that want to share the instance safely should synchronize on it as well. When an
+ * {@link AdmissionController} is supplied, booking requests that exceed its limits are answered
+ * with an error frame straight away; the selector thread never waits for a token.
+ */
+public class BookingServer implements Closeable {
+
+    /** Capacity of each pooled connection buffer. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The booking system requests are dispatched into. */
+    private final FlightBookingSystem fbs;
+
+    /** The port requested by the caller; {@code 0} selects an ephemeral port. */
+    private final int requestedPort;
+
+    /** Rate limits applied to booking requests, or {@code null} for none. */
+    private final AdmissionController admission;
+
+    /** Direct buffers released by closed connections, reused by new ones. */
+    private final ArrayDeque<ByteBuffer> bufferPool = new ArrayDeque<>();
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread selectorThread;
+    private volatile boolean running;
+
+    /**
+     * Per-connection state: the channel plus its input and output buffers.
+     * The input buffer is kept in write mode between reads; the output buffer is kept in write mode
+     * between flushes.
+     */
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in;
+        final ByteBuffer out;
+
+        Connection(SocketChannel channel, ByteBuffer in, ByteBuffer out) {
+            this.channel = channel;
+            this.in = in;
+            this.out = out;
+        }
+    }
+
+    /**
+     * Constructs a {@code BookingServer} for the given booking system.
+     *
+     * @param fbs  the booking system to serve
+     * @param port the TCP port to listen on, or {@code 0} for an ephemeral port
+     */
+    public BookingServer(FlightBookingSystem fbs, int port) {
+        this(fbs, port, null);
+    }
+
+    /**
+     * Constructs a {@code BookingServer} that applies the given admission limits to booking requests.
+     *
+     * @param fbs       the booking system to serve
+     * @param port      the TCP port to listen on, or {@code 0} for an ephemeral port
+     * @param admission the admission controller to consult, or {@code null} for no limits
+     */
+    public BookingServer(FlightBookingSystem fbs, int port, AdmissionController admission) {
+        this.fbs = fbs;
+        this.requestedPort = port;
+        this.admission = admission;
+    }
+
+    /**
+     * Binds the listening socket and starts the selector thread.
+     *
+     * @throws IOException if the socket cannot be opened or bound
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress(requestedPort));
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        selectorThread = new Thread(this::runLoop, "booking-server");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the bound port, or {@code -1} if the server has not been started
+     */
+    public int getPort() {
+        return serverChannel == null ? -1 : serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Stops the selector thread and closes every open connection.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join(2000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runLoop() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        try {
+                            accept();
+                        } catch (IOException ex) {
+                            // Typically out of file descriptors; existing clients keep being served and
+                            // the pending connection is retried on the next select.
+                            System.err.println("Booking server could not accept a connection: " + ex.getMessage());
+                        }
+                        continue;
+                    }
+                    try {
+                        Connection conn = (Connection) key.attachment();
+                        if (key.isWritable()) {
+                            onWritable(key, conn);
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            onReadable(key, conn);
+                        }
+                    } catch (IOException | RuntimeException ex) {
+                        // Drop only the connection that failed; the server goes on serving the others.
+                        closeConnection(key);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            System.err.println("Booking server stopped: " + ex.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeConnection(key);
+            }
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException ex) {
+                // Ignore errors while shutting down
+            }
+            running = false;
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Connection conn = new Connection(channel, borrowBuffer(), borrowBuffer());
+            channel.register(selector, SelectionKey.OP_READ, conn);
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private void onReadable(SelectionKey key, Connection conn) throws IOException {
+        int n = conn.channel.read(conn.in);
+        if (n < 0) {
+            closeConnection(key);
+            return;
+        }
+        processFrames(key, conn);
+    }
+
+    private void onWritable(SelectionKey key, Connection conn) throws IOException {
+        flush(key, conn);
+        if (conn.out.position() == 0) {
+            // Output drained: resume decoding any requests that were held back.
+            processFrames(key, conn);
+        }
+    }
+
+    /**
+     * Decodes every complete request frame in the connection's input buffer, dispatching each one
+     * and appending its response to the output buffer, then flushes the responses.
+     */
+    private void processFrames(SelectionKey key, Connection conn) throws IOException {
+        ByteBuffer in = conn.in;
+        ByteBuffer out = conn.out;
+        in.flip();
+        while (in.remaining() >= BookingProtocol.LENGTH_PREFIX) {
+            int start = in.position();
+            int len = in.getInt(start);
+            if (len < BookingProtocol.HEADER_SIZE || len > BookingProtocol.MAX_FRAME_SIZE) {
+                closeConnection(key);
+                return;
+            }
+            if (in.remaining() < BookingProtocol.LENGTH_PREFIX + len) {
+                break;
+            }
+            if (out.remaining() < BookingProtocol.LENGTH_PREFIX + BookingProtocol.MAX_FRAME_SIZE) {
+                break;
+            }
+            int end = start + BookingProtocol.LENGTH_PREFIX + len;
+            int limit = in.limit();
+            in.position(start + BookingProtocol.LENGTH_PREFIX);
+            in.limit(end);
+            int correlationId = in.getInt();
+            byte opcode = in.get();
+            dispatch(correlationId, opcode, in, out);
+            in.limit(limit);
+            in.position(end);
+        }
+        in.compact();
+        flush(key, conn);
+    }
+
+    /**
+     * Writes as much pending output as the socket accepts and updates the key's interest set.
+     * Reads are only requested while the input buffer has space and the output buffer can take a
+     * maximum-size response; otherwise a readable socket would wake the selector without any
+     * progress being possible. {@link #onWritable} restores read interest once output drains.
+     */
+    private void flush(SelectionKey key, Connection conn) throws IOException {
+        ByteBuffer out = conn.out;
+        out.flip();
+        conn.channel.write(out);
+        out.compact();
+        int ops = 0;
+        if (out.position() > 0) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        if (conn.in.hasRemaining()
+                && out.remaining() >= BookingProtocol.LENGTH_PREFIX + BookingProtocol.MAX_FRAME_SIZE) {
+            ops |= SelectionKey.OP_READ;
+        }
+        key.interestOps(ops);
+    }
+
+    /**
+     * Executes a single request against the booking system and encodes its response.
+     *
+     * @param correlationId the client-chosen request ID echoed in the response
+     * @param opcode        the requested operation
+     * @param payload       the request payload, limited to the current frame
+     * @param out           the buffer the response is written to
+     */
+    private void dispatch(int correlationId, byte opcode, ByteBuffer payload, ByteBuffer out) {
+        int lengthPos = out.position();
+        out.putInt(0);
+        out.putInt(correlationId);
+        int statusPos = out.position();
+        out.put(BookingProtocol.STATUS_OK);
+        try {
+            synchronized (fbs) {
+                switch (opcode) {
+                    case BookingProtocol.OP_ADD_BOOKING: {
+                        int customerId = payload.getInt();
+                        int flightId = payload.getInt();
+                        String key = BookingProtocol.getString(payload);
+                        if (admission != null) {
+                            // Only real customers get a rate-limit bucket.
+                            fbs.getCustomerByID(customerId);
+                            admission.tryAdmit(customerId);
+                        }
+                        Booking booking = fbs.addBooking(customerId, flightId, LocalDate.now(),
+                                key.isEmpty() ? null : key);
+                        out.putInt(booking.getId());
+                        out.putDouble(booking.getBookingFee());
+                        break;
+                    }
+                    case BookingProtocol.OP_CANCEL_BOOKING: {
+                        int bookingId = payload.getInt();
+                        double cancellationFee = payload.getDouble();
+                        Booking booking = fbs.getBookingByID(bookingId);
+                        double refund = Math.max(0, booking.getBookingFee() - cancellationFee);
+                        fbs.cancelBooking(bookingId, cancellationFee);
+                        out.putDouble(refund);
+                        break;
+                    }
+                    case BookingProtocol.OP_SHOW_FLIGHT: {
+                        Flight flight = fbs.getFlightByID(payload.getInt());
+                        BookingProtocol.putString(out, flight.getDetailsLong());
+                        break;
+                    }
+                    case BookingProtocol.OP_AVAILABILITY: {
+                        Flight flight = fbs.getFlightByID(payload.getInt());
+                        out.putInt(flight.getCapacity());
+                        out.putInt(flight.getPassengerCount());
+                        out.putDouble(flight.calculatePrice(LocalDate.now()));
+                        break;
+                    }
+                    default:
+                        throw new FlightBookingSystemException("Unknown opcode: " + opcode);
+                }
+            }
+        } catch (FlightBookingSystemException ex) {
+            writeError(out, statusPos, ex.getMessage());
+        } catch (BufferUnderflowException ex) {
+            writeError(out, statusPos, "Malformed request.");
+        } catch (RuntimeException ex) {
+            // A bug in one request must not stop the server for every client.
+            writeError(out, statusPos, "Internal error: " + ex);
+        }
+        out.putInt(lengthPos, out.position() - lengthPos - BookingProtocol.LENGTH_PREFIX);
+    }
+
+    private static void writeError(ByteBuffer out, int statusPos, String message) {
+        out.position(statusPos);
+        out.put(BookingProtocol.STATUS_ERROR);
+        BookingProtocol.putString(out, message);
+    }
+
+    private void closeConnection(SelectionKey key) {
+        key.cancel();
+        Object attachment = key.attachment();
+        try {
+            key.channel().close();
+        } catch (IOException ex) {
+            // Ignore errors while closing a connection
+        }
+        if (attachment instanceof Connection) {
+            Connection conn = (Connection) attachment;
+            key.attach(null);
+            releaseBuffer(conn.in);
+            releaseBuffer(conn.out);
+        }
+    }
+
+    private ByteBuffer borrowBuffer() {
+        ByteBuffer buf = bufferPool.poll();
+        return buf != null ? buf : ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    private void releaseBuffer(ByteBuffer buf) {
+        buf.clear();
+        bufferPool.push(buf);
+    }
+}
@@ -0,0 +1,171 @@
+package bcu.cmp5332.bookingsystem.replication;
+
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.ChangeEvent;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code ReplicationFollower} class keeps a {@link FlightBookingSystem} in step with a primary
+ * by applying the changes streamed by its {@link ReplicationLeader}.
+ * <p>
+ * The follower's system should start empty: the leader begins with a snapshot of its state and
+ * carries on with every change after it. Changes are applied in order on a single thread with
+ * {@link FlightBookingSystem#applyChange(ChangeEvent)}, which holds the system's monitor, so
+ * readers that synchronize on the system always see the state after a whole change. Each applied
+ * sequence number is acknowledged back to the leader.
+ * </p>
+ * <p>
+ * If the connection drops, or a change cannot be applied because the state has diverged, the
+ * follower stops; it does not reconnect, since resuming would need a fresh snapshot on an empty
+ * system.
+ * </p>
+ */
+public class ReplicationFollower implements Closeable {
+
+    private final FlightBookingSystem fbs;
+    private final String host;
+    private final int port;
+    // Waited on by awaitSequence and notified after each applied change and on disconnect.
+    private final Object appliedLock = new Object();
+
+    private Socket socket;
+    private volatile long appliedSequence;
+    private volatile boolean connected;
+    private volatile String failure;
+
+    /**
+     * Constructs a follower of a leader on this host, which is where leaders listen.
+     *
+     * @param fbs  the follower's booking system, normally empty
+     * @param port the leader's replication port
+     */
+    public ReplicationFollower(FlightBookingSystem fbs, int port) {
+        this(fbs, InetAddress.getLoopbackAddress().getHostAddress(), port);
+    }
+
+    /**
+     * Constructs a follower that will apply a leader's changes to the given system.
+     *
+     * @param fbs  the follower's booking system, normally empty
+     * @param host the leader's host name
+     * @param port the leader's replication port
+     */
+    public ReplicationFollower(FlightBookingSystem fbs, String host, int port) {
+        this.fbs = fbs;
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Connects to the leader and starts applying its changes.
+     *
+     * @throws IOException if the leader cannot be reached
+     */
+    public synchronized void start() throws IOException {
+        if (socket != null) {
+            return;
+        }
+        socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        connected = true;
+        Thread thread = new Thread(this::run, "replication-follower");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                ChangeEvent event = ChangeEvent.decode(line);
+                fbs.applyChange(event);
+                appliedSequence = event.getSequence();
+                synchronized (appliedLock) {
+                    appliedLock.notifyAll();
+                }
+                out.write(Long.toString(event.getSequence()));
+                out.write('\n');
+                // Acknowledge once per batch of changes that arrived together.
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+        } catch (FlightBookingSystemException ex) {
+            failure = ex.getMessage();
+            System.err.println("Replication stopped: " + ex.getMessage());
+        } catch (IOException ex) {
+            if (connected) {
+                failure = ex.getMessage();
+            }
+        } finally {
+            connected = false;
+            close();
+            synchronized (appliedLock) {
+                appliedLock.notifyAll();
+            }
+        }
+    }
+
+    /** @return the sequence number of the latest change applied */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /** @return {@code true} while the follower is connected to its leader */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /** @return why the follower stopped, or {@code null} if it is running or was closed */
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * Waits until the change with the given sequence number has been applied.
+     *
+     * @param sequence      the sequence number
+     * @param timeoutMillis the longest time to wait
+     * @return {@code true} if the change was applied in time
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean awaitSequence(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (appliedLock) {
+            while (appliedSequence < sequence) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0 || !connected) {
+                    return appliedSequence >= sequence;
+                }
+                appliedLock.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Disconnects from the leader. The state applied so far is kept.
+     */
+    @Override
+    public synchronized void close() {
+        connected = false;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ex) {
+                // Ignore errors while closing the connection
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package bcu.cmp5332.bookingsystem.replication;
+
+import bcu.cmp5332.bookingsystem.model.ChangeEvent;
+import bcu.cmp5332.bookingsystem.model.ChangeListener;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * The {@code ReplicationLeader} class streams the ordered change log of a primary
+ * {@link FlightBookingSystem} over TCP to any number of {@link ReplicationFollower}s.
+ * <p>
+ * A follower that connects is first sent a snapshot of the current state, taken under the
+ * system's monitor together with its registration, so no change falls between the snapshot and
+ * the live log. Every later change is queued for each follower by the change listener, which
+ * never blocks, and written by a sender thread per follower. Followers answer with the sequence
+ * number of each change they have applied, from which the leader reports their lag.
+ * </p>
+ * <p>
+ * The wire format is one {@link ChangeEvent#encode() encoded change} per line from the leader
+ * and one sequence number per line from the follower, in UTF-8. A follower that falls more than
+ * {@link #MAX_QUEUED_CHANGES} changes behind is disconnected and must be restarted to resync.
+ * </p>
+ * <p>
+ * The log carries every customer record, stored passwords included, and followers are not
+ * authenticated, so the leader listens on the loopback interface only. Followers run on the same
+ * host, or reach it through a tunnel the operator sets up.
+ * </p>
+ */
+public class ReplicationLeader implements ChangeListener, Closeable {
+
+    /** The default TCP port followers connect to. */
+    public static final int DEFAULT_PORT = 7071;
+
+    /** The most changes queued for one follower before it is disconnected. */
+    public static final int MAX_QUEUED_CHANGES = 1 << 20;
+
+    private final FlightBookingSystem fbs;
+    private final int requestedPort;
+    private final List<FollowerLink> followers = new CopyOnWriteArrayList<>();
+    // Waited on by awaitFollowers and notified whenever a follower acknowledges or leaves.
+    private final Object ackLock = new Object();
+
+    private ServerSocket serverSocket;
+    private Thread acceptThread;
+    private volatile boolean running;
+
+    /**
+     * One connected follower: its socket, its queue of changes still to send and the latest
+     * sequence number it has acknowledged.
+     */
+    private final class FollowerLink {
+        final Socket socket;
+        final BlockingQueue<ChangeEvent> queue = new LinkedBlockingQueue<>();
+        volatile long acknowledged;
+        private Thread sender;
+
+        FollowerLink(Socket socket) {
+            this.socket = socket;
+        }
+
+        void start() {
+            sender = new Thread(this::send, "replication-sender-" + socket.getPort());
+            sender.setDaemon(true);
+            sender.start();
+            Thread receiver = new Thread(this::receiveAcks, "replication-acks-" + socket.getPort());
+            receiver.setDaemon(true);
+            receiver.start();
+        }
+
+        void offer(ChangeEvent event) {
+            if (queue.size() >= MAX_QUEUED_CHANGES) {
+                System.err.println("Replication follower " + socket.getRemoteSocketAddress() + " fell too far behind.");
+                close();
+                return;
+            }
+            queue.add(event);
+        }
+
+        /** Writes queued changes, flushing whenever the queue runs dry. */
+        private void send() {
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+                while (running) {
+                    ChangeEvent event = queue.take();
+                    do {
+                        out.write(event.encode());
+                        out.write('\n');
+                        event = queue.poll();
+                    } while (event != null);
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException ex) {
+                // The follower went away or the leader is closing.
+            } finally {
+                close();
+            }
+        }
+
+        private void receiveAcks() {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    acknowledged = Long.parseLong(line.trim());
+                    synchronized (ackLock) {
+                        ackLock.notifyAll();
+                    }
+                }
+            } catch (IOException | NumberFormatException ex) {
+                // Treated as a disconnect.
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            if (followers.remove(this)) {
+                try {
+                    socket.close();
+                } catch (IOException ex) {
+                    // Ignore errors while closing a connection
+                }
+                if (sender != null) {
+                    sender.interrupt();
+                }
+                synchronized (ackLock) {
+                    ackLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Constructs a leader for the given booking system.
+     *
+     * @param fbs  the primary booking system
+     * @param port the TCP port to listen on, or {@code 0} for an ephemeral port
+     */
+    public ReplicationLeader(FlightBookingSystem fbs, int port) {
+        this.fbs = fbs;
+        this.requestedPort = port;
+    }
+
+    /**
+     * Binds the listening socket on the loopback interface, starts accepting followers and starts
+     * following the system's changes.
+     *
+     * @throws IOException if the socket cannot be opened or bound
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort));
+        running = true;
+        fbs.addChangeListener(this);
+        acceptThread = new Thread(this::acceptLoop, "replication-leader");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    /**
+     * Returns the port the leader is listening on.
+     *
+     * @return the bound port, or {@code -1} if the leader has not been started
+     */
+    public int getPort() {
+        return serverSocket == null ? -1 : serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                FollowerLink link = new FollowerLink(socket);
+                synchronized (fbs) {
+                    link.queue.addAll(fbs.snapshotChanges());
+                    followers.add(link);
+                }
+                link.start();
+            } catch (IOException ex) {
+                if (running) {
+                    System.err.println("Replication leader failed to accept a follower: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues a change for every connected follower. Called by the booking system while its monitor
+     * is held.
+     *
+     * @param event the change
+     */
+    @Override
+    public void changed(ChangeEvent event) {
+        for (FollowerLink link : followers) {
+            link.offer(event);
+        }
+    }
+
+    /** @return the number of connected followers */
+    public int getFollowerCount() {
+        return followers.size();
+    }
+
+    /**
+     * Returns the latest sequence number acknowledged by each connected follower.
+     *
+     * @return the acknowledged sequence numbers, in connection order
+     */
+    public List<Long> getAcknowledgedSequences() {
+        List<Long> result = new ArrayList<>();
+        for (FollowerLink link : followers) {
+            result.add(link.acknowledged);
+        }
+        return result;
+    }
+
+    /**
+     * Returns how many changes the slowest connected follower has yet to acknowledge.
+     *
+     * @return the lag in changes, or {@code 0} if no follower is connected
+     */
+    public long getMaxLag() {
+        long latest = fbs.getChangeSequence();
+        long lag = 0;
+        for (FollowerLink link : followers) {
+            lag = Math.max(lag, latest - link.acknowledged);
+        }
+        return lag;
+    }
+
+    /**
+     * Waits until at least {@code count} followers are connected and have all acknowledged the
+     * given sequence number.
+     *
+     * @param count         the number of followers to wait for
+     * @param sequence      the sequence number they must have applied
+     * @param timeoutMillis the longest time to wait
+     * @return {@code true} if they caught up in time
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean awaitFollowers(int count, long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (ackLock) {
+            while (true) {
+                int caughtUp = 0;
+                for (FollowerLink link : followers) {
+                    if (link.acknowledged >= sequence) {
+                        caughtUp++;
+                    }
+                }
+                if (caughtUp >= count) {
+                    return true;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                ackLock.wait(remaining);
+            }
+        }
+    }
+
+    /**
+     * Stops following changes, stops accepting followers and disconnects the connected ones.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        fbs.removeChangeListener(this);
+        try {
+            serverSocket.close();
+        } catch (IOException ex) {
+            // Ignore errors while shutting down
+        }
+        for (FollowerLink link : followers) {
+            link.close();
+        }
+    }
+}
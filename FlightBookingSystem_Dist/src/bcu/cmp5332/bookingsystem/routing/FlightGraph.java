@@ -0,0 +1,126 @@
+package bcu.cmp5332.bookingsystem.routing;
+
+import bcu.cmp5332.bookingsystem.model.Flight;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code FlightGraph} class is an immutable, time-aware graph of flights used for route
+ * planning.
+ * <p>
+ * Airports are the nodes, identified by their interned location codes, and each flight is an edge
+ * from its origin to its destination on its departure date. The departures of each airport are
+ * stored in arrays sorted by date, so the flights leaving an airport within a range of dates are
+ * found with one binary search. Each flight's fare for the given booking date is worked out once
+ * when the graph is built.
+ * </p>
+ */
+public class FlightGraph {
+
+    private static final Flight[] NO_FLIGHTS = new Flight[0];
+
+    /** Departures of each airport, sorted by departure date. */
+    private final Map<Integer, Flight[]> departures = new HashMap<>();
+
+    /** Departure dates as epoch days, parallel to {@link #departures}. */
+    private final Map<Integer, long[]> departureDays = new HashMap<>();
+
+    /** Fares on the booking date, parallel to {@link #departures}. */
+    private final Map<Integer, double[]> fares = new HashMap<>();
+
+    private final int flightCount;
+
+    /**
+     * Builds a graph from the given flights.
+     *
+     * @param flights     the flights to include; deleted flights should already be excluded
+     * @param bookingDate the date fares are calculated for
+     */
+    public FlightGraph(Collection<Flight> flights, LocalDate bookingDate) {
+        Map<Integer, List<Flight>> byOrigin = new HashMap<>();
+        for (Flight flight : flights) {
+            byOrigin.computeIfAbsent(flight.getOriginCode(), k -> new ArrayList<>()).add(flight);
+        }
+        for (Map.Entry<Integer, List<Flight>> entry : byOrigin.entrySet()) {
+            Flight[] sorted = entry.getValue().toArray(NO_FLIGHTS);
+            Arrays.sort(sorted, Comparator.comparing(Flight::getDepartureDate));
+            long[] days = new long[sorted.length];
+            double[] prices = new double[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                days[i] = sorted[i].getDepartureDate().toEpochDay();
+                prices[i] = sorted[i].calculatePrice(bookingDate);
+            }
+            departures.put(entry.getKey(), sorted);
+            departureDays.put(entry.getKey(), days);
+            fares.put(entry.getKey(), prices);
+        }
+        this.flightCount = flights.size();
+    }
+
+    /**
+     * Returns the departures of an airport, sorted by departure date.
+     *
+     * @param airport the airport's location code
+     * @return the departing flights; empty if there are none
+     */
+    Flight[] departuresFrom(int airport) {
+        Flight[] result = departures.get(airport);
+        return result == null ? NO_FLIGHTS : result;
+    }
+
+    /**
+     * Returns the departure dates of an airport's flights as epoch days.
+     *
+     * @param airport the airport's location code
+     * @return the dates, parallel to {@link #departuresFrom(int)}
+     */
+    long[] departureDaysFrom(int airport) {
+        return departureDays.get(airport);
+    }
+
+    /**
+     * Returns the fares of an airport's flights.
+     *
+     * @param airport the airport's location code
+     * @return the fares, parallel to {@link #departuresFrom(int)}
+     */
+    double[] faresFrom(int airport) {
+        return fares.get(airport);
+    }
+
+    /**
+     * Returns the index of the first departure from an airport on or after the given day.
+     *
+     * @param days     the airport's sorted departure days
+     * @param epochDay the earliest day wanted
+     * @return the index of the first such departure, or {@code days.length} if there is none
+     */
+    static int firstOnOrAfter(long[] days, long epochDay) {
+        int lo = 0;
+        int hi = days.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] < epochDay) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the number of flights in the graph.
+     *
+     * @return the flight count
+     */
+    public int getFlightCount() {
+        return flightCount;
+    }
+}
@@ -0,0 +1,66 @@
+package bcu.cmp5332.bookingsystem.routing;
+
+import bcu.cmp5332.bookingsystem.model.Flight;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code Itinerary} class is a journey of one or more connecting flights found by the
+ * {@link RoutePlanner}, together with its total fare.
+ */
+public class Itinerary {
+
+    /** The flights of the journey, in travel order. */
+    private final List<Flight> legs;
+
+    /** The sum of the fares of all legs at the time the itinerary was planned. */
+    private final double totalPrice;
+
+    /**
+     * Constructs an itinerary.
+     *
+     * @param legs       the flights of the journey, in travel order
+     * @param totalPrice the total fare of the journey
+     */
+    public Itinerary(List<Flight> legs, double totalPrice) {
+        this.legs = Collections.unmodifiableList(legs);
+        this.totalPrice = totalPrice;
+    }
+
+    /** @return the flights of the journey, in travel order */
+    public List<Flight> getLegs() { return legs; }
+
+    /** @return the total fare of the journey */
+    public double getTotalPrice() { return totalPrice; }
+
+    /** @return the number of connections, one fewer than the number of legs */
+    public int getConnections() { return legs.size() - 1; }
+
+    /** @return the departure date of the first leg */
+    public LocalDate getDepartureDate() { return legs.get(0).getDepartureDate(); }
+
+    /** @return the departure date of the last leg, which is also the arrival date */
+    public LocalDate getArrivalDate() { return legs.get(legs.size() - 1).getDepartureDate(); }
+
+    /**
+     * Returns a multi-line description of the itinerary, one line per leg.
+     *
+     * @return the itinerary details
+     */
+    public String getDetails() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(legs.get(0).getOrigin()).append(" to ").append(legs.get(legs.size() - 1).getDestination())
+          .append(", ").append(legs.size()).append(legs.size() == 1 ? " leg" : " legs")
+          .append(", Total Price: $").append(String.format("%.2f", totalPrice));
+        for (Flight flight : legs) {
+            sb.append("\n  ").append(flight.getDetailsShort());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getDetails();
+    }
+}
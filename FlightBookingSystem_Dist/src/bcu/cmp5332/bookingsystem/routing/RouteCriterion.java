@@ -0,0 +1,13 @@
+package bcu.cmp5332.bookingsystem.routing;
+
+/**
+ * The {@code RouteCriterion} enum selects what the {@link RoutePlanner} optimises for.
+ */
+public enum RouteCriterion {
+
+    /** The lowest total fare; ties are broken by earliest arrival, then fewest legs. */
+    CHEAPEST,
+
+    /** The earliest arrival date; ties are broken by lowest total fare, then fewest legs. */
+    FASTEST
+}
@@ -0,0 +1,264 @@
+package bcu.cmp5332.bookingsystem.routing;
+
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.AirportDictionary;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code RoutePlanner} class finds the cheapest or fastest itinerary between two locations,
+ * allowing a limited number of connections.
+ * <p>
+ * The search is a label-setting Dijkstra search over a {@link FlightGraph}. A label is a partial
+ * journey ending at an airport: its fare so far, its arrival date and its number of legs. Labels
+ * are taken from a priority queue in order of the chosen {@link RouteCriterion}, so the first
+ * label that reaches the destination is optimal. A label is dropped when another journey reaches
+ * the same airport no later, no dearer and with no more legs. Since flights only carry a date,
+ * the first leg must depart on the requested date and each connection must depart on the day the
+ * previous leg arrives or up to {@link #MAX_LAYOVER_DAYS} days later. Full flights are skipped.
+ * </p>
+ * <p>
+ * The graph is rebuilt and the result cache emptied whenever flights are added, removed or
+ * deleted. A cached itinerary is also replanned if one of its flights has since been removed
+ * or has filled up. A result whose search passed over a full flight is not cached at all, since
+ * a cancellation or an expired hold on that flight could give a better answer.
+ * </p>
+ */
+public class RoutePlanner {
+
+    /** The longest wait, in days, allowed between two connecting flights. */
+    public static final int MAX_LAYOVER_DAYS = 2;
+
+    /** The number of query results kept in the cache. */
+    private static final int CACHE_SIZE = 1024;
+
+    private final FlightBookingSystem fbs;
+
+    private FlightGraph graph;
+    private long graphVersion = -1;
+
+    /** Recently planned results, in least-recently-used order. An empty result is cached too. */
+    private final Map<String, Optional<Itinerary>> cache = new LinkedHashMap<String, Optional<Itinerary>>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Optional<Itinerary>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private int cacheHits;
+    private int cacheMisses;
+
+    /** A partial journey ending at an airport. */
+    private static final class Label {
+        final int airport;
+        final long day;
+        final int legs;
+        final double cost;
+        final Flight flight;
+        final Label previous;
+
+        Label(int airport, long day, int legs, double cost, Flight flight, Label previous) {
+            this.airport = airport;
+            this.day = day;
+            this.legs = legs;
+            this.cost = cost;
+            this.flight = flight;
+            this.previous = previous;
+        }
+
+        boolean dominates(Label other) {
+            return cost <= other.cost && day <= other.day && legs <= other.legs;
+        }
+    }
+
+    private static final Comparator<Label> BY_COST = Comparator.<Label>comparingDouble(l -> l.cost)
+            .thenComparingLong(l -> l.day).thenComparingInt(l -> l.legs);
+
+    private static final Comparator<Label> BY_ARRIVAL = Comparator.<Label>comparingLong(l -> l.day)
+            .thenComparingDouble(l -> l.cost).thenComparingInt(l -> l.legs);
+
+    /**
+     * Constructs a route planner over the active flights of a booking system.
+     *
+     * @param fbs the flight booking system
+     */
+    public RoutePlanner(FlightBookingSystem fbs) {
+        this.fbs = fbs;
+    }
+
+    /**
+     * Finds the best itinerary from one location to another.
+     *
+     * @param origin         the location to depart from
+     * @param destination    the location to arrive at
+     * @param departureDate  the date the first flight must depart
+     * @param maxConnections the largest number of connections allowed
+     * @param criterion      what to optimise for
+     * @return the best itinerary, or {@code null} if there is none
+     * @throws FlightBookingSystemException if a location is unknown or the arguments are invalid
+     */
+    public synchronized Itinerary findItinerary(String origin, String destination, LocalDate departureDate,
+                                                int maxConnections, RouteCriterion criterion)
+            throws FlightBookingSystemException {
+        int originCode = AirportDictionary.lookup(origin);
+        int destinationCode = AirportDictionary.lookup(destination);
+        if (originCode == AirportDictionary.UNKNOWN) {
+            throw new FlightBookingSystemException("No flights depart from " + origin + ".");
+        }
+        if (destinationCode == AirportDictionary.UNKNOWN) {
+            throw new FlightBookingSystemException("No flights arrive at " + destination + ".");
+        }
+        if (originCode == destinationCode) {
+            throw new FlightBookingSystemException("Origin and destination must differ.");
+        }
+        if (maxConnections < 0) {
+            throw new FlightBookingSystemException("Maximum connections cannot be negative.");
+        }
+
+        if (graphVersion != fbs.getFlightsVersion()) {
+            graphVersion = fbs.getFlightsVersion();
+            graph = new FlightGraph(fbs.getFlights(), fbs.getSystemDate());
+            cache.clear();
+        }
+
+        String key = originCode + ":" + destinationCode + ":" + departureDate + ":" + maxConnections + ":" + criterion;
+        Optional<Itinerary> cached = cache.get(key);
+        if (cached != null && (!cached.isPresent() || isBookable(cached.get()))) {
+            cacheHits++;
+            return cached.orElse(null);
+        }
+        cacheMisses++;
+        boolean[] skippedFull = new boolean[1];
+        Itinerary result = search(graph, originCode, destinationCode, departureDate, maxConnections, criterion,
+                skippedFull);
+        if (skippedFull[0]) {
+            // The result depends on seat counts, which change without bumping the flights version.
+            cache.remove(key);
+        } else {
+            cache.put(key, Optional.ofNullable(result));
+        }
+        return result;
+    }
+
+    /**
+     * Searches a flight graph for the best itinerary between two airports.
+     *
+     * @param graph           the graph to search
+     * @param originCode      the location code to depart from
+     * @param destinationCode the location code to arrive at
+     * @param departureDate   the date the first flight must depart
+     * @param maxConnections  the largest number of connections allowed
+     * @param criterion       what to optimise for
+     * @return the best itinerary, or {@code null} if there is none
+     */
+    public static Itinerary search(FlightGraph graph, int originCode, int destinationCode, LocalDate departureDate,
+                                   int maxConnections, RouteCriterion criterion) {
+        return search(graph, originCode, destinationCode, departureDate, maxConnections, criterion, new boolean[1]);
+    }
+
+    /**
+     * Searches a flight graph for the best itinerary between two airports, noting whether a full
+     * flight was passed over on the way.
+     *
+     * @param skippedFull set to {@code true} in its first element if a full flight was skipped
+     * @see #search(FlightGraph, int, int, LocalDate, int, RouteCriterion)
+     */
+    private static Itinerary search(FlightGraph graph, int originCode, int destinationCode, LocalDate departureDate,
+                                    int maxConnections, RouteCriterion criterion, boolean[] skippedFull) {
+        int maxLegs = maxConnections + 1;
+        PriorityQueue<Label> queue = new PriorityQueue<>(criterion == RouteCriterion.CHEAPEST ? BY_COST : BY_ARRIVAL);
+        Map<Integer, List<Label>> settled = new HashMap<>();
+        Label start = new Label(originCode, departureDate.toEpochDay(), 0, 0.0, null, null);
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            Label label = queue.poll();
+            if (label.airport == destinationCode) {
+                return toItinerary(label);
+            }
+            List<Label> atAirport = settled.computeIfAbsent(label.airport, k -> new ArrayList<>(4));
+            if (isDominated(atAirport, label)) {
+                continue;
+            }
+            atAirport.add(label);
+            if (label.legs == maxLegs) {
+                continue;
+            }
+
+            Flight[] flights = graph.departuresFrom(label.airport);
+            if (flights.length == 0) {
+                continue;
+            }
+            long[] days = graph.departureDaysFrom(label.airport);
+            double[] fares = graph.faresFrom(label.airport);
+            // The first flight departs on the requested date; connections may wait a few days.
+            long lastDay = label == start ? label.day : label.day + MAX_LAYOVER_DAYS;
+            for (int i = FlightGraph.firstOnOrAfter(days, label.day); i < flights.length && days[i] <= lastDay; i++) {
+                Flight flight = flights[i];
+                int next = flight.getDestinationCode();
+                if (next == originCode) {
+                    continue;
+                }
+                if (flight.getAvailableSeats() <= 0) {
+                    skippedFull[0] = true;
+                    continue;
+                }
+                Label extended = new Label(next, days[i], label.legs + 1, label.cost + fares[i], flight, label);
+                List<Label> atNext = settled.get(next);
+                if (atNext == null || !isDominated(atNext, extended)) {
+                    queue.add(extended);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDominated(List<Label> labels, Label candidate) {
+        for (Label label : labels) {
+            if (label.dominates(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Itinerary toItinerary(Label last) {
+        List<Flight> legs = new ArrayList<>(last.legs);
+        for (Label label = last; label.flight != null; label = label.previous) {
+            legs.add(label.flight);
+        }
+        Collections.reverse(legs);
+        return new Itinerary(legs, last.cost);
+    }
+
+    /** Checks that every leg of a cached itinerary can still be booked. */
+    private static boolean isBookable(Itinerary itinerary) {
+        for (Flight flight : itinerary.getLegs()) {
+            if (flight.isDeleted() || flight.getAvailableSeats() <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a one-line summary of the cache hit rate.
+     *
+     * @return the cache statistics
+     */
+    public synchronized String getCacheStats() {
+        return "Route cache: " + cache.size() + " entries, " + cacheHits + " hits, " + cacheMisses + " misses";
+    }
+}
@@ -0,0 +1,48 @@
+package bcu.cmp5332.bookingsystem.shard;
+
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code CustomerStore} class holds the customers shared by every shard of a
+ * {@link ShardedBookingSystem}. Customers book flights on any shard, so they are kept in one
+ * concurrent map that all shard threads read without locking.
+ */
+public class CustomerStore {
+
+    private final Map<Integer, Customer> customers = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a customer.
+     *
+     * @param customer the customer
+     * @throws FlightBookingSystemException if a customer with the same ID exists
+     */
+    public void add(Customer customer) throws FlightBookingSystemException {
+        if (customers.putIfAbsent(customer.getId(), customer) != null) {
+            throw new FlightBookingSystemException("Duplicate customer ID.");
+        }
+    }
+
+    /**
+     * Returns an active customer.
+     *
+     * @param id the customer ID
+     * @return the customer
+     * @throws FlightBookingSystemException if there is no active customer with that ID
+     */
+    public Customer get(int id) throws FlightBookingSystemException {
+        Customer customer = customers.get(id);
+        if (customer == null || customer.isDeleted()) {
+            throw new FlightBookingSystemException("No customer with that ID.");
+        }
+        return customer;
+    }
+
+    /** @return the number of customers */
+    public int size() {
+        return customers.size();
+    }
+}
@@ -0,0 +1,54 @@
+package bcu.cmp5332.bookingsystem.shard;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code IdAllocator} class hands out booking IDs that are unique across all shards and that
+ * identify the shard that owns them.
+ * <p>
+ * Each shard draws from its own counter, and ID {@code seq * shardCount + shard} is built from the
+ * counter value, so {@code id mod shardCount} gives the shard back without any lookup table and
+ * shards never contend on a shared counter.
+ * </p>
+ */
+public class IdAllocator {
+
+    private final AtomicLong[] sequences;
+
+    /**
+     * Constructs an allocator for the given number of shards.
+     *
+     * @param shardCount the number of shards
+     */
+    public IdAllocator(int shardCount) {
+        sequences = new AtomicLong[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            sequences[i] = new AtomicLong(1);
+        }
+    }
+
+    /**
+     * Allocates the next ID owned by a shard.
+     *
+     * @param shard the shard index
+     * @return a new ID with {@code id mod shardCount == shard}
+     * @throws IllegalStateException if the shard has used up its IDs
+     */
+    public int next(int shard) {
+        long id = sequences[shard].getAndIncrement() * sequences.length + shard;
+        if (id > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Booking IDs exhausted for shard " + shard);
+        }
+        return (int) id;
+    }
+
+    /**
+     * Returns the shard that owns an ID.
+     *
+     * @param id the ID
+     * @return the shard index
+     */
+    public int shardOf(int id) {
+        return Math.floorMod(id, sequences.length);
+    }
+}
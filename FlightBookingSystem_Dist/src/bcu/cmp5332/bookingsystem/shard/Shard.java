@@ -0,0 +1,212 @@
+package bcu.cmp5332.bookingsystem.shard;
+
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code Shard} class owns one partition of the flights of a {@link ShardedBookingSystem},
+ * together with their bookings.
+ * <p>
+ * All of a shard's state is touched only by its own single-threaded executor, so its maps need no
+ * locks and its operations never wait on each other. Callers submit work with
+ * {@link #submit(Task)} and receive a future. Moving a booking between shards is split into
+ * prepare, commit and abort steps so the {@link ShardedBookingSystem} can run them as a two-phase
+ * protocol across two shards.
+ * </p>
+ */
+class Shard implements AutoCloseable {
+
+    /**
+     * A unit of work run on the shard's thread.
+     *
+     * @param <T> the result type
+     */
+    interface Task<T> {
+        T run() throws FlightBookingSystemException;
+    }
+
+    /** A seat set aside on this shard for a booking that is being moved here. */
+    private static final class Reservation {
+        final Customer customer;
+        final Flight flight;
+        final int seat;
+
+        Reservation(Customer customer, Flight flight, int seat) {
+            this.customer = customer;
+            this.flight = flight;
+            this.seat = seat;
+        }
+    }
+
+    private final int index;
+    private final ExecutorService executor;
+    private final Map<Integer, Flight> flights = new HashMap<>();
+    private final Map<Integer, Booking> bookings = new HashMap<>();
+    private final Map<Long, Reservation> reservations = new HashMap<>();
+    // Bookings prepared to move to another flight; they cannot be cancelled or moved again meanwhile.
+    private final Set<Integer> moving = new HashSet<>();
+
+    Shard(int index) {
+        this.index = index;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-shard-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Runs a task on this shard's thread.
+     *
+     * @param task the task
+     * @param <T>  the result type
+     * @return a future completed with the task's result, or exceptionally with what it threw
+     */
+    <T> CompletableFuture<T> submit(Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(task.run());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+
+    // The methods below run on the shard's thread only.
+
+    void addFlight(Flight flight) throws FlightBookingSystemException {
+        if (flights.putIfAbsent(flight.getId(), flight) != null) {
+            throw new FlightBookingSystemException("Duplicate flight ID.");
+        }
+    }
+
+    Flight getFlight(int flightId) throws FlightBookingSystemException {
+        Flight flight = flights.get(flightId);
+        if (flight == null || flight.isDeleted()) {
+            throw new FlightBookingSystemException("No flight with that ID.");
+        }
+        return flight;
+    }
+
+    Booking getBooking(int bookingId) throws FlightBookingSystemException {
+        Booking booking = bookings.get(bookingId);
+        if (booking == null || booking.isCancelled()) {
+            throw new FlightBookingSystemException("No booking with that ID.");
+        }
+        return booking;
+    }
+
+    int getBookingCount() {
+        return bookings.size();
+    }
+
+    /** Takes a seat for the customer, returning its index. */
+    private int takeSeat(Customer customer, Flight flight) throws FlightBookingSystemException {
+        if (flight.hasPassenger(customer)) {
+            throw new FlightBookingSystemException(customer.getName() + " is already booked on this flight.");
+        }
+        if (flight.getAvailableSeats() <= 0 || !flight.addPassenger(customer)) {
+            throw new FlightBookingSystemException("Flight is at full capacity.");
+        }
+        int seat = flight.getSeatMap().firstFree();
+        flight.getSeatMap().occupy(seat);
+        return seat;
+    }
+
+    private Booking createBooking(int bookingId, Customer customer, Flight flight, LocalDate bookingDate, int seat) {
+        Booking booking = new Booking(bookingId, customer, flight, bookingDate, flight.calculatePrice(bookingDate));
+        booking.setSeat(seat);
+        bookings.put(bookingId, booking);
+        customer.addBooking(booking);
+        return booking;
+    }
+
+    Booking book(int bookingId, Customer customer, int flightId, LocalDate bookingDate)
+            throws FlightBookingSystemException {
+        Flight flight = getFlight(flightId);
+        int seat = takeSeat(customer, flight);
+        return createBooking(bookingId, customer, flight, bookingDate, seat);
+    }
+
+    double cancel(int bookingId, double cancellationFee) throws FlightBookingSystemException {
+        Booking booking = getBooking(bookingId);
+        if (moving.contains(bookingId)) {
+            throw new FlightBookingSystemException("Booking is being moved; try again.");
+        }
+        return cancelBooking(booking, cancellationFee);
+    }
+
+    private double cancelBooking(Booking booking, double cancellationFee) {
+        double refund = Math.max(0, booking.getBookingFee() - cancellationFee);
+        booking.setCancellationFee(booking.getBookingFee() - refund);
+        booking.cancel();
+        booking.getFlight().removePassenger(booking.getCustomer());
+        booking.getFlight().getSeatMap().release(booking.getSeat());
+        return refund;
+    }
+
+    /** Phase one at the source: checks the booking can move and stops anything else changing it. */
+    Booking prepareMoveOut(int bookingId) throws FlightBookingSystemException {
+        Booking booking = getBooking(bookingId);
+        if (!moving.add(bookingId)) {
+            throw new FlightBookingSystemException("Booking is already being moved.");
+        }
+        return booking;
+    }
+
+    /** Phase two at the source: cancels the moved booking. */
+    void commitMoveOut(int bookingId, double cancellationFee) {
+        moving.remove(bookingId);
+        cancelBooking(bookings.get(bookingId), cancellationFee);
+    }
+
+    /** Abort at the source: the booking stays as it was. */
+    void abortMoveOut(int bookingId) {
+        moving.remove(bookingId);
+    }
+
+    /** Phase one at the target: sets a seat aside for the customer under the transaction ID. */
+    void prepareMoveIn(long txnId, Customer customer, int flightId) throws FlightBookingSystemException {
+        Flight flight = getFlight(flightId);
+        reservations.put(txnId, new Reservation(customer, flight, takeSeat(customer, flight)));
+    }
+
+    /** Phase two at the target: turns the reserved seat into a booking. */
+    Booking commitMoveIn(long txnId, int bookingId, LocalDate bookingDate) {
+        Reservation reservation = reservations.remove(txnId);
+        return createBooking(bookingId, reservation.customer, reservation.flight, bookingDate, reservation.seat);
+    }
+
+    /** Abort at the target: gives the reserved seat back. */
+    void abortMoveIn(long txnId) {
+        Reservation reservation = reservations.remove(txnId);
+        if (reservation != null) {
+            reservation.flight.removePassenger(reservation.customer);
+            reservation.flight.getSeatMap().release(reservation.seat);
+        }
+    }
+
+    /**
+     * Stops the shard's thread once the work already submitted has run.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,268 @@
+package bcu.cmp5332.bookingsystem.shard;
+
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ShardedBookingSystem} class is a booking system whose flights are split across a
+ * fixed number of in-process shards.
+ * <p>
+ * A flight lives on shard {@code flightId mod shardCount}, and its bookings live with it, so
+ * booking or cancelling touches one shard only and bookings on different shards run in parallel
+ * on the shards' own threads. Booking IDs are allocated per shard by an {@link IdAllocator}, so
+ * the booking ID alone leads back to its shard. Customers are shared by every shard and are kept
+ * in a {@link CustomerStore}.
+ * </p>
+ * <p>
+ * Moving a booking to another flight may involve two shards and uses two phases. First the source
+ * shard marks the booking as moving, and the target shard reserves a seat for the customer. If
+ * either step fails, both are undone and the original booking is left as it was. Otherwise the
+ * target turns its reservation into the new booking and the source cancels the old one. Neither
+ * commit step can fail: the reservation already holds the seat and a moving booking cannot be
+ * cancelled.
+ * </p>
+ */
+public class ShardedBookingSystem implements AutoCloseable {
+
+    private final Shard[] shards;
+    private final IdAllocator ids;
+    private final CustomerStore customers = new CustomerStore();
+    private final AtomicLong transactions = new AtomicLong();
+
+    /**
+     * Constructs a booking system with the given number of shards, each with its own thread.
+     *
+     * @param shardCount the number of shards, at least one
+     */
+    public ShardedBookingSystem(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+        ids = new IdAllocator(shardCount);
+    }
+
+    /** @return the number of shards */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    private Shard shardFor(int id) {
+        return shards[ids.shardOf(id)];
+    }
+
+    /**
+     * Waits for a shard's result, rethrowing a booking error as thrown by the shard.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws FlightBookingSystemException {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof FlightBookingSystemException) {
+                throw (FlightBookingSystemException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Adds a customer, who can then book flights on any shard.
+     *
+     * @param customer the customer
+     * @throws FlightBookingSystemException if the customer ID is already used
+     */
+    public void addCustomer(Customer customer) throws FlightBookingSystemException {
+        customers.add(customer);
+    }
+
+    /**
+     * Returns a customer.
+     *
+     * @param customerId the customer ID
+     * @return the customer
+     * @throws FlightBookingSystemException if there is no such customer
+     */
+    public Customer getCustomer(int customerId) throws FlightBookingSystemException {
+        return customers.get(customerId);
+    }
+
+    /**
+     * Adds a flight to the shard that owns its ID.
+     *
+     * @param flight the flight
+     * @throws FlightBookingSystemException if the flight ID is already used
+     */
+    public void addFlight(Flight flight) throws FlightBookingSystemException {
+        Shard shard = shardFor(flight.getId());
+        await(shard.submit(() -> {
+            shard.addFlight(flight);
+            return null;
+        }));
+    }
+
+    /**
+     * Returns the number of seats still free on a flight.
+     *
+     * @param flightId the flight ID
+     * @return the available seat count
+     * @throws FlightBookingSystemException if there is no such flight
+     */
+    public int getAvailableSeats(int flightId) throws FlightBookingSystemException {
+        Shard shard = shardFor(flightId);
+        return await(shard.submit(() -> shard.getFlight(flightId).getAvailableSeats()));
+    }
+
+    /**
+     * Books a flight without waiting for the result.
+     *
+     * @param customerId  the customer ID
+     * @param flightId    the flight ID
+     * @param bookingDate the booking date
+     * @return a future completed with the booking, or exceptionally with a
+     *         {@link FlightBookingSystemException} if the customer or flight does not exist, the
+     *         flight is full or the customer is already on it
+     */
+    public CompletableFuture<Booking> addBookingAsync(int customerId, int flightId, LocalDate bookingDate) {
+        Customer customer;
+        try {
+            customer = customers.get(customerId);
+        } catch (FlightBookingSystemException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        Shard shard = shardFor(flightId);
+        return shard.submit(() -> shard.book(ids.next(shard.getIndex()), customer, flightId, bookingDate));
+    }
+
+    /**
+     * Books a flight.
+     *
+     * @param customerId  the customer ID
+     * @param flightId    the flight ID
+     * @param bookingDate the booking date
+     * @return the new booking
+     * @throws FlightBookingSystemException if the customer or flight does not exist, the flight is
+     *                                      full or the customer is already on it
+     */
+    public Booking addBooking(int customerId, int flightId, LocalDate bookingDate) throws FlightBookingSystemException {
+        return await(addBookingAsync(customerId, flightId, bookingDate));
+    }
+
+    /**
+     * Returns an active booking.
+     *
+     * @param bookingId the booking ID
+     * @return the booking
+     * @throws FlightBookingSystemException if there is no active booking with that ID
+     */
+    public Booking getBooking(int bookingId) throws FlightBookingSystemException {
+        Shard shard = shardFor(bookingId);
+        return await(shard.submit(() -> shard.getBooking(bookingId)));
+    }
+
+    /**
+     * Cancels a booking.
+     *
+     * @param bookingId       the booking ID
+     * @param cancellationFee the fee kept from the booking fee
+     * @return the amount refunded
+     * @throws FlightBookingSystemException if there is no active booking with that ID, or it is
+     *                                      being moved
+     */
+    public double cancelBooking(int bookingId, double cancellationFee) throws FlightBookingSystemException {
+        Shard shard = shardFor(bookingId);
+        return await(shard.submit(() -> shard.cancel(bookingId, cancellationFee)));
+    }
+
+    /**
+     * Moves a booking to another flight, which may be on another shard, using the two-phase
+     * protocol described in the class comment. The old booking is cancelled with the given fee and a new booking
+     * is made at the new flight's current price.
+     *
+     * @param bookingId       the ID of the booking to move
+     * @param newFlightId     the ID of the flight to move to
+     * @param cancellationFee the fee kept from the old booking
+     * @return the new booking
+     * @throws FlightBookingSystemException if the booking or flight does not exist, the new flight
+     *                                      is full, or the customer is already on it; the old
+     *                                      booking is then unchanged
+     */
+    public Booking moveBooking(int bookingId, int newFlightId, double cancellationFee)
+            throws FlightBookingSystemException {
+        Shard source = shardFor(bookingId);
+        Shard target = shardFor(newFlightId);
+        long txnId = transactions.incrementAndGet();
+
+        // Phase one: both shards promise to go ahead.
+        Booking booking = await(source.submit(() -> source.prepareMoveOut(bookingId)));
+        try {
+            await(target.submit(() -> {
+                target.prepareMoveIn(txnId, booking.getCustomer(), newFlightId);
+                return null;
+            }));
+        } catch (FlightBookingSystemException | RuntimeException ex) {
+            await(target.submit(() -> {
+                target.abortMoveIn(txnId);
+                return null;
+            }));
+            await(source.submit(() -> {
+                source.abortMoveOut(bookingId);
+                return null;
+            }));
+            throw ex;
+        }
+
+        // Phase two: both shards carry it out.
+        int newId = ids.next(target.getIndex());
+        CompletableFuture<Booking> moved = target.submit(() -> target.commitMoveIn(txnId, newId, booking.getBookingDate()));
+        CompletableFuture<Void> cancelled = source.submit(() -> {
+            source.commitMoveOut(bookingId, cancellationFee);
+            return null;
+        });
+        await(cancelled);
+        return await(moved);
+    }
+
+    /**
+     * Returns the active bookings of a customer, across all shards.
+     *
+     * @param customerId the customer ID
+     * @return a copy of the customer's bookings
+     * @throws FlightBookingSystemException if there is no such customer
+     */
+    public List<Booking> getBookingsForCustomer(int customerId) throws FlightBookingSystemException {
+        return customers.get(customerId).getBookings();
+    }
+
+    /**
+     * Returns the number of bookings ever made, active or cancelled, across all shards.
+     *
+     * @return the booking count
+     */
+    public int getBookingCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.submit(shard::getBookingCount).join();
+        }
+        return count;
+    }
+
+    /**
+     * Stops every shard's thread once the work already submitted has run.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.close();
+        }
+    }
+}
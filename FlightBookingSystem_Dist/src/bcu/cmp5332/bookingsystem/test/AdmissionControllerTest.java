@@ -0,0 +1,78 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.admission.AdmissionController;
+import bcu.cmp5332.bookingsystem.admission.AdmissionPolicy;
+import bcu.cmp5332.bookingsystem.admission.TokenBucket;
+import bcu.cmp5332.bookingsystem.commands.AddGroupBooking;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void testBucketAllowsBurstThenRefills() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = 0;
+        assertTrue(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertFalse(bucket.tryAcquire(now));
+        assertEquals(100_000_000L, bucket.nanosUntilAvailable(now));
+        assertTrue(bucket.tryAcquire(now + 100_000_000L));
+    }
+
+    @Test
+    public void testPerCustomerLimitIsIsolated() throws FlightBookingSystemException {
+        AdmissionController controller = new AdmissionController(0, 0, 0.001, 2, AdmissionPolicy.REJECT, 0);
+        controller.admit(1);
+        controller.admit(1);
+        assertThrows(FlightBookingSystemException.class, () -> controller.admit(1));
+        // Another customer has its own bucket, and non-booking requests are not charged per customer.
+        controller.admit(2);
+        controller.admit(null);
+        assertEquals(4, controller.getAdmittedCount());
+        assertEquals(1, controller.getCustomerThrottledCount());
+    }
+
+    @Test
+    public void testGlobalRejectionDoesNotChargeCustomer() throws FlightBookingSystemException {
+        AdmissionController controller = new AdmissionController(0.001, 1, 0.001, 1, AdmissionPolicy.REJECT, 0);
+        controller.admit(null);
+        assertThrows(FlightBookingSystemException.class, () -> controller.admit(1));
+        assertEquals(1, controller.getGlobalThrottledCount());
+        assertEquals(0, controller.getCustomerThrottledCount());
+
+        // The refused request gave its customer token back, leaving the bucket as if never used.
+        TokenBucket bucket = new TokenBucket(0.001, 1);
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.isFull(0));
+        bucket.release();
+        assertTrue(bucket.isFull(0));
+        assertTrue(bucket.tryAcquire(0));
+    }
+
+    @Test
+    public void testGroupBookingChargesEveryCustomer() {
+        AdmissionController controller = new AdmissionController(0, 0, 0.001, 1, AdmissionPolicy.REJECT, 0);
+        FlightBookingSystem fbs = new FlightBookingSystem();
+        AddGroupBooking group = new AddGroupBooking(1, Arrays.asList(1, 2), LocalDate.now());
+        // The command fails once admitted, as there is no flight; its customers are charged first.
+        assertThrows(FlightBookingSystemException.class, () -> controller.execute(group, fbs));
+        assertThrows(FlightBookingSystemException.class, () -> controller.admit(2));
+        assertEquals(1, controller.getCustomerThrottledCount());
+    }
+
+    @Test
+    public void testQueuePolicyWaitsForToken() throws FlightBookingSystemException {
+        AdmissionController controller = new AdmissionController(100, 1, 0, 0, AdmissionPolicy.QUEUE, 1000);
+        controller.admit(null);
+        controller.admit(null);
+        assertEquals(2, controller.getAdmittedCount());
+        assertEquals(0, controller.getGlobalThrottledCount());
+    }
+}
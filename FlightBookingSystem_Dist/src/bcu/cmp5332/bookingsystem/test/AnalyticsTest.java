@@ -0,0 +1,70 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.analytics.Aggregate;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.ChangeEvent;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+import java.time.LocalDate;
+
+public class AnalyticsTest {
+
+    @Test
+    public void testTotalsFollowBookingsCancellationsAndRemovals() throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        LocalDate today = system.getSystemDate();
+        system.addFlight(new Flight(1, "AN1", "AnaA", "AnaB", today.plusDays(40), 100.0, 10));
+        system.addFlight(new Flight(2, "AN2", "AnaA", "AnaB", today.plusDays(41), 100.0, 10));
+        for (int i = 1; i <= 3; i++) {
+            system.addCustomer(new Customer(i, "Analytics Customer " + i, "0" + i, "ana" + i + "@example.com", "pw"));
+        }
+        Booking first = system.addBooking(1, 1, today);
+        Booking second = system.addBooking(2, 1, today);
+        Booking third = system.addBooking(3, 2, today);
+
+        Aggregate total = system.getAnalytics().getTotal();
+        assertEquals(3, total.getActiveBookings());
+        assertEquals(20, total.getSeats());
+        assertEquals(first.getBookingFee() + second.getBookingFee() + third.getBookingFee(), total.getRevenue(), 0.001);
+        assertEquals(0.2, system.getAnalytics().getFlight(1).getLoadFactor(), 0.001);
+
+        system.cancelBooking(second.getId(), 5.0);
+        total = system.getAnalytics().getTotal();
+        assertEquals(2, total.getActiveBookings());
+        assertEquals(1, total.getCancellations());
+        assertEquals(5.0, total.getCancellationFees(), 0.001);
+        assertEquals(first.getBookingFee() + third.getBookingFee() + 5.0, total.getRevenue(), 0.001);
+
+        system.removeFlight(1);
+        total = system.getAnalytics().getTotal();
+        assertEquals(1, total.getActiveBookings());
+        assertEquals(10, total.getSeats());
+        assertEquals(third.getBookingFee(), total.getRevenue(), 0.001);
+        assertNull(system.getAnalytics().getFlight(1));
+        assertEquals(1, system.getAnalytics().getRoutes().get("AnaA to AnaB").getActiveBookings());
+    }
+
+    @Test
+    public void testDroppedCustomersBookingsLeaveTheTotals() throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        LocalDate today = system.getSystemDate();
+        system.addFlight(new Flight(1, "AN3", "AnaC", "AnaD", today.plusDays(40), 100.0, 10));
+        system.addCustomer(new Customer(1, "Analytics Customer 1", "01", "ana1@example.com", "pw"));
+        system.addCustomer(new Customer(2, "Analytics Customer 2", "02", "ana2@example.com", "pw"));
+        system.addBooking(1, 1, today);
+        Booking kept = system.addBooking(2, 1, today);
+
+        // Applying a replicated deletion drops the customer without rewriting the data files.
+        system.applyChange(new ChangeEvent(1, ChangeEvent.Type.CUSTOMER_DELETED, 1));
+        Aggregate total = system.getAnalytics().getTotal();
+        assertEquals(1, total.getBookingsMade());
+        assertEquals(1, total.getActiveBookings());
+        assertEquals(kept.getBookingFee(), total.getRevenue(), 0.001);
+        assertEquals(0.1, system.getAnalytics().getFlight(1).getLoadFactor(), 0.001);
+    }
+}
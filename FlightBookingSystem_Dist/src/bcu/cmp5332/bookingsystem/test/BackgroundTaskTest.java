@@ -0,0 +1,98 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.gui.BackgroundTask;
+import bcu.cmp5332.bookingsystem.gui.EdtMonitor;
+
+import javax.swing.SwingUtilities;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class BackgroundTaskTest {
+
+    @Test
+    public void testResultIsDeliveredOnTheEventDispatchThread() throws Exception {
+        CountDownLatch delivered = new CountDownLatch(1);
+        AtomicBoolean workedOffEdt = new AtomicBoolean();
+        AtomicBoolean deliveredOnEdt = new AtomicBoolean();
+        AtomicReference<Integer> result = new AtomicReference<>();
+        new BackgroundTask<Integer>(null, "Adding", task -> {
+            workedOffEdt.set(!SwingUtilities.isEventDispatchThread());
+            task.report(50);
+            return 40 + 2;
+        }, value -> {
+            deliveredOnEdt.set(SwingUtilities.isEventDispatchThread());
+            result.set(value);
+            delivered.countDown();
+        }).start();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertTrue(workedOffEdt.get());
+        assertTrue(deliveredOnEdt.get());
+        assertEquals(42, result.get());
+    }
+
+    @Test
+    public void testCancelledTaskCallsNeitherCallback() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        AtomicBoolean called = new AtomicBoolean();
+        BackgroundTask<String> task = new BackgroundTask<String>(null, "Waiting", t -> {
+            running.countDown();
+            while (!t.isCancelled()) {
+                Thread.sleep(5);
+            }
+            return "late";
+        }, value -> called.set(true)).onFailure(ex -> called.set(true)).start();
+
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        task.cancel(true);
+        // done() has been queued on the EDT by now; let it run.
+        SwingUtilities.invokeAndWait(() -> { });
+        assertTrue(task.isCancelled());
+        assertFalse(called.get());
+    }
+
+    @Test
+    public void testFailureIsPassedToTheFailureCallback() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicReference<Exception> error = new AtomicReference<>();
+        new BackgroundTask<String>(null, "Failing", task -> {
+            throw new IllegalStateException("disk full");
+        }, value -> fail("should not succeed")).onFailure(ex -> {
+            error.set(ex);
+            failed.countDown();
+        }).start();
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertTrue(error.get() instanceof IllegalStateException);
+        assertEquals("disk full", error.get().getMessage());
+    }
+
+    @Test
+    public void testMonitorLogsOnlySlowEvents() throws Exception {
+        List<String> log = new CopyOnWriteArrayList<>();
+        EdtMonitor monitor = EdtMonitor.install(50, log::add);
+
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(0, monitor.getSlowEventCount());
+
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                Thread.sleep(120);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        // invokeAndWait returns before the monitor has timed the event, so wait for one more.
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(1, monitor.getSlowEventCount());
+        assertTrue(monitor.getLongestEventMillis() >= 100);
+        assertEquals(1, log.size());
+        assertTrue(log.get(0).startsWith("EDT blocked for "));
+    }
+}
@@ -0,0 +1,41 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.gui.BookingTableModel;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.BookingStatus;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class BookingLookupTest {
+
+    @Test
+    public void testFindBookingCoversActiveAndCancelledBookings() throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        LocalDate today = system.getSystemDate();
+        system.addFlight(new Flight(1, "BL1", "LookA", "LookB", today.plusDays(5), 100.0, 10));
+        system.addCustomer(new Customer(1, "Lookup One", "01", "lookup1@example.com", "pw"));
+        system.addCustomer(new Customer(2, "Lookup Two", "02", "lookup2@example.com", "pw"));
+
+        Booking active = system.addBooking(1, 1, today);
+        Booking cancelled = system.addBooking(2, 1, today);
+        system.cancelBooking(cancelled.getId(), 0.0);
+
+        assertSame(active, system.findBooking(active.getId()));
+        assertEquals(BookingStatus.ACTIVE, system.findBooking(active.getId()).getStatus());
+        assertSame(cancelled, system.findBooking(cancelled.getId()));
+        assertEquals(BookingStatus.CANCELLED, system.findBooking(cancelled.getId()).getStatus());
+        assertNull(system.findBooking(99));
+
+        BookingTableModel model = new BookingTableModel(true);
+        model.setRecords(List.of(active, cancelled));
+        assertEquals("Active", model.getValueAt(0, 5));
+        assertEquals("Cancelled", model.getValueAt(1, 5));
+    }
+}
@@ -0,0 +1,76 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.net.BookingClient;
+import bcu.cmp5332.bookingsystem.net.BookingServer;
+
+import java.time.LocalDate;
+
+public class BookingServerTest {
+    private FlightBookingSystem system;
+    private BookingServer server;
+    private BookingClient client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        system = new FlightBookingSystem();
+        system.addFlight(new Flight(1, "FL123", "Origin", "Destination", LocalDate.now().plusDays(10), 100.0, 2));
+        system.addCustomer(new Customer(1, "Alice", "111111", "alice@example.com", "pass1"));
+        system.addCustomer(new Customer(2, "Bob", "222222", "bob@example.com", "pass2"));
+        system.addCustomer(new Customer(3, "Carol", "333333", "carol@example.com", "pass3"));
+        server = new BookingServer(system, 0);
+        server.start();
+        client = new BookingClient("localhost", server.getPort());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void testAddBookingAndAvailability() throws Exception {
+        BookingClient.Response booked = client.addBooking(1, 1);
+        assertEquals(1, booked.getBookingId());
+        assertEquals(125.0, booked.getAmount(), 0.001);
+
+        BookingClient.Response availability = client.availability(1);
+        assertEquals(2, availability.getCapacity());
+        assertEquals(1, availability.getBooked());
+        assertEquals(1, system.getBookings().size());
+    }
+
+    @Test
+    public void testPipelinedRequestsAnswerInOrder() throws Exception {
+        int first = client.sendAddBooking(1, 1);
+        int second = client.sendAddBooking(2, 1);
+        int third = client.sendAddBooking(3, 1);
+        client.flush();
+        assertEquals(first, client.receive().getCorrelationId());
+        assertEquals(second, client.receive().getCorrelationId());
+        BookingClient.Response full = client.receive();
+        assertEquals(third, full.getCorrelationId());
+        // Capacity is 2, so the third booking must be rejected.
+        assertFalse(full.isOk());
+        assertTrue(full.getError().contains("Flight is at full capacity"));
+    }
+
+    @Test
+    public void testCancelBookingAndErrors() throws Exception {
+        int bookingId = client.addBooking(1, 1).getBookingId();
+        BookingClient.Response cancelled = client.cancelBooking(bookingId, 25.0);
+        assertEquals(100.0, cancelled.getAmount(), 0.001);
+        assertEquals(0, system.getBookings().size());
+
+        assertThrows(FlightBookingSystemException.class, () -> client.showFlight(99));
+        assertTrue(client.showFlight(1).contains("FL123"));
+    }
+}
@@ -0,0 +1,144 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.gui.BookingTableModel;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.ChangeBus;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.RecordChange;
+
+import javax.swing.event.TableModelEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ChangeBusTest {
+
+    // deleteFlight rewrites the flights data file, so the real one is put back after each test.
+    private static final Path FLIGHTS_FILE = Paths.get("resources", "data", "flights.txt");
+    private byte[] savedFlights;
+
+    @BeforeEach
+    public void saveFlightsFile() throws IOException {
+        savedFlights = Files.exists(FLIGHTS_FILE) ? Files.readAllBytes(FLIGHTS_FILE) : null;
+    }
+
+    @AfterEach
+    public void restoreFlightsFile() throws IOException {
+        if (savedFlights != null) {
+            Files.write(FLIGHTS_FILE, savedFlights);
+        } else {
+            Files.deleteIfExists(FLIGHTS_FILE);
+        }
+    }
+
+    private static FlightBookingSystem systemWithCustomers(int customers) throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        LocalDate today = system.getSystemDate();
+        system.addFlight(new Flight(1, "CB1", "BusA", "BusB", today.plusDays(10), 100.0, 50));
+        system.addFlight(new Flight(2, "CB2", "BusA", "BusB", today.plusDays(11), 100.0, 50));
+        for (int i = 1; i <= customers; i++) {
+            system.addCustomer(new Customer(i, "Bus Customer " + i, "0" + i, "bus" + i + "@example.com", "pw"));
+        }
+        return system;
+    }
+
+    @Test
+    public void testChangesAreCoalescedAndHeldUntilResumed() throws FlightBookingSystemException {
+        FlightBookingSystem system = systemWithCustomers(3);
+        LocalDate today = system.getSystemDate();
+        List<Runnable> deliveries = new ArrayList<>();
+        List<List<RecordChange<Booking>>> batches = new ArrayList<>();
+        ChangeBus.Subscription<Booking> subscription =
+                system.getChangeBus().subscribe(Booking.class, deliveries::add, batches::add);
+
+        Booking kept = system.addBooking(1, 1, today);
+        system.changeSeat(kept.getId(), "2A");
+        Booking cancelled = system.addBooking(2, 1, today);
+        system.cancelBooking(cancelled.getId(), 0.0);
+        Booking dropped = system.addBooking(3, 2, today);
+        system.deleteFlight(2);
+        // Paused: nothing is scheduled until the subscriber is ready.
+        assertTrue(deliveries.isEmpty());
+
+        subscription.resume();
+        assertEquals(1, deliveries.size());
+        deliveries.get(0).run();
+        assertEquals(1, batches.size());
+        List<RecordChange<Booking>> batch = batches.get(0);
+        // Added then moved is one addition; added then deleted cancels out.
+        assertEquals(2, batch.size());
+        assertSame(kept, batch.get(0).getRecord());
+        assertEquals(RecordChange.Kind.ADDED, batch.get(0).getKind());
+        assertSame(cancelled, batch.get(1).getRecord());
+        assertEquals(RecordChange.Kind.ADDED, batch.get(1).getKind());
+        assertFalse(batch.stream().anyMatch(change -> change.getRecord() == dropped));
+
+        // A burst of changes is one delivery: renaming the customer updates the booking's row,
+        // and cancelling it as well leaves a single cancellation.
+        system.updateCustomer(1, "Renamed", "09", "renamed@example.com", "pw");
+        system.cancelBooking(kept.getId(), 0.0);
+        assertEquals(2, deliveries.size());
+        deliveries.get(1).run();
+        assertEquals(1, batches.get(1).size());
+        assertSame(kept, batches.get(1).get(0).getRecord());
+        assertEquals(RecordChange.Kind.CANCELLED, batches.get(1).get(0).getKind());
+
+        subscription.close();
+        system.addBooking(1, 1, today);
+        assertEquals(2, deliveries.size());
+        assertEquals(0, system.getChangeBus().getSubscriptionCount());
+    }
+
+    @Test
+    public void testTableModelAppliesRowLevelChanges() throws FlightBookingSystemException {
+        FlightBookingSystem system = systemWithCustomers(5);
+        LocalDate today = system.getSystemDate();
+        List<Booking> initial = new ArrayList<>();
+        initial.add(system.addBooking(1, 1, today));
+        initial.add(system.addBooking(3, 1, today));
+        initial.add(system.addBooking(5, 1, today));
+
+        BookingTableModel model = new BookingTableModel(false);
+        model.setRecords(initial);
+        model.setFilter(booking -> !booking.isCancelled());
+        model.sortBy(1);
+        List<String> events = new ArrayList<>();
+        model.addTableModelListener(e -> {
+            String type = e.getType() == TableModelEvent.INSERT ? "insert"
+                    : e.getType() == TableModelEvent.DELETE ? "delete" : "update";
+            events.add(type + " " + e.getFirstRow());
+        });
+        ChangeBus.Subscription<Booking> subscription =
+                system.getChangeBus().subscribe(Booking.class, Runnable::run, model::applyChanges);
+        subscription.resume();
+
+        // Sorted by customer name: 1, 3, 5. Customer 2's booking goes between 1 and 3.
+        system.addBooking(2, 1, today);
+        assertEquals(4, model.getRowCount());
+        assertEquals("Bus Customer 2", model.getValueAt(1, 1));
+        // Cancelling drops the row from a view of active bookings.
+        system.cancelBooking(initial.get(1).getId(), 0.0);
+        assertEquals(3, model.getRowCount());
+        assertEquals("Bus Customer 5", model.getValueAt(2, 1));
+        // Renaming customer 1 moves their booking to the end.
+        system.updateCustomer(1, "Zed", "01", "bus1@example.com", "pw");
+        assertEquals("Zed", model.getValueAt(2, 1));
+        assertEquals("Bus Customer 2", model.getValueAt(0, 1));
+        // Changing a seat repaints the row in place.
+        system.changeSeat(initial.get(2).getId(), "3A");
+
+        assertEquals(List.of("insert 1", "delete 2", "delete 0", "insert 2", "update 1"), events);
+        subscription.close();
+    }
+}
@@ -0,0 +1,52 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+import java.util.List;
+
+public class CustomerIndexTest {
+    private FlightBookingSystem system;
+    private Customer alice;
+    private Customer bob;
+
+    @BeforeEach
+    public void setUp() throws FlightBookingSystemException {
+        system = new FlightBookingSystem();
+        alice = new Customer(1, "Alice Smith", "111111", "alice@example.com", "pass1");
+        bob = new Customer(2, "Bob Jones", "222222", "bjones@example.com", "pass2");
+        system.addCustomer(alice);
+        system.addCustomer(bob);
+    }
+
+    @Test
+    public void testFindByNameOrEmailPrefixIgnoresCase() {
+        assertEquals(List.of(alice), system.findCustomers("ALI", 10));
+        assertEquals(List.of(bob), system.findCustomers("bj", 10));
+        assertTrue(system.findCustomers("carol", 10).isEmpty());
+        assertSame(bob, system.getCustomerByName("bob jones"));
+    }
+
+    @Test
+    public void testUpdateAndRemoveKeepIndexCurrent() throws FlightBookingSystemException {
+        system.updateCustomer(alice.getId(), "Alicia Smith", "111111", "alicia@example.com", "pass1");
+        assertNull(system.getCustomerByName("Alice Smith"));
+        assertSame(alice, system.getCustomerByName("Alicia Smith"));
+        system.removeCustomer(bob.getId());
+        assertTrue(system.findCustomers("bob", 10).isEmpty());
+        // A removed customer's name may be reused.
+        system.addCustomer(new Customer(3, "Bob Jones", "333333", "bob@example.com", "pass3"));
+    }
+
+    @Test
+    public void testUpdateRejectsDuplicateEmail() {
+        assertThrows(FlightBookingSystemException.class, () -> {
+            system.updateCustomer(bob.getId(), "Bob Jones", "222222", "ALICE@example.com", "pass2");
+        });
+        assertEquals("bjones@example.com", bob.getEmail());
+    }
+}
@@ -0,0 +1,46 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.model.FareCalendar;
+import bcu.cmp5332.bookingsystem.model.Flight;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+public class FareCalendarTest {
+    private final LocalDate start = LocalDate.of(2030, 1, 1);
+    private final YearMonth month = YearMonth.of(2030, 1);
+
+    @Test
+    public void testCheapestFlightPerDayAndRemoval() {
+        FareCalendar calendar = new FareCalendar(start);
+        Flight dear = new Flight(1, "FC1", "CalA", "CalB", start.plusDays(19), 300.0, 10);
+        Flight cheap = new Flight(2, "FC2", "CalA", "CalB", start.plusDays(19), 200.0, 10);
+        calendar.addFlight(dear);
+        calendar.addFlight(cheap);
+        double[] fares = calendar.getMonth(dear.getOriginCode(), dear.getDestinationCode(), month, start);
+        assertEquals(200.0, fares[19], 0.001);
+        assertTrue(Double.isNaN(fares[18]));
+        calendar.removeFlight(cheap);
+        fares = calendar.getMonth(dear.getOriginCode(), dear.getDestinationCode(), month, start);
+        assertEquals(300.0, fares[19], 0.001);
+    }
+
+    @Test
+    public void testMovingBookingDateMatchesDynamicPrice() {
+        FareCalendar calendar = new FareCalendar(start);
+        Flight[] flights = new Flight[31];
+        for (int d = 0; d < 31; d++) {
+            flights[d] = new Flight(10 + d, "FD" + d, "CalC", "CalD", start.plusDays(d), 100.0 + d, 10);
+            calendar.addFlight(flights[d]);
+        }
+        for (int step : new int[] {3, 9, 1, -6, 20}) {
+            LocalDate asOf = start.plusDays(step);
+            double[] fares = calendar.getMonth(flights[0].getOriginCode(), flights[0].getDestinationCode(), month, asOf);
+            for (int d = 0; d < 31; d++) {
+                assertEquals(flights[d].calculatePrice(asOf), fares[d], 0.001);
+            }
+        }
+    }
+}
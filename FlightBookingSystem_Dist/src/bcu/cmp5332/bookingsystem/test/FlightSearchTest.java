@@ -0,0 +1,56 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class FlightSearchTest {
+    private FlightBookingSystem system;
+    private LocalDate today;
+
+    @BeforeEach
+    public void setUp() throws FlightBookingSystemException {
+        system = new FlightBookingSystem();
+        today = system.getSystemDate();
+        // Five days out the price is 1.5 times the base price; thirty days out it is the base price.
+        system.addFlight(new Flight(1, "FS1", "SearchA", "SearchB", today.plusDays(30), 100.0, 5));
+        system.addFlight(new Flight(2, "FS2", "SearchA", "SearchB", today.plusDays(5), 100.0, 5));
+        system.addFlight(new Flight(3, "FS3", "SearchA", "SearchC", today.plusDays(30), 120.0, 5));
+        system.addFlight(new Flight(4, "FS4", "SearchD", "SearchB", today.plusDays(30), 80.0, 5));
+        system.addFlight(new Flight(5, "FS5", "SearchD", "SearchC", today.minusDays(1), 80.0, 5));
+    }
+
+    private static List<Integer> ids(List<Flight> flights) {
+        return flights.stream().map(Flight::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSearchByRouteDateAndPrice() {
+        assertEquals(List.of(2, 1), ids(system.searchFlights("SearchA", "SearchB", null, null, null, null, () -> false)));
+        // One end of the route reads every route starting or ending there, in departure order.
+        assertEquals(List.of(2, 1, 3), ids(system.searchFlights("searcha", "", null, null, null, null, () -> false)));
+        assertEquals(List.of(2, 1, 4), ids(system.searchFlights(null, "SearchB", null, null, null, null, () -> false)));
+        // Departed flights are never found.
+        assertEquals(List.of(2, 1, 3, 4), ids(system.searchFlights(null, null, null, null, null, null, () -> false)));
+
+        LocalDate date = today.plusDays(30);
+        assertEquals(List.of(1, 3, 4), ids(system.searchFlights(null, null, date, date, null, null, () -> false)));
+        // Flight 2 costs 150 on the system date, so it falls outside a 90 to 130 range.
+        assertEquals(List.of(1, 3), ids(system.searchFlights(null, null, null, null, 90.0, 130.0, () -> false)));
+        assertTrue(system.searchFlights("Nowhere", null, null, null, null, null, () -> false).isEmpty());
+    }
+
+    @Test
+    public void testRemovedFlightsAndStoppedSearches() throws FlightBookingSystemException {
+        system.removeFlight(1);
+        assertEquals(List.of(2), ids(system.searchFlights("SearchA", "SearchB", null, null, null, null, () -> false)));
+        assertTrue(system.searchFlights(null, null, null, null, null, null, () -> true).isEmpty());
+    }
+}
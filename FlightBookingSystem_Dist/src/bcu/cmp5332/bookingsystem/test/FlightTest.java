@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import bcu.cmp5332.bookingsystem.model.AirportDictionary;
 import bcu.cmp5332.bookingsystem.model.Customer;
 import bcu.cmp5332.bookingsystem.model.Flight;
 
@@ -58,4 +59,25 @@ public class FlightTest {
         List<Customer> passengers = flight.getPassengers();
         assertEquals(2, passengers.size());
     }
+
+    @Test
+    public void testLocationsAreInternedIgnoringCase() {
+        Flight other = new Flight(2, "FL456", " origin ", "Elsewhere", LocalDate.now().plusDays(3), 80.0, 5);
+        assertEquals(flight.getOriginCode(), other.getOriginCode());
+        assertEquals("Origin", other.getOrigin());
+        assertEquals(flight.getOriginCode(), AirportDictionary.lookup("ORIGIN"));
+        assertTrue(AirportDictionary.complete("else", 5).contains("Elsewhere"));
+    }
+
+    @Test
+    public void testPlaceholderIsNotALocation() {
+        Flight missing = new Flight(3, "N/A", AirportDictionary.PLACEHOLDER, AirportDictionary.PLACEHOLDER,
+                LocalDate.now(), 0, 0);
+        assertEquals(AirportDictionary.PLACEHOLDER, missing.getOrigin());
+        assertEquals(AirportDictionary.UNKNOWN, AirportDictionary.lookup(AirportDictionary.PLACEHOLDER));
+        assertFalse(AirportDictionary.complete("N", 100).contains(AirportDictionary.PLACEHOLDER));
+        int size = AirportDictionary.size();
+        new Flight(4, "N/A", AirportDictionary.PLACEHOLDER, AirportDictionary.PLACEHOLDER, LocalDate.now(), 0, 0);
+        assertEquals(size, AirportDictionary.size());
+    }
 }
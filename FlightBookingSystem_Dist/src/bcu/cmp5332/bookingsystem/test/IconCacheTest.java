@@ -0,0 +1,56 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.gui.IconCache;
+
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class IconCacheTest {
+
+    @Test
+    public void testImagesAreScaledOncePerSize() throws Exception {
+        File file = File.createTempFile("icon-cache", ".png");
+        file.deleteOnExit();
+        BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 200; x++) {
+            for (int y = 0; y < 100; y++) {
+                image.setRGB(x, y, Color.RED.getRGB());
+            }
+        }
+        ImageIO.write(image, "png", file);
+        String path = file.getAbsolutePath();
+
+        // The icon has its size at once, before the image is read.
+        Icon icon = IconCache.get(path, 20, 10);
+        assertEquals(20, icon.getIconWidth());
+        assertEquals(10, icon.getIconHeight());
+
+        CompletableFuture<ImageIcon> small = IconCache.load(path, 20, 10);
+        assertSame(small, IconCache.load(path, 20, 10));
+        assertNotSame(small, IconCache.load(path, 40, 20));
+        ImageIcon scaled = small.get(5, TimeUnit.SECONDS);
+        assertEquals(20, scaled.getIconWidth());
+        BufferedImage pixels = (BufferedImage) scaled.getImage();
+        assertEquals(Color.RED.getRGB(), pixels.getRGB(10, 5));
+        assertTrue(IconCache.exists(path).get(5, TimeUnit.SECONDS));
+        // Once loaded, the cached icon itself is returned.
+        assertSame(scaled, IconCache.get(path, 20, 10));
+    }
+
+    @Test
+    public void testMissingImagesGiveBlankIcons() throws Exception {
+        String path = "resources/icons/no-such-icon.png";
+        assertFalse(IconCache.exists(path).get(5, TimeUnit.SECONDS));
+        ImageIcon blank = IconCache.load(path, 24, 24).get(5, TimeUnit.SECONDS);
+        assertEquals(24, blank.getIconWidth());
+        assertEquals(24, blank.getIconHeight());
+    }
+}
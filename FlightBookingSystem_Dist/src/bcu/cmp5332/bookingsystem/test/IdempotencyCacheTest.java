@@ -0,0 +1,79 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.IdempotencyCache;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class IdempotencyCacheTest {
+    private FlightBookingSystem system;
+    private Flight flight;
+    private Customer customer;
+
+    @BeforeEach
+    public void setUp() throws FlightBookingSystemException {
+        system = new FlightBookingSystem();
+        flight = new Flight(1, "FL123", "Origin", "Destination", LocalDate.now().plusDays(10), 100.0, 5);
+        customer = new Customer(1, "Alice", "111111", "alice@example.com", "pass1");
+        system.addFlight(flight);
+        system.addCustomer(customer);
+    }
+
+    @Test
+    public void testRetryReturnsOriginalBooking() throws FlightBookingSystemException {
+        Booking first = system.addBooking(customer.getId(), flight.getId(), LocalDate.now(), "req-1");
+        Booking retry = system.addBooking(customer.getId(), flight.getId(), LocalDate.now(), "req-1");
+        assertSame(first, retry);
+        assertEquals(1, system.getBookings().size());
+        assertEquals(1, flight.getPassengerCount());
+    }
+
+    @Test
+    public void testKeyReusedForAnotherBookingIsRejected() throws FlightBookingSystemException {
+        Flight other = new Flight(2, "FL456", "Origin", "Destination", LocalDate.now().plusDays(10), 100.0, 5);
+        system.addFlight(other);
+        system.addBooking(customer.getId(), flight.getId(), LocalDate.now(), "req-2");
+        assertThrows(FlightBookingSystemException.class, () -> {
+            system.addBooking(customer.getId(), other.getId(), LocalDate.now(), "req-2");
+        });
+        assertEquals(0, other.getPassengerCount());
+    }
+
+    @Test
+    public void testInvalidKeyIsRejected() {
+        assertThrows(FlightBookingSystemException.class, () -> {
+            system.addBooking(customer.getId(), flight.getId(), LocalDate.now(), "bad::key");
+        });
+    }
+
+    @Test
+    public void testBookingIdsAreNotReusedAfterCancellation() throws FlightBookingSystemException {
+        Booking first = system.addBooking(customer.getId(), flight.getId(), LocalDate.now());
+        system.cancelBooking(first.getId(), 0.0);
+        Booking second = system.addBooking(customer.getId(), flight.getId(), LocalDate.now());
+        assertNotEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    public void testEntriesExpireAndAreBounded() {
+        AtomicLong now = new AtomicLong(1_000);
+        IdempotencyCache cache = new IdempotencyCache(2, 100, now::get);
+        Booking booking = new Booking(1, customer, flight, LocalDate.now(), 100.0);
+        cache.put("a", booking);
+        cache.put("b", booking);
+        cache.put("c", booking);
+        // The oldest key is evicted once the cache exceeds its bound.
+        assertNull(cache.get("a"));
+        assertSame(booking, cache.get("c"));
+        now.addAndGet(100);
+        assertNull(cache.get("c"));
+    }
+}
@@ -0,0 +1,100 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.auth.Authenticator;
+import bcu.cmp5332.bookingsystem.auth.PasswordHasher;
+import bcu.cmp5332.bookingsystem.auth.Role;
+import bcu.cmp5332.bookingsystem.auth.Session;
+import bcu.cmp5332.bookingsystem.auth.SessionStore;
+import bcu.cmp5332.bookingsystem.auth.User;
+import bcu.cmp5332.bookingsystem.auth.UserDirectory;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PasswordHashingTest {
+
+    @Test
+    public void testHashesAreSaltedAndCarryTheirCost() {
+        PasswordHasher hasher = new PasswordHasher(1000);
+        String first = hasher.hash("secret");
+        String second = hasher.hash("secret");
+        assertTrue(PasswordHasher.isHashed(first));
+        assertNotEquals(first, second, "each hash has its own salt");
+        assertTrue(hasher.verify("secret", first));
+        assertTrue(hasher.verify("secret", second));
+        assertFalse(hasher.verify("Secret", first));
+        assertFalse(hasher.needsRehash(first));
+        // A stronger hasher still accepts the old hash but asks for it to be replaced.
+        PasswordHasher stronger = new PasswordHasher(2000);
+        assertTrue(stronger.verify("secret", first));
+        assertTrue(stronger.needsRehash(first));
+        // Plain-text records are accepted until they are migrated.
+        assertTrue(hasher.verify("secret", "secret"));
+        assertTrue(hasher.needsRehash("secret"));
+    }
+
+    @Test
+    public void testCustomerLoginMigratesPlainTextPasswords() throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        system.addCustomer(new Customer(1, "Hash Customer", "01", "hash@example.com", "plain"));
+        PasswordHasher hasher = new PasswordHasher(1000);
+        Authenticator authenticator = new Authenticator(new UserDirectory(system, null), hasher, new SessionStore());
+
+        assertNull(authenticator.login("Hash Customer", "wrong"));
+        assertEquals("plain", system.getCustomerByID(1).getPassword(), "a failed login migrates nothing");
+
+        User user = authenticator.login("Hash Customer", "plain");
+        assertNotNull(user);
+        assertEquals(1, user.getCustomerId());
+        Customer customer = system.getCustomerByID(1);
+        String stored = customer.getPassword();
+        assertTrue(PasswordHasher.isHashed(stored));
+        assertEquals(1, authenticator.login("Hash Customer", "plain").getCustomerId());
+        assertEquals(stored, customer.getPassword(), "a current hash is kept");
+        assertNull(authenticator.login("Nobody", "plain"));
+    }
+
+    @Test
+    public void testSessionsExpireWhenIdle() {
+        AtomicLong now = new AtomicLong(0);
+        SessionStore store = new SessionStore(1000, now::get);
+        Session session = store.open("someone", Role.CUSTOMER, 7);
+
+        now.set(900);
+        assertSame(session, store.get(session.getToken()));
+        // Using the session pushed its expiry back.
+        now.set(1800);
+        assertSame(session, store.get(session.getToken()));
+        assertEquals(7, session.getCustomerId());
+        assertNull(store.get("not-a-token"));
+
+        Session idle = store.open("other", Role.ADMIN, -1);
+        now.set(2800);
+        assertNull(store.get(session.getToken()));
+        assertEquals(1, store.purgeExpired());
+        assertEquals(0, store.size());
+        assertNull(store.get(idle.getToken()));
+    }
+
+    @Test
+    public void testOpeningASessionPurgesExpiredOnes() throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        system.addCustomer(new Customer(1, "Session Customer", "01", "session@example.com", "plain"));
+        AtomicLong now = new AtomicLong(0);
+        SessionStore store = new SessionStore(1000, now::get);
+        Authenticator authenticator = new Authenticator(new UserDirectory(system, null), new PasswordHasher(1000), store);
+        User user = authenticator.login("Session Customer", "plain");
+
+        authenticator.openSession(user);
+        authenticator.openSession(user);
+        assertEquals(2, store.size());
+        now.set(1000);
+        Session fresh = authenticator.openSession(user);
+        assertEquals(1, store.size());
+        assertSame(fresh, authenticator.resume(fresh.getToken()));
+    }
+}
@@ -0,0 +1,69 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.gui.BookingTableModel;
+import bcu.cmp5332.bookingsystem.gui.CustomerTableModel;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecordTableModelTest {
+
+    @Test
+    public void testBookingModelSortsByColumnAndReadsLiveState() {
+        Flight flight = new Flight(1, "TM1", "TableA", "TableB", LocalDate.now().plusDays(5), 100.0, 100);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            Customer customer = new Customer(i, "Customer " + i, "0" + i, "t" + i + "@example.com", "pw");
+            // Fees repeat every ten bookings, so sorting by fee has ties.
+            bookings.add(new Booking(i, customer, flight, LocalDate.now(), 50 + (i * 7) % 10));
+        }
+        BookingTableModel model = new BookingTableModel(true);
+        model.setRecords(bookings);
+        assertEquals(50, model.getRowCount());
+        assertEquals(6, model.getColumnCount());
+        assertEquals("Status", model.getColumnName(5));
+
+        model.sortBy(4);
+        for (int row = 1; row < 50; row++) {
+            double previous = (Double) model.getValueAt(row - 1, 4);
+            double fee = (Double) model.getValueAt(row, 4);
+            assertTrue(previous <= fee);
+            if (previous == fee) {
+                // Ties keep their original (ID) order.
+                assertTrue((Integer) model.getValueAt(row - 1, 0) < (Integer) model.getValueAt(row, 0));
+            }
+        }
+        model.sortBy(4);
+        assertEquals(59.0, (Double) model.getValueAt(0, 4), 0.001);
+        assertFalse(model.isAscending());
+
+        Booking first = model.getRecord(0);
+        assertEquals("Active", model.getValueAt(0, 5));
+        first.cancel();
+        assertEquals("Cancelled", model.getValueAt(0, 5));
+    }
+
+    @Test
+    public void testReplacingRecordsKeepsSortColumn() {
+        CustomerTableModel model = new CustomerTableModel(false);
+        List<Customer> customers = new ArrayList<>();
+        customers.add(new Customer(1, "Zoe", "01", "zoe@example.com", "pw"));
+        customers.add(new Customer(2, "adam", "02", "adam@example.com", "pw"));
+        model.setRecords(customers);
+        model.sortBy(1);
+        assertEquals("adam", model.getValueAt(0, 1));
+
+        customers = new ArrayList<>(customers);
+        customers.add(new Customer(3, "Mia", "03", "mia@example.com", "pw"));
+        model.setRecords(customers);
+        assertEquals(1, model.getSortColumn());
+        assertEquals("Mia", model.getValueAt(1, 1));
+        assertEquals("Zoe", model.getValueAt(2, 1));
+    }
+}
@@ -0,0 +1,162 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.main.Main;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.ChangeEvent;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.replication.ReplicationLeader;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class ReplicationTest {
+
+    private static final LocalDate DEPARTURE = LocalDate.now().plusDays(20);
+
+    private FlightBookingSystem primary;
+    private ReplicationLeader leader;
+    private Process follower;
+    private PrintWriter followerInput;
+    private final BlockingQueue<String> followerOutput = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        primary = new FlightBookingSystem();
+        primary.addFlight(new Flight(1, "RP1", "ReplA", "ReplB", DEPARTURE, 100.0, 3));
+        primary.addFlight(new Flight(2, "RP2", "ReplA", "ReplC", DEPARTURE, 150.0, 3));
+        primary.addCustomer(new Customer(1, "Alice", "111111", "alice@example.com", "pass1"));
+        primary.addCustomer(new Customer(2, "Bob", "222222", "bob@example.com", "pass2"));
+        primary.addCustomer(new Customer(3, "Carol", "333333", "carol@example.com", "pass3"));
+        primary.addBooking(1, 1, LocalDate.now());
+        leader = new ReplicationLeader(primary, 0);
+        leader.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (follower != null) {
+            followerInput.println("exit");
+            followerInput.flush();
+            if (!follower.waitFor(5, TimeUnit.SECONDS)) {
+                follower.destroyForcibly();
+            }
+        }
+        leader.close();
+    }
+
+    /** Starts {@code Main --follow} in a separate JVM, collecting its output lines. */
+    private void startFollowerProcess() throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = Paths.get(Main.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        follower = new ProcessBuilder(java, "-cp", classPath, Main.class.getName(),
+                "--follow", "localhost:" + leader.getPort()).redirectErrorStream(true).start();
+        followerInput = new PrintWriter(follower.getOutputStream(), true, StandardCharsets.UTF_8);
+        Thread pump = new Thread(() -> {
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(follower.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    followerOutput.add(line);
+                }
+            } catch (Exception ex) {
+                // The process has exited.
+            }
+        });
+        pump.setDaemon(true);
+        pump.start();
+    }
+
+    /** Sends a command to the follower and returns the first output line containing the text. */
+    private String ask(String command, String expected) throws InterruptedException {
+        followerInput.println(command);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            String line = followerOutput.poll(100, TimeUnit.MILLISECONDS);
+            if (line != null && line.contains(expected)) {
+                return line;
+            }
+        }
+        fail("Follower did not answer '" + command + "' with '" + expected + "'");
+        return null;
+    }
+
+    @Test
+    public void testSnapshotRebuildsState() throws Exception {
+        Booking cancelled = primary.addBooking(2, 1, LocalDate.now());
+        primary.cancelBooking(cancelled.getId(), 10.0);
+        primary.addBooking(2, 1, LocalDate.now());
+        primary.changeSeat(1, "1C");
+        primary.removeCustomer(3);
+
+        FlightBookingSystem copy = new FlightBookingSystem();
+        for (ChangeEvent event : primary.snapshotChanges()) {
+            copy.applyChange(ChangeEvent.decode(event.encode()));
+        }
+        assertEquals(primary.getChangeSequence(), copy.getChangeSequence());
+        assertEquals(2, copy.getBookings().size());
+        assertEquals(1, copy.getCancelledBookings().size());
+        assertEquals(10.0, copy.getCancelledBookings().get(0).getCancellationFee(), 0.001);
+        assertEquals("1C", copy.getBookingByID(1).getSeatLabel());
+        assertEquals(1, copy.getFlightByID(1).getAvailableSeats());
+        assertTrue(copy.getAllCustomers().get(2).isDeleted());
+    }
+
+    @Test
+    public void testSeatChangeOffTheSeatMapIsRejected() throws Exception {
+        FlightBookingSystem copy = new FlightBookingSystem();
+        for (ChangeEvent event : primary.snapshotChanges()) {
+            copy.applyChange(event);
+        }
+        long next = copy.getChangeSequence() + 1;
+        FlightBookingSystemException ex = assertThrows(FlightBookingSystemException.class,
+                () -> copy.applyChange(new ChangeEvent(next, ChangeEvent.Type.SEAT_CHANGED, 1, 999)));
+        assertTrue(ex.getMessage().startsWith("Invalid seat"));
+        assertEquals(0, copy.getBookingByID(1).getSeat());
+    }
+
+    @Test
+    public void testFollowerProcessConvergesAndServesReads() throws Exception {
+        startFollowerProcess();
+        assertTrue(leader.awaitFollowers(1, primary.getChangeSequence(), 20_000), "follower never caught up");
+
+        // A burst of changes while the follower is connected.
+        long maxLag = 0;
+        for (int i = 10; i < 210; i++) {
+            primary.addFlight(new Flight(i, "RB" + i, "ReplA", "ReplD", DEPARTURE, 80.0, 5));
+            Booking booking = primary.addBooking(2, i, LocalDate.now());
+            if (i % 2 == 1) {
+                primary.cancelBooking(booking.getId(), 5.0);
+            }
+            maxLag = Math.max(maxLag, leader.getMaxLag());
+        }
+        primary.changeSeat(1, "1B");
+        primary.removeFlight(2);
+        primary.removeCustomer(3);
+
+        long latest = primary.getChangeSequence();
+        assertTrue(leader.awaitFollowers(1, latest, 20_000), "follower lag stayed at " + leader.getMaxLag());
+        assertEquals(0, leader.getMaxLag());
+        assertTrue(maxLag < latest, "lag " + maxLag + " should be bounded by the log length " + latest);
+
+        assertTrue(ask("showflight 1", "Passengers:").contains("Alice"));
+        assertTrue(ask("showflight 10", "Passengers:").contains("Bob"));
+        assertTrue(ask("showflight 11", "Passengers:").contains("None"));
+        ask("seatmap 1", "  1 AX C");
+        ask("showflight 2", "No flight with that ID");
+        ask("deleteflight 1", "read-only follower");
+        assertTrue(ask("showflight 1", "Passengers:").contains("Alice"));
+    }
+}
@@ -0,0 +1,75 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.analytics.BookingSnapshot;
+import bcu.cmp5332.bookingsystem.analytics.GroupBy;
+import bcu.cmp5332.bookingsystem.analytics.Measure;
+import bcu.cmp5332.bookingsystem.analytics.ReportEngine;
+import bcu.cmp5332.bookingsystem.analytics.ReportResult;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class ReportEngineTest {
+
+    @Test
+    public void testGroupsIncludeCancelledBookings() throws FlightBookingSystemException, IOException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        LocalDate today = system.getSystemDate();
+        system.addFlight(new Flight(1, "RE1", "RepA", "RepB", today.plusDays(40), 100.0, 10));
+        system.addFlight(new Flight(2, "RE2", "RepA", "Rep, C", today.plusDays(40), 100.0, 10));
+        system.addCustomer(new Customer(1, "Report Customer 1", "01", "rep1@example.com", "pw"));
+        system.addCustomer(new Customer(2, "Report Customer 2", "02", "rep2@example.com", "pw"));
+        Booking kept = system.addBooking(1, 1, today);
+        Booking cancelled = system.addBooking(2, 1, today);
+        Booking other = system.addBooking(2, 2, today);
+        system.cancelBooking(cancelled.getId(), 10.0);
+
+        ReportResult byCustomer = new ReportEngine().run(BookingSnapshot.of(system), GroupBy.CUSTOMER);
+        assertEquals(2, byCustomer.getRows().size());
+        ReportResult.Row second = byCustomer.getRows().get(1);
+        assertEquals(2, second.getKey());
+        assertEquals(2, second.get(Measure.BOOKINGS), 0.001);
+        assertEquals(1, second.get(Measure.CANCELLATIONS), 0.001);
+        assertEquals(other.getBookingFee() + 10.0, second.get(Measure.REVENUE), 0.001);
+        assertEquals(1, byCustomer.top(Measure.REVENUE, 1).getRows().size());
+
+        ReportResult byRoute = new ReportEngine().run(BookingSnapshot.of(system), GroupBy.ROUTE);
+        StringWriter csv = new StringWriter();
+        byRoute.writeCsv(csv);
+        assertTrue(csv.toString().startsWith("key,route,bookings,cancellations,"));
+        assertTrue(csv.toString().contains("\"RepA to Rep, C\""));
+        assertEquals(kept.getBookingFee() + 10.0, byRoute.getRows().stream()
+                .filter(r -> r.getLabel().equals("RepA to RepB")).findFirst().get().get(Measure.REVENUE), 0.001);
+    }
+
+    @Test
+    public void testParallelSplitMatchesMonthTotals() {
+        Customer customer = new Customer(1, "Month Customer", "01", "month@example.com", "pw");
+        Flight flight = new Flight(1, "MO1", "MonA", "MonB", LocalDate.of(2031, 1, 1), 10.0, 10);
+        LocalDate start = LocalDate.of(1999, 12, 1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 300_000; i++) {
+            bookings.add(new Booking(i + 1, customer, flight, start.plusDays(i % 1000), 1.0));
+        }
+        ReportResult result = new ReportEngine(new ForkJoinPool(4)).run(new BookingSnapshot(bookings), GroupBy.BOOKING_MONTH);
+        double total = 0;
+        for (ReportResult.Row row : result.getRows()) {
+            total += row.get(Measure.BOOKINGS);
+        }
+        assertEquals(300_000, total, 0.001);
+        assertEquals("1999-12", result.getRows().get(0).getLabel());
+        assertEquals("2002-08", result.getRows().get(result.getRows().size() - 1).getLabel());
+        assertEquals(31 * 300, result.getRows().get(0).get(Measure.BOOKINGS), 0.001);
+    }
+}
@@ -0,0 +1,69 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.routing.Itinerary;
+import bcu.cmp5332.bookingsystem.routing.RouteCriterion;
+import bcu.cmp5332.bookingsystem.routing.RoutePlanner;
+
+import java.time.LocalDate;
+
+public class RoutePlannerTest {
+    private FlightBookingSystem system;
+    private RoutePlanner planner;
+    private LocalDate day;
+
+    @BeforeEach
+    public void setUp() throws FlightBookingSystemException {
+        system = new FlightBookingSystem();
+        planner = system.getRoutePlanner();
+        day = LocalDate.now().plusDays(30);
+        // A direct flight, and a cheaper connection via Hub that arrives a day later.
+        system.addFlight(new Flight(1, "RT1", "Alpha", "Omega", day, 500.0, 10));
+        system.addFlight(new Flight(2, "RT2", "Alpha", "Hub", day, 100.0, 10));
+        system.addFlight(new Flight(3, "RT3", "Hub", "Omega", day.plusDays(1), 100.0, 10));
+    }
+
+    @Test
+    public void testCheapestAndFastest() throws FlightBookingSystemException {
+        Itinerary cheapest = planner.findItinerary("Alpha", "Omega", day, 1, RouteCriterion.CHEAPEST);
+        assertEquals(2, cheapest.getLegs().size());
+        assertEquals(200.0, cheapest.getTotalPrice(), 0.001);
+        Itinerary fastest = planner.findItinerary("alpha", "omega", day, 1, RouteCriterion.FASTEST);
+        assertEquals(1, fastest.getLegs().size());
+        assertEquals(day, fastest.getArrivalDate());
+    }
+
+    @Test
+    public void testConnectionLimitAndDate() throws FlightBookingSystemException {
+        Itinerary direct = planner.findItinerary("Alpha", "Omega", day, 0, RouteCriterion.CHEAPEST);
+        assertEquals(500.0, direct.getTotalPrice(), 0.001);
+        assertNull(planner.findItinerary("Alpha", "Omega", day.plusDays(1), 1, RouteCriterion.CHEAPEST));
+    }
+
+    @Test
+    public void testRemovedFlightInvalidatesCachedRoute() throws FlightBookingSystemException {
+        planner.findItinerary("Alpha", "Omega", day, 1, RouteCriterion.CHEAPEST);
+        system.removeFlight(3);
+        Itinerary replanned = planner.findItinerary("Alpha", "Omega", day, 1, RouteCriterion.CHEAPEST);
+        assertEquals(1, replanned.getLegs().size());
+    }
+
+    @Test
+    public void testCancellationOnFullFlightIsSeenByLaterSearches() throws FlightBookingSystemException {
+        system.addFlight(new Flight(4, "RT4", "Alpha", "Zeta", day, 100.0, 1));
+        system.addCustomer(new Customer(1, "Route Customer", "0123", "route@example.com", "pw"));
+        Booking booking = system.addBooking(1, 4, LocalDate.now());
+        assertNull(planner.findItinerary("Alpha", "Zeta", day, 0, RouteCriterion.CHEAPEST));
+        system.cancelBooking(booking.getId(), 0.0);
+        Itinerary freed = planner.findItinerary("Alpha", "Zeta", day, 0, RouteCriterion.CHEAPEST);
+        assertNotNull(freed);
+        assertEquals(4, freed.getLegs().get(0).getId());
+    }
+}
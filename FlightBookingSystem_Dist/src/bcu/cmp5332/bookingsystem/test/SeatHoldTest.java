@@ -0,0 +1,90 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.HoldManager;
+import bcu.cmp5332.bookingsystem.model.SeatHold;
+import bcu.cmp5332.bookingsystem.model.TimingWheel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SeatHoldTest {
+
+    @Test
+    public void testTimingWheelExpiresOnlyDueTimeouts() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1000, 8, 0);
+        wheel.schedule(1, 2_500);
+        TimingWheel.Timeout<Integer> cancelled = wheel.schedule(2, 3_000);
+        wheel.schedule(3, 11_000); // same bucket as tick 3, one turn later
+        wheel.cancel(cancelled);
+        List<Integer> expired = new ArrayList<>();
+        wheel.advance(2_999, expired::add);
+        assertEquals(List.of(), expired);
+        wheel.advance(3_000, expired::add);
+        assertEquals(List.of(1), expired);
+        wheel.advance(60_000, expired::add);
+        assertEquals(List.of(1, 3), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testHeldSeatsCountAgainstCapacityUntilConfirmedOrExpired() throws FlightBookingSystemException {
+        AtomicLong now = new AtomicLong(1_000_000);
+        FlightBookingSystem system = new FlightBookingSystem(new HoldManager(now::get));
+        LocalDate today = system.getSystemDate();
+        Flight flight = new Flight(1, "HD1", "HoldA", "HoldB", today.plusDays(30), 100.0, 2);
+        system.addFlight(flight);
+        for (int i = 1; i <= 3; i++) {
+            system.addCustomer(new Customer(i, "Hold Customer " + i, "0" + i, "hold" + i + "@example.com", "pw"));
+        }
+        SeatHold first = system.placeHold(1, 1, today, 60_000);
+        SeatHold second = system.placeHold(2, 1, today, 120_000);
+        assertEquals(0, flight.getAvailableSeats());
+        assertThrows(FlightBookingSystemException.class, () -> system.addBooking(3, 1, today));
+
+        // The fee is locked in even if the booking is confirmed on a pricier day.
+        Booking booking = system.confirmHold(first.getId(), flight.getDepartureDate().minusDays(1));
+        assertEquals(first.getFee(), booking.getBookingFee(), 0.001);
+        assertEquals(first.getSeat(), booking.getSeat());
+
+        now.addAndGet(121_000);
+        assertNull(system.getHold(second.getId()));
+        assertThrows(FlightBookingSystemException.class, () -> system.confirmHold(second.getId(), today));
+        assertEquals(1, flight.getAvailableSeats());
+        assertFalse(flight.getSeatMap().isOccupied(second.getSeat()));
+        system.addBooking(3, 1, today);
+    }
+
+    @Test
+    public void testRemovingFlightOrCustomerReleasesTheirHolds() throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        LocalDate today = system.getSystemDate();
+        Flight kept = new Flight(1, "HD2", "HoldA", "HoldB", today.plusDays(30), 100.0, 2);
+        Flight removed = new Flight(2, "HD3", "HoldA", "HoldB", today.plusDays(30), 100.0, 2);
+        system.addFlight(kept);
+        system.addFlight(removed);
+        for (int i = 1; i <= 2; i++) {
+            system.addCustomer(new Customer(i, "Hold Customer " + i, "0" + i, "hold" + i + "@example.com", "pw"));
+        }
+        SeatHold onRemovedFlight = system.placeHold(1, 2, today, 60_000);
+        SeatHold forRemovedCustomer = system.placeHold(2, 1, today, 60_000);
+
+        system.removeFlight(2);
+        assertNull(system.getHold(onRemovedFlight.getId()));
+        assertThrows(FlightBookingSystemException.class, () -> system.confirmHold(onRemovedFlight.getId(), today));
+
+        system.removeCustomer(2);
+        assertNull(system.getHold(forRemovedCustomer.getId()));
+        assertThrows(FlightBookingSystemException.class, () -> system.confirmHold(forRemovedCustomer.getId(), today));
+        assertEquals(2, kept.getAvailableSeats());
+        assertEquals(0, system.getHoldManager().size());
+    }
+}
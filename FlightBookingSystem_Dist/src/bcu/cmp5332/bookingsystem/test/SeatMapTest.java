@@ -0,0 +1,60 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.CabinLayout;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.SeatMap;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class SeatMapTest {
+
+    @Test
+    public void testAdjacentSearchStaysWithinRowAndCrossesWords() {
+        SeatMap map = new SeatMap(CabinLayout.STANDARD, 180);
+        // Leave only 1C-1D, 11D-11F and 12A free.
+        for (int seat = 0; seat < 180; seat++) {
+            map.occupy(seat);
+        }
+        map.release(2);
+        map.release(3);
+        map.release(63);
+        map.release(64);
+        map.release(65);
+        map.release(66);
+        assertEquals(2, map.findAdjacent(2));
+        // Seats 63-65 are 11D-11F and straddle two bitmap words; 66 starts row 12.
+        assertEquals(63, map.findAdjacent(3));
+        assertEquals(-1, map.findAdjacent(4));
+        assertEquals(2, map.firstFree());
+        assertEquals(6, map.freeCount());
+        assertEquals("11D", CabinLayout.STANDARD.label(63));
+        assertEquals(63, CabinLayout.STANDARD.parse("11d"));
+    }
+
+    @Test
+    public void testBookingSeatsAreAssignedChangedAndReleased() throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        Flight flight = new Flight(1, "ST1", "SeatA", "SeatB", LocalDate.now().plusDays(20), 100.0, 8);
+        system.addFlight(flight);
+        for (int i = 1; i <= 3; i++) {
+            system.addCustomer(new Customer(i, "Seat Customer " + i, "0" + i, "seat" + i + "@example.com", "pw"));
+        }
+        Booking first = system.addBooking(1, 1, LocalDate.now());
+        assertEquals("1A", first.getSeatLabel());
+        system.changeSeat(first.getId(), "2B");
+        assertEquals("2B", first.getSeatLabel());
+        List<Booking> group = system.addGroupBooking(List.of(2, 3), 1, LocalDate.now());
+        assertEquals("1A", group.get(0).getSeatLabel());
+        assertEquals("1B", group.get(1).getSeatLabel());
+        assertThrows(FlightBookingSystemException.class, () -> system.changeSeat(first.getId(), "1A"));
+        system.cancelBooking(group.get(0).getId(), 0.0);
+        assertFalse(flight.getSeatMap().isOccupied(0));
+    }
+}
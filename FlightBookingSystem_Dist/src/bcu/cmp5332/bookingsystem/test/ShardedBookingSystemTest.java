@@ -0,0 +1,96 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.shard.IdAllocator;
+import bcu.cmp5332.bookingsystem.shard.ShardedBookingSystem;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+public class ShardedBookingSystemTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private static ShardedBookingSystem createSystem(int shards, int flights, int capacity)
+            throws FlightBookingSystemException {
+        ShardedBookingSystem system = new ShardedBookingSystem(shards);
+        for (int i = 1; i <= 4; i++) {
+            system.addCustomer(new Customer(i, "Shard Customer " + i, "0" + i, "shard" + i + "@example.com", "pw"));
+        }
+        for (int f = 1; f <= flights; f++) {
+            system.addFlight(new Flight(f, "SH" + f, "ShardA", "ShardB", TODAY.plusDays(30), 100.0, capacity));
+        }
+        return system;
+    }
+
+    @Test
+    public void testIdAllocatorRoutesIdsBackToTheirShard() {
+        IdAllocator ids = new IdAllocator(3);
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            int shard = i % 3;
+            int id = ids.next(shard);
+            assertEquals(shard, ids.shardOf(id));
+            assertTrue(seen.add(id));
+        }
+    }
+
+    @Test
+    public void testBookingsRunOnTheFlightsShards() throws Exception {
+        try (ShardedBookingSystem system = createSystem(4, 8, 10)) {
+            List<CompletableFuture<Booking>> futures = new ArrayList<>();
+            for (int f = 1; f <= 8; f++) {
+                futures.add(system.addBookingAsync(1 + f % 4, f, TODAY));
+            }
+            for (int f = 1; f <= 8; f++) {
+                Booking booking = futures.get(f - 1).join();
+                assertEquals(f, booking.getFlight().getId());
+                assertEquals(booking, system.getBooking(booking.getId()));
+                assertEquals(9, system.getAvailableSeats(f));
+            }
+            assertEquals(8, system.getBookingCount());
+            assertThrows(FlightBookingSystemException.class, () -> system.addBooking(2, 1, TODAY));
+            assertThrows(FlightBookingSystemException.class, () -> system.addBooking(9, 1, TODAY));
+        }
+    }
+
+    @Test
+    public void testMoveBookingAcrossShards() throws Exception {
+        try (ShardedBookingSystem system = createSystem(2, 2, 5)) {
+            Booking original = system.addBooking(1, 1, TODAY);
+            Booking moved = system.moveBooking(original.getId(), 2, 10.0);
+
+            assertEquals(2, moved.getFlight().getId());
+            assertTrue(original.isCancelled());
+            assertEquals(10.0, original.getCancellationFee(), 0.001);
+            assertEquals(5, system.getAvailableSeats(1));
+            assertEquals(4, system.getAvailableSeats(2));
+            assertEquals(List.of(moved), system.getBookingsForCustomer(1));
+            assertThrows(FlightBookingSystemException.class, () -> system.getBooking(original.getId()));
+        }
+    }
+
+    @Test
+    public void testFailedMoveLeavesOriginalBooking() throws Exception {
+        try (ShardedBookingSystem system = createSystem(2, 2, 1)) {
+            Booking original = system.addBooking(1, 1, TODAY);
+            system.addBooking(2, 2, TODAY);
+
+            assertThrows(FlightBookingSystemException.class, () -> system.moveBooking(original.getId(), 2, 10.0));
+            assertFalse(original.isCancelled());
+            assertEquals(0, system.getAvailableSeats(1));
+            assertEquals(0, system.getAvailableSeats(2));
+            // The booking is no longer marked as moving, so it can be cancelled normally.
+            assertEquals(90.0, system.cancelBooking(original.getId(), 10.0), 0.001);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.gui.StartupMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StartupMetricsTest {
+
+    @Test
+    public void testMilestonesAreRecordedOnceFromJvmStart() throws Exception {
+        List<String> reports = new ArrayList<>();
+        long start = System.currentTimeMillis() - 1000;
+        StartupMetrics metrics = new StartupMetrics(start, reports::add, false);
+        assertEquals(-1, metrics.getTimeToFirstFrame());
+        assertEquals(-1, metrics.getTimeToInteractive());
+
+        metrics.mainStarted();
+        metrics.firstFramePainted();
+        long firstFrame = metrics.getTimeToFirstFrame();
+        assertTrue(firstFrame >= 1000, "measured from the given JVM start");
+        assertTrue(metrics.getTimeToMain() <= firstFrame);
+
+        Thread.sleep(20);
+        metrics.firstFramePainted();
+        assertEquals(firstFrame, metrics.getTimeToFirstFrame(), "only the first paint counts");
+
+        metrics.interactive();
+        metrics.interactive();
+        assertTrue(metrics.getTimeToInteractive() >= firstFrame + 20);
+        assertEquals(1, reports.size(), "reported once");
+        assertTrue(reports.get(0).contains("interactive after " + metrics.getTimeToInteractive() + " ms"));
+    }
+}
@@ -0,0 +1,50 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.FlightRanking;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class TopFlightsTest {
+    private FlightBookingSystem system;
+    private LocalDate day;
+
+    @BeforeEach
+    public void setUp() throws FlightBookingSystemException {
+        system = new FlightBookingSystem();
+        day = LocalDate.now().plusDays(30);
+        system.addFlight(new Flight(1, "TK1", "TopA", "TopB", day.plusDays(2), 300.0, 5));
+        system.addFlight(new Flight(2, "TK2", "TopA", "TopB", day, 100.0, 5));
+        system.addFlight(new Flight(3, "TK3", "TopA", "TopC", day.plusDays(1), 50.0, 5));
+        system.addFlight(new Flight(4, "TK4", "TopA", "TopB", day.plusDays(1), 200.0, 3));
+    }
+
+    @Test
+    public void testCheapestAndSoonestOnRoute() {
+        List<Flight> cheapest = system.getTopFlights(FlightRanking.CHEAPEST, 2, "TopA", "TopB", null, null);
+        assertEquals(2, cheapest.size());
+        assertEquals(2, cheapest.get(0).getId());
+        assertEquals(4, cheapest.get(1).getId());
+        List<Flight> soonest = system.getTopFlights(FlightRanking.SOONEST, 2, "topa", null, day.plusDays(1), null);
+        assertEquals(3, soonest.get(0).getId());
+        assertEquals(4, soonest.get(1).getId());
+    }
+
+    @Test
+    public void testMostAvailableAndRemovedFlights() throws FlightBookingSystemException {
+        system.addCustomer(new Customer(1, "Top Customer", "1", "top@example.com", "pw"));
+        system.addBooking(1, 2, LocalDate.now());
+        system.removeFlight(1);
+        List<Flight> available = system.getTopFlights(FlightRanking.MOST_AVAILABLE, 10, null, "TopB", null, null);
+        assertEquals(2, available.size());
+        assertEquals(2, available.get(0).getId());
+        assertTrue(system.getTopFlights(FlightRanking.CHEAPEST, 5, "Nowhere", null, null, null).isEmpty());
+    }
+}
@@ -0,0 +1,88 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.auth.Authenticator;
+import bcu.cmp5332.bookingsystem.auth.PasswordHasher;
+import bcu.cmp5332.bookingsystem.auth.Permission;
+import bcu.cmp5332.bookingsystem.auth.Role;
+import bcu.cmp5332.bookingsystem.auth.Session;
+import bcu.cmp5332.bookingsystem.auth.SessionStore;
+import bcu.cmp5332.bookingsystem.auth.User;
+import bcu.cmp5332.bookingsystem.auth.UserDirectory;
+import bcu.cmp5332.bookingsystem.commands.AddFlight;
+import bcu.cmp5332.bookingsystem.commands.ListFlights;
+import bcu.cmp5332.bookingsystem.commands.StartServer;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+
+public class UserDirectoryTest {
+
+    @Test
+    public void testStaffAndCustomersAreFoundIgnoringCase() throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        system.addCustomer(new Customer(3, "Dir Customer", "01", "dir@example.com", "pw"));
+        UserDirectory directory = new UserDirectory(system, null);
+        directory.addUser(new User("Boss", "pw", Role.ADMIN));
+
+        User boss = directory.find("bOSS");
+        assertEquals("Boss", boss.getUsername());
+        assertEquals(Role.ADMIN, boss.getRole());
+        assertEquals(-1, boss.getCustomerId());
+
+        User customer = directory.find("dir customer");
+        assertEquals(Role.CUSTOMER, customer.getRole());
+        assertEquals(3, customer.getCustomerId());
+        assertNull(directory.find("nobody"));
+
+        assertThrows(FlightBookingSystemException.class,
+                () -> directory.addUser(new User("BOSS", "other", Role.CUSTOMER)));
+    }
+
+    @Test
+    public void testRolesGrantPermissions() throws FlightBookingSystemException {
+        for (Permission permission : Permission.values()) {
+            assertTrue(Role.ADMIN.allows(permission));
+        }
+        assertTrue(Role.CUSTOMER.allows(Permission.BROWSE));
+        assertTrue(Role.CUSTOMER.allows(Permission.BOOK));
+        assertFalse(Role.CUSTOMER.allows(Permission.MANAGE_FLIGHTS));
+        assertFalse(Role.CUSTOMER.allows(Permission.VIEW_CUSTOMERS));
+
+        SessionStore sessions = new SessionStore();
+        Authenticator authenticator = new Authenticator(new UserDirectory(null, null), new PasswordHasher(1000), sessions);
+        Session customer = sessions.open("someone", Role.CUSTOMER, 1);
+        Session admin = sessions.open("boss", Role.ADMIN, -1);
+        authenticator.authorize(customer, new ListFlights());
+        assertThrows(FlightBookingSystemException.class, () -> authenticator.authorize(customer, new AddFlight(
+                "X1", "A", "B", LocalDate.now(), 100.0, 10)));
+        assertThrows(FlightBookingSystemException.class, () -> authenticator.authorize(customer, new StartServer(0)));
+        authenticator.authorize(admin, new StartServer(0));
+    }
+
+    @Test
+    public void testStaffPasswordsAreHashedAndSaved() throws IOException, FlightBookingSystemException {
+        File file = File.createTempFile("users", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "Admin::admin::ADMIN::\n".getBytes());
+        PasswordHasher hasher = new PasswordHasher(1000);
+        Authenticator authenticator = new Authenticator(UserDirectory.load(null, file.getPath()), hasher,
+                new SessionStore());
+
+        assertNull(authenticator.login("admin", "wrong"));
+        User admin = authenticator.login("ADMIN", "admin");
+        assertEquals(Role.ADMIN, admin.getRole());
+        assertTrue(admin.can(Permission.OPERATE));
+
+        UserDirectory reloaded = UserDirectory.load(null, file.getPath());
+        assertEquals(1, reloaded.getUsers().size());
+        assertTrue(new String(Files.readAllBytes(file.toPath())).startsWith("Admin::" + PasswordHasher.PREFIX));
+        assertNotNull(new Authenticator(reloaded, hasher, new SessionStore()).login("admin", "admin"));
+    }
+}
@@ -0,0 +1,51 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.main.StaleVersionException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+
+import java.time.LocalDate;
+
+public class VersioningTest {
+
+    @Test
+    public void testStaleUpdatesAreRejected() throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        LocalDate today = system.getSystemDate();
+        Flight first = new Flight(1, "VR1", "VerA", "VerB", today.plusDays(30), 100.0, 5);
+        Flight second = new Flight(2, "VR2", "VerA", "VerB", today.plusDays(31), 100.0, 5);
+        system.addFlight(first);
+        system.addFlight(second);
+        Customer customer = new Customer(1, "Version Customer", "01", "ver@example.com", "pw");
+        system.addCustomer(customer);
+
+        long read = customer.getVersion();
+        system.updateCustomer(1, read, "Version Customer", "02", "ver@example.com", "pw");
+        assertEquals(read + 1, customer.getVersion());
+        assertThrows(StaleVersionException.class,
+                () -> system.updateCustomer(1, read, "Lost Update", "03", "ver@example.com", "pw"));
+        assertEquals("02", customer.getPhone());
+
+        long flightRead = first.getVersion();
+        system.updateFlightPrice(1, flightRead, 120.0);
+        assertEquals(120.0, first.getBasePrice(), 0.001);
+        assertThrows(StaleVersionException.class, () -> system.updateFlightPrice(1, flightRead, 90.0));
+
+        Booking booking = system.addBooking(1, 1, today);
+        long bookingRead = booking.getVersion();
+        system.changeSeat(booking.getId(), "2A");
+        assertThrows(StaleVersionException.class, () -> system.cancelBooking(booking.getId(), bookingRead, 0.0));
+        assertThrows(StaleVersionException.class,
+                () -> system.updateBooking(booking.getId(), bookingRead, 2, 0.0));
+        assertFalse(booking.isCancelled());
+
+        Booking moved = system.updateBooking(booking.getId(), booking.getVersion(), 2, 15.0);
+        assertTrue(booking.isCancelled());
+        assertEquals(2, moved.getFlight().getId());
+    }
+}
@@ -0,0 +1,110 @@
+package bcu.cmp5332.bookingsystem.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import bcu.cmp5332.bookingsystem.main.FlightBookingSystemException;
+import bcu.cmp5332.bookingsystem.model.Booking;
+import bcu.cmp5332.bookingsystem.model.Customer;
+import bcu.cmp5332.bookingsystem.model.Flight;
+import bcu.cmp5332.bookingsystem.model.FlightBookingSystem;
+import bcu.cmp5332.bookingsystem.model.Waitlist;
+import bcu.cmp5332.bookingsystem.model.WaitlistTier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+public class WaitlistTest {
+
+    // deleteCustomer rewrites the customers file, which is restored after each test.
+    private static final Path CUSTOMERS_FILE = Paths.get("resources", "data", "customers.txt");
+    private byte[] savedCustomers;
+
+    @BeforeEach
+    public void saveCustomersFile() throws IOException {
+        savedCustomers = Files.exists(CUSTOMERS_FILE) ? Files.readAllBytes(CUSTOMERS_FILE) : null;
+    }
+
+    @AfterEach
+    public void restoreCustomersFile() throws IOException {
+        if (savedCustomers != null) {
+            Files.write(CUSTOMERS_FILE, savedCustomers);
+        } else {
+            Files.deleteIfExists(CUSTOMERS_FILE);
+        }
+    }
+
+    private static Customer customer(int id) {
+        return new Customer(id, "Waiting Customer " + id, "0" + id, "wait" + id + "@example.com", "pw");
+    }
+
+    @Test
+    public void testTiersAreServedInOrderAndWithdrawnEntriesSkipped() {
+        Waitlist waitlist = new Waitlist();
+        waitlist.add(customer(1), WaitlistTier.STANDBY);
+        waitlist.add(customer(2), WaitlistTier.STANDARD);
+        waitlist.add(customer(3), WaitlistTier.PRIORITY);
+        waitlist.add(customer(4), WaitlistTier.STANDARD);
+        assertNull(waitlist.add(customer(2), WaitlistTier.PRIORITY));
+        assertTrue(waitlist.remove(2));
+        assertEquals(3, waitlist.size());
+        assertEquals(3, waitlist.poll().getCustomer().getId());
+        assertEquals(4, waitlist.poll().getCustomer().getId());
+        assertEquals(1, waitlist.poll().getCustomer().getId());
+        assertNull(waitlist.poll());
+    }
+
+    @Test
+    public void testCancellationAndRemovalPromoteTheHead() throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        LocalDate today = system.getSystemDate();
+        Flight flight = new Flight(1, "WL1", "WaitA", "WaitB", today.plusDays(10), 100.0, 2);
+        system.addFlight(flight);
+        for (int i = 1; i <= 5; i++) {
+            system.addCustomer(customer(i));
+        }
+        Booking first = system.addBooking(1, 1, today);
+        system.addBooking(2, 1, today);
+        assertThrows(FlightBookingSystemException.class, () -> system.addBooking(3, 1, today));
+        system.joinWaitlist(3, 1, WaitlistTier.STANDARD);
+        system.joinWaitlist(4, 1, WaitlistTier.STANDARD);
+        system.joinWaitlist(5, 1, WaitlistTier.PRIORITY);
+        assertThrows(FlightBookingSystemException.class, () -> system.joinWaitlist(1, 1, WaitlistTier.STANDARD));
+
+        List<Booking> promoted = system.cancelBooking(first.getId(), 0.0);
+        assertEquals(1, promoted.size());
+        assertEquals(5, promoted.get(0).getCustomer().getId());
+        assertTrue(flight.hasPassenger(system.getCustomerByID(5)));
+        assertEquals(2, system.getWaitlist(1).size());
+
+        system.removeCustomer(2);
+        assertTrue(flight.hasPassenger(system.getCustomerByID(3)));
+        assertEquals(1, system.getWaitlist(1).size());
+        assertEquals(4, system.getWaitlist(1).get(0).getCustomer().getId());
+        assertEquals(2, flight.getPassengerCount());
+    }
+
+    @Test
+    public void testDeletedCustomersSeatGoesToTheWaitlist() throws FlightBookingSystemException {
+        FlightBookingSystem system = new FlightBookingSystem();
+        LocalDate today = system.getSystemDate();
+        Flight flight = new Flight(1, "WL2", "WaitC", "WaitD", today.plusDays(10), 100.0, 1);
+        system.addFlight(flight);
+        system.addCustomer(customer(1));
+        system.addCustomer(customer(2));
+        Booking booking = system.addBooking(1, 1, today);
+        system.joinWaitlist(2, 1, WaitlistTier.STANDARD);
+
+        system.deleteCustomer(1);
+        assertNull(system.findBooking(booking.getId()));
+        assertEquals(1, flight.getPassengerCount());
+        assertTrue(flight.hasPassenger(system.getCustomerByID(2)));
+        assertEquals(0, flight.getSeatMap().freeCount());
+        assertTrue(system.getWaitlist(1).isEmpty());
+    }
+}